@@ -25,6 +25,7 @@ public enum ExceptionCode {
     FOOD_ITEM_ALREADY_EXISTS("FOOD_ITEM_ALREADY_EXISTS"),
     RESTAURANT_NOT_FOUND("RESTAURANT_NOT_FOUND"),
     RESTAURANT_ALREADY_EXISTS("RESTAURANT_ALREADY_EXISTS"),
+    RESTAURANT_CLOSED("RESTAURANT_CLOSED"),
     MISSING_REQUIRED_FIELDS("MISSING_REQUIRED_FIELDS"),
     INVALID_VEHICLE_TYPE("INVALID_VEHICLE_TYPE"),
     LICENSE_ALREADY_EXISTS("LICENSE_ALREADY_EXISTS"),
@@ -33,6 +34,8 @@ public enum ExceptionCode {
     ORDER_NOT_FOUND("Invalid order. Not available"),
     DRIVER_NOT_AVAILABLE("Complete the current order first"),
     DRIVER_ACCEPTED_ORDER("Order is already in progress."),
+    ORDER_OFFERED_TO_ANOTHER_DRIVER("Order is reserved for another driver."),
+    NO_PENDING_OFFER("There is no pending offer of this order for the driver."),
     CUSTOMER_NOT_FOUND("Customer not found"),
     DELIVERY_NOT_FOUND("Delivery not found"),
     NO_DELIVERY_HISTORY("No completed delivery found"),
@@ -42,6 +45,11 @@ public enum ExceptionCode {
     EMAIL_SEND_FAILURE("Failed to send email"),
     DELIVERY_NOT_COMPLETED("Delivery is not completed yet."),
     INVALID_RATING("Invalid rating"),
+    INVALID_CURSOR("Invalid pagination cursor"),
+    INVALID_FIELD_SELECTION("Unknown field requested"),
+    INVALID_IMPORT_FILE("The import file could not be read"),
+    SEARCH_UNAVAILABLE("Search is currently unavailable"),
+    ORDER_BOARD_STREAM_UNAVAILABLE("Live order updates are currently unavailable"),
     NO_DRIVER_STATS("There is no driver stats."),
     NO_DRIVER_RATING("There is no driver rating"),
     NO_DELIVERY_FOUND("There are no deliveries found"),
@@ -49,12 +57,14 @@ public enum ExceptionCode {
     EMAIL_ALREADY_EXISTS("The email address already exists"),
     //orderService
     CART_NOT_FOUND("CART_NOT_FOUND"),
+    OUT_OF_STOCK("OUT_OF_STOCK"),
     ITEM_NOT_FOUND_IN_CART("ITEM_NOT_FOUND_IN_CART"),
     CANNOT_MODIFY_NON_ACTIVE_CART("CANNOT_MODIFY_NON_ACTIVE_CART"),
     CANNOT_CHECKOUT_NON_ACTIVE_CART("CANNOT_CHECKOUT_NON_ACTIVE_CART"),
     CANNOT_CREATE_ORDER_FROM_CART("CANNOT_CREATE_ORDER_FROM_CART"),
     CANNOT_CANCEL_NON_PENDING_ORDER("CANNOT_CANCEL_NON_PENDING_ORDER"),
     INVALID_ORDER_STATUS("INVALID_ORDER_STATUS"),
+    INVALID_STATUS_TRANSITION("The order cannot move to the requested status"),
     ORDER_ITEM_NOT_FOUND("No item found"),
     NO_AVAILABLE_DRIVERS("No drivers are currently available."),
     NO_COORDINATES_FOUND("No coordinates found for the address"),
@@ -0,0 +1,26 @@
+package com.ds.commons.utils;
+
+/**
+ * Solves a min-cost assignment between the rows and columns of a cost matrix, e.g. drivers and orders.
+ * Each row is matched to at most one column and each column to at most one row.
+ */
+public interface AssignmentStrategy {
+
+    /**
+     * Cost of a pair that must never be matched.
+     */
+    double NOT_ALLOWED = Double.POSITIVE_INFINITY;
+
+    /**
+     * Matches as many rows as possible to columns at the lowest total cost.
+     * <p>
+     * If the time budget runs out before the solver finishes, the rows it has not placed yet are matched
+     * greedily, so the result is always a valid but possibly suboptimal assignment.
+     *
+     * @param cost        row-by-column costs; every row must have the same length and {@link #NOT_ALLOWED} marks pairs
+     *                    that cannot be matched
+     * @param budgetNanos time budget for the solve
+     * @return the column matched to each row, or -1 for rows left unmatched
+     */
+    int[] assign(double[][] cost, long budgetNanos);
+}
@@ -0,0 +1,79 @@
+package com.ds.commons.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Helpers shared by the {@link AssignmentStrategy} implementations.
+ */
+final class Assignments {
+
+    private Assignments() {
+    }
+
+    static int columns(double[][] cost) {
+        return cost.length == 0 ? 0 : cost[0].length;
+    }
+
+    static double[][] transpose(double[][] cost) {
+        int rows = cost.length;
+        int cols = columns(cost);
+        double[][] transposed = new double[cols][rows];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                transposed[j][i] = cost[i][j];
+            }
+        }
+        return transposed;
+    }
+
+    /**
+     * Converts a column-per-row assignment of the transposed matrix back to the original orientation.
+     */
+    static int[] invert(int[] assignment, int size) {
+        int[] inverted = new int[size];
+        Arrays.fill(inverted, -1);
+        for (int i = 0; i < assignment.length; i++) {
+            if (assignment[i] >= 0) {
+                inverted[assignment[i]] = i;
+            }
+        }
+        return inverted;
+    }
+
+    /**
+     * Matches the rows still at -1 to free columns, cheapest pair first.
+     */
+    static void completeGreedily(double[][] cost, int[] assignment) {
+        int cols = columns(cost);
+        boolean[] taken = new boolean[cols];
+        for (int column : assignment) {
+            if (column >= 0) {
+                taken[column] = true;
+            }
+        }
+
+        List<long[]> pairs = new ArrayList<>();
+        for (int i = 0; i < assignment.length; i++) {
+            if (assignment[i] >= 0) {
+                continue;
+            }
+            for (int j = 0; j < cols; j++) {
+                if (!taken[j] && cost[i][j] != AssignmentStrategy.NOT_ALLOWED) {
+                    pairs.add(new long[]{i, j});
+                }
+            }
+        }
+        pairs.sort((a, b) -> Double.compare(cost[(int) a[0]][(int) a[1]], cost[(int) b[0]][(int) b[1]]));
+
+        for (long[] pair : pairs) {
+            int i = (int) pair[0];
+            int j = (int) pair[1];
+            if (assignment[i] < 0 && !taken[j]) {
+                assignment[i] = j;
+                taken[j] = true;
+            }
+        }
+    }
+}
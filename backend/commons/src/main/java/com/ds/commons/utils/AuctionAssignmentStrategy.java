@@ -0,0 +1,137 @@
+package com.ds.commons.utils;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * Approximate min-cost assignment with Bertsekas' forward auction and epsilon scaling.
+ * <p>
+ * Rows bid for columns and column prices rise until every row holds the column that is best for it at the
+ * current prices. The result's total cost is within {@code n × epsilon} of the optimum, where n is the larger
+ * dimension and epsilon the final bid increment. The matrix is padded to a square with zero-cost dummy rows or
+ * columns and forbidden pairs get a penalty cost, so every row can always be matched and the auction terminates.
+ */
+public class AuctionAssignmentStrategy implements AssignmentStrategy {
+
+    private static final int UNASSIGNED = -1;
+    private static final double SCALING_FACTOR = 5;
+
+    private final double finalEpsilon;
+
+    public AuctionAssignmentStrategy() {
+        this(1e-4);
+    }
+
+    /**
+     * @param finalEpsilon bid increment of the last scaling phase, in the unit of the costs
+     */
+    public AuctionAssignmentStrategy(double finalEpsilon) {
+        if (finalEpsilon <= 0) {
+            throw new IllegalArgumentException("finalEpsilon must be positive");
+        }
+        this.finalEpsilon = finalEpsilon;
+    }
+
+    @Override
+    public int[] assign(double[][] cost, long budgetNanos) {
+        int rows = cost.length;
+        int cols = Assignments.columns(cost);
+        int[] assignment = new int[rows];
+        Arrays.fill(assignment, UNASSIGNED);
+        if (rows == 0 || cols == 0) {
+            return assignment;
+        }
+
+        long deadline = System.nanoTime() + budgetNanos;
+        int n = Math.max(rows, cols);
+        double maxCost = 0;
+        for (double[] row : cost) {
+            for (double c : row) {
+                if (c != NOT_ALLOWED) {
+                    maxCost = Math.max(maxCost, Math.abs(c));
+                }
+            }
+        }
+        // Larger than any total of allowed costs plus the auction's slack, so forbidden pairs are used last
+        double penalty = n * (maxCost + finalEpsilon) * 2 + 1;
+        double[][] benefit = new double[n][n];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                benefit[i][j] = cost[i][j] == NOT_ALLOWED ? -penalty : -cost[i][j];
+            }
+        }
+
+        double[] prices = new double[n];
+        int[] owner = new int[n];
+        int[] held = new int[n];
+        boolean finished = false;
+        for (double epsilon = Math.max(maxCost / SCALING_FACTOR, finalEpsilon); ; epsilon /= SCALING_FACTOR) {
+            epsilon = Math.max(epsilon, finalEpsilon);
+            if (!runPhase(benefit, prices, owner, held, epsilon, deadline)) {
+                break;
+            }
+            if (epsilon == finalEpsilon) {
+                finished = true;
+                break;
+            }
+        }
+
+        for (int i = 0; i < rows; i++) {
+            int j = held[i];
+            // Dummy columns and forbidden pairs mean the row stays unmatched
+            if (j != UNASSIGNED && j < cols && cost[i][j] != NOT_ALLOWED) {
+                assignment[i] = j;
+            }
+        }
+        if (!finished) {
+            Assignments.completeGreedily(cost, assignment);
+        }
+        return assignment;
+    }
+
+    // One auction round from scratch at the given epsilon, keeping the prices of the previous round;
+    // returns false when the deadline interrupted it
+    private boolean runPhase(double[][] benefit, double[] prices, int[] owner, int[] held, double epsilon, long deadline) {
+        int n = prices.length;
+        Arrays.fill(owner, UNASSIGNED);
+        Arrays.fill(held, UNASSIGNED);
+        ArrayDeque<Integer> bidders = new ArrayDeque<>(n);
+        for (int i = 0; i < n; i++) {
+            bidders.add(i);
+        }
+
+        int bids = 0;
+        while (!bidders.isEmpty()) {
+            if ((++bids & 255) == 0 && System.nanoTime() - deadline > 0) {
+                return false;
+            }
+            int i = bidders.poll();
+            double[] row = benefit[i];
+
+            double best = Double.NEGATIVE_INFINITY;
+            double second = Double.NEGATIVE_INFINITY;
+            int bestColumn = 0;
+            for (int j = 0; j < n; j++) {
+                double value = row[j] - prices[j];
+                if (value > best) {
+                    second = best;
+                    best = value;
+                    bestColumn = j;
+                } else if (value > second) {
+                    second = value;
+                }
+            }
+
+            // With a single column there is no competitor; any positive increment will do
+            prices[bestColumn] += (second == Double.NEGATIVE_INFINITY ? 0 : best - second) + epsilon;
+            int previous = owner[bestColumn];
+            if (previous != UNASSIGNED) {
+                held[previous] = UNASSIGNED;
+                bidders.add(previous);
+            }
+            owner[bestColumn] = i;
+            held[i] = bestColumn;
+        }
+        return true;
+    }
+}
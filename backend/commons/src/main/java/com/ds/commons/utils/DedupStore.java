@@ -0,0 +1,30 @@
+package com.ds.commons.utils;
+
+import java.time.Duration;
+
+/**
+ * Records keys for a limited time so that work done once per key, such as notifying drivers about an order,
+ * is not repeated. Implementations differ in how far the records are shared: within one process or across
+ * every service instance.
+ */
+public interface DedupStore {
+
+    /**
+     * Records the key unless an unexpired record for it already exists.
+     *
+     * @param key identity of the work item
+     * @param ttl how long the record suppresses repeats
+     * @return true if this call recorded the key and the caller should do the work
+     */
+    boolean tryMark(String key, Duration ttl);
+
+    /**
+     * Whether an unexpired record exists for the key.
+     */
+    boolean isMarked(String key);
+
+    /**
+     * Removes the record for the key, e.g. when the work it guarded did not happen, so it can be retried.
+     */
+    void release(String key);
+}
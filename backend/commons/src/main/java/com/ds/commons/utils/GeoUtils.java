@@ -2,19 +2,36 @@ package com.ds.commons.utils;
 
 import java.math.BigDecimal;
 
+/**
+ * Distance helpers on latitude/longitude coordinates in degrees.
+ * <p>
+ * The {@code double} methods are the primary API; the {@link BigDecimal} overloads only convert and delegate.
+ */
 public class GeoUtils {
 
-    private static final int EARTH_RADIUS_KM = 6371;
+    // Package-private so SpatialGrid sizes its cells on the same sphere its distances are measured on
+    static final int EARTH_RADIUS_KM = 6371;
+    static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    // Limits within which equirectangularDistance stays within 0.01% of the Haversine distance
+    public static final double FAST_PATH_MAX_KM = 100;
+    public static final double FAST_PATH_MAX_LAT = 70;
+
+    // The Vector API is an incubator module; it is only used when the JVM was started with --add-modules jdk.incubator.vector
+    private static final boolean VECTOR_KERNEL = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+            && GeoVectorKernel.isSupported();
 
     /**
      * Calculates the distance between two coordinates using the Haversine formula.
      */
     public static double calculateDistance(BigDecimal lat1, BigDecimal lon1, BigDecimal lat2, BigDecimal lon2) {
-        double lat1d = lat1.doubleValue();
-        double lon1d = lon1.doubleValue();
-        double lat2d = lat2.doubleValue();
-        double lon2d = lon2.doubleValue();
+        return calculateDistance(lat1.doubleValue(), lon1.doubleValue(), lat2.doubleValue(), lon2.doubleValue());
+    }
 
+    /**
+     * Calculates the distance in km between two coordinates in degrees using the Haversine formula.
+     */
+    public static double calculateDistance(double lat1d, double lon1d, double lat2d, double lon2d) {
         double latDistance = Math.toRadians(lat2d - lat1d);
         double lonDistance = Math.toRadians(lon2d - lon1d);
 
@@ -27,13 +44,77 @@ public class GeoUtils {
         return EARTH_RADIUS_KM * c;
     }
 
+    /**
+     * Approximates the distance in km by projecting both points onto a plane at their mean latitude.
+     * <p>
+     * Within {@link #FAST_PATH_MAX_KM} and {@link #FAST_PATH_MAX_LAT} degrees of latitude the result is within
+     * 0.01% of {@link #calculateDistance(double, double, double, double)} (under 10 m at 100 km); the error grows
+     * with distance and towards the poles beyond that.
+     */
+    public static double equirectangularDistance(double lat1d, double lon1d, double lat2d, double lon2d) {
+        double x = wrapLongitude(lon2d - lon1d) * Math.cos(Math.toRadians((lat1d + lat2d) / 2));
+        double y = lat2d - lat1d;
+        return KM_PER_DEGREE * Math.sqrt(x * x + y * y);
+    }
+
+    /**
+     * Calculates the distance in km, using the equirectangular approximation where it is accurate to 0.01%
+     * and the Haversine formula otherwise.
+     */
+    public static double fastDistance(double lat1d, double lon1d, double lat2d, double lon2d) {
+        if (Math.abs(lat1d) <= FAST_PATH_MAX_LAT && Math.abs(lat2d) <= FAST_PATH_MAX_LAT) {
+            double approx = equirectangularDistance(lat1d, lon1d, lat2d, lon2d);
+            if (approx <= FAST_PATH_MAX_KM) {
+                return approx;
+            }
+        }
+        return calculateDistance(lat1d, lon1d, lat2d, lon2d);
+    }
+
+    /**
+     * Calculates the Haversine distance in km from one point to {@code count} points held in parallel
+     * latitude and longitude arrays, writing the results to {@code out}.
+     * Uses the JDK Vector API when it is available to the running JVM.
+     */
+    public static void calculateDistances(double lat, double lng, double[] lats, double[] lngs, double[] out, int count) {
+        if (count > lats.length || count > lngs.length || count > out.length) {
+            throw new IllegalArgumentException("count exceeds array length");
+        }
+        if (VECTOR_KERNEL) {
+            GeoVectorKernel.distances(lat, lng, lats, lngs, out, count);
+        } else {
+            distancesScalar(lat, lng, lats, lngs, out, 0, count);
+        }
+    }
+
+    // Scalar batch kernel over [from, to); the cosine of the origin latitude is computed once per batch
+    static void distancesScalar(double lat, double lng, double[] lats, double[] lngs, double[] out, int from, int to) {
+        double latRad = Math.toRadians(lat);
+        double cosLat = Math.cos(latRad);
+        for (int i = from; i < to; i++) {
+            double lat2Rad = Math.toRadians(lats[i]);
+            double sinDLat = Math.sin((lat2Rad - latRad) / 2);
+            double sinDLng = Math.sin(Math.toRadians(lngs[i] - lng) / 2);
+            double a = sinDLat * sinDLat + cosLat * Math.cos(lat2Rad) * sinDLng * sinDLng;
+            out[i] = 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(Math.min(a, 1)));
+        }
+    }
+
     /**
      * Checks if two coordinates are within a certain radius (in km).
      */
     public static boolean isWithinRadius(BigDecimal lat1, BigDecimal lon1,
                                          BigDecimal lat2, BigDecimal lon2,
                                          double radiusKm) {
-        return calculateDistance(lat1, lon1, lat2, lon2) <= radiusKm;
+        return isWithinRadius(lat1.doubleValue(), lon1.doubleValue(), lat2.doubleValue(), lon2.doubleValue(), radiusKm);
+    }
+
+    /**
+     * Checks if two coordinates are within a certain radius (in km), rejecting far points with a bounding box first.
+     */
+    public static boolean isWithinRadius(double lat1d, double lon1d, double lat2d, double lon2d, double radiusKm) {
+        return BoundingBox.around(lat1d, lon1d, radiusKm).contains(lat2d, lon2d)
+                && calculateDistance(lat1d, lon1d, lat2d, lon2d) <= radiusKm;
     }
 
     /**
@@ -43,4 +124,67 @@ public class GeoUtils {
         return String.format("https://maps.googleapis.com/maps/api/staticmap?center=%.6f,%.6f&zoom=15&size=%dx%d&markers=%.6f,%.6f",
                 lat.doubleValue(), lng.doubleValue(), width, height, lat.doubleValue(), lng.doubleValue());
     }
+
+    // Maps a longitude difference into [-180, 180] so distances across the antimeridian stay short
+    private static double wrapLongitude(double deltaLng) {
+        if (deltaLng > 180) {
+            return deltaLng - 360;
+        }
+        if (deltaLng < -180) {
+            return deltaLng + 360;
+        }
+        return deltaLng;
+    }
+
+    /**
+     * Latitude/longitude box enclosing a circle, for rejecting far points with comparisons only.
+     * Every point within the radius is inside the box; points inside the box can still be outside the radius.
+     */
+    public static final class BoundingBox {
+        private final double minLat;
+        private final double maxLat;
+        private final double centerLng;
+        private final double lngSpan;
+
+        private BoundingBox(double minLat, double maxLat, double centerLng, double lngSpan) {
+            this.minLat = minLat;
+            this.maxLat = maxLat;
+            this.centerLng = centerLng;
+            this.lngSpan = lngSpan;
+        }
+
+        public static BoundingBox around(double lat, double lng, double radiusKm) {
+            double latSpan = radiusKm / KM_PER_DEGREE;
+            double minLat = lat - latSpan;
+            double maxLat = lat + latSpan;
+            // Near a pole the circle covers every longitude
+            if (minLat <= -90 || maxLat >= 90) {
+                return new BoundingBox(Math.max(minLat, -90), Math.min(maxLat, 90), lng, 180);
+            }
+            // Longitude span at the latitude where the circle is widest
+            double widestLat = Math.max(Math.abs(minLat), Math.abs(maxLat));
+            double lngSpan = Math.min(latSpan / Math.cos(Math.toRadians(widestLat)), 180);
+            return new BoundingBox(minLat, maxLat, lng, lngSpan);
+        }
+
+        public double getMinLat() {
+            return minLat;
+        }
+
+        public double getMaxLat() {
+            return maxLat;
+        }
+
+        public double getMinLng() {
+            return centerLng - lngSpan;
+        }
+
+        public double getMaxLng() {
+            return centerLng + lngSpan;
+        }
+
+        public boolean contains(double lat, double lng) {
+            return lat >= minLat && lat <= maxLat && Math.abs(wrapLongitude(lng - centerLng)) <= lngSpan;
+        }
+    }
 }
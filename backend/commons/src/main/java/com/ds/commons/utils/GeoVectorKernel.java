@@ -0,0 +1,46 @@
+package com.ds.commons.utils;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API implementation of {@link GeoUtils#calculateDistances}. Only loaded by {@link GeoUtils} after it has
+ * checked that the {@code jdk.incubator.vector} module is present, so it must not be referenced from anywhere else.
+ */
+final class GeoVectorKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final double DEG_TO_RAD = Math.PI / 180;
+    private static final double EARTH_DIAMETER_KM = 2 * 6371;
+
+    private GeoVectorKernel() {
+    }
+
+    // A single-lane species means the CPU has no usable SIMD registers for doubles
+    static boolean isSupported() {
+        return SPECIES.length() > 1;
+    }
+
+    static void distances(double lat, double lng, double[] lats, double[] lngs, double[] out, int count) {
+        double latRad = lat * DEG_TO_RAD;
+        double cosLat = Math.cos(latRad);
+
+        int i = 0;
+        int upperBound = SPECIES.loopBound(count);
+        for (; i < upperBound; i += SPECIES.length()) {
+            DoubleVector lat2Rad = DoubleVector.fromArray(SPECIES, lats, i).mul(DEG_TO_RAD);
+            DoubleVector sinDLat = lat2Rad.sub(latRad).mul(0.5).lanewise(VectorOperators.SIN);
+            DoubleVector sinDLng = DoubleVector.fromArray(SPECIES, lngs, i).sub(lng).mul(DEG_TO_RAD * 0.5)
+                    .lanewise(VectorOperators.SIN);
+            DoubleVector a = sinDLat.mul(sinDLat)
+                    .add(lat2Rad.lanewise(VectorOperators.COS).mul(cosLat).mul(sinDLng).mul(sinDLng))
+                    .min(1.0);
+            a.sqrt().lanewise(VectorOperators.ASIN).mul(EARTH_DIAMETER_KM).intoArray(out, i);
+        }
+
+        if (i < count) {
+            GeoUtils.distancesScalar(lat, lng, lats, lngs, out, i, count);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.ds.commons.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Persistent second tier for {@link GeocodingUtil}. Implementations keep resolved (and unresolved)
+ * addresses keyed on the normalized address string so that lookups survive restarts and are shared
+ * between service instances.
+ */
+public interface GeocodeStore {
+
+    /**
+     * Finds a non-expired entry for the given normalized address.
+     *
+     * @param addressKey normalized address string
+     * @return the stored entry, or empty if there is none or it has expired
+     */
+    Optional<Entry> find(String addressKey);
+
+    /**
+     * Inserts or replaces the entry for the given normalized address.
+     *
+     * @param addressKey normalized address string
+     * @param entry      entry to store
+     */
+    void save(String addressKey, Entry entry);
+
+    /**
+     * A stored geocoding outcome. {@code lat}/{@code lng} are null when the address could not be resolved.
+     */
+    @Getter
+    @AllArgsConstructor
+    class Entry {
+        private final BigDecimal lat;
+        private final BigDecimal lng;
+        private final LocalDateTime expiresAt;
+
+        public boolean isFound() {
+            return lat != null && lng != null;
+        }
+    }
+}
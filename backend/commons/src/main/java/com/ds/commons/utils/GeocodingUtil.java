@@ -2,26 +2,65 @@ package com.ds.commons.utils;
 
 import com.ds.commons.exception.CustomException;
 import com.ds.commons.exception.ExceptionCode;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Resolves addresses to coordinates through Nominatim.
+ * <p>
+ * Lookups are cached in two tiers: a bounded in-process cache and, when a {@link GeocodeStore} bean is
+ * present, a persisted table shared by every instance. Both tiers are keyed on the normalized address
+ * and remember failed lookups for a shorter time than successful ones. Concurrent misses on the same
+ * address share a single lookup.
+ * <p>
+ * Requests to the API are spaced at least {@code geocoding.api.min-interval} apart within this instance and
+ * carry the configured User-Agent, as Nominatim's usage policy asks. Only created when
+ * {@code geocoding.api.url} is set to a non-blank value.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
-@ConditionalOnProperty(name = "geocoding.api.url")
+@ConditionalOnExpression("!'${geocoding.api.url:}'.isBlank()")
 public class GeocodingUtil {
 
+    private static final String METRIC_PREFIX = "geocoding";
+
     private final RestTemplate restTemplate;
+    private final ObjectProvider<GeocodeStore> geocodeStoreProvider;
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
 
     @Value("${geocoding.api.url}")
     private String geocodingApiUrl;
@@ -29,7 +68,174 @@ public class GeocodingUtil {
     @Value("${geocoding.api.format}")
     private String responseFormat;
 
+    @Value("${geocoding.api.user-agent:easy-bites}")
+    private String userAgent;
+
+    @Value("${geocoding.api.min-interval:PT1S}")
+    private Duration minInterval;
+
+    @Value("${geocoding.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    @Value("${geocoding.cache.ttl:PT24H}")
+    private Duration cacheTtl;
+
+    @Value("${geocoding.cache.negative-ttl:PT10M}")
+    private Duration cacheNegativeTtl;
+
+    @Value("${geocoding.store.ttl:P30D}")
+    private Duration storeTtl;
+
+    @Value("${geocoding.store.negative-ttl:PT1H}")
+    private Duration storeNegativeTtl;
+
+    // Threads that run cache misses; API requests are still spaced by min-interval across all of them
+    @Value("${geocoding.lookup.threads:2}")
+    private int lookupThreads;
+
+    private final Object rateLock = new Object();
+    // System.nanoTime() before which no further API request may start; guarded by rateLock
+    private long nextRequestAt;
+
+    private AsyncCache<String, GeocodeStore.Entry> cache;
+    private ExecutorService lookupExecutor;
+    private HttpEntity<Void> requestEntity;
+
+    private Counter memoryHits;
+    private Counter storeHits;
+    private Counter misses;
+    private Counter failures;
+    private Timer lookupTimer;
+
+    @PostConstruct
+    void init() {
+        nextRequestAt = System.nanoTime();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.USER_AGENT, userAgent);
+        requestEntity = new HttpEntity<>(headers);
+
+        lookupExecutor = Executors.newFixedThreadPool(lookupThreads, runnable -> {
+            Thread thread = new Thread(runnable, "geocoding-lookup");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .executor(lookupExecutor)
+                .expireAfter(new Expiry<String, GeocodeStore.Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, GeocodeStore.Entry entry, long currentTime) {
+                        return (entry.isFound() ? cacheTtl : cacheNegativeTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, GeocodeStore.Entry entry, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, GeocodeStore.Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .buildAsync();
+
+        MeterRegistry registry = meterRegistryProvider.getIfAvailable(SimpleMeterRegistry::new);
+        memoryHits = Counter.builder(METRIC_PREFIX + ".cache.requests").tag("result", "memory_hit").register(registry);
+        storeHits = Counter.builder(METRIC_PREFIX + ".cache.requests").tag("result", "store_hit").register(registry);
+        misses = Counter.builder(METRIC_PREFIX + ".cache.requests").tag("result", "miss").register(registry);
+        failures = Counter.builder(METRIC_PREFIX + ".lookup.failures").register(registry);
+        lookupTimer = Timer.builder(METRIC_PREFIX + ".lookup.latency")
+                .description("Time spent resolving an address against the geocoding API")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".cache.size", cache, c -> c.synchronous().estimatedSize()).register(registry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        lookupExecutor.shutdownNow();
+    }
+
+    /**
+     * Resolves an address to {@code [lat, lng]}.
+     *
+     * @param address free-form address
+     * @return latitude and longitude
+     * @throws CustomException NO_COORDINATES_FOUND if the address cannot be resolved
+     */
     public BigDecimal[] getCoordinates(String address) throws CustomException {
+        if (address == null || address.isBlank()) {
+            throw new CustomException(ExceptionCode.NO_COORDINATES_FOUND);
+        }
+
+        String key = normalizeAddress(address);
+        CompletableFuture<GeocodeStore.Entry> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            memoryHits.increment();
+        }
+
+        GeocodeStore.Entry entry;
+        try {
+            entry = (cached != null ? cached : cache.get(key, (k, executor) ->
+                    CompletableFuture.supplyAsync(() -> loadEntry(k, address), executor))).join();
+        } catch (CompletionException e) {
+            log.error("Geocoding lookup failed for address: {}", address, e.getCause());
+            throw new CustomException(ExceptionCode.NO_COORDINATES_FOUND);
+        }
+
+        if (!entry.isFound()) {
+            throw new CustomException(ExceptionCode.NO_COORDINATES_FOUND);
+        }
+        return new BigDecimal[]{entry.getLat(), entry.getLng()};
+    }
+
+    /**
+     * Normalizes an address into the cache key: lower case, single spaces and no spaces around commas.
+     */
+    public static String normalizeAddress(String address) {
+        return address.trim()
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("\\s+", " ")
+                .replaceAll("\\s*,\\s*", ",");
+    }
+
+    // Runs once per key on a cache miss: persisted tier first, then the geocoding API
+    private GeocodeStore.Entry loadEntry(String key, String address) {
+        GeocodeStore store = geocodeStoreProvider.getIfAvailable();
+        if (store != null) {
+            try {
+                Optional<GeocodeStore.Entry> stored = store.find(key);
+                if (stored.isPresent()) {
+                    storeHits.increment();
+                    return stored.get();
+                }
+            } catch (Exception e) {
+                log.warn("Geocode store read failed for key {}", key, e);
+            }
+        }
+
+        misses.increment();
+        BigDecimal[] coordinates = lookupTimer.record(() -> lookup(address));
+        GeocodeStore.Entry entry = coordinates != null
+                ? new GeocodeStore.Entry(coordinates[0], coordinates[1], LocalDateTime.now().plus(storeTtl))
+                : new GeocodeStore.Entry(null, null, LocalDateTime.now().plus(storeNegativeTtl));
+        if (coordinates == null) {
+            failures.increment();
+        }
+
+        if (store != null) {
+            try {
+                store.save(key, entry);
+            } catch (Exception e) {
+                log.warn("Geocode store write failed for key {}", key, e);
+            }
+        }
+        return entry;
+    }
+
+    private BigDecimal[] lookup(String address) {
         List<String> addressVariants = generateAddressVariants(address);
 
         for (String variant : addressVariants) {
@@ -44,11 +250,12 @@ public class GeocodingUtil {
                         .build()
                         .toUriString();
 
+                awaitRequestSlot();
                 log.info("Attempting geocoding with address variant: {}", variant);
                 log.info("Geocoding URI: {}", uri);
 
                 ResponseEntity<NominatimResponse[]> response =
-                        restTemplate.getForEntity(uri, NominatimResponse[].class);
+                        restTemplate.exchange(uri, HttpMethod.GET, requestEntity, NominatimResponse[].class);
 
                 if (response.getBody() != null && response.getBody().length > 0) {
                     NominatimResponse res = response.getBody()[0];
@@ -63,6 +270,9 @@ public class GeocodingUtil {
 
                 log.warn("No result for address variant: {}", variant);
 
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
             } catch (Exception e) {
                 log.warn("Failed geocoding attempt for variant: {}", variant, e);
                 // Continue to next variant
@@ -71,7 +281,21 @@ public class GeocodingUtil {
 
         // All attempts failed
         log.error("All geocoding attempts failed for address: {}", address);
-        throw new CustomException(ExceptionCode.NO_COORDINATES_FOUND);
+        return null;
+    }
+
+    // Blocks until this instance may send its next API request
+    private void awaitRequestSlot() throws InterruptedException {
+        long waitNanos;
+        synchronized (rateLock) {
+            long now = System.nanoTime();
+            long slot = nextRequestAt - now > 0 ? nextRequestAt : now;
+            nextRequestAt = slot + minInterval.toNanos();
+            waitNanos = slot - now;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
     }
 
     private List<String> generateAddressVariants(String address) {
@@ -86,6 +310,7 @@ public class GeocodingUtil {
 
         // Simplified last-chance fallback (e.g., just city and country)
         variants.add("Colombo, Sri Lanka");
-        return variants;
+        // Variants the replacements left unchanged would only repeat a request
+        return variants.stream().filter(variant -> !variant.isEmpty()).distinct().toList();
     }
 }
@@ -0,0 +1,111 @@
+package com.ds.commons.utils;
+
+import java.util.Arrays;
+
+/**
+ * Exact min-cost assignment with the Hungarian algorithm (shortest augmenting paths with potentials),
+ * O(rows² × columns).
+ * <p>
+ * Rows are added one at a time, so when the budget runs out the rows already added keep their optimal
+ * assignment among themselves and only the rest are matched greedily.
+ */
+public class HungarianAssignmentStrategy implements AssignmentStrategy {
+
+    @Override
+    public int[] assign(double[][] cost, long budgetNanos) {
+        int rows = cost.length;
+        int cols = Assignments.columns(cost);
+        if (rows == 0 || cols == 0) {
+            int[] none = new int[rows];
+            Arrays.fill(none, -1);
+            return none;
+        }
+        // The algorithm needs at most as many rows as columns
+        if (rows > cols) {
+            return Assignments.invert(assign(Assignments.transpose(cost), budgetNanos), rows);
+        }
+
+        long deadline = System.nanoTime() + budgetNanos;
+        double penalty = penalty(cost);
+
+        // 1-based arrays as in the textbook formulation; column 0 is a virtual start column
+        double[] u = new double[rows + 1];
+        double[] v = new double[cols + 1];
+        int[] owner = new int[cols + 1];
+        int[] way = new int[cols + 1];
+        double[] minv = new double[cols + 1];
+        boolean[] used = new boolean[cols + 1];
+
+        for (int i = 1; i <= rows; i++) {
+            if (System.nanoTime() - deadline > 0) {
+                break;
+            }
+            owner[0] = i;
+            int j0 = 0;
+            Arrays.fill(minv, Double.POSITIVE_INFINITY);
+            Arrays.fill(used, false);
+            do {
+                used[j0] = true;
+                int i0 = owner[j0];
+                double[] row = cost[i0 - 1];
+                double delta = Double.POSITIVE_INFINITY;
+                int j1 = 0;
+                for (int j = 1; j <= cols; j++) {
+                    if (used[j]) {
+                        continue;
+                    }
+                    double c = row[j - 1] == NOT_ALLOWED ? penalty : row[j - 1];
+                    double reduced = c - u[i0] - v[j];
+                    if (reduced < minv[j]) {
+                        minv[j] = reduced;
+                        way[j] = j0;
+                    }
+                    if (minv[j] < delta) {
+                        delta = minv[j];
+                        j1 = j;
+                    }
+                }
+                for (int j = 0; j <= cols; j++) {
+                    if (used[j]) {
+                        u[owner[j]] += delta;
+                        v[j] -= delta;
+                    } else {
+                        minv[j] -= delta;
+                    }
+                }
+                j0 = j1;
+            } while (owner[j0] != 0);
+            do {
+                int j1 = way[j0];
+                owner[j0] = owner[j1];
+                j0 = j1;
+            } while (j0 != 0);
+        }
+
+        int[] assignment = new int[rows];
+        Arrays.fill(assignment, -1);
+        for (int j = 1; j <= cols; j++) {
+            // Pairs at the penalty cost were only forced to complete the matching
+            if (owner[j] != 0 && cost[owner[j] - 1][j - 1] != NOT_ALLOWED) {
+                assignment[owner[j] - 1] = j - 1;
+            }
+        }
+        Assignments.completeGreedily(cost, assignment);
+        return assignment;
+    }
+
+    // Stands in for NOT_ALLOWED: larger than any total of allowed costs, so forbidden pairs are used last
+    private static double penalty(double[][] cost) {
+        double total = 0;
+        for (double[] row : cost) {
+            double rowMax = 0;
+            for (double c : row) {
+                if (c != NOT_ALLOWED) {
+                    rowMax = Math.max(rowMax, Math.abs(c));
+                }
+            }
+            total += rowMax;
+        }
+        return total * 2 + 1;
+    }
+}
@@ -0,0 +1,58 @@
+package com.ds.commons.utils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+
+/**
+ * {@link DedupStore} local to this process, on a bounded Caffeine cache. Each record expires after its own TTL;
+ * reads do not lock and an expired record counts as absent.
+ */
+public class InMemoryDedupStore implements DedupStore {
+
+    // Value is the record's expiry on the System.nanoTime() scale, which is also Caffeine's default ticker
+    private final Cache<String, Long> marks;
+
+    public InMemoryDedupStore(long maxSize) {
+        marks = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Long>() {
+                    @Override
+                    public long expireAfterCreate(String key, Long expiresAt, long currentTime) {
+                        return Math.max(0, expiresAt - currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Long expiresAt, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, expiresAt, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Long expiresAt, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public boolean tryMark(String key, Duration ttl) {
+        return marks.asMap().putIfAbsent(key, System.nanoTime() + ttl.toNanos()) == null;
+    }
+
+    @Override
+    public boolean isMarked(String key) {
+        return marks.getIfPresent(key) != null;
+    }
+
+    @Override
+    public void release(String key) {
+        marks.invalidate(key);
+    }
+
+    public long size() {
+        return marks.estimatedSize();
+    }
+}
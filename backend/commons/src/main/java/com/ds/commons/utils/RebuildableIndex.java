@@ -0,0 +1,72 @@
+package com.ds.commons.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Holds an in-memory index that is kept current by incremental changes and periodically rebuilt from the database.
+ * <p>
+ * A rebuild loads a new index while the current one keeps serving and receiving changes. Changes applied during
+ * the load are recorded and replayed onto the new index before it replaces the current one, so none are lost.
+ *
+ * @param <T> the index type; it must tolerate queries running concurrently with a change
+ */
+public class RebuildableIndex<T> {
+
+    private volatile T current;
+
+    // Changes applied during a rebuild; null when no rebuild is running. Guarded by this
+    private List<Consumer<T>> pendingChanges;
+
+    public RebuildableIndex(T initial) {
+        this.current = initial;
+    }
+
+    /**
+     * The index to query; a later call may return a newer one.
+     */
+    public T get() {
+        return current;
+    }
+
+    /**
+     * Loads a new index and swaps it in. Returns without loading if a rebuild is already running.
+     *
+     * @return the new index, or {@code null} if another rebuild was running
+     * @throws RuntimeException whatever the loader throws; the current index is then kept
+     */
+    public T rebuild(Supplier<T> loader) {
+        synchronized (this) {
+            if (pendingChanges != null) {
+                return null;
+            }
+            pendingChanges = new ArrayList<>();
+        }
+        try {
+            T loaded = loader.get();
+            synchronized (this) {
+                pendingChanges.forEach(change -> change.accept(loaded));
+                current = loaded;
+            }
+            return loaded;
+        } finally {
+            synchronized (this) {
+                pendingChanges = null;
+            }
+        }
+    }
+
+    /**
+     * Applies a change to the current index, and to the one being loaded if a rebuild is running.
+     */
+    public void apply(Consumer<T> change) {
+        synchronized (this) {
+            change.accept(current);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        }
+    }
+}
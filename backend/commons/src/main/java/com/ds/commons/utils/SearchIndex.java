@@ -0,0 +1,341 @@
+package com.ds.commons.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongToDoubleFunction;
+import java.util.regex.Pattern;
+
+/**
+ * Thread-safe in-memory inverted index for search-as-you-type over short texts.
+ * <p>
+ * Documents are keyed by id and hold weighted text fields. A query matches a document when every query token
+ * matches one of its terms: exactly, as a prefix (last token only, so partially typed words match), or within
+ * one typo for tokens of at least {@link #FUZZY_MIN_LENGTH} characters. Typo candidates come from an index of
+ * single-character deletions, so a lookup costs a few hash probes rather than a scan of the vocabulary.
+ * Documents are ranked by the sum of their best idf-weighted match per token, times a caller-supplied boost.
+ */
+public class SearchIndex {
+
+    public static final int FUZZY_MIN_LENGTH = 4;
+    public static final int PREFIX_MIN_LENGTH = 2;
+    // Caps the work of very short prefixes, which can complete to a large part of the vocabulary
+    public static final int MAX_PREFIX_TERMS = 256;
+
+    private static final double PREFIX_FACTOR = 0.8;
+    private static final double FUZZY_FACTOR = 0.5;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Comparator<Hit> BY_SCORE = Comparator
+            .comparingDouble(Hit::getScore)
+            .thenComparing(Comparator.comparingLong(Hit::getId).reversed());
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // term -> document -> weight of the best field containing the term
+    private final TreeMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    // term with one character deleted -> terms it was derived from
+    private final Map<String, Set<String>> deletions = new HashMap<>();
+    private final Map<Long, Set<String>> documentTerms = new HashMap<>();
+
+    public static Field field(String text, float weight) {
+        return new Field(text, weight);
+    }
+
+    /**
+     * Adds a document or replaces its previous content.
+     */
+    public void put(long id, Field... fields) {
+        Map<String, Float> terms = new HashMap<>();
+        for (Field field : fields) {
+            for (String term : tokenize(field.text)) {
+                terms.merge(term, field.weight, Math::max);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeTerms(id);
+            if (terms.isEmpty()) {
+                return;
+            }
+            terms.forEach((term, weight) -> {
+                Map<Long, Float> documents = postings.get(term);
+                if (documents == null) {
+                    documents = new HashMap<>();
+                    postings.put(term, documents);
+                    for (String deletion : deletions(term)) {
+                        deletions.computeIfAbsent(deletion, key -> new HashSet<>()).add(term);
+                    }
+                }
+                documents.put(id, weight);
+            });
+            documentTerms.put(id, terms.keySet());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a document if present.
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeTerms(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} documents matching every token of the query, best first.
+     *
+     * @param boost multiplier applied to each matching document's score, e.g. to favour open restaurants
+     */
+    public List<Hit> search(String query, int limit, LongToDoubleFunction boost) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (tokens.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int documentCount = documentTerms.size();
+            List<List<TermMatch>> tokenMatches = new ArrayList<>();
+            for (int i = 0; i < tokens.size(); i++) {
+                List<TermMatch> matches = matchToken(tokens.get(i), i == tokens.size() - 1, documentCount);
+                if (matches.isEmpty()) {
+                    return new ArrayList<>();
+                }
+                tokenMatches.add(matches);
+            }
+
+            // Start from the most selective token, then only probe the documents still matching
+            tokenMatches.sort(Comparator.comparingInt(SearchIndex::postingCount));
+            for (TermMatch match : tokenMatches.getFirst()) {
+                match.documents.forEach((id, weight) -> scores.merge(id, match.factor * weight, Math::max));
+            }
+            for (List<TermMatch> matches : tokenMatches.subList(1, tokenMatches.size())) {
+                scores.entrySet().removeIf(entry -> {
+                    double best = 0;
+                    for (TermMatch match : matches) {
+                        Float weight = match.documents.get(entry.getKey());
+                        if (weight != null) {
+                            best = Math.max(best, match.factor * weight);
+                        }
+                    }
+                    entry.setValue(entry.getValue() + best);
+                    return best == 0;
+                });
+                if (scores.isEmpty()) {
+                    return new ArrayList<>();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        PriorityQueue<Hit> best = new PriorityQueue<>(limit, BY_SCORE);
+        scores.forEach((id, score) -> {
+            Hit hit = new Hit(id, score * boost.applyAsDouble(id));
+            if (best.size() < limit) {
+                best.add(hit);
+            } else if (BY_SCORE.compare(hit, best.peek()) > 0) {
+                best.poll();
+                best.add(hit);
+            }
+        });
+
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(BY_SCORE.reversed());
+        return hits;
+    }
+
+    /**
+     * Splits text into lower-case terms without diacritics, on anything that is not a letter or digit.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        for (String token : SEPARATORS.split(normalized.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Indexed terms matching one query token, with the score factor of each; caller holds the read lock
+    private List<TermMatch> matchToken(String token, boolean last, int documentCount) {
+        List<TermMatch> matches = new ArrayList<>();
+        addMatch(matches, token, 1, documentCount);
+
+        if (last && token.length() >= PREFIX_MIN_LENGTH) {
+            NavigableMap<String, Map<Long, Float>> completions =
+                    postings.subMap(token, false, token + Character.MAX_VALUE, false);
+            int expanded = 0;
+            for (String term : completions.keySet()) {
+                if (expanded++ == MAX_PREFIX_TERMS) {
+                    break;
+                }
+                addMatch(matches, term, PREFIX_FACTOR, documentCount);
+            }
+        }
+
+        if (token.length() >= FUZZY_MIN_LENGTH) {
+            for (String term : typoCandidates(token)) {
+                addMatch(matches, term, FUZZY_FACTOR, documentCount);
+            }
+        }
+        return matches;
+    }
+
+    private void addMatch(List<TermMatch> matches, String term, double factor, int documentCount) {
+        Map<Long, Float> documents = postings.get(term);
+        if (documents != null) {
+            double idf = Math.log(1 + (double) documentCount / documents.size());
+            matches.add(new TermMatch(documents, factor * idf));
+        }
+    }
+
+    private static int postingCount(List<TermMatch> matches) {
+        int count = 0;
+        for (TermMatch match : matches) {
+            count += match.documents.size();
+        }
+        return count;
+    }
+
+    // Indexed terms one insertion, deletion, substitution or adjacent transposition away from the token
+    private Set<String> typoCandidates(String token) {
+        Set<String> candidates = new HashSet<>();
+        // The token with a character missing
+        candidates.addAll(deletions.getOrDefault(token, Set.of()));
+        for (String deletion : deletions(token)) {
+            // The token with an extra character
+            if (postings.containsKey(deletion)) {
+                candidates.add(deletion);
+            }
+            // Substitutions and transpositions share a deletion with the token
+            candidates.addAll(deletions.getOrDefault(deletion, Set.of()));
+        }
+        candidates.removeIf(term -> term.equals(token) || !withinOneEdit(token, term));
+        return candidates;
+    }
+
+    private void removeTerms(long id) {
+        Set<String> terms = documentTerms.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Float> documents = postings.get(term);
+            if (documents == null) {
+                continue;
+            }
+            documents.remove(id);
+            if (documents.isEmpty()) {
+                postings.remove(term);
+                for (String deletion : deletions(term)) {
+                    Set<String> derived = deletions.get(deletion);
+                    if (derived != null && derived.remove(term) && derived.isEmpty()) {
+                        deletions.remove(deletion);
+                    }
+                }
+            }
+        }
+    }
+
+    // Terms shorter than FUZZY_MIN_LENGTH - 1 can never be within one edit of a fuzzy-matched token
+    private static Set<String> deletions(String term) {
+        if (term.length() < FUZZY_MIN_LENGTH - 1) {
+            return Set.of();
+        }
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i < term.length(); i++) {
+            result.add(term.substring(0, i) + term.substring(i + 1));
+        }
+        return result;
+    }
+
+    static boolean withinOneEdit(String a, String b) {
+        int lengthDifference = a.length() - b.length();
+        if (Math.abs(lengthDifference) > 1) {
+            return false;
+        }
+        int start = 0;
+        while (start < a.length() && start < b.length() && a.charAt(start) == b.charAt(start)) {
+            start++;
+        }
+        if (lengthDifference > 0) {
+            return a.regionMatches(start + 1, b, start, b.length() - start);
+        }
+        if (lengthDifference < 0) {
+            return b.regionMatches(start + 1, a, start, a.length() - start);
+        }
+        if (start == a.length()) {
+            return true;
+        }
+        // Substitution of one character, or transposition of two adjacent ones
+        return a.regionMatches(start + 1, b, start + 1, a.length() - start - 1)
+                || (start + 1 < a.length()
+                && a.charAt(start) == b.charAt(start + 1)
+                && a.charAt(start + 1) == b.charAt(start)
+                && a.regionMatches(start + 2, b, start + 2, a.length() - start - 2));
+    }
+
+    @AllArgsConstructor
+    private static final class TermMatch {
+        private final Map<Long, Float> documents;
+        private final double factor;
+    }
+
+    /**
+     * A text field of a document and how much matches in it count.
+     */
+    @AllArgsConstructor
+    public static final class Field {
+        private final String text;
+        private final float weight;
+    }
+
+    /**
+     * A search result: the document id and its score.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class Hit {
+        private final long id;
+        private final double score;
+    }
+}
@@ -0,0 +1,269 @@
+package com.ds.commons.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe in-memory index of points bucketed into fixed-size lat/lng cells.
+ * <p>
+ * Radius queries only visit the cells overlapping the query's bounding box, and nearest-neighbour queries
+ * search outward one ring of cells at a time, so the cost of both depends on the number of points near the
+ * query point rather than on the total number of points.
+ */
+public class SpatialGrid {
+
+    private static final Comparator<Hit> BY_DISTANCE = Comparator
+            .comparingDouble(Hit::getDistanceKm)
+            .thenComparingLong(Hit::getId);
+
+    private final double cellSizeKm;
+    private final double cellSizeDeg;
+    private final Map<Long, Point> points = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+
+    /**
+     * @param cellSizeKm approximate cell edge length; pick it close to the typical query radius
+     */
+    public SpatialGrid(double cellSizeKm) {
+        if (cellSizeKm <= 0) {
+            throw new IllegalArgumentException("cellSizeKm must be positive");
+        }
+        this.cellSizeKm = cellSizeKm;
+        this.cellSizeDeg = cellSizeKm / GeoUtils.KM_PER_DEGREE;
+    }
+
+    /**
+     * Inserts a point or moves an existing one.
+     */
+    public void put(long id, double lat, double lng) {
+        long newCell = cellKey(lat, lng);
+        points.compute(id, (key, previous) -> {
+            if (previous == null || previous.cell != newCell) {
+                if (previous != null) {
+                    removeFromCell(previous.cell, id);
+                }
+                cells.compute(newCell, (cell, members) -> {
+                    Set<Long> set = members != null ? members : ConcurrentHashMap.newKeySet();
+                    set.add(id);
+                    return set;
+                });
+            }
+            return new Point(lat, lng, newCell);
+        });
+    }
+
+    /**
+     * Removes a point if present.
+     */
+    public void remove(long id) {
+        points.computeIfPresent(id, (key, previous) -> {
+            removeFromCell(previous.cell, id);
+            return null;
+        });
+    }
+
+    public boolean contains(long id) {
+        return points.containsKey(id);
+    }
+
+    public int size() {
+        return points.size();
+    }
+
+    public void clear() {
+        points.clear();
+        cells.clear();
+    }
+
+    /**
+     * Returns the points within {@code radiusKm}, nearest first (ties broken by id).
+     *
+     * @param after exclusive cursor: only hits ordered after this one are returned; may be null
+     * @param limit maximum number of hits to return
+     */
+    public List<Hit> within(double lat, double lng, double radiusKm, Hit after, int limit) {
+        List<Hit> hits = new ArrayList<>();
+        // The box is as wide as the circle at its widest latitude, so its cells cover every point in the radius
+        GeoUtils.BoundingBox box = GeoUtils.BoundingBox.around(lat, lng, radiusKm);
+        long minRow = row(box.getMinLat());
+        long maxRow = row(box.getMaxLat());
+        long minCol = col(box.getMinLng());
+        long maxCol = col(box.getMaxLng());
+
+        for (long r = minRow; r <= maxRow; r++) {
+            for (long c = minCol; c <= maxCol; c++) {
+                collect(cells.get(key(r, c)), lat, lng, radiusKm, box, after, hits);
+            }
+        }
+
+        hits.sort(BY_DISTANCE);
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    /**
+     * Returns up to {@code k} points nearest to the given point within {@code maxRadiusKm}, nearest first.
+     * <p>
+     * Cells are searched ring by ring outward from the query point's cell, stopping as soon as the k-th
+     * nearest point found so far is no further than any point in an unsearched ring can be, or no unsearched
+     * ring can reach within {@code maxRadiusKm}.
+     */
+    public List<Hit> nearest(double lat, double lng, int k, double maxRadiusKm) {
+        if (k <= 0 || points.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // Upper bound on the rings to search; the loop normally stops earlier on the clearance check.
+        // Longitude cells narrow towards the poles, so size rings at the highest latitude the radius reaches
+        double reachLat = Math.min(Math.abs(lat) + maxRadiusKm / GeoUtils.KM_PER_DEGREE + cellSizeDeg, 90);
+        double ringWidthKm = cellSizeKm * Math.max(Math.cos(Math.toRadians(reachLat)), 0.01);
+        long maxRing = (long) Math.ceil(maxRadiusKm / ringWidthKm) + 1;
+        long centerRow = row(lat);
+        long centerCol = col(lng);
+
+        PriorityQueue<Hit> best = new PriorityQueue<>(k, BY_DISTANCE.reversed());
+        int visited = 0;
+        for (long ring = 0; ring <= maxRing; ring++) {
+            if (ring == 0) {
+                visited += collectNearest(cells.get(key(centerRow, centerCol)), lat, lng, k, maxRadiusKm, best);
+            } else {
+                for (long c = centerCol - ring; c <= centerCol + ring; c++) {
+                    visited += collectNearest(cells.get(key(centerRow - ring, c)), lat, lng, k, maxRadiusKm, best);
+                    visited += collectNearest(cells.get(key(centerRow + ring, c)), lat, lng, k, maxRadiusKm, best);
+                }
+                for (long r = centerRow - ring + 1; r <= centerRow + ring - 1; r++) {
+                    visited += collectNearest(cells.get(key(r, centerCol - ring)), lat, lng, k, maxRadiusKm, best);
+                    visited += collectNearest(cells.get(key(r, centerCol + ring)), lat, lng, k, maxRadiusKm, best);
+                }
+            }
+
+            double clearanceKm = clearanceKm(lat, ring);
+            boolean complete = best.size() == k && best.peek().getDistanceKm() <= clearanceKm;
+            if (complete || clearanceKm >= maxRadiusKm || visited >= points.size()) {
+                break;
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(BY_DISTANCE);
+        return hits;
+    }
+
+    // Lower bound on the distance from a point at lat to any point outside rings 0..ring around its cell.
+    // Such a point is either at least ring rows away, which is ring cells of latitude, or at least ring columns
+    // away within ring + 1 rows, where haversine gives the shortest distance for that longitude difference at the
+    // highest latitude those rows reach
+    private double clearanceKm(double lat, long ring) {
+        if (ring == 0) {
+            return 0;
+        }
+        double latKm = ring * cellSizeKm;
+        double maxLat = Math.min(Math.abs(lat) + (ring + 1) * cellSizeDeg, 90);
+        double halfLng = Math.toRadians(Math.min(ring * cellSizeDeg, 180)) / 2;
+        double lngKm = 2 * GeoUtils.EARTH_RADIUS_KM
+                * Math.asin(Math.min(Math.cos(Math.toRadians(maxLat)) * Math.sin(halfLng), 1));
+        return Math.min(latKm, lngKm);
+    }
+
+    private int collectNearest(Set<Long> members, double lat, double lng, int k, double maxRadiusKm, PriorityQueue<Hit> best) {
+        if (members == null) {
+            return 0;
+        }
+        int visited = 0;
+        for (Long id : members) {
+            Point point = points.get(id);
+            if (point == null) {
+                continue;
+            }
+            visited++;
+            double distance = GeoUtils.calculateDistance(lat, lng, point.lat, point.lng);
+            if (distance > maxRadiusKm) {
+                continue;
+            }
+            Hit hit = new Hit(id, point.lat, point.lng, distance);
+            if (best.size() < k) {
+                best.add(hit);
+            } else if (BY_DISTANCE.compare(hit, best.peek()) < 0) {
+                best.poll();
+                best.add(hit);
+            }
+        }
+        return visited;
+    }
+
+    private void collect(Set<Long> members, double lat, double lng, double radiusKm, GeoUtils.BoundingBox box,
+                         Hit after, List<Hit> hits) {
+        if (members == null) {
+            return;
+        }
+        for (Long id : members) {
+            Point point = points.get(id);
+            // Edge cells stick out of the circle; skip their far points without the trigonometry
+            if (point == null || !box.contains(point.lat, point.lng)) {
+                continue;
+            }
+            double distance = GeoUtils.calculateDistance(lat, lng, point.lat, point.lng);
+            if (distance > radiusKm) {
+                continue;
+            }
+            Hit hit = new Hit(id, point.lat, point.lng, distance);
+            if (after == null || BY_DISTANCE.compare(hit, after) > 0) {
+                hits.add(hit);
+            }
+        }
+    }
+
+    private void removeFromCell(long cell, long id) {
+        cells.computeIfPresent(cell, (key, members) -> {
+            members.remove(id);
+            return members.isEmpty() ? null : members;
+        });
+    }
+
+    private long row(double lat) {
+        return (long) Math.floor(lat / cellSizeDeg);
+    }
+
+    private long col(double lng) {
+        return (long) Math.floor(lng / cellSizeDeg);
+    }
+
+    private long cellKey(double lat, double lng) {
+        return key(row(lat), col(lng));
+    }
+
+    private static long key(long row, long col) {
+        return (row << 32) ^ (col & 0xffffffffL);
+    }
+
+    private static final class Point {
+        private final double lat;
+        private final double lng;
+        private final long cell;
+
+        private Point(double lat, double lng, long cell) {
+            this.lat = lat;
+            this.lng = lng;
+            this.cell = cell;
+        }
+    }
+
+    /**
+     * A query result: the point's id, position and distance from the query point.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class Hit {
+        private final long id;
+        private final double lat;
+        private final double lng;
+        private final double distanceKm;
+    }
+}
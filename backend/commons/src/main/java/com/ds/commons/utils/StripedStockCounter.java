@@ -0,0 +1,120 @@
+package com.ds.commons.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A stock level that many threads reserve from without contending on a single memory location.
+ * <p>
+ * The available quantity is split over stripes on separate cache lines. A reservation takes its quantity from
+ * the calling thread's stripe with one compare-and-set, or from any other stripe holding enough. Only when no
+ * single stripe holds enough does it take a lock, pool every stripe and decide on the total, so a reservation
+ * is rejected exactly when the total available is short and the stock never goes below zero.
+ */
+public final class StripedStockCounter {
+
+    // 16 longs = 128 bytes between stripes, so neighbouring stripes never share a cache line
+    private static final int SPACING = 16;
+
+    private final AtomicLongArray cells;
+    private final int stripes;
+
+    public StripedStockCounter(long available) {
+        this(available, Runtime.getRuntime().availableProcessors());
+    }
+
+    public StripedStockCounter(long available, int parallelism) {
+        int count = Integer.highestOneBit(Math.max(1, Math.min(parallelism, 64)));
+        this.stripes = count;
+        this.cells = new AtomicLongArray(count * SPACING);
+        distribute(Math.max(0, available));
+    }
+
+    /**
+     * Takes {@code quantity} from the stock if that much is available.
+     *
+     * @return false, leaving the stock unchanged, if less than {@code quantity} is available
+     */
+    public boolean tryReserve(long quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive: " + quantity);
+        }
+        int home = home();
+        for (int i = 0; i < stripes; i++) {
+            if (tryTake((home + i) & (stripes - 1), quantity)) {
+                return true;
+            }
+        }
+        return reservePooled(quantity);
+    }
+
+    /**
+     * Returns {@code quantity} to the stock, e.g. when a reserved order is cancelled, without letting the
+     * available quantity exceed {@code limit}. A release for stock that was never reserved is capped rather than
+     * creating stock. Takes the lock, as releases are rare next to reservations.
+     */
+    public synchronized void release(long quantity, long limit) {
+        if (quantity > 0) {
+            distribute(Math.min(Math.max(0, limit), drain() + quantity));
+        }
+    }
+
+    /**
+     * Adds {@code delta} to the stock, or removes up to {@code -delta} when negative, e.g. after the limit changed.
+     */
+    public synchronized void adjust(long delta) {
+        distribute(Math.max(0, drain() + delta));
+    }
+
+    /**
+     * The quantity available; exact when no reservation or release is running concurrently.
+     */
+    public long available() {
+        long total = 0;
+        for (int i = 0; i < stripes; i++) {
+            total += cells.get(i * SPACING);
+        }
+        return total;
+    }
+
+    private boolean tryTake(int stripe, long quantity) {
+        int index = stripe * SPACING;
+        long current;
+        while ((current = cells.get(index)) >= quantity) {
+            if (cells.compareAndSet(index, current, current - quantity)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Slow path: no stripe holds enough on its own, so decide on the pooled total
+    private synchronized boolean reservePooled(long quantity) {
+        long total = drain();
+        boolean reserved = total >= quantity;
+        distribute(reserved ? total - quantity : total);
+        return reserved;
+    }
+
+    // Empties every stripe and returns what they held; caller holds the lock
+    private long drain() {
+        long total = 0;
+        for (int i = 0; i < stripes; i++) {
+            total += cells.getAndSet(i * SPACING, 0);
+        }
+        return total;
+    }
+
+    // Spreads a quantity evenly over the stripes; caller holds the lock or is the constructor
+    private void distribute(long quantity) {
+        long share = quantity / stripes;
+        long remainder = quantity % stripes;
+        for (int i = 0; i < stripes; i++) {
+            cells.getAndAdd(i * SPACING, share + (i < remainder ? 1 : 0));
+        }
+    }
+
+    private int home() {
+        long id = Thread.currentThread().threadId();
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 40) & (stripes - 1);
+    }
+}
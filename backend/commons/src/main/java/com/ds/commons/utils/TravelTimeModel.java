@@ -0,0 +1,153 @@
+package com.ds.commons.utils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Travel-speed table learned from completed trips, keyed on the lat/lng grid cell of the trip's start and the
+ * hour of the week it started in.
+ * <p>
+ * Speeds are straight-line km per hour of actual trip time, so detours and waiting are part of the learned speed
+ * and estimates only need the straight-line distance. Cells and hours with too few samples fall back to the
+ * cell's all-week speed, then to the hour's speed over all cells, then to the overall speed, then to a default.
+ * <p>
+ * Recording is meant for a single writer; estimates read plain arrays without locking and may see a trip that is
+ * being recorded only partly applied, which shifts one speed by at most one sample.
+ */
+public class TravelTimeModel {
+
+    public static final int HOURS_PER_WEEK = 7 * 24;
+
+    private static final double KM_PER_DEGREE = 111.32;
+
+    // Floor for learned speeds; trips that start and end at the same point would otherwise teach a speed of zero
+    private static final double MIN_SPEED_KMH = 1;
+
+    private final double cellSizeDeg;
+    private final int minSamples;
+    private final double defaultSpeedKmh;
+
+    private final Map<Long, Table> cells = new ConcurrentHashMap<>();
+    private final Table overall = new Table();
+
+    /**
+     * @param cellSizeKm      approximate cell edge length
+     * @param minSamples      trips a cell/hour needs before its own speed is used
+     * @param defaultSpeedKmh speed used before any trip has been recorded
+     */
+    public TravelTimeModel(double cellSizeKm, int minSamples, double defaultSpeedKmh) {
+        if (cellSizeKm <= 0 || defaultSpeedKmh <= 0) {
+            throw new IllegalArgumentException("cellSizeKm and defaultSpeedKmh must be positive");
+        }
+        this.cellSizeDeg = cellSizeKm / KM_PER_DEGREE;
+        this.minSamples = Math.max(1, minSamples);
+        this.defaultSpeedKmh = defaultSpeedKmh;
+    }
+
+    /**
+     * Adds a completed trip to the table.
+     */
+    public synchronized void record(double fromLat, double fromLng, double distanceKm, Duration duration,
+                                    LocalDateTime startedAt) {
+        double hours = duration.toMillis() / 3_600_000.0;
+        int hour = hourOfWeek(startedAt);
+        cells.computeIfAbsent(cellKey(fromLat, fromLng), key -> new Table()).add(hour, distanceKm, hours);
+        overall.add(hour, distanceKm, hours);
+    }
+
+    /**
+     * Estimates the travel time between two points for a trip starting at the given time.
+     */
+    public Duration estimate(double fromLat, double fromLng, double toLat, double toLng, LocalDateTime startAt) {
+        double distanceKm = GeoUtils.fastDistance(fromLat, fromLng, toLat, toLng);
+        double hours = distanceKm / Math.max(speedKmh(fromLat, fromLng, hourOfWeek(startAt)), MIN_SPEED_KMH);
+        return Duration.ofMillis(Math.round(hours * 3_600_000));
+    }
+
+    /**
+     * Learned speed in straight-line km per hour for trips starting at the point in the given hour of the week.
+     * May be zero or close to it where only very short trips were recorded; {@link #estimate} applies a floor.
+     */
+    public double speedKmh(double lat, double lng, int hourOfWeek) {
+        Table cell = cells.get(cellKey(lat, lng));
+        if (cell != null) {
+            if (cell.counts[hourOfWeek] >= minSamples) {
+                return cell.speed(hourOfWeek);
+            }
+            if (cell.totalCount >= minSamples) {
+                return cell.totalSpeed();
+            }
+        }
+        if (overall.counts[hourOfWeek] >= minSamples) {
+            return overall.speed(hourOfWeek);
+        }
+        if (overall.totalCount >= minSamples) {
+            return overall.totalSpeed();
+        }
+        return defaultSpeedKmh;
+    }
+
+    /**
+     * Number of trips recorded.
+     */
+    public long samples() {
+        return overall.totalCount;
+    }
+
+    public synchronized void clear() {
+        cells.clear();
+        overall.reset();
+    }
+
+    /**
+     * Hour of the week from Monday 00:00, in [0, 168).
+     */
+    public static int hourOfWeek(LocalDateTime time) {
+        return (time.getDayOfWeek().getValue() - 1) * 24 + time.getHour();
+    }
+
+    private long cellKey(double lat, double lng) {
+        long row = (long) Math.floor(lat / cellSizeDeg);
+        long col = (long) Math.floor(lng / cellSizeDeg);
+        return (row << 32) ^ (col & 0xffffffffL);
+    }
+
+    // Distance and time sums per hour of the week; speed is their ratio, so long trips weigh more than short ones
+    private static final class Table {
+        private final double[] km = new double[HOURS_PER_WEEK];
+        private final double[] hours = new double[HOURS_PER_WEEK];
+        private final int[] counts = new int[HOURS_PER_WEEK];
+        private double totalKm;
+        private double totalHours;
+        private long totalCount;
+
+        private void add(int hour, double distanceKm, double durationHours) {
+            km[hour] += distanceKm;
+            hours[hour] += durationHours;
+            counts[hour]++;
+            totalKm += distanceKm;
+            totalHours += durationHours;
+            totalCount++;
+        }
+
+        private double speed(int hour) {
+            return km[hour] / hours[hour];
+        }
+
+        private double totalSpeed() {
+            return totalKm / totalHours;
+        }
+
+        private void reset() {
+            Arrays.fill(km, 0);
+            Arrays.fill(hours, 0);
+            Arrays.fill(counts, 0);
+            totalKm = 0;
+            totalHours = 0;
+            totalCount = 0;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.ds.commons.utils;
+
+import com.ds.commons.enums.DayOfWeek;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Weekly opening hours as a bitmap with one bit per minute of the week, starting Monday 00:00.
+ * <p>
+ * Built once from a schedule, it answers whether it is open at a given minute with one array read, and when it
+ * next opens or closes with a scan of at most 158 words. Hours that close at or before they open run
+ * past midnight into the next day; equal opening and closing hours mean open all day. Instances are immutable.
+ */
+public final class WeeklyHours {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    public static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+
+    private static final int WORDS = (MINUTES_PER_WEEK + Long.SIZE - 1) / Long.SIZE;
+
+    // "09:00", "9:00:00" and "9:00 AM"
+    private static final List<DateTimeFormatter> TIME_FORMATS = List.of(
+            DateTimeFormatter.ofPattern("H:mm[:ss]"),
+            new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern("h:mm[ ]a").toFormatter(Locale.ENGLISH));
+
+    private final long[] minutes = new long[WORDS];
+    private int openMinutes;
+
+    private WeeklyHours() {
+    }
+
+    /**
+     * Opening hours that are the same on each of the given days.
+     */
+    public static WeeklyHours of(Collection<DayOfWeek> days, LocalTime opening, LocalTime closing) {
+        WeeklyHours hours = new WeeklyHours();
+        int open = opening.getHour() * 60 + opening.getMinute();
+        int close = closing.getHour() * 60 + closing.getMinute();
+        int length = close > open ? close - open : MINUTES_PER_DAY - open + close;
+        for (DayOfWeek day : days) {
+            int start = day.ordinal() * MINUTES_PER_DAY + open;
+            for (int i = 0; i < length; i++) {
+                hours.set((start + i) % MINUTES_PER_WEEK);
+            }
+        }
+        return hours;
+    }
+
+    /**
+     * Like {@link #of}, with the hours as stored on a restaurant.
+     *
+     * @throws IllegalArgumentException if either hour cannot be parsed
+     */
+    public static WeeklyHours parse(Collection<DayOfWeek> days, String opening, String closing) {
+        return of(days, parseTime(opening), parseTime(closing));
+    }
+
+    public static LocalTime parseTime(String time) {
+        if (time == null || time.isBlank()) {
+            throw new IllegalArgumentException("Missing time");
+        }
+        for (DateTimeFormatter format : TIME_FORMATS) {
+            try {
+                return LocalTime.parse(time.trim(), format);
+            } catch (DateTimeParseException ignored) {
+                // Try the next format
+            }
+        }
+        throw new IllegalArgumentException("Unrecognised time: " + time);
+    }
+
+    public static int minuteOfWeek(LocalDateTime time) {
+        return (time.getDayOfWeek().getValue() - 1) * MINUTES_PER_DAY + time.getHour() * 60 + time.getMinute();
+    }
+
+    public boolean isOpenAt(int minuteOfWeek) {
+        return (minutes[minuteOfWeek >>> 6] & (1L << minuteOfWeek)) != 0;
+    }
+
+    public boolean isOpenAt(LocalDateTime time) {
+        return isOpenAt(minuteOfWeek(time));
+    }
+
+    /**
+     * The next minute after {@code time} at which it opens, or null if it never opens or never closes.
+     */
+    public LocalDateTime nextOpening(LocalDateTime time) {
+        return nextChangeTo(time, true);
+    }
+
+    /**
+     * The next minute after {@code time} at which it closes, or null if it never opens or never closes.
+     */
+    public LocalDateTime nextClosing(LocalDateTime time) {
+        return nextChangeTo(time, false);
+    }
+
+    private LocalDateTime nextChangeTo(LocalDateTime time, boolean open) {
+        int minute = minuteOfWeek(time);
+        int ahead = 0;
+        if (isOpenAt(minute) == open) {
+            // Already in that state: the change comes after it next leaves it
+            ahead = distanceTo(minute, !open);
+            if (ahead < 0) {
+                return null;
+            }
+        }
+        int toChange = distanceTo((minute + ahead) % MINUTES_PER_WEEK, open);
+        return toChange < 0 ? null : time.truncatedTo(ChronoUnit.MINUTES).plusMinutes(ahead + toChange);
+    }
+
+    private void set(int minute) {
+        long bit = 1L << minute;
+        if ((minutes[minute >>> 6] & bit) == 0) {
+            minutes[minute >>> 6] |= bit;
+            openMinutes++;
+        }
+    }
+
+    // Minutes from `from` to the next later minute in the given state, wrapping into the next week; -1 if none
+    private int distanceTo(int from, boolean open) {
+        if (openMinutes == (open ? 0 : MINUTES_PER_WEEK)) {
+            return -1;
+        }
+        int start = (from + 1) % MINUTES_PER_WEEK;
+        int found = scan(start, MINUTES_PER_WEEK, open);
+        if (found < 0) {
+            found = scan(0, start, open);
+        }
+        int distance = (found - from + MINUTES_PER_WEEK) % MINUTES_PER_WEEK;
+        return distance == 0 ? MINUTES_PER_WEEK : distance;
+    }
+
+    // First minute in [from, to) in the given state, or -1
+    private int scan(int from, int to, boolean open) {
+        for (int word = from >>> 6; word < WORDS && word << 6 < to; word++) {
+            long bits = open ? minutes[word] : ~minutes[word];
+            if (word == from >>> 6) {
+                bits &= -1L << from;
+            }
+            if (bits != 0) {
+                int minute = (word << 6) + Long.numberOfTrailingZeros(bits);
+                return minute < to ? minute : -1;
+            }
+        }
+        return -1;
+    }
+}
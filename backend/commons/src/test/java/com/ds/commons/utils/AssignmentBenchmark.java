@@ -0,0 +1,76 @@
+package com.ds.commons.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the assignment strategies on {@code size} drivers by {@code size} orders spread over a
+ * 40 km square around Colombo, with pairs further than {@code maxPickupKm} apart not allowed.
+ * The solvers get an unlimited time budget, so this is the time to the full solution.
+ * <p>
+ * Run like {@link GeoUtilsBenchmark}, with {@code AssignmentBenchmark} as the benchmark name.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class AssignmentBenchmark {
+
+    @Param({"100", "1000"})
+    private int size;
+
+    @Param({"10", "55"})
+    private double maxPickupKm;
+
+    private final AssignmentStrategy hungarian = new HungarianAssignmentStrategy();
+    private final AssignmentStrategy auction = new AuctionAssignmentStrategy();
+
+    private double[][] cost;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        double[] orderLats = new double[size];
+        double[] orderLngs = new double[size];
+        for (int j = 0; j < size; j++) {
+            orderLats[j] = 6.9271 + (random.nextDouble() - 0.5) * 0.36;
+            orderLngs[j] = 79.8612 + (random.nextDouble() - 0.5) * 0.36;
+        }
+
+        cost = new double[size][size];
+        for (int i = 0; i < size; i++) {
+            double lat = 6.9271 + (random.nextDouble() - 0.5) * 0.36;
+            double lng = 79.8612 + (random.nextDouble() - 0.5) * 0.36;
+            GeoUtils.calculateDistances(lat, lng, orderLats, orderLngs, cost[i], size);
+            for (int j = 0; j < size; j++) {
+                if (cost[i][j] > maxPickupKm) {
+                    cost[i][j] = AssignmentStrategy.NOT_ALLOWED;
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public int[] hungarian() {
+        return hungarian.assign(cost, Long.MAX_VALUE / 2);
+    }
+
+    @Benchmark
+    public int[] auction() {
+        return auction.assign(cost, Long.MAX_VALUE / 2);
+    }
+}
@@ -0,0 +1,149 @@
+package com.ds.commons.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the {@link AssignmentStrategy} solvers against an exhaustive search on small matrices.
+ */
+class AssignmentStrategyTest {
+
+    private static final int MATRICES = 2_000;
+    private static final long BUDGET_NANOS = 10_000_000_000L;
+    private static final double AUCTION_EPSILON = 1e-4;
+
+    @Test
+    void hungarianMatchesBruteForce() {
+        checkAgainstBruteForce(new HungarianAssignmentStrategy(), 0, 11);
+    }
+
+    @Test
+    void auctionIsWithinItsBoundOfBruteForce() {
+        checkAgainstBruteForce(new AuctionAssignmentStrategy(AUCTION_EPSILON), AUCTION_EPSILON, 13);
+    }
+
+    @Test
+    void forbiddenPairsAreNeverMatched() {
+        double no = AssignmentStrategy.NOT_ALLOWED;
+        double[][] cost = {
+                {no, no},
+                {1, no},
+                {2, 3},
+        };
+        int[] expected = {-1, 0, 1};
+        assertArrayEquals(expected, new HungarianAssignmentStrategy().assign(cost, BUDGET_NANOS));
+        assertArrayEquals(expected, new AuctionAssignmentStrategy().assign(cost, BUDGET_NANOS));
+    }
+
+    @Test
+    void emptyMatricesLeaveEveryRowUnmatched() {
+        assertArrayEquals(new int[]{-1, -1}, new HungarianAssignmentStrategy().assign(new double[2][0], BUDGET_NANOS));
+        assertArrayEquals(new int[]{-1, -1}, new AuctionAssignmentStrategy().assign(new double[2][0], BUDGET_NANOS));
+        assertArrayEquals(new int[0], new HungarianAssignmentStrategy().assign(new double[0][0], BUDGET_NANOS));
+    }
+
+    @Test
+    void exhaustedBudgetStillGivesAValidAssignment() {
+        double[][] cost = randomMatrix(new Random(5), 6, 6);
+        for (AssignmentStrategy strategy : new AssignmentStrategy[]{
+                new HungarianAssignmentStrategy(), new AuctionAssignmentStrategy()}) {
+            int[] assignment = strategy.assign(cost, 0);
+            assertValid(cost, assignment);
+            // Every pair is allowed, so the greedy completion matches every row
+            assertTrue(Arrays.stream(assignment).noneMatch(j -> j < 0));
+        }
+    }
+
+    // Random matrices up to 5 x 5 with some forbidden pairs; the solver must match as many rows as the exhaustive
+    // search and cost at most slack per matched pair more
+    private static void checkAgainstBruteForce(AssignmentStrategy strategy, double slack, long seed) {
+        Random random = new Random(seed);
+        for (int m = 0; m < MATRICES; m++) {
+            int rows = random.nextInt(1, 6);
+            int cols = random.nextInt(1, 6);
+            double[][] cost = randomMatrix(random, rows, cols);
+
+            int[] assignment = strategy.assign(cost, BUDGET_NANOS);
+            assertValid(cost, assignment);
+
+            double[] best = bruteForce(cost);
+            String matrix = Arrays.deepToString(cost);
+            assertEquals(best[0], matched(assignment), () -> "matched pairs for " + matrix);
+            assertEquals(best[1], total(cost, assignment), Math.max(rows, cols) * slack + 1e-9,
+                    () -> "total cost for " + matrix);
+        }
+    }
+
+    private static double[][] randomMatrix(Random random, int rows, int cols) {
+        double[][] cost = new double[rows][cols];
+        for (double[] row : cost) {
+            for (int j = 0; j < cols; j++) {
+                // Whole-number costs give ties, which the solvers must break without losing optimality
+                row[j] = random.nextInt(5) == 0
+                        ? AssignmentStrategy.NOT_ALLOWED
+                        : random.nextBoolean() ? random.nextInt(10) : random.nextDouble(0, 10);
+            }
+        }
+        return cost;
+    }
+
+    private static void assertValid(double[][] cost, int[] assignment) {
+        assertEquals(cost.length, assignment.length);
+        boolean[] taken = new boolean[cost.length == 0 ? 0 : cost[0].length];
+        for (int i = 0; i < assignment.length; i++) {
+            int j = assignment[i];
+            if (j < 0) {
+                continue;
+            }
+            assertTrue(!taken[j], "column " + j + " matched twice");
+            assertNotEquals(AssignmentStrategy.NOT_ALLOWED, cost[i][j], "forbidden pair " + i + "," + j);
+            taken[j] = true;
+        }
+    }
+
+    // Most matched pairs, then the lowest total cost among those, over every partial assignment
+    private static double[] bruteForce(double[][] cost) {
+        double[] best = {0, 0};
+        search(cost, 0, new boolean[cost[0].length], 0, 0, best);
+        return best;
+    }
+
+    private static void search(double[][] cost, int row, boolean[] taken, int matched, double total, double[] best) {
+        if (row == cost.length) {
+            if (matched > best[0] || (matched == best[0] && total < best[1])) {
+                best[0] = matched;
+                best[1] = total;
+            }
+            return;
+        }
+        search(cost, row + 1, taken, matched, total, best);
+        for (int j = 0; j < taken.length; j++) {
+            if (!taken[j] && cost[row][j] != AssignmentStrategy.NOT_ALLOWED) {
+                taken[j] = true;
+                search(cost, row + 1, taken, matched + 1, total + cost[row][j], best);
+                taken[j] = false;
+            }
+        }
+    }
+
+    private static int matched(int[] assignment) {
+        return (int) Arrays.stream(assignment).filter(j -> j >= 0).count();
+    }
+
+    private static double total(double[][] cost, int[] assignment) {
+        double total = 0;
+        for (int i = 0; i < assignment.length; i++) {
+            if (assignment[i] >= 0) {
+                total += cost[i][assignment[i]];
+            }
+        }
+        return total;
+    }
+}
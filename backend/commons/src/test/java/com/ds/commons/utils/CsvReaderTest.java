@@ -0,0 +1,126 @@
+package com.ds.commons.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks {@link CsvReader} on quoting, escaped quotes, line breaks and empty fields.
+ */
+class CsvReaderTest {
+
+    @Test
+    void readsPlainRecordsWithAnyLineEnding() throws IOException {
+        assertEquals(List.of(
+                List.of("name", "price"),
+                List.of("Kottu", "850"),
+                List.of("Hoppers", "200"),
+                List.of("Tea", "100")
+        ), readAll("name,price\nKottu,850\r\nHoppers,200\rTea,100"));
+    }
+
+    @Test
+    void quotedFieldsKeepCommasAndLineBreaks() throws IOException {
+        assertEquals(List.of(
+                List.of("Rice, curry", "Two\nlines", "plain"),
+                List.of("next", "row", "")
+        ), readAll("\"Rice, curry\",\"Two\nlines\",plain\nnext,row,\"\"\n"));
+    }
+
+    @Test
+    void doubledQuotesInsideQuotedFieldsAreOneQuote() throws IOException {
+        assertEquals(List.of(
+                List.of("The \"best\" kottu", "\"", "")
+        ), readAll("\"The \"\"best\"\" kottu\",\"\"\"\",\"\""));
+    }
+
+    @Test
+    void quotesInsideUnquotedFieldsAreLiteral() throws IOException {
+        assertEquals(List.of(List.of("12\" pizza", "ok")), readAll("12\" pizza,ok"));
+    }
+
+    @Test
+    void emptyFieldsAreKeptAndBlankLinesSkipped() throws IOException {
+        assertEquals(List.of(
+                List.of("a", "", "c"),
+                List.of("", ""),
+                List.of("d")
+        ), readAll("a,,c\n\n,\n\r\nd\n\n"));
+    }
+
+    @Test
+    void unterminatedQuoteFailsWithTheLine() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> readAll("ok\n\"open\nstill open"));
+        assertEquals("Unterminated quoted field before line 3", error.getMessage());
+    }
+
+    @Test
+    void parsesTheSameWhenTheInputArrivesOneCharacterAtATime() throws IOException {
+        String csv = "\"a \"\"quoted\"\" value\",b\r\n\"x\r\ny\",z\n";
+        assertEquals(readAll(csv), readAll(new OneCharReader(csv)));
+    }
+
+    @Test
+    void escapedValuesReadBackUnchanged() throws IOException {
+        List<String> values = List.of("plain", "with, comma", "with \"quotes\"", "two\nlines", "cr\rhere", "");
+        String line = String.join(",", values.stream().map(CsvReader::escape).toList());
+
+        assertEquals(List.of(values), readAll(line));
+        assertEquals("", CsvReader.escape(null));
+        assertEquals("plain", CsvReader.escape("plain"));
+    }
+
+    @Test
+    void emptyInputHasNoRecords() throws IOException {
+        try (CsvReader reader = new CsvReader(new StringReader(""))) {
+            assertNull(reader.next());
+        }
+    }
+
+    private static List<List<String>> readAll(String csv) throws IOException {
+        return readAll(new StringReader(csv));
+    }
+
+    private static List<List<String>> readAll(Reader input) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(input)) {
+            List<String> record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    // Hands out one character per read, so every quote and line ending crosses a buffer refill
+    private static final class OneCharReader extends Reader {
+        private final String text;
+        private int position;
+
+        private OneCharReader(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position == text.length()) {
+                return -1;
+            }
+            buffer[offset] = text.charAt(position++);
+            return 1;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.ds.commons.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the BigDecimal distance path with the double API and the batch kernels, measuring the time to
+ * compute the distance from one driver to {@code size} orders around Colombo.
+ * <p>
+ * Run with {@code mvn -pl commons test-compile} followed by
+ * {@code java -cp "commons/target/test-classes:commons/target/classes:<test classpath>" org.openjdk.jmh.Main GeoUtilsBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class GeoUtilsBenchmark {
+
+    @Param({"1000"})
+    private int size;
+
+    private final double originLat = 6.9271;
+    private final double originLng = 79.8612;
+    private BigDecimal originLatDecimal;
+    private BigDecimal originLngDecimal;
+
+    private BigDecimal[] latDecimals;
+    private BigDecimal[] lngDecimals;
+    private double[] lats;
+    private double[] lngs;
+    private double[] out;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        originLatDecimal = BigDecimal.valueOf(originLat);
+        originLngDecimal = BigDecimal.valueOf(originLng);
+        latDecimals = new BigDecimal[size];
+        lngDecimals = new BigDecimal[size];
+        lats = new double[size];
+        lngs = new double[size];
+        out = new double[size];
+        for (int i = 0; i < size; i++) {
+            lats[i] = originLat + (random.nextDouble() - 0.5);
+            lngs[i] = originLng + (random.nextDouble() - 0.5);
+            latDecimals[i] = BigDecimal.valueOf(lats[i]);
+            lngDecimals[i] = BigDecimal.valueOf(lngs[i]);
+        }
+    }
+
+    @Benchmark
+    public void bigDecimalHaversine(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(GeoUtils.calculateDistance(originLatDecimal, originLngDecimal, latDecimals[i], lngDecimals[i]));
+        }
+    }
+
+    @Benchmark
+    public void doubleHaversine(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(GeoUtils.calculateDistance(originLat, originLng, lats[i], lngs[i]));
+        }
+    }
+
+    @Benchmark
+    public void fastDistance(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(GeoUtils.fastDistance(originLat, originLng, lats[i], lngs[i]));
+        }
+    }
+
+    @Benchmark
+    public void boundingBoxThenHaversine(Blackhole blackhole) {
+        GeoUtils.BoundingBox box = GeoUtils.BoundingBox.around(originLat, originLng, 10);
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(box.contains(lats[i], lngs[i])
+                    && GeoUtils.calculateDistance(originLat, originLng, lats[i], lngs[i]) <= 10);
+        }
+    }
+
+    @Benchmark
+    public double[] batchScalar() {
+        GeoUtils.distancesScalar(originLat, originLng, lats, lngs, out, 0, size);
+        return out;
+    }
+
+    @Benchmark
+    public double[] batchVector() {
+        GeoVectorKernel.distances(originLat, originLng, lats, lngs, out, size);
+        return out;
+    }
+}
@@ -0,0 +1,137 @@
+package com.ds.commons.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the fast distance paths of {@link GeoUtils} against the Haversine formula.
+ */
+class GeoUtilsTest {
+
+    private static final int SAMPLES = 20_000;
+
+    @Test
+    void fastDistanceStaysWithinOneBasisPointOfHaversineOnTheFastPath() {
+        Random random = new Random(42);
+        for (int i = 0; i < SAMPLES; i++) {
+            double lat = random.nextDouble(-69, 69);
+            double lng = random.nextDouble(-180, 180);
+            double[] other = offset(lat, lng, random.nextDouble(0.01, GeoUtils.FAST_PATH_MAX_KM), random.nextDouble(360));
+            double exact = GeoUtils.calculateDistance(lat, lng, other[0], other[1]);
+
+            assertEquals(exact, GeoUtils.fastDistance(lat, lng, other[0], other[1]), exact * 1e-4,
+                    () -> "from " + lat + "," + lng + " to " + other[0] + "," + other[1]);
+        }
+    }
+
+    @Test
+    void fastDistanceFallsBackToHaversineWhenFarOrNearThePoles() {
+        // Colombo to Jaffna, beyond the fast path distance
+        assertEquals(GeoUtils.calculateDistance(6.9271, 79.8612, 9.6615, 80.0255),
+                GeoUtils.fastDistance(6.9271, 79.8612, 9.6615, 80.0255));
+        // Short hop above the fast path latitude
+        assertEquals(GeoUtils.calculateDistance(78.2232, 15.6267, 78.25, 15.5),
+                GeoUtils.fastDistance(78.2232, 15.6267, 78.25, 15.5));
+    }
+
+    @Test
+    void fastDistanceIsShortAcrossTheAntimeridian() {
+        double exact = GeoUtils.calculateDistance(0, 179.9, 0, -179.9);
+        assertEquals(22.24, exact, 0.01);
+        assertEquals(exact, GeoUtils.fastDistance(0, 179.9, 0, -179.9), exact * 1e-4);
+    }
+
+    @Test
+    void boundingBoxContainsEveryPointWithinTheRadius() {
+        Random random = new Random(7);
+        for (int i = 0; i < SAMPLES; i++) {
+            // Include centres near the poles and on either side of the antimeridian
+            double lat = random.nextDouble(-89.9, 89.9);
+            double lng = random.nextBoolean() ? random.nextDouble(-180, 180) : 179.99 * (random.nextBoolean() ? 1 : -1);
+            double radiusKm = random.nextDouble(0.1, 50);
+            GeoUtils.BoundingBox box = GeoUtils.BoundingBox.around(lat, lng, radiusKm);
+
+            double[] inside = offset(lat, lng, radiusKm * random.nextDouble(0.999), random.nextDouble(360));
+            assertTrue(box.contains(inside[0], inside[1]),
+                    () -> "box around " + lat + "," + lng + " r=" + radiusKm + " misses " + inside[0] + "," + inside[1]);
+        }
+    }
+
+    @Test
+    void boundingBoxRejectsFarPoints() {
+        GeoUtils.BoundingBox box = GeoUtils.BoundingBox.around(6.9271, 79.8612, 5);
+        assertTrue(box.contains(6.9271, 79.8612));
+        assertFalse(box.contains(6.9271 + 0.1, 79.8612));
+        assertFalse(box.contains(6.9271, 79.8612 + 0.1));
+        assertFalse(box.contains(-6.9271, 79.8612));
+    }
+
+    @Test
+    void boundingBoxNearAPoleCoversEveryLongitude() {
+        GeoUtils.BoundingBox box = GeoUtils.BoundingBox.around(89.99, 0, 10);
+        assertTrue(box.contains(89.95, 180));
+        assertTrue(box.contains(89.95, -90));
+        assertFalse(box.contains(89.8, 0));
+    }
+
+    @Test
+    void isWithinRadiusMatchesTheHaversineDistance() {
+        double distance = GeoUtils.calculateDistance(6.9271, 79.8612, 6.9, 79.9);
+        assertTrue(GeoUtils.isWithinRadius(6.9271, 79.8612, 6.9, 79.9, distance + 1e-9));
+        assertFalse(GeoUtils.isWithinRadius(6.9271, 79.8612, 6.9, 79.9, distance - 1e-6));
+    }
+
+    @Test
+    void calculateDistancesMatchesCalculateDistance() {
+        Random random = new Random(3);
+        int count = 1_003;
+        double[] lats = new double[count + 5];
+        double[] lngs = new double[count + 5];
+        for (int i = 0; i < lats.length; i++) {
+            lats[i] = random.nextDouble(-90, 90);
+            lngs[i] = random.nextDouble(-180, 180);
+        }
+        double[] out = new double[count + 5];
+        Arrays.fill(out, -1);
+
+        GeoUtils.calculateDistances(6.9271, 79.8612, lats, lngs, out, count);
+
+        for (int i = 0; i < count; i++) {
+            double expected = GeoUtils.calculateDistance(6.9271, 79.8612, lats[i], lngs[i]);
+            assertEquals(expected, out[i], Math.max(expected * 1e-9, 1e-9), "index " + i);
+        }
+        // Entries past count are left alone
+        for (int i = count; i < out.length; i++) {
+            assertEquals(-1, out[i]);
+        }
+    }
+
+    @Test
+    void calculateDistancesRejectsCountPastTheArrays() {
+        double[] values = new double[4];
+        assertThrows(IllegalArgumentException.class,
+                () -> GeoUtils.calculateDistances(0, 0, values, values, new double[3], 4));
+    }
+
+    // The point distanceKm from lat,lng along the given bearing, on the Haversine sphere
+    private static double[] offset(double lat, double lng, double distanceKm, double bearingDegrees) {
+        double angular = distanceKm / 6371;
+        double bearing = Math.toRadians(bearingDegrees);
+        double latRad = Math.toRadians(lat);
+        double lat2 = Math.asin(Math.sin(latRad) * Math.cos(angular)
+                + Math.cos(latRad) * Math.sin(angular) * Math.cos(bearing));
+        double lng2 = Math.toRadians(lng) + Math.atan2(Math.sin(bearing) * Math.sin(angular) * Math.cos(latRad),
+                Math.cos(angular) - Math.sin(latRad) * Math.sin(lat2));
+        double lngDegrees = Math.toDegrees(lng2);
+        // Back into [-180, 180)
+        lngDegrees = ((lngDegrees + 540) % 360) - 180;
+        return new double[]{Math.toDegrees(lat2), lngDegrees};
+    }
+}
@@ -0,0 +1,66 @@
+package com.ds.commons.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that {@link RebuildableIndex} keeps changes applied while a rebuild is loading.
+ */
+class RebuildableIndexTest {
+
+    @Test
+    void changesDuringALoadAreReplayedOntoTheNewIndex() {
+        RebuildableIndex<List<String>> index = new RebuildableIndex<>(new ArrayList<>(List.of("old")));
+
+        List<String> rebuilt = index.rebuild(() -> {
+            // The load read the database before this change committed
+            List<String> loaded = new ArrayList<>(List.of("loaded"));
+            index.apply(current -> current.add("during"));
+            return loaded;
+        });
+
+        assertSame(rebuilt, index.get());
+        assertEquals(List.of("loaded", "during"), index.get());
+
+        index.apply(current -> current.add("after"));
+        assertEquals(List.of("loaded", "during", "after"), index.get());
+    }
+
+    @Test
+    void aRebuildStartedDuringALoadIsSkipped() {
+        RebuildableIndex<List<String>> index = new RebuildableIndex<>(new ArrayList<>());
+        List<List<String>> nested = new ArrayList<>();
+
+        index.rebuild(() -> {
+            nested.add(index.rebuild(() -> new ArrayList<>(List.of("nested"))));
+            return new ArrayList<>(List.of("outer"));
+        });
+
+        assertNull(nested.getFirst());
+        assertEquals(List.of("outer"), index.get());
+    }
+
+    @Test
+    void aFailedLoadKeepsTheCurrentIndex() {
+        List<String> initial = new ArrayList<>(List.of("old"));
+        RebuildableIndex<List<String>> index = new RebuildableIndex<>(initial);
+
+        assertThrows(IllegalStateException.class, () -> index.rebuild(() -> {
+            index.apply(current -> current.add("during"));
+            throw new IllegalStateException("database down");
+        }));
+
+        assertSame(initial, index.get());
+        assertEquals(List.of("old", "during"), index.get());
+        // The next rebuild starts with nothing left over to replay
+        index.rebuild(ArrayList::new);
+        assertEquals(List.of(), index.get());
+    }
+}
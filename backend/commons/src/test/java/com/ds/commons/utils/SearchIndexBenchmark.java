@@ -0,0 +1,68 @@
+package com.ds.commons.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link SearchIndex} queries on a synthetic menu catalog of {@code size} items built from a small
+ * dish vocabulary, so common words have long posting lists as on a real menu.
+ * <p>
+ * Run like {@link GeoUtilsBenchmark}, with {@code SearchIndexBenchmark} as the benchmark name.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchIndexBenchmark {
+
+    private static final String[] WORDS = {
+            "chicken", "beef", "pork", "fish", "prawn", "cuttlefish", "vegetable", "egg", "cheese", "mushroom",
+            "fried", "rice", "kottu", "noodles", "pizza", "burger", "biryani", "curry", "devilled", "spicy",
+            "hot", "butter", "garlic", "naan", "roti", "hoppers", "string", "lamprais", "submarine", "pasta",
+            "carbonara", "margherita", "pepperoni", "hawaiian", "tandoori", "masala", "paneer", "dhal", "salad",
+            "soup", "wings", "nuggets", "fries", "milkshake", "chocolate", "vanilla", "strawberry", "faluda",
+            "watalappan", "lime", "juice", "coffee", "tea", "iced", "large", "regular", "family", "combo"
+    };
+
+    @Param({"10000", "100000"})
+    private int size;
+
+    @Param({"chicken kottu", "chi", "piza", "spicy chicken bur"})
+    private String query;
+
+    private final SearchIndex index = new SearchIndex();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int id = 0; id < size; id++) {
+            String name = word(random) + " " + word(random) + " " + word(random) + " " + id;
+            String description = word(random) + " " + word(random) + " " + word(random) + " " + word(random);
+            index.put(id, SearchIndex.field(name, 3), SearchIndex.field(description, 1));
+        }
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    @Benchmark
+    public List<SearchIndex.Hit> search() {
+        return index.search(query, 20, id -> (id & 1) == 0 ? 1.5 : 1);
+    }
+}
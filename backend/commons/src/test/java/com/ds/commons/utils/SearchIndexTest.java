@@ -0,0 +1,145 @@
+package com.ds.commons.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks how {@link SearchIndex} tokenises text, which documents a query matches and how they are ranked.
+ */
+class SearchIndexTest {
+
+    private static final float NAME = 3;
+    private static final float DESCRIPTION = 1;
+
+    @Test
+    void tokenizeLowerCasesStripsAccentsAndSplitsOnPunctuation() {
+        assertEquals(List.of("creme", "brulee", "2", "for", "1"), SearchIndex.tokenize("Crème-Brûlée (2 for 1)!"));
+        assertEquals(List.of("kottu", "roti"), SearchIndex.tokenize("  KOTTU\troti  "));
+        assertEquals(List.of("a1", "b2"), SearchIndex.tokenize("a1/b2"));
+        assertTrue(SearchIndex.tokenize("--").isEmpty());
+        assertTrue(SearchIndex.tokenize(null).isEmpty());
+    }
+
+    @Test
+    void everyQueryTokenMustMatch() {
+        SearchIndex index = new SearchIndex();
+        index.put(1, SearchIndex.field("Chicken Kottu", NAME));
+        index.put(2, SearchIndex.field("Cheese Kottu", NAME));
+
+        assertEquals(List.of(1L), ids(search(index, "kottu chicken", 10)));
+        assertTrue(search(index, "kottu beef", 10).isEmpty());
+        assertTrue(search(index, "", 10).isEmpty());
+    }
+
+    @Test
+    void onlyTheLastTokenMatchesAsAPrefix() {
+        SearchIndex index = new SearchIndex();
+        index.put(1, SearchIndex.field("Pizza Margherita", NAME));
+
+        assertEquals(List.of(1L), ids(search(index, "margherita piz", 10)));
+        assertTrue(search(index, "piz margherita", 10).isEmpty());
+        // Single characters are too short to complete
+        assertTrue(search(index, "p", 10).isEmpty());
+    }
+
+    @Test
+    void longerTokensMatchWithinOneTypo() {
+        SearchIndex index = new SearchIndex();
+        index.put(1, SearchIndex.field("Biryani", NAME));
+        index.put(2, SearchIndex.field("Rice", NAME));
+
+        // Substitution, transposition, missing and extra character
+        assertEquals(List.of(1L), ids(search(index, "biryeni", 10)));
+        assertEquals(List.of(1L), ids(search(index, "biryain", 10)));
+        assertEquals(List.of(1L), ids(search(index, "biryni", 10)));
+        assertEquals(List.of(1L), ids(search(index, "biryanii", 10)));
+        // Two edits away
+        assertTrue(search(index, "biriyanni", 10).isEmpty());
+        // Tokens shorter than the fuzzy minimum only match exactly or as a prefix
+        assertTrue(search(index, "ric rice", 10).isEmpty());
+    }
+
+    @Test
+    void withinOneEditCoversEachKindOfEdit() {
+        assertTrue(SearchIndex.withinOneEdit("pasta", "pasta"));
+        assertTrue(SearchIndex.withinOneEdit("pasta", "pista"));
+        assertTrue(SearchIndex.withinOneEdit("pasta", "psata"));
+        assertTrue(SearchIndex.withinOneEdit("pasta", "past"));
+        assertTrue(SearchIndex.withinOneEdit("past", "pasta"));
+        assertFalse(SearchIndex.withinOneEdit("pasta", "ptsaa"));
+        assertFalse(SearchIndex.withinOneEdit("pasta", "pas"));
+    }
+
+    @Test
+    void namesOutrankDescriptions() {
+        SearchIndex index = new SearchIndex();
+        index.put(1, SearchIndex.field("Noodle House", NAME), SearchIndex.field("Fried rice and curry", DESCRIPTION));
+        index.put(2, SearchIndex.field("Curry Leaf", NAME), SearchIndex.field("Noodles and soups", DESCRIPTION));
+
+        assertEquals(List.of(2L, 1L), ids(search(index, "curry", 10)));
+    }
+
+    @Test
+    void exactMatchesOutrankPrefixAndTypoMatches() {
+        SearchIndex index = new SearchIndex();
+        index.put(1, SearchIndex.field("Burgers", NAME));
+        index.put(2, SearchIndex.field("Burger", NAME));
+        index.put(3, SearchIndex.field("Burget", NAME));
+
+        List<SearchIndex.Hit> hits = search(index, "burger", 10);
+        assertEquals(2L, hits.getFirst().getId());
+        assertEquals(3, hits.size());
+    }
+
+    @Test
+    void rarerTermsWeighMore() {
+        SearchIndex index = new SearchIndex();
+        index.put(1, SearchIndex.field("Spicy Chicken", NAME));
+        index.put(2, SearchIndex.field("Chicken Soup", NAME));
+        index.put(3, SearchIndex.field("Chicken Wings", NAME));
+
+        SearchIndex.Hit spicy = search(index, "spicy", 10).getFirst();
+        SearchIndex.Hit chicken = search(index, "chicken", 10).getFirst();
+        assertTrue(spicy.getScore() > chicken.getScore());
+    }
+
+    @Test
+    void boostReordersAndTiesGoToTheLowerId() {
+        SearchIndex index = new SearchIndex();
+        index.put(5, SearchIndex.field("Hoppers", NAME));
+        index.put(3, SearchIndex.field("Hoppers", NAME));
+        index.put(4, SearchIndex.field("Hoppers", NAME));
+
+        assertEquals(List.of(3L, 4L, 5L), ids(search(index, "hoppers", 10)));
+        assertEquals(List.of(5L, 3L), ids(index.search("hoppers", 2, id -> id == 5 ? 2 : 1)));
+    }
+
+    @Test
+    void putReplacesAndRemoveDropsADocument() {
+        SearchIndex index = new SearchIndex();
+        index.put(1, SearchIndex.field("Lamprais", NAME));
+        index.put(1, SearchIndex.field("Watalappan", NAME));
+
+        assertTrue(search(index, "lamprais", 10).isEmpty());
+        assertEquals(List.of(1L), ids(search(index, "watalappan", 10)));
+
+        index.remove(1);
+        assertTrue(search(index, "watalappan", 10).isEmpty());
+        // Typo candidates of removed terms are gone too
+        assertTrue(search(index, "watalapan", 10).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    private static List<Long> ids(List<SearchIndex.Hit> hits) {
+        return hits.stream().map(SearchIndex.Hit::getId).toList();
+    }
+
+    private static List<SearchIndex.Hit> search(SearchIndex index, String query, int limit) {
+        return index.search(query, limit, id -> 1);
+    }
+}
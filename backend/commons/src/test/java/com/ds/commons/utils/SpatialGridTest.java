@@ -0,0 +1,170 @@
+package com.ds.commons.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the {@link SpatialGrid} queries against a scan over every point.
+ */
+class SpatialGridTest {
+
+    private static final int GRIDS = 100;
+    private static final int QUERIES = 50;
+
+    @Test
+    void nearestMatchesBruteForce() {
+        Random random = new Random(17);
+        for (int g = 0; g < GRIDS; g++) {
+            Fixture fixture = Fixture.random(random);
+            for (int q = 0; q < QUERIES; q++) {
+                double[] query = fixture.nearby(random);
+                int k = random.nextInt(1, 12);
+                double maxRadiusKm = random.nextDouble(0.5, 4 * fixture.spreadKm);
+
+                List<SpatialGrid.Hit> expected = fixture.scan(query[0], query[1], maxRadiusKm);
+                expected = expected.subList(0, Math.min(k, expected.size()));
+                assertEquals(ids(expected), ids(fixture.grid.nearest(query[0], query[1], k, maxRadiusKm)),
+                        () -> fixture + " nearest " + k + " to " + query[0] + "," + query[1] + " within " + maxRadiusKm);
+            }
+        }
+    }
+
+    @Test
+    void withinPagesThroughExactlyThePointsInTheRadius() {
+        Random random = new Random(29);
+        for (int g = 0; g < GRIDS; g++) {
+            Fixture fixture = Fixture.random(random);
+            for (int q = 0; q < QUERIES; q++) {
+                double[] query = fixture.nearby(random);
+                double radiusKm = random.nextDouble(0.5, 2 * fixture.spreadKm);
+                int limit = random.nextInt(1, 20);
+
+                // Follow the cursor page by page, as the order feed does
+                List<SpatialGrid.Hit> paged = new ArrayList<>();
+                SpatialGrid.Hit after = null;
+                List<SpatialGrid.Hit> page;
+                do {
+                    page = fixture.grid.within(query[0], query[1], radiusKm, after, limit);
+                    assertTrue(page.size() <= limit);
+                    paged.addAll(page);
+                    after = page.isEmpty() ? null : page.getLast();
+                } while (page.size() == limit);
+
+                assertEquals(ids(fixture.scan(query[0], query[1], radiusKm)), ids(paged),
+                        () -> fixture + " within " + radiusKm + " of " + query[0] + "," + query[1]);
+            }
+        }
+    }
+
+    @Test
+    void nearestSearchesOnWhenTheBestHitIsJustPastTheRingEdge() {
+        // The query sits on the top edge of its row; the point two rows up is one cell away, just under the
+        // point one column over, so the search has to look past the first ring to find it
+        SpatialGrid grid = new SpatialGrid(1);
+        double cellDeg = 1 / GeoUtils.KM_PER_DEGREE;
+        double lat = cellDeg * (1 - 1e-9);
+        double lng = 0.5 * cellDeg;
+        grid.put(1, 2 * cellDeg * (1 + 1e-9), lng);
+        grid.put(2, lat, lng + 1.0005 * cellDeg);
+
+        assertTrue(GeoUtils.calculateDistance(lat, lng, 2 * cellDeg * (1 + 1e-9), lng) < 1.0005);
+        assertEquals(List.of(1L, 2L), ids(grid.nearest(lat, lng, 2, 10)));
+        assertEquals(List.of(1L), ids(grid.nearest(lat, lng, 1, 10)));
+    }
+
+    @Test
+    void movedAndRemovedPointsAreFoundOnlyWhereTheyAre() {
+        SpatialGrid grid = new SpatialGrid(1);
+        grid.put(1, 6.9271, 79.8612);
+        grid.put(2, 6.93, 79.86);
+        grid.put(1, 7.2906, 80.6337);
+
+        assertEquals(List.of(2L), ids(grid.within(6.9271, 79.8612, 5, null, 10)));
+        assertEquals(List.of(1L), ids(grid.nearest(7.29, 80.63, 1, 5)));
+
+        grid.remove(1);
+        assertFalse(grid.contains(1));
+        assertTrue(grid.nearest(7.29, 80.63, 1, 5).isEmpty());
+        assertEquals(1, grid.size());
+    }
+
+    @Test
+    void equalDistancesAreOrderedById() {
+        SpatialGrid grid = new SpatialGrid(2);
+        grid.put(9, 6.95, 79.86);
+        grid.put(4, 6.95, 79.86);
+        grid.put(7, 6.95, 79.86);
+
+        assertEquals(List.of(4L, 7L, 9L), ids(grid.within(6.9271, 79.8612, 5, null, 10)));
+        assertEquals(List.of(4L, 7L), ids(grid.nearest(6.9271, 79.8612, 2, 5)));
+        assertEquals(List.of(9L), ids(grid.within(6.9271, 79.8612, 5, grid.nearest(6.9271, 79.8612, 2, 5).getLast(), 10)));
+    }
+
+    private static List<Long> ids(List<SpatialGrid.Hit> hits) {
+        return hits.stream().map(SpatialGrid.Hit::getId).toList();
+    }
+
+    // A grid and the same points in a list, clustered around a centre up to 60 degrees from the equator
+    private static final class Fixture {
+        private final SpatialGrid grid;
+        private final List<SpatialGrid.Hit> points = new ArrayList<>();
+        private final double cellSizeKm;
+        private final double centerLat;
+        private final double centerLng;
+        private final double spreadKm;
+
+        private Fixture(double cellSizeKm, double centerLat, double centerLng, double spreadKm) {
+            this.grid = new SpatialGrid(cellSizeKm);
+            this.cellSizeKm = cellSizeKm;
+            this.centerLat = centerLat;
+            this.centerLng = centerLng;
+            this.spreadKm = spreadKm;
+        }
+
+        private static Fixture random(Random random) {
+            Fixture fixture = new Fixture(random.nextDouble(0.5, 5), random.nextDouble(-60, 60),
+                    random.nextDouble(-170, 170), random.nextDouble(1, 10));
+            int count = random.nextInt(0, 300);
+            for (long id = 1; id <= count; id++) {
+                double[] point = fixture.nearby(random);
+                fixture.grid.put(id, point[0], point[1]);
+                fixture.points.add(new SpatialGrid.Hit(id, point[0], point[1], 0));
+            }
+            return fixture;
+        }
+
+        // A point up to spreadKm from the centre in each direction
+        private double[] nearby(Random random) {
+            double latSpan = spreadKm / GeoUtils.KM_PER_DEGREE;
+            double lngSpan = latSpan / Math.cos(Math.toRadians(centerLat));
+            return new double[]{centerLat + random.nextDouble(-latSpan, latSpan),
+                    centerLng + random.nextDouble(-lngSpan, lngSpan)};
+        }
+
+        // Every point within radiusKm, nearest first, ties by id
+        private List<SpatialGrid.Hit> scan(double lat, double lng, double radiusKm) {
+            List<SpatialGrid.Hit> hits = new ArrayList<>();
+            for (SpatialGrid.Hit point : points) {
+                double distance = GeoUtils.calculateDistance(lat, lng, point.getLat(), point.getLng());
+                if (distance <= radiusKm) {
+                    hits.add(new SpatialGrid.Hit(point.getId(), point.getLat(), point.getLng(), distance));
+                }
+            }
+            hits.sort(Comparator.comparingDouble(SpatialGrid.Hit::getDistanceKm).thenComparingLong(SpatialGrid.Hit::getId));
+            return hits;
+        }
+
+        @Override
+        public String toString() {
+            return points.size() + " points in " + cellSizeKm + " km cells around " + centerLat + "," + centerLng;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.ds.commons.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Stress tests {@link StripedStockCounter} with 64 threads racing for the same stock.
+ */
+class StripedStockCounterTest {
+
+    private static final int THREADS = 64;
+
+    @Test
+    void neverOversellsAndSellsOutExactly() throws Exception {
+        long stock = 100_000;
+        StripedStockCounter counter = new StripedStockCounter(stock, THREADS);
+
+        long sold = race(() -> {
+            long taken = 0;
+            // Keep buying until the stock is gone; a rejection of one unit means nothing is left
+            while (true) {
+                long quantity = ThreadLocalRandom.current().nextInt(1, 4);
+                if (counter.tryReserve(quantity)) {
+                    taken += quantity;
+                } else if (quantity == 1) {
+                    return taken;
+                }
+            }
+        });
+
+        assertEquals(stock, sold);
+        assertEquals(0, counter.available());
+        assertFalse(counter.tryReserve(1));
+    }
+
+    @Test
+    void keepsStockConsistentWithConcurrentReleases() throws Exception {
+        long stock = 5_000;
+        StripedStockCounter counter = new StripedStockCounter(stock, THREADS);
+
+        long held = race(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long holding = 0;
+            for (int i = 0; i < 20_000; i++) {
+                if (holding > 0 && random.nextInt(3) == 0) {
+                    long quantity = random.nextLong(1, holding + 1);
+                    counter.release(quantity, stock);
+                    holding -= quantity;
+                } else {
+                    long quantity = random.nextInt(1, 6);
+                    if (counter.tryReserve(quantity)) {
+                        holding += quantity;
+                    }
+                }
+            }
+            return holding;
+        });
+
+        assertTrue(counter.available() >= 0);
+        assertEquals(stock, counter.available() + held);
+    }
+
+    @Test
+    void adjustsToNewLimit() {
+        StripedStockCounter counter = new StripedStockCounter(10, 8);
+        assertTrue(counter.tryReserve(4));
+
+        counter.adjust(-10);
+        assertEquals(0, counter.available());
+        assertFalse(counter.tryReserve(1));
+
+        counter.adjust(3);
+        assertTrue(counter.tryReserve(3));
+        assertEquals(0, counter.available());
+    }
+
+    @Test
+    void neverReleasesPastTheLimit() {
+        StripedStockCounter counter = new StripedStockCounter(10, 8);
+        assertTrue(counter.tryReserve(3));
+
+        counter.release(3, 10);
+        assertEquals(10, counter.available());
+
+        // A second release of the same reservation must not create stock
+        counter.release(3, 10);
+        assertEquals(10, counter.available());
+        assertFalse(counter.tryReserve(11));
+    }
+
+    // Runs the task on every thread at once and returns the sum of their results
+    private static long race(Callable<Long> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+
+            long total = 0;
+            for (Future<Long> result : results) {
+                total += result.get(60, TimeUnit.SECONDS);
+            }
+            return total;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.ds.commons.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Drives {@link TransactionCallbacks} through the synchronization callbacks a transaction manager would invoke.
+ */
+class TransactionCallbacksTest {
+
+    private final List<String> ran = new ArrayList<>();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void runsImmediatelyWithoutATransaction() {
+        TransactionCallbacks.afterCommit(() -> ran.add("commit"));
+        TransactionCallbacks.afterRollback(() -> ran.add("rollback"));
+
+        assertEquals(List.of("commit"), ran);
+    }
+
+    @Test
+    void runsCommitTasksOnlyOnCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionCallbacks.afterCommit(() -> ran.add("commit"));
+        TransactionCallbacks.afterRollback(() -> ran.add("rollback"));
+        assertEquals(List.of(), ran);
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertEquals(List.of("commit"), ran);
+    }
+
+    @Test
+    void runsRollbackTasksOnlyOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionCallbacks.afterCommit(() -> ran.add("commit"));
+        TransactionCallbacks.afterRollback(() -> ran.add("rollback"));
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(List.of("rollback"), ran);
+    }
+
+    // What a transaction manager does on completion: afterCommit only on commit, then afterCompletion
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
@@ -0,0 +1,118 @@
+package com.ds.commons.utils;
+
+import com.ds.commons.enums.DayOfWeek;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks {@link WeeklyHours} on same-day, overnight and week-wrapping schedules.
+ */
+class WeeklyHoursTest {
+
+    private static final List<DayOfWeek> WEEKDAYS = List.of(
+            DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY);
+
+    @Test
+    void sameDayHoursOpenAtOpeningAndCloseAtClosing() {
+        WeeklyHours hours = WeeklyHours.of(WEEKDAYS, LocalTime.of(9, 0), LocalTime.of(17, 0));
+
+        assertFalse(hours.isOpenAt(monday(8, 59)));
+        assertTrue(hours.isOpenAt(monday(9, 0)));
+        assertTrue(hours.isOpenAt(monday(16, 59)));
+        assertFalse(hours.isOpenAt(monday(17, 0)));
+        // Not on the weekend
+        assertFalse(hours.isOpenAt(monday(12, 0).plusDays(5)));
+    }
+
+    @Test
+    void overnightHoursRunIntoTheNextDay() {
+        WeeklyHours hours = WeeklyHours.of(List.of(DayOfWeek.FRIDAY), LocalTime.of(22, 0), LocalTime.of(2, 0));
+        LocalDateTime friday = monday(0, 0).plusDays(4);
+
+        assertFalse(hours.isOpenAt(friday.withHour(21).withMinute(59)));
+        assertTrue(hours.isOpenAt(friday.withHour(22)));
+        assertTrue(hours.isOpenAt(friday.plusDays(1).withHour(1).withMinute(59)));
+        assertFalse(hours.isOpenAt(friday.plusDays(1).withHour(2)));
+        // Friday's early hours belong to Thursday, which is closed
+        assertFalse(hours.isOpenAt(friday.withHour(1)));
+    }
+
+    @Test
+    void sundayOvernightHoursWrapIntoMonday() {
+        WeeklyHours hours = WeeklyHours.of(List.of(DayOfWeek.SUNDAY), LocalTime.of(22, 0), LocalTime.of(3, 0));
+
+        assertTrue(hours.isOpenAt(monday(2, 59)));
+        assertFalse(hours.isOpenAt(monday(3, 0)));
+        assertTrue(hours.isOpenAt(monday(23, 0).plusDays(6)));
+        assertEquals(monday(3, 0).plusWeeks(1), hours.nextClosing(monday(23, 30).plusDays(6)));
+    }
+
+    @Test
+    void nextOpeningSkipsToTheNextOpenDay() {
+        WeeklyHours hours = WeeklyHours.of(WEEKDAYS, LocalTime.of(9, 0), LocalTime.of(17, 0));
+
+        // Later the same day, truncated to the minute
+        assertEquals(monday(9, 0), hours.nextOpening(monday(8, 30).withSecond(45)));
+        // While open, the next opening is the following day's
+        assertEquals(monday(9, 0).plusDays(1), hours.nextOpening(monday(10, 0)));
+        // After Friday's closing, over the weekend into the next week
+        assertEquals(monday(9, 0).plusWeeks(1), hours.nextOpening(monday(18, 0).plusDays(4)));
+    }
+
+    @Test
+    void nextClosingOfOvernightHoursIsOnTheNextDay() {
+        WeeklyHours hours = WeeklyHours.of(List.of(DayOfWeek.FRIDAY), LocalTime.of(22, 0), LocalTime.of(2, 0));
+        LocalDateTime friday = monday(0, 0).plusDays(4);
+
+        assertEquals(friday.plusDays(1).withHour(2), hours.nextClosing(friday.withHour(23)));
+        // While closed, the closing after the next opening
+        assertEquals(friday.plusDays(1).withHour(2), hours.nextClosing(friday.withHour(12)));
+    }
+
+    @Test
+    void equalHoursAreOpenAllDay() {
+        WeeklyHours hours = WeeklyHours.of(List.of(DayOfWeek.MONDAY), LocalTime.of(8, 0), LocalTime.of(8, 0));
+
+        assertTrue(hours.isOpenAt(monday(8, 0)));
+        assertTrue(hours.isOpenAt(monday(7, 59).plusDays(1)));
+        assertFalse(hours.isOpenAt(monday(8, 0).plusDays(1)));
+    }
+
+    @Test
+    void noChangeWhenAlwaysOpenOrNeverOpen() {
+        WeeklyHours always = WeeklyHours.of(EnumSet.allOf(DayOfWeek.class), LocalTime.MIDNIGHT, LocalTime.MIDNIGHT);
+        WeeklyHours never = WeeklyHours.of(List.of(), LocalTime.of(9, 0), LocalTime.of(17, 0));
+
+        assertTrue(always.isOpenAt(monday(3, 0)));
+        assertNull(always.nextOpening(monday(3, 0)));
+        assertNull(always.nextClosing(monday(3, 0)));
+        assertFalse(never.isOpenAt(monday(10, 0)));
+        assertNull(never.nextOpening(monday(10, 0)));
+        assertNull(never.nextClosing(monday(10, 0)));
+    }
+
+    @Test
+    void parsesStoredTimeFormats() {
+        assertEquals(LocalTime.of(9, 0), WeeklyHours.parseTime("09:00"));
+        assertEquals(LocalTime.of(9, 5), WeeklyHours.parseTime(" 9:05:00 "));
+        assertEquals(LocalTime.of(21, 30), WeeklyHours.parseTime("9:30 PM"));
+        assertEquals(LocalTime.of(0, 15), WeeklyHours.parseTime("12:15am"));
+        assertThrows(IllegalArgumentException.class, () -> WeeklyHours.parseTime("noon"));
+        assertThrows(IllegalArgumentException.class, () -> WeeklyHours.parseTime(" "));
+    }
+
+    // 12 October 2026 is a Monday
+    private static LocalDateTime monday(int hour, int minute) {
+        return LocalDateTime.of(2026, 10, 12, hour, minute);
+    }
+}
@@ -8,9 +8,11 @@ import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+@EnableScheduling
 @SpringBootApplication
-@ComponentScan(basePackages = {"com.ds.deliveryservice", "com.ds.commons",  "com.ds.masterservice"})
+@ComponentScan(basePackages = {"com.ds.deliveryservice", "com.ds.commons",  "com.ds.masterservice", "com.ds.communicationservice"})
 @EnableJpaRepositories(basePackages = "com.ds.masterservice.repository")
 @EntityScan(basePackages = "com.ds.masterservice.dao")
 public class DeliveryServiceApplication {
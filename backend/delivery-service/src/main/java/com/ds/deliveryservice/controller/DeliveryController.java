@@ -22,6 +22,7 @@ import com.ds.masterservice.dto.response.deliveryService.DriverResponse;
 import com.ds.masterservice.dto.response.deliveryService.LocationUpdateResponse;
 import com.ds.masterservice.dto.response.orderService.OrderResponse;
 import com.ds.masterservice.dto.response.restaurant.RestaurantResponse;
+import com.ds.masterservice.service.deliveryService.BatchDispatchService;
 import com.ds.masterservice.service.orderService.OrderServiceImpl;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
@@ -46,6 +47,9 @@ public class DeliveryController {
     private Optional<GeocodingUtil> geocodingUtil;
     @Autowired(required = false)
     private CommunicationService communicationService;
+    // Batch order-to-driver matching; only present where delivery.dispatch.mode is batch
+    @Autowired(required = false)
+    private Optional<BatchDispatchService> batchDispatchService;
 
     public DeliveryController(MasterService masterService, SocketIOServer socketServer, DeliverySocketHandler deliverySocketHandler, OrderServiceImpl orderServiceImpl) {
         this.masterService = masterService;
@@ -63,16 +67,26 @@ public class DeliveryController {
     public ApiResponse<List<OrderResponse>> getNearbyOrders(
             @RequestParam("driverId") Long driverId,
             @RequestParam("lat") BigDecimal lat,
-            @RequestParam("lng") BigDecimal lng
+            @RequestParam("lng") BigDecimal lng,
+            @RequestParam(value = "limit", defaultValue = "50") int limit,
+            @RequestParam(value = "cursor", required = false) String cursor
     ) throws CustomException {
         log.info("Fetching nearby orders for driver ID: {}", driverId);
-        return masterService.getNearbyOrders(driverId, lat, lng);
+        ApiResponse<List<OrderResponse>> response = masterService.getNearbyOrders(driverId, lat, lng, limit, cursor);
+        deliverySocketHandler.updateDriverArea(driverId, lat.doubleValue(), lng.doubleValue());
+        return response;
     }
 
     @PostMapping("/drivers/notify")
     public ApiResponse<List<String>> notifyDrivers(@RequestParam("orderId") Long orderId) throws CustomException {
         log.info("Notifying nearby drivers for order ID: {}", orderId);
 
+        // An order offered to a driver in batch dispatch mode is only shown to that driver
+        if (batchDispatchService.map(service -> service.isReserved(orderId)).orElse(false)) {
+            log.info("Order ID {} is offered to a driver; not notifying others", orderId);
+            return ApiResponse.successResponse("Order is offered to a driver", List.of());
+        }
+
         // Step 1: Trigger business logic
         ApiResponse<List<String>> response = masterService.notifyNearbyDriversForNewOrder(orderId);
 
@@ -97,19 +111,22 @@ public class DeliveryController {
             return response;
         }
 
-        // Step 5: Geocode address to coordinates
-        BigDecimal[] coordinates = geocodingUtil
-                .orElseThrow(() -> new CustomException(ExceptionCode.GEOCODING_UNAVAILABLE))
-                .getCoordinates(restaurant.getAddress());
-        BigDecimal lat = coordinates[0];
-        BigDecimal lon = coordinates[1];
+        // Step 5: Use the stored restaurant coordinates, geocoding only if they are not filled yet
+        BigDecimal lat = restaurant.getLat();
+        BigDecimal lon = restaurant.getLng();
+        if (lat == null || lon == null) {
+            BigDecimal[] coordinates = geocodingUtil
+                    .orElseThrow(() -> new CustomException(ExceptionCode.GEOCODING_UNAVAILABLE))
+                    .getCoordinates(restaurant.getAddress());
+            lat = coordinates[0];
+            lon = coordinates[1];
+        }
 
         // Step 6: Convert lat/lng to location hash (use your own utility)
         String locationHash = GeoHashUtil.encode(lat.doubleValue(), lon.doubleValue());
 
-        // Step 7: Emit socket event to appropriate room
-        socketServer.getRoomOperations("area:" + locationHash)
-                .sendEvent("newOrderAvailable", order);
+        // Step 7: Emit socket event to the area rooms covering the restaurant's surroundings
+        deliverySocketHandler.broadcastToArea(lat.doubleValue(), lon.doubleValue(), "newOrderAvailable", order);
 
         communicationService.sendBulkEmail(response.getResult().toArray(String[]::new), "New Order Nearby!", "New order available please check location: " + locationHash + " order: " + order, false);
         return response;
@@ -120,13 +137,19 @@ public class DeliveryController {
             @RequestBody DeliveryAcceptanceRequest dto,
             @PathVariable("driverId") Long driverId) throws CustomException {
         log.info("Driver ID {} attempting to accept order", driverId);
-        ApiResponse<DeliveryResponse> response = masterService.acceptOrder(driverId, dto);
-
-        // Notify all clients that order was accepted
-        socketServer.getBroadcastOperations().sendEvent("orderAccepted",
-                new DeliverySocketHandler.OrderAcceptEvent(driverId, dto.getOrderId()));
+        // Clients are told about the accepted order by the order event relay
+        return masterService.acceptOrder(driverId, dto);
+    }
 
-        return response;
+    @PostMapping("/orders/decline/{driverId}")
+    public ApiResponse<String> declineOrder(
+            @RequestBody DeliveryAcceptanceRequest dto,
+            @PathVariable("driverId") Long driverId) throws CustomException {
+        log.info("Driver ID {} declining order {}", driverId, dto.getOrderId());
+        if (!batchDispatchService.map(service -> service.decline(dto.getOrderId(), driverId)).orElse(false)) {
+            throw new CustomException(ExceptionCode.NO_PENDING_OFFER);
+        }
+        return ApiResponse.successResponse("Offer declined");
     }
 
     @PostMapping("/delivery/complete")
@@ -231,6 +254,9 @@ public class DeliveryController {
         log.info("Updating location for driver ID: {}", driverId);
         ApiResponse<LocationUpdateResponse> response = masterService.updateLocation(driverId, lat, lng);
 
+        // Keep the driver's socket in the area rooms of their new location
+        deliverySocketHandler.updateDriverArea(driverId, lat.doubleValue(), lng.doubleValue());
+
         // Use the injected handler
         UUID socketId = deliverySocketHandler.getSocketIdForDriver(driverId);
         if (socketId != null) {
@@ -0,0 +1,62 @@
+package com.ds.deliveryservice.notification;
+
+import com.ds.communicationservice.CommunicationService;
+import com.ds.masterservice.dao.authService.Customer;
+import com.ds.masterservice.dao.orderService.OrderBoardEventType;
+import com.ds.masterservice.dao.orderService.OrderStatus;
+import com.ds.masterservice.repository.UserRepository;
+import com.ds.masterservice.service.orderService.OrderLifecycleEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Emails customers about their order's progress, from the order events relayed off the request thread.
+ */
+@Slf4j
+@Component
+public class OrderEventMailer {
+
+    private final UserRepository userRepository;
+    private final CommunicationService communicationService;
+
+    // Required, so a service that relays order events without a mail sender fails at startup instead of dropping emails
+    @Autowired
+    public OrderEventMailer(UserRepository userRepository, CommunicationService communicationService) {
+        this.userRepository = userRepository;
+        this.communicationService = communicationService;
+    }
+
+    @EventListener
+    public void onOrderEvent(OrderLifecycleEvent event) {
+        if (event.getUserId() == null) {
+            return;
+        }
+        String subject;
+        String message;
+        if (event.getType() == OrderBoardEventType.PAYMENT_CHANGED) {
+            subject = "Order Status Update";
+            message = "Hi %s, the payment status of your order #%d has been updated to " + event.getPaymentStatus() + ".";
+        } else if (event.getType() == OrderBoardEventType.STATUS_CHANGED && event.getToStatus() == OrderStatus.DRIVER_ASSIGNED) {
+            subject = "Order Accepted";
+            message = "Hi %s, your order #%d has been accepted by a driver and is on the way!";
+        } else if (event.getType() == OrderBoardEventType.STATUS_CHANGED && event.getToStatus() == OrderStatus.DELIVERED) {
+            subject = "Order Delivered";
+            message = "Hi %s, your order #%d has been delivered. Enjoy the order!";
+        } else {
+            return;
+        }
+
+        Customer customer = userRepository.findCustomerById(Math.toIntExact(event.getUserId())).orElse(null);
+        if (customer == null || customer.getEmail() == null) {
+            log.warn("No customer email for order {}, skipping the {} notification", event.getOrderId(), subject);
+            return;
+        }
+        // Throwing leaves the event undispatched, so the relay sends it again after a backoff
+        if (!communicationService.sendEmail(customer.getEmail(), subject,
+                String.format(message, customer.getFirstName(), event.getOrderId()))) {
+            throw new IllegalStateException("Failed to email customer " + event.getUserId() + " about order " + event.getOrderId());
+        }
+    }
+}
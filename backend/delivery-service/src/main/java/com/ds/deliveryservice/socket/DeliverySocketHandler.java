@@ -5,28 +5,57 @@ import com.corundumstudio.socketio.SocketIOServer;
 import com.corundumstudio.socketio.annotation.OnConnect;
 import com.corundumstudio.socketio.annotation.OnDisconnect;
 import com.corundumstudio.socketio.annotation.OnEvent;
+import com.ds.deliveryservice.util.GeoHashUtil;
+import com.ds.masterservice.dao.orderService.OrderBoardEventType;
+import com.ds.masterservice.dao.orderService.OrderStatus;
 import com.ds.masterservice.dto.response.orderService.OrderResponse;
+import com.ds.masterservice.service.deliveryService.DispatchOfferEvent;
+import com.ds.masterservice.service.orderService.OrderLifecycleEvent;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 public class DeliverySocketHandler {
 
+    public static final String AREA_ROOM_PREFIX = "area:";
+
     private final SocketIOServer server;
+    private final DriverLocationBroadcaster locationBroadcaster;
     private final Map<Long, UUID> driverSocketMap = new ConcurrentHashMap<>();
     private final Map<String, SocketIOClient> driverClients = new ConcurrentHashMap<>();
 
-    public DeliverySocketHandler(SocketIOServer server) {
+    // Area rooms each connected driver is currently in, one per configured geohash precision
+    private final Map<UUID, Set<String>> sessionAreaRooms = new ConcurrentHashMap<>();
+
+    @Value("${delivery.socket.area-precisions:4,5,6}")
+    private int[] areaPrecisions;
+
+    // Most rooms a single area broadcast may target before falling back to a coarser precision
+    @Value("${delivery.socket.area-max-cells:32}")
+    private int areaMaxCells;
+
+    @Value("${delivery.socket.area-radius-km:10}")
+    private double areaRadiusKm;
+
+    public DeliverySocketHandler(SocketIOServer server, DriverLocationBroadcaster locationBroadcaster) {
         this.server = server;
+        this.locationBroadcaster = locationBroadcaster;
     }
 
     @OnEvent("*")
@@ -69,6 +98,8 @@ public class DeliverySocketHandler {
     @OnDisconnect
     public void onDisconnect(SocketIOClient client) {
         driverSocketMap.values().remove(client.getSessionId());
+        sessionAreaRooms.remove(client.getSessionId());
+        locationBroadcaster.remove(client.getHandshakeData().getSingleUrlParam("driverId"));
     }
 
     @OnEvent("joinDriverRoom")
@@ -79,11 +110,14 @@ public class DeliverySocketHandler {
     @OnEvent("updateLocation")
     public void onLocationUpdate(SocketIOClient client, LocationUpdate update) {
         String driverId = client.getHandshakeData().getSingleUrlParam("driverId");
-        log.info("Driver {} location update: {},{}", driverId, update.getLat(), update.getLng());
+        log.debug("Driver {} location update: {},{}", driverId, update.getLat(), update.getLng());
 
-        // Broadcast to dispatchers or customers
-        server.getRoomOperations("dispatchers")
-                .sendEvent("driverLocation", new DriverLocationEvent(driverId, update));
+        if (update.getLat() != null && update.getLng() != null) {
+            updateAreaRooms(client, update.getLat().doubleValue(), update.getLng().doubleValue());
+        }
+
+        // Dispatchers get batched, throttled driverLocations frames instead of one event per update
+        locationBroadcaster.offer(driverId, update);
     }
 
     @OnEvent("acceptOrder")
@@ -103,10 +137,92 @@ public class DeliverySocketHandler {
         client.sendEvent("newOrderAvailable", order);
     }
 
+    /**
+     * Sends a batch dispatch offer to the offered driver only.
+     */
+    @EventListener
+    public void onDispatchOffer(DispatchOfferEvent offer) {
+        server.getRoomOperations("driver:" + offer.getDriverId()).sendEvent("orderOffer", offer);
+    }
+
+    /**
+     * Pushes committed order changes: every status change to the order's room, and accepted orders to all
+     * clients so other drivers drop them.
+     */
+    @EventListener
+    public void onOrderEvent(OrderLifecycleEvent event) {
+        if (event.getType() != OrderBoardEventType.STATUS_CHANGED) {
+            return;
+        }
+        server.getRoomOperations("order:" + event.getOrderId()).sendEvent("orderStatusChanged",
+                new OrderStatusEvent(event.getOrderId(), event.getToStatus().name(), event.getDriverId()));
+        if (event.getToStatus() == OrderStatus.DRIVER_ASSIGNED) {
+            server.getBroadcastOperations().sendEvent("orderAccepted",
+                    new OrderAcceptEvent(event.getDriverId(), event.getOrderId()));
+        }
+    }
+
     public UUID getSocketIdForDriver(Long driverId) {
         return driverSocketMap.get(driverId);
     }
 
+    /**
+     * Moves a connected driver into the area rooms of their new location. Does nothing if the driver has no socket.
+     */
+    public void updateDriverArea(Long driverId, double lat, double lng) {
+        UUID sessionId = driverSocketMap.get(driverId);
+        SocketIOClient client = sessionId != null ? server.getClient(sessionId) : null;
+        if (client != null) {
+            updateAreaRooms(client, lat, lng);
+        }
+    }
+
+    /**
+     * Sends an event to every driver within the area radius of a point, through the fewest area rooms that
+     * cover the radius at the finest precision that stays within the room limit.
+     *
+     * @return the rooms the event was sent to
+     */
+    public List<String> broadcastToArea(double lat, double lng, String event, Object payload) {
+        List<String> rooms = coveringAreaRooms(lat, lng);
+        rooms.forEach(room -> server.getRoomOperations(room).sendEvent(event, payload));
+        log.debug("Sent {} to {} area rooms", event, rooms.size());
+        return rooms;
+    }
+
+    private void updateAreaRooms(SocketIOClient client, double lat, double lng) {
+        Set<String> rooms = new HashSet<>();
+        for (int precision : areaPrecisions) {
+            rooms.add(AREA_ROOM_PREFIX + GeoHashUtil.encode(lat, lng, precision));
+        }
+
+        Set<String> previous = sessionAreaRooms.put(client.getSessionId(), rooms);
+        if (previous != null) {
+            previous.stream().filter(room -> !rooms.contains(room)).forEach(client::leaveRoom);
+        }
+        rooms.stream().filter(room -> previous == null || !previous.contains(room)).forEach(client::joinRoom);
+    }
+
+    // A driver is in exactly one room per precision, so covering at a single precision never sends an event twice
+    private List<String> coveringAreaRooms(double lat, double lng) {
+        int[] finestFirst = Arrays.stream(areaPrecisions).boxed()
+                .sorted(Comparator.reverseOrder())
+                .mapToInt(Integer::intValue)
+                .toArray();
+        List<String> cells = null;
+        for (int precision : finestFirst) {
+            cells = GeoHashUtil.cover(lat, lng, areaRadiusKm, precision, areaMaxCells);
+            if (cells != null) {
+                break;
+            }
+        }
+        if (cells == null) {
+            int coarsest = finestFirst[finestFirst.length - 1];
+            cells = GeoHashUtil.cover(lat, lng, areaRadiusKm, coarsest, Integer.MAX_VALUE / 4);
+        }
+        return cells.stream().map(cell -> AREA_ROOM_PREFIX + cell).collect(Collectors.toList());
+    }
+
     // Event classes
     @Data
     @AllArgsConstructor
@@ -115,6 +231,14 @@ public class DeliverySocketHandler {
         private Long orderId;
     }
 
+    @Data
+    @AllArgsConstructor
+    public static class OrderStatusEvent {
+        private Long orderId;
+        private String status;
+        private Long driverId;
+    }
+
     @Data
     @AllArgsConstructor
     public static class LocationUpdate {
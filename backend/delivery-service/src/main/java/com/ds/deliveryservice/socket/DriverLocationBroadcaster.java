@@ -0,0 +1,110 @@
+package com.ds.deliveryservice.socket;
+
+import com.corundumstudio.socketio.SocketIOServer;
+import com.ds.commons.utils.GeoUtils;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Batches driver location updates for the {@code dispatchers} room.
+ * <p>
+ * Updates are collected per driver and sent once per tick as a single {@code driverLocations} frame holding
+ * every driver that changed. A driver is included at most once per {@code min-interval}, and only when they
+ * moved at least {@code min-distance-m} since the last position dispatchers received.
+ */
+@Slf4j
+@Component
+public class DriverLocationBroadcaster {
+
+    private static final String DISPATCHERS_ROOM = "dispatchers";
+
+    private final SocketIOServer server;
+
+    // Newest position per driver not yet sent
+    private final Map<String, DeliverySocketHandler.LocationUpdate> pending = new ConcurrentHashMap<>();
+    // Last position sent per driver
+    private final Map<String, Sent> sent = new ConcurrentHashMap<>();
+
+    @Value("${delivery.socket.location.min-interval:PT3S}")
+    private Duration minInterval;
+
+    @Value("${delivery.socket.location.min-distance-m:25}")
+    private double minDistanceMeters;
+
+    public DriverLocationBroadcaster(SocketIOServer server) {
+        this.server = server;
+    }
+
+    /**
+     * Queues a driver's position for the next tick, replacing any position still queued for that driver.
+     */
+    public void offer(String driverId, DeliverySocketHandler.LocationUpdate update) {
+        if (driverId == null || update.getLat() == null || update.getLng() == null) {
+            return;
+        }
+        pending.put(driverId, update);
+    }
+
+    /**
+     * Forgets a driver, e.g. when their socket disconnects.
+     */
+    public void remove(String driverId) {
+        if (driverId != null) {
+            pending.remove(driverId);
+            sent.remove(driverId);
+        }
+    }
+
+    @Scheduled(fixedRateString = "${delivery.socket.location.tick:PT1S}")
+    public void tick() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        List<DeliverySocketHandler.DriverLocationEvent> frame = new ArrayList<>();
+        int suppressed = 0;
+        // The entry view is weakly consistent, so disconnects and new positions during the loop are safe
+        for (Map.Entry<String, DeliverySocketHandler.LocationUpdate> entry : pending.entrySet()) {
+            String driverId = entry.getKey();
+            DeliverySocketHandler.LocationUpdate update = entry.getValue();
+            Sent last = sent.get(driverId);
+            double lat = update.getLat().doubleValue();
+            double lng = update.getLng().doubleValue();
+
+            if (last != null && now - last.timeMillis < minInterval.toMillis()) {
+                // Too soon: keep the newest position queued for a later tick
+                continue;
+            }
+            pending.remove(driverId, update);
+            if (last != null && GeoUtils.fastDistance(last.lat, last.lng, lat, lng) * 1000 < minDistanceMeters) {
+                suppressed++;
+                continue;
+            }
+
+            sent.put(driverId, new Sent(lat, lng, now));
+            frame.add(new DeliverySocketHandler.DriverLocationEvent(driverId, update));
+        }
+
+        if (!frame.isEmpty()) {
+            server.getRoomOperations(DISPATCHERS_ROOM).sendEvent("driverLocations", frame);
+        }
+        log.debug("Sent {} driver locations, suppressed {} small movements", frame.size(), suppressed);
+    }
+
+    @AllArgsConstructor
+    private static class Sent {
+        private final double lat;
+        private final double lng;
+        private final long timeMillis;
+    }
+}
@@ -39,7 +39,7 @@ public class SocketIOConfig {
     }
 
     @Bean
-    public DeliverySocketHandler deliverySocketHandler(SocketIOServer socketServer) {
-        return new DeliverySocketHandler(socketServer);
+    public DeliverySocketHandler deliverySocketHandler(SocketIOServer socketServer, DriverLocationBroadcaster locationBroadcaster) {
+        return new DeliverySocketHandler(socketServer, locationBroadcaster);
     }
 }
@@ -1,11 +1,70 @@
 package com.ds.deliveryservice.util;
 
+import ch.hsr.geohash.BoundingBox;
 import ch.hsr.geohash.GeoHash;
+import com.ds.commons.utils.GeoUtils;
+
+import java.util.ArrayList;
+import java.util.List;
 
 public class GeoHashUtil {
     private static final int GEOHASH_PRECISION = 7; // Adjust for area radius ~153m
+    private static final double KM_PER_DEGREE = 111.195;
 
     public static String encode(double latitude, double longitude) {
-        return GeoHash.withCharacterPrecision(latitude, longitude, GEOHASH_PRECISION).toBase32();
+        return encode(latitude, longitude, GEOHASH_PRECISION);
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        return GeoHash.withCharacterPrecision(latitude, longitude, precision).toBase32();
+    }
+
+    /**
+     * Returns the geohash cells of the given precision that intersect a circle, or null if that takes more
+     * than {@code maxCells} cells.
+     */
+    public static List<String> cover(double latitude, double longitude, double radiusKm, int precision, int maxCells) {
+        double latSpan = radiusKm / KM_PER_DEGREE;
+        double minLat = Math.max(latitude - latSpan, -90);
+        double maxLat = Math.min(latitude + latSpan, 90);
+        double lngSpan = Math.min(latSpan / Math.cos(Math.toRadians(Math.max(Math.abs(minLat), Math.abs(maxLat)))), 180);
+        double minLng = longitude - lngSpan;
+        double maxLng = longitude + lngSpan;
+
+        List<String> cells = new ArrayList<>();
+        // Cells in the corners of the bounding box are walked but skipped, so the walk is bounded separately
+        int walked = 0;
+        GeoHash rowStart = GeoHash.withCharacterPrecision(minLat, Math.max(minLng, -180), precision);
+        while (rowStart.getBoundingBox().getSouthLatitude() <= maxLat) {
+            GeoHash cell = rowStart;
+            while (true) {
+                if (++walked > maxCells * 4) {
+                    return null;
+                }
+                BoundingBox box = cell.getBoundingBox();
+                if (intersects(box, latitude, longitude, radiusKm)) {
+                    if (cells.size() == maxCells) {
+                        return null;
+                    }
+                    cells.add(cell.toBase32());
+                }
+                if (box.getEastLongitude() >= maxLng || box.getEastLongitude() >= 180) {
+                    break;
+                }
+                cell = cell.getEasternNeighbour();
+            }
+            if (rowStart.getBoundingBox().getNorthLatitude() >= 90) {
+                break;
+            }
+            rowStart = rowStart.getNorthernNeighbour();
+        }
+        return cells;
+    }
+
+    // Whether the point of the cell closest to the circle's centre lies within the radius
+    private static boolean intersects(BoundingBox box, double latitude, double longitude, double radiusKm) {
+        double nearestLat = Math.max(box.getSouthLatitude(), Math.min(latitude, box.getNorthLatitude()));
+        double nearestLng = Math.max(box.getWestLongitude(), Math.min(longitude, box.getEastLongitude()));
+        return GeoUtils.calculateDistance(latitude, longitude, nearestLat, nearestLng) <= radiusKm;
     }
 }
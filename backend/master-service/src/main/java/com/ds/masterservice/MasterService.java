@@ -10,7 +10,9 @@ import com.ds.masterservice.dto.request.deliveryService.DeliveryRatingRequest;
 import com.ds.masterservice.dto.request.deliveryService.DriverRegistrationRequest;
 import com.ds.masterservice.dto.request.food.FoodItemRequest;
 import com.ds.masterservice.dto.request.menu.MenuCategoryCreateRequest;
+import com.ds.masterservice.dto.request.restaurant.OrderBoardRequest;
 import com.ds.masterservice.dto.request.restaurant.RestaurantCreateUpdateRequest;
+import com.ds.masterservice.dto.request.restaurant.RestaurantListRequest;
 import com.ds.masterservice.dto.request.user.RestaurantManagerRequestDTO;
 import com.ds.masterservice.dto.response.*;
 import com.ds.masterservice.dto.response.deliveryService.DeliveryHistoryResponse;
@@ -18,15 +20,21 @@ import com.ds.masterservice.dto.response.deliveryService.DeliveryResponse;
 import com.ds.masterservice.dto.response.deliveryService.DriverResponse;
 import com.ds.masterservice.dto.response.deliveryService.LocationUpdateResponse;
 import com.ds.masterservice.dto.response.food.FoodItemResponse;
+import com.ds.masterservice.dto.response.food.MenuImportResponse;
 import com.ds.masterservice.dto.response.menu.MenuCategoryResponse;
 import com.ds.masterservice.dto.response.orderService.OrderResponse;
 import com.ds.masterservice.dto.response.restaurant.OrderReqResponse;
 import com.ds.masterservice.dto.response.restaurant.RestaurantAdminResponse;
 import com.ds.masterservice.dto.response.restaurant.RestaurantInitResponse;
+import com.ds.masterservice.dto.response.restaurant.RestaurantPageResponse;
+import com.ds.masterservice.dto.response.restaurant.RestaurantSearchResultResponse;
 import com.ds.masterservice.dto.response.restaurant.RestaurantResponse;
 import com.ds.masterservice.service.RoleService;
 import com.ds.masterservice.service.UserService;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.util.List;
 
@@ -52,6 +60,10 @@ public interface MasterService {
 
     ApiResponse<List<RestaurantInitResponse>> getAllRestaurants() throws CustomException;
 
+    ApiResponse<RestaurantPageResponse> listRestaurants(RestaurantListRequest request) throws CustomException;
+
+    ApiResponse<List<RestaurantSearchResultResponse>> searchRestaurants(String query, int limit) throws CustomException;
+
     ApiResponse<List<DriverResponse>> getAllDrivers() throws CustomException;
 
     ApiResponse<DriverResponse> getDriver(Long driverId) throws CustomException;
@@ -66,7 +78,7 @@ public interface MasterService {
 
     ApiResponse<List<DriverResponse>> getAvailableDrivers() throws CustomException;
 
-    ApiResponse<List<OrderResponse>> getNearbyOrders(Long driverId, BigDecimal lat, BigDecimal lng) throws CustomException;
+    ApiResponse<List<OrderResponse>> getNearbyOrders(Long driverId, BigDecimal lat, BigDecimal lng, int limit, String cursor) throws CustomException;
 
     ApiResponse<List<String>> notifyNearbyDriversForNewOrder(Long orderId) throws CustomException;
 
@@ -106,6 +118,12 @@ public interface MasterService {
 
     ApiResponse<RegisterResponse> registerDriver(DriverRegistrationRequest driverRegistrationRequest) throws CustomException;
 
-    ApiResponse<List<OrderReqResponse>> getOrdersByRestaurantId(Long restaurantId) throws CustomException;
+    ApiResponse<List<OrderReqResponse>> getOrdersByRestaurantId(Long restaurantId, OrderBoardRequest request) throws CustomException;
+
+    SseEmitter subscribeOrderBoard(Long restaurantId, Long lastEventId) throws CustomException;
+
+    ApiResponse<MenuImportResponse> importMenu(Long restaurantId, InputStream body, String contentType) throws CustomException;
+
+    StreamingResponseBody exportMenu(Long restaurantId, String format) throws CustomException;
 
 }
@@ -10,25 +10,33 @@ import com.ds.masterservice.dto.request.deliveryService.DeliveryRatingRequest;
 import com.ds.masterservice.dto.request.deliveryService.DriverRegistrationRequest;
 import com.ds.masterservice.dto.request.food.FoodItemRequest;
 import com.ds.masterservice.dto.request.menu.MenuCategoryCreateRequest;
+import com.ds.masterservice.dto.request.restaurant.OrderBoardRequest;
 import com.ds.masterservice.dto.request.restaurant.RestaurantCreateUpdateRequest;
+import com.ds.masterservice.dto.request.restaurant.RestaurantListRequest;
 import com.ds.masterservice.dto.request.user.RestaurantManagerRequestDTO;
 import com.ds.masterservice.dto.response.*;
 import com.ds.masterservice.dto.response.deliveryService.DeliveryResponse;
 import com.ds.masterservice.dto.response.deliveryService.DriverResponse;
 import com.ds.masterservice.dto.response.deliveryService.LocationUpdateResponse;
 import com.ds.masterservice.dto.response.food.FoodItemResponse;
+import com.ds.masterservice.dto.response.food.MenuImportResponse;
 import com.ds.masterservice.dto.response.menu.MenuCategoryResponse;
 import com.ds.masterservice.dto.response.orderService.OrderResponse;
 import com.ds.masterservice.dto.response.restaurant.OrderReqResponse;
 import com.ds.masterservice.dto.response.restaurant.RestaurantAdminResponse;
 import com.ds.masterservice.dto.response.restaurant.RestaurantInitResponse;
+import com.ds.masterservice.dto.response.restaurant.RestaurantPageResponse;
+import com.ds.masterservice.dto.response.restaurant.RestaurantSearchResultResponse;
 import com.ds.masterservice.dto.response.restaurant.RestaurantResponse;
 import com.ds.masterservice.service.*;
 import com.ds.masterservice.service.deliveryService.DeliveryDriverService;
 import com.ds.masterservice.service.deliveryService.DeliveryService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.util.List;
 
@@ -101,6 +109,16 @@ public class MasterServiceImpl implements MasterService {
         return restaurantService.getAllRestaurants();
     }
 
+    @Override
+    public ApiResponse<RestaurantPageResponse> listRestaurants(RestaurantListRequest request) throws CustomException {
+        return restaurantService.listRestaurants(request);
+    }
+
+    @Override
+    public ApiResponse<List<RestaurantSearchResultResponse>> searchRestaurants(String query, int limit) throws CustomException {
+        return restaurantService.searchRestaurants(query, limit);
+    }
+
     @Override
     public ApiResponse<RestaurantAdminResponse> getAdminRestaurantData(Integer restaurantId) throws CustomException {
         return restaurantService.getAdminRestaurantData(restaurantId);
@@ -167,8 +185,8 @@ public class MasterServiceImpl implements MasterService {
     }
 
     @Override
-    public ApiResponse<List<OrderResponse>> getNearbyOrders(Long driverId, BigDecimal lat, BigDecimal lng) throws CustomException {
-        return deliveryService.getNearbyOrders(driverId, lat, lng);
+    public ApiResponse<List<OrderResponse>> getNearbyOrders(Long driverId, BigDecimal lat, BigDecimal lng, int limit, String cursor) throws CustomException {
+        return deliveryService.getNearbyOrders(driverId, lat, lng, limit, cursor);
     }
 
     @Override
@@ -237,7 +255,22 @@ public class MasterServiceImpl implements MasterService {
     }
 
     @Override
-    public ApiResponse<List<OrderReqResponse>> getOrdersByRestaurantId(Long restaurantId) throws CustomException {
-        return restaurantService.getOrdersByRestaurantId(restaurantId);
+    public ApiResponse<List<OrderReqResponse>> getOrdersByRestaurantId(Long restaurantId, OrderBoardRequest request) throws CustomException {
+        return restaurantService.getOrdersByRestaurantId(restaurantId, request);
+    }
+
+    @Override
+    public SseEmitter subscribeOrderBoard(Long restaurantId, Long lastEventId) throws CustomException {
+        return restaurantService.subscribeOrderBoard(restaurantId, lastEventId);
+    }
+
+    @Override
+    public ApiResponse<MenuImportResponse> importMenu(Long restaurantId, InputStream body, String contentType) throws CustomException {
+        return restaurantService.importMenu(restaurantId, body, contentType);
+    }
+
+    @Override
+    public StreamingResponseBody exportMenu(Long restaurantId, String format) throws CustomException {
+        return restaurantService.exportMenu(restaurantId, format);
     }
 }
@@ -9,7 +9,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "deliveries")
+@Table(name = "deliveries", indexes = @Index(name = "idx_deliveries_completed_at", columnList = "completedAt"))
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
@@ -53,6 +53,9 @@ public class Deliveries {
 
     private LocalDateTime updatedAt;
 
+    // Set once when the delivery is completed or fails; unlike updatedAt it does not move when the delivery is rated
+    private LocalDateTime completedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id", nullable = false)
     private Order order;
@@ -4,6 +4,8 @@ import com.ds.commons.enums.VehicleType;
 import com.ds.masterservice.dao.authService.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+
 import java.math.BigDecimal;
 import java.util.List;
 
@@ -13,6 +15,7 @@ import java.util.List;
 @Getter
 @Setter
 @Builder
+@DynamicUpdate // Saves only write changed columns, so they do not overwrite positions flushed by DriverLocationBuffer
 @DiscriminatorValue("DELIVERY_PERSON")
 public class DeliveryPerson extends User {
 
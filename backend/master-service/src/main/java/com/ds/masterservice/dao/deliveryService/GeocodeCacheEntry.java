@@ -0,0 +1,46 @@
+package com.ds.masterservice.dao.deliveryService;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Persisted geocoding result keyed on the SHA-256 of the normalized address.
+ * Rows with null coordinates record addresses that could not be resolved.
+ */
+@Entity
+@Table(name = "t_geocode_cache", indexes = @Index(name = "idx_geocode_cache_expires_at", columnList = "expires_at"))
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class GeocodeCacheEntry {
+
+    @Id
+    @Column(name = "address_hash", length = 64)
+    private String addressHash;
+
+    @Column(name = "address", columnDefinition = "TEXT", nullable = false)
+    private String address;
+
+    @Column(name = "lat", precision = 10, scale = 8)
+    private BigDecimal lat;
+
+    @Column(name = "lng", precision = 11, scale = 8)
+    private BigDecimal lng;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    public void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,27 @@
+package com.ds.masterservice.dao.deliveryService;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Record that the work identified by {@code dedupKey} was done, shared by every service instance.
+ * The primary key makes a second insert of the same key fail, which is what claims the work.
+ */
+@Entity
+@Table(name = "t_notification_dedup", indexes = @Index(name = "idx_notification_dedup_expires_at", columnList = "expires_at"))
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class NotificationDedupEntry {
+
+    @Id
+    @Column(name = "dedup_key", length = 128)
+    private String dedupKey;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
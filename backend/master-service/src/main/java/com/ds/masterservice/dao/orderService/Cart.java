@@ -4,6 +4,7 @@ import lombok.Data;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
@@ -34,5 +35,13 @@ public class Cart {
 
     @Enumerated(EnumType.STRING)
     private CartStatus status;
+
+    // When the cart's stock was reserved; a checkout not turned into an order by the timeout gives it back
+    @Column(name = "checked_out_at")
+    private LocalDateTime checkedOutAt;
+
+    // The order created from the cart; a checked out cart is used for one order only
+    @Column(name = "order_id")
+    private Long orderId;
 }
 
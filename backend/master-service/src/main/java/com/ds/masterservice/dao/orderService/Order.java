@@ -3,20 +3,35 @@ package com.ds.masterservice.dao.orderService;
 import jakarta.persistence.*;
 import lombok.Data;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 
 @Entity
 @Data
-@Table(name = "t_order")
+@Table(name = "t_order", indexes = {
+        @Index(name = "idx_order_updated_at", columnList = "updatedAt"),
+        // Order history, newest first
+        @Index(name = "idx_order_user_created_at", columnList = "userId, createdAt"),
+        // Paid bills
+        @Index(name = "idx_order_user_payment_status", columnList = "userId, paymentStatus"),
+        // Orders by status, e.g. open orders and the cancelled-order cleanup
+        @Index(name = "idx_order_status_updated_at", columnList = "status, updatedAt")
+})
 public class Order {
+    // Pooled ids: persisting assigns the id without a write, so the order and its items are inserted together at
+    // commit. Each round trip to the sequence table reserves allocationSize ids
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_id")
+    @SequenceGenerator(name = "order_id", sequenceName = "t_order_seq", allocationSize = 50)
     private Long id;
 
     private Long userId;
 
+    // Joined on OrderItem.orderId, which the items write themselves
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "orderId", insertable = false, updatable = false)
     private List<OrderItem> items;
 
     private Long restaurantId;
@@ -31,6 +46,28 @@ public class Order {
     private PaymentStatus paymentStatus = PaymentStatus.NOT_PAID;
 
     private String deliveryAddress;
+
+    // Geocoded delivery address, filled asynchronously after the order is written
+    @Column(name = "delivery_lat", precision = 10, scale = 8)
+    private BigDecimal deliveryLat;
+
+    @Column(name = "delivery_lng", precision = 11, scale = 8)
+    private BigDecimal deliveryLng;
+
+    // Last time the delivery address could not be geocoded; the backfill waits before retrying it
+    @Column(name = "delivery_geocode_failed_at")
+    private LocalDateTime deliveryGeocodeFailedAt;
+
     private LocalDateTime createdAt = LocalDateTime.now();
     private LocalDateTime updatedAt = LocalDateTime.now();
+
+    // A new address invalidates the stored coordinates so the geocoding backfill picks the row up again
+    public void setDeliveryAddress(String deliveryAddress) {
+        if (!Objects.equals(this.deliveryAddress, deliveryAddress)) {
+            this.deliveryLat = null;
+            this.deliveryLng = null;
+            this.deliveryGeocodeFailedAt = null;
+        }
+        this.deliveryAddress = deliveryAddress;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.ds.masterservice.dao.orderService;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A change to an order as seen by one restaurant's order board.
+ * The id doubles as the sequence number dashboards resume from after reconnecting.
+ */
+@Entity
+@Table(name = "t_order_board_event", indexes = {
+        @Index(name = "idx_order_board_event_restaurant_id", columnList = "restaurant_id, id"),
+        @Index(name = "idx_order_board_event_created_at", columnList = "created_at")
+})
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class OrderBoardEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "restaurant_id", nullable = false)
+    private Long restaurantId;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private OrderBoardEventType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private OrderStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_status", length = 20)
+    private PaymentStatus paymentStatus;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
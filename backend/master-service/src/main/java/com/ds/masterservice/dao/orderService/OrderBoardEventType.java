@@ -0,0 +1,8 @@
+package com.ds.masterservice.dao.orderService;
+
+public enum OrderBoardEventType {
+    ORDER_CREATED,
+    STATUS_CHANGED,
+    PAYMENT_CHANGED,
+    ORDER_REMOVED
+}
@@ -0,0 +1,70 @@
+package com.ds.masterservice.dao.orderService;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One change in an order's lifecycle, appended in the transaction that makes the change.
+ * <p>
+ * The table is also the outbox for notifications: rows with no {@code dispatchedAt} have not been handled by
+ * the notification listeners yet. Only the delivery columns, {@code attempts}, {@code nextAttemptAt} and
+ * {@code dispatchedAt}, are ever updated.
+ */
+@Entity
+@Table(name = "t_order_event", indexes = {
+        @Index(name = "idx_order_event_order_id", columnList = "order_id, id"),
+        @Index(name = "idx_order_event_dispatched_at", columnList = "dispatched_at, id")
+})
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class OrderEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    // The same kinds of change as the board events derived from it
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private OrderBoardEventType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status", length = 20)
+    private OrderStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", length = 20)
+    private OrderStatus toStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_status", length = 20)
+    private PaymentStatus paymentStatus;
+
+    @Column(name = "driver_id")
+    private Long driverId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "dispatched_at")
+    private LocalDateTime dispatchedAt;
+
+    // Times the relay has claimed the event
+    @Column(nullable = false)
+    private int attempts;
+
+    // A claimed or failed event is not picked up again before this time; null means due now
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+}
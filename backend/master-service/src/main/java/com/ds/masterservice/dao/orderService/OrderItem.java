@@ -5,10 +5,16 @@ import lombok.Data;
 
 @Entity
 @Data
-@Table(name = "t_order_item")
+@Table(name = "t_order_item", indexes = {
+        // Restaurant order board: finds a restaurant's orders without touching other restaurants' items
+        @Index(name = "idx_order_item_restaurant_order", columnList = "restaurantId, orderId"),
+        @Index(name = "idx_order_item_order", columnList = "orderId")
+})
 public class OrderItem {
+    // Pooled ids, so an order's items are inserted as one JDBC batch
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_id")
+    @SequenceGenerator(name = "order_item_id", sequenceName = "t_order_item_seq", allocationSize = 50)
     private Long id;
     private Long orderId;
     private Long itemId;
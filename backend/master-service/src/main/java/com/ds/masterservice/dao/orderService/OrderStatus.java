@@ -1,10 +1,32 @@
 package com.ds.masterservice.dao.orderService;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum OrderStatus {
     PENDING,
     RESTAURANT_ACCEPTED,
     DRIVER_ASSIGNED,
     DELIVERED,
     CANCELLED,
-    DELIVERY_FAILED
-}
\ No newline at end of file
+    DELIVERY_FAILED;
+
+    // The moves an order can make from each status; DELIVERED and CANCELLED are final
+    private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+
+    static {
+        TRANSITIONS.put(PENDING, EnumSet.of(RESTAURANT_ACCEPTED, CANCELLED));
+        TRANSITIONS.put(RESTAURANT_ACCEPTED, EnumSet.of(DRIVER_ASSIGNED, CANCELLED));
+        TRANSITIONS.put(DRIVER_ASSIGNED, EnumSet.of(DELIVERED, DELIVERY_FAILED));
+        // A failed delivery is dispatched again or given up
+        TRANSITIONS.put(DELIVERY_FAILED, EnumSet.of(RESTAURANT_ACCEPTED, CANCELLED));
+        TRANSITIONS.put(DELIVERED, EnumSet.noneOf(OrderStatus.class));
+        TRANSITIONS.put(CANCELLED, EnumSet.noneOf(OrderStatus.class));
+    }
+
+    public boolean canMoveTo(OrderStatus next) {
+        return TRANSITIONS.get(this).contains(next);
+    }
+}
@@ -0,0 +1,30 @@
+package com.ds.masterservice.dao.orderService;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lease on a scheduled job, shared by every service instance. The instance named in {@code owner} runs the job
+ * until {@code expiresAt}; after that any instance may take it over.
+ */
+@Entity
+@Table(name = "t_scheduler_lease")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class SchedulerLease {
+
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    @Column(name = "owner", nullable = false, length = 128)
+    private String owner;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
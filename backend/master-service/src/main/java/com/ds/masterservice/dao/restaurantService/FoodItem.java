@@ -3,6 +3,8 @@ package com.ds.masterservice.dao.restaurantService;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDate;
+
 @Entity
 @Table(name = "t_food_item")
 @AllArgsConstructor
@@ -28,6 +30,13 @@ public class FoodItem {
     @Column(name = "stock_quantity_per_day")
     private Integer stockQuantityPerDay;
 
+    // Quantity reserved on stockReservedDate; written only by the stock reservation flush, never through JPA
+    @Column(name = "stock_reserved", insertable = false, updatable = false)
+    private Integer stockReserved;
+
+    @Column(name = "stock_reserved_date", insertable = false, updatable = false)
+    private LocalDate stockReservedDate;
+
     @Column(name = "is_available")
     private Boolean isAvailable = true;
 
@@ -4,7 +4,10 @@ import com.ds.commons.enums.DayOfWeek;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 
 @Entity
 @AllArgsConstructor
@@ -12,7 +15,10 @@ import java.util.List;
 @Getter
 @Setter
 @Builder
-@Table(name = "t_restaurant")
+@Table(name = "t_restaurant", indexes = {
+        // Keyset order of the restaurant listing; also serves name prefix searches
+        @Index(name = "idx_restaurant_name_id", columnList = "name, restaurant_id")
+})
 public class Restaurant {
 
     @Id
@@ -29,6 +35,17 @@ public class Restaurant {
     @Column(name = "address")
     private String address;
 
+    // Geocoded address, filled asynchronously after the restaurant is written
+    @Column(name = "lat", precision = 10, scale = 8)
+    private BigDecimal lat;
+
+    @Column(name = "lng", precision = 11, scale = 8)
+    private BigDecimal lng;
+
+    // Last time the address could not be geocoded; the backfill waits before retrying it
+    @Column(name = "geocode_failed_at")
+    private LocalDateTime geocodeFailedAt;
+
     @Column(name = "phone")
     private String phone;
 
@@ -60,4 +77,13 @@ public class Restaurant {
     @JoinColumn(name = "manager_id")
     private RestaurantManager manager;
 
+    // A new address invalidates the stored coordinates so the geocoding backfill picks the row up again
+    public void setAddress(String address) {
+        if (!Objects.equals(this.address, address)) {
+            this.lat = null;
+            this.lng = null;
+            this.geocodeFailedAt = null;
+        }
+        this.address = address;
+    }
 }
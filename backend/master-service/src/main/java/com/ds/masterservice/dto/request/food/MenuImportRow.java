@@ -0,0 +1,22 @@
+package com.ds.masterservice.dto.request.food;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One food item of a bulk menu import or export. The category is matched by name and created if missing;
+ * an item with the same name in that category is updated instead of added.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MenuImportRow {
+    private String category;
+    private String name;
+    private String description;
+    private Double price;
+    private String imageUrl;
+    private Integer stockQuantityPerDay;
+    private Boolean isAvailable;
+}
@@ -0,0 +1,23 @@
+package com.ds.masterservice.dto.request.orderService;
+
+import com.ds.masterservice.dao.orderService.OrderStatus;
+import com.ds.masterservice.dao.orderService.PaymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Filters and paging for a user's order history. Null filters are not applied.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderHistoryRequest {
+    private OrderStatus status;
+    private PaymentStatus paymentStatus;
+    // nextCursor of the previous page; orders are returned newest first
+    private String cursor;
+    private int limit;
+}
@@ -0,0 +1,29 @@
+package com.ds.masterservice.dto.request.restaurant;
+
+import com.ds.masterservice.dao.orderService.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Filters and paging for a restaurant's order board. Null filters are not applied.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderBoardRequest {
+    // Statuses to include; null or empty for all
+    private Set<OrderStatus> statuses;
+    // Creation time window, from inclusive, to exclusive
+    private LocalDateTime from;
+    private LocalDateTime to;
+    // Id of the last order on the previous page; orders are returned newest first
+    private Long beforeId;
+    // Page size; null for the largest page, limited to the default window when no time window or cursor is given
+    private Integer limit;
+}
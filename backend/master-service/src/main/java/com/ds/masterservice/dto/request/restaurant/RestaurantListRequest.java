@@ -0,0 +1,26 @@
+package com.ds.masterservice.dto.request.restaurant;
+
+import com.ds.commons.enums.DayOfWeek;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * Filters and paging for the restaurant listing. Null filters are not applied.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RestaurantListRequest {
+    private Boolean openNow;
+    private DayOfWeek day;
+    private String namePrefix;
+    // Response fields to include; null or empty for all
+    private Set<String> fields;
+    private int limit;
+    private String cursor;
+}
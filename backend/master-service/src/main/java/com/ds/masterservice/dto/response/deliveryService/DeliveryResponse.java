@@ -21,4 +21,7 @@ public class DeliveryResponse {
     private BigDecimal DeliveryLat;
     private BigDecimal DeliveryLng;
     private String proofImage;
+    private LocalDateTime completedAt;
+    // Estimated arrival at the delivery address; only set while the delivery is in progress
+    private LocalDateTime estimatedDeliveryAt;
 }
@@ -16,6 +16,21 @@ public class FoodItemResponse {
     private Boolean isAvailable;
     private Integer stockQuantityPerDay;
 
+    public FoodItemResponse(Long foodItemId, String name, String description, Double price, String imageUrl,
+                            Long categoryId, String categoryName, Long restaurantId, Boolean isAvailable,
+                            Integer stockQuantityPerDay) {
+        this.foodItemId = foodItemId;
+        this.name = name;
+        this.description = description;
+        this.price = price;
+        this.imageUrl = imageUrl;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.restaurantId = restaurantId;
+        this.isAvailable = isAvailable;
+        this.stockQuantityPerDay = stockQuantityPerDay;
+    }
+
     public FoodItemResponse(FoodItem foodItem) {
         this.foodItemId = foodItem.getId();
         this.name = foodItem.getName();
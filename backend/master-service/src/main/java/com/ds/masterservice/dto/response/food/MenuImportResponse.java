@@ -0,0 +1,31 @@
+package com.ds.masterservice.dto.response.food;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk menu import. Rows are numbered from 1, not counting the CSV header.
+ */
+@Data
+@NoArgsConstructor
+public class MenuImportResponse {
+    private int categoriesCreated;
+    private int itemsCreated;
+    private int itemsUpdated;
+    private int rowsFailed;
+    // Only the first errors are listed when there are many; rowsFailed counts all of them
+    private List<RowError> errors = new ArrayList<>();
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RowError {
+        private int row;
+        private String name;
+        private String message;
+    }
+}
@@ -11,6 +11,11 @@ public class MenuCategoryInitResponse {
     public MenuCategoryInitResponse() {
     }
 
+    public MenuCategoryInitResponse(Long categoryId, String name) {
+        this.categoryId = categoryId;
+        this.name = name;
+    }
+
     public MenuCategoryInitResponse(MenuCategory menuCategory) {
         this.categoryId = menuCategory.getId();
         this.name = menuCategory.getName();
@@ -12,6 +12,12 @@ public class MenuCategoryResponse {
     public MenuCategoryResponse() {
     }
 
+    public MenuCategoryResponse(Long categoryId, String name, Long restaurantId) {
+        this.categoryId = categoryId;
+        this.name = name;
+        this.restaurantId = restaurantId;
+    }
+
     public MenuCategoryResponse(MenuCategory menuCategory) {
         this.categoryId = menuCategory.getId();
         this.name = menuCategory.getName();
@@ -0,0 +1,18 @@
+package com.ds.masterservice.dto.response.orderService;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A page of a user's order history. {@code nextCursor} is null on the last page.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderHistoryPageResponse {
+    private List<OrderSummaryResponse> orders;
+    private String nextCursor;
+}
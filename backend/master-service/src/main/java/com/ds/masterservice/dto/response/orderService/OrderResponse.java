@@ -23,4 +23,8 @@ public class OrderResponse {
     private String deliveryAddress;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // Distance from the requesting driver; only set by nearby-order queries
+    private Double distanceKm;
+    // Estimated minutes from the requesting driver to the delivery address; only set by nearby-order queries
+    private Integer etaMinutes;
 }
\ No newline at end of file
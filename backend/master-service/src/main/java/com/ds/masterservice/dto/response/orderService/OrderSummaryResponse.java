@@ -0,0 +1,21 @@
+package com.ds.masterservice.dto.response.orderService;
+
+import com.ds.masterservice.dao.orderService.OrderStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * An order in a history page, with the number of items instead of the items themselves.
+ */
+@Data
+public class OrderSummaryResponse {
+    private Long id;
+    private OrderStatus status;
+    private String paymentStatus;
+    private double totalAmount;
+    private String deliveryAddress;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private long itemCount;
+}
@@ -0,0 +1,27 @@
+package com.ds.masterservice.dto.response.restaurant;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An order board change pushed to restaurant dashboards.
+ * {@code order} carries the full board row for ORDER_CREATED events and is omitted otherwise.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderBoardEventResponse {
+    private Long sequence;
+    private String type;
+    private Long orderId;
+    private Long restaurantId;
+    private String orderStatus;
+    private String paymentStatus;
+    private String occurredAt;
+    private OrderReqResponse order;
+}
@@ -0,0 +1,39 @@
+package com.ds.masterservice.dto.response.restaurant;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One row of the paginated restaurant listing.
+ * Fields not selected with {@code fields=} are left null and omitted from the JSON.
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RestaurantListItemResponse {
+    private Long restaurantId;
+    private String name;
+    private String description;
+    private String logoUrl;
+    private Boolean isOpen;
+    private String openingHour;
+    private String closingHour;
+    private List<String> daysOpen;
+    // Next opening time per the schedule, for closed restaurants
+    private LocalDateTime opensAt;
+
+    public RestaurantListItemResponse(Long restaurantId, String name, String description, String logoUrl,
+                                      Boolean isOpen, String openingHour, String closingHour) {
+        this.restaurantId = restaurantId;
+        this.name = name;
+        this.description = description;
+        this.logoUrl = logoUrl;
+        this.isOpen = isOpen;
+        this.openingHour = openingHour;
+        this.closingHour = closingHour;
+    }
+}
@@ -0,0 +1,18 @@
+package com.ds.masterservice.dto.response.restaurant;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A page of the restaurant listing. {@code nextCursor} is null on the last page.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RestaurantPageResponse {
+    private List<RestaurantListItemResponse> restaurants;
+    private String nextCursor;
+}
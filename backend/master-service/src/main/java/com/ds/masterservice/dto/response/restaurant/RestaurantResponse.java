@@ -5,6 +5,7 @@ import com.ds.masterservice.dto.response.food.FoodItemInitResponse;
 import com.ds.masterservice.dto.response.menu.MenuCategoryInitResponse;
 import lombok.Data;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @Data
@@ -13,6 +14,8 @@ public class RestaurantResponse {
     private String name;
     private String description;
     private String address;
+    private BigDecimal lat;
+    private BigDecimal lng;
     private String phone;
     private String email;
     private String logoUrl;
@@ -0,0 +1,24 @@
+package com.ds.masterservice.dto.response.restaurant;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One search result: a restaurant, or a food item together with the restaurant serving it.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RestaurantSearchResultResponse {
+    // RESTAURANT or FOOD_ITEM
+    private String type;
+    private Long id;
+    private String name;
+    private Long restaurantId;
+    private String restaurantName;
+    private Boolean isOpen;
+    private Double score;
+}
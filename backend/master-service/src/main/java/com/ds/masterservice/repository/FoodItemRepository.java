@@ -1,9 +1,14 @@
 package com.ds.masterservice.repository;
 
 import com.ds.masterservice.dao.restaurantService.FoodItem;
+import com.ds.masterservice.dto.response.food.FoodItemResponse;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Repository
@@ -14,4 +19,44 @@ public interface FoodItemRepository extends JpaRepository<FoodItem, Long> {
     Boolean existsByNameAndCategoryId(String name, Long categoryId);
 
     Boolean existsByNameAndCategoryIdAndIsDisabledFalse(String name, Long categoryId);
+
+    /**
+     * Enabled food items in the restaurant's enabled categories, read as flat rows in a single query.
+     */
+    @Query("SELECT new com.ds.masterservice.dto.response.food.FoodItemResponse(" +
+            "f.id, f.name, f.description, f.price, f.imageUrl, c.id, c.name, c.restaurant.id, f.isAvailable, f.stockQuantityPerDay) " +
+            "FROM FoodItem f JOIN f.category c " +
+            "WHERE c.restaurant.id = :restaurantId AND c.isDisabled = false AND f.isDisabled = false " +
+            "ORDER BY c.id, f.id")
+    List<FoodItemResponse> findMenuItemsByRestaurantId(@Param("restaurantId") Long restaurantId);
+
+    @Query("SELECT f.id AS id, f.name AS name, f.description AS description, c.restaurant.id AS restaurantId " +
+            "FROM FoodItem f JOIN f.category c " +
+            "WHERE f.id > :afterId AND f.isDisabled = false AND c.isDisabled = false ORDER BY f.id")
+    List<SearchDocumentProjection> findSearchDocuments(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT f.id AS id, f.name AS name, f.description AS description, c.restaurant.id AS restaurantId " +
+            "FROM FoodItem f JOIN f.category c " +
+            "WHERE c.restaurant.id = :restaurantId AND f.isDisabled = false AND c.isDisabled = false")
+    List<SearchDocumentProjection> findSearchDocumentsByRestaurantId(@Param("restaurantId") Long restaurantId);
+
+    interface SearchDocumentProjection {
+        Long getId();
+        String getName();
+        String getDescription();
+        Long getRestaurantId();
+    }
+
+    @Query("SELECT f.id AS id, f.stockQuantityPerDay AS stockQuantityPerDay, f.stockReserved AS stockReserved, " +
+            "f.stockReservedDate AS stockReservedDate, r.openingHour AS openingHour " +
+            "FROM FoodItem f JOIN f.restaurant r WHERE f.stockQuantityPerDay IS NOT NULL")
+    List<StockLimitProjection> findStockLimits();
+
+    interface StockLimitProjection {
+        Long getId();
+        Integer getStockQuantityPerDay();
+        Integer getStockReserved();
+        LocalDate getStockReservedDate();
+        String getOpeningHour();
+    }
 }
@@ -1,11 +1,23 @@
 package com.ds.masterservice.repository;
 
 import com.ds.masterservice.dao.restaurantService.MenuCategory;
+import com.ds.masterservice.dto.response.menu.MenuCategoryResponse;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface MenuCategoryRepository extends JpaRepository<MenuCategory, Long> {
 
     Boolean existsMenuCategoryByNameAndRestaurantIdAndIsDisabledFalse( String name, Long restaurantId);
+
+    /**
+     * Enabled menu categories of a restaurant, read as flat rows in a single query.
+     */
+    @Query("SELECT new com.ds.masterservice.dto.response.menu.MenuCategoryResponse(c.id, c.name, c.restaurant.id) " +
+            "FROM MenuCategory c WHERE c.restaurant.id = :restaurantId AND c.isDisabled = false ORDER BY c.id")
+    List<MenuCategoryResponse> findEnabledByRestaurantId(@Param("restaurantId") Long restaurantId);
 }
@@ -1,9 +1,20 @@
 package com.ds.masterservice.repository;
 
+import com.ds.commons.enums.DayOfWeek;
 import com.ds.masterservice.dao.restaurantService.Restaurant;
+import com.ds.masterservice.dto.response.restaurant.RestaurantListItemResponse;
+import com.ds.masterservice.repository.orderService.OrderRepository.PendingGeocodeProjection;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -11,4 +22,86 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
 
     boolean existsByName(String name);
     List<Restaurant> findByManagerId(Integer managerId);
+
+    // Only writes if the address is still the one that was geocoded
+    @Modifying
+    @Transactional
+    @Query("UPDATE Restaurant r SET r.lat = :lat, r.lng = :lng, r.geocodeFailedAt = NULL " +
+            "WHERE r.id = :id AND r.address = :address")
+    int updateCoordinates(@Param("id") Long id,
+                          @Param("address") String address,
+                          @Param("lat") BigDecimal lat,
+                          @Param("lng") BigDecimal lng);
+
+    @Query("SELECT r.id AS id, r.address AS address FROM Restaurant r " +
+            "WHERE r.lat IS NULL AND r.address IS NOT NULL AND r.address <> '' " +
+            "AND (r.geocodeFailedAt IS NULL OR r.geocodeFailedAt < :failedBefore) " +
+            "AND r.id > :afterId ORDER BY r.id")
+    List<PendingGeocodeProjection> findPendingGeocode(@Param("failedBefore") LocalDateTime failedBefore,
+                                                      @Param("afterId") Long afterId,
+                                                      Pageable pageable);
+
+    // Records a failed lookup of the address, if it is still the restaurant's address
+    @Modifying
+    @Transactional
+    @Query("UPDATE Restaurant r SET r.geocodeFailedAt = :now WHERE r.id = :id AND r.address = :address")
+    int markGeocodeFailed(@Param("id") Long id, @Param("address") String address, @Param("now") LocalDateTime now);
+
+    /**
+     * One page of the restaurant listing ordered by (name, id), starting after the given keyset position.
+     * Null filters are not applied; {@code namePrefix} is a LIKE pattern escaped with '!'.
+     */
+    @Query("SELECT new com.ds.masterservice.dto.response.restaurant.RestaurantListItemResponse(" +
+            "r.id, r.name, r.description, r.logoUrl, r.isOpen, r.openingHour, r.closingHour) " +
+            "FROM Restaurant r " +
+            "WHERE (:openNow IS NULL OR r.isOpen = :openNow) " +
+            "AND (:day IS NULL OR :day MEMBER OF r.daysOpen) " +
+            "AND (:namePrefix IS NULL OR r.name LIKE :namePrefix ESCAPE '!') " +
+            "AND (:afterName IS NULL OR r.name > :afterName OR (r.name = :afterName AND r.id > :afterId)) " +
+            "ORDER BY r.name, r.id")
+    List<RestaurantListItemResponse> findListingPage(@Param("openNow") Boolean openNow,
+                                                     @Param("day") DayOfWeek day,
+                                                     @Param("namePrefix") String namePrefix,
+                                                     @Param("afterName") String afterName,
+                                                     @Param("afterId") Long afterId,
+                                                     Pageable pageable);
+
+    @Query("SELECT r.id AS restaurantId, d AS day FROM Restaurant r JOIN r.daysOpen d WHERE r.id IN :ids")
+    List<DaysOpenProjection> findDaysOpenByIdIn(@Param("ids") Collection<Long> ids);
+
+    interface DaysOpenProjection {
+        Long getRestaurantId();
+        DayOfWeek getDay();
+    }
+
+    @Query("SELECT r.id AS id, r.name AS name, r.description AS description, r.isOpen AS isOpen FROM Restaurant r " +
+            "WHERE r.id > :afterId ORDER BY r.id")
+    List<SearchDocumentProjection> findSearchDocuments(@Param("afterId") Long afterId, Pageable pageable);
+
+    interface SearchDocumentProjection {
+        Long getId();
+        String getName();
+        String getDescription();
+        Boolean getIsOpen();
+    }
+
+    @Query("SELECT r.id AS id, r.openingHour AS openingHour, r.closingHour AS closingHour, r.isOpen AS isOpen " +
+            "FROM Restaurant r")
+    List<ScheduleProjection> findSchedules();
+
+    @Query("SELECT r.id AS restaurantId, d AS day FROM Restaurant r JOIN r.daysOpen d")
+    List<DaysOpenProjection> findAllDaysOpen();
+
+    interface ScheduleProjection {
+        Long getId();
+        String getOpeningHour();
+        String getClosingHour();
+        Boolean getIsOpen();
+    }
+
+    // Only touches rows whose flag differs, so concurrent instances applying the same change are harmless
+    @Modifying
+    @Transactional
+    @Query("UPDATE Restaurant r SET r.isOpen = :open WHERE r.id IN :ids AND (r.isOpen IS NULL OR r.isOpen <> :open)")
+    int updateOpenByIdIn(@Param("ids") Collection<Long> ids, @Param("open") Boolean open);
 }
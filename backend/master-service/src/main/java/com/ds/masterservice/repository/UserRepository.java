@@ -4,8 +4,11 @@ import com.ds.masterservice.dao.authService.Customer;
 import com.ds.masterservice.dao.authService.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -17,4 +20,15 @@ public interface UserRepository extends JpaRepository<User, Integer> {
 
     @Query("SELECT c FROM Customer c WHERE c.id = :id")
     Optional<Customer> findCustomerById(int id);
+
+    @Query("SELECT u.id AS id, u.firstName AS firstName, u.lastName AS lastName, u.phone AS phone " +
+            "FROM User u WHERE u.id IN :ids")
+    List<ContactProjection> findContactsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    interface ContactProjection {
+        Integer getId();
+        String getFirstName();
+        String getLastName();
+        String getPhone();
+    }
 }
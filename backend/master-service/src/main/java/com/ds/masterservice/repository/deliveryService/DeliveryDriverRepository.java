@@ -2,6 +2,9 @@ package com.ds.masterservice.repository.deliveryService;
 
 import com.ds.masterservice.dao.deliveryService.DeliveryPerson;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,4 +14,11 @@ public interface DeliveryDriverRepository extends JpaRepository<DeliveryPerson,
     List<DeliveryPerson> findByIsAvailable(Boolean isAvailable);
     boolean existsByLicenseNumber(String licenseNumber);
     boolean existsByVehicleNumber(String vehicleNumber);
+
+    // Native on the subclass table: a JPQL update of a JOINED subclass goes through a temporary id table.
+    // Matches only an available driver, so of concurrent claims on the same driver exactly one succeeds.
+    @Modifying
+    @Query(value = "UPDATE delivery_person SET is_available = false WHERE id = :id AND is_available = true",
+            nativeQuery = true)
+    int claimIfAvailable(@Param("id") Long id);
 }
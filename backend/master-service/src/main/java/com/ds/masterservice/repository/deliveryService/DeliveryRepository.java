@@ -5,12 +5,15 @@ import com.ds.masterservice.dao.deliveryService.Deliveries;
 import com.ds.masterservice.dao.deliveryService.DeliveryPerson;
 import com.ds.masterservice.dao.orderService.Order;
 import com.ds.masterservice.dto.response.RatingDistributionResponse;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -52,4 +55,30 @@ public interface DeliveryRepository extends JpaRepository<Deliveries, Long> {
     Double findAverageRatingByDriver(@Param("driverId") Long driverId);
 
     Deliveries findByOrder(Order order);
+
+    // Trips of delivered orders for the ETA model; rows completed before completedAt existed use updatedAt
+    @Query("SELECT d.id AS id, d.pickupLat AS pickupLat, d.pickupLng AS pickupLng, " +
+            "d.deliveryLat AS deliveryLat, d.deliveryLng AS deliveryLng, " +
+            "d.createdAt AS startedAt, COALESCE(d.completedAt, d.updatedAt) AS completedAt " +
+            "FROM Deliveries d WHERE d.status = :status AND d.id > :afterId ORDER BY d.id")
+    List<TripProjection> findTrips(@Param("status") DeliveryStatus status,
+                                   @Param("afterId") Long afterId,
+                                   Pageable pageable);
+
+    @Query("SELECT d.id AS id, d.pickupLat AS pickupLat, d.pickupLng AS pickupLng, " +
+            "d.deliveryLat AS deliveryLat, d.deliveryLng AS deliveryLng, " +
+            "d.createdAt AS startedAt, d.completedAt AS completedAt " +
+            "FROM Deliveries d WHERE d.status = :status AND d.completedAt > :since ORDER BY d.completedAt")
+    List<TripProjection> findTripsCompletedAfter(@Param("status") DeliveryStatus status,
+                                                 @Param("since") LocalDateTime since);
+
+    interface TripProjection {
+        Long getId();
+        BigDecimal getPickupLat();
+        BigDecimal getPickupLng();
+        BigDecimal getDeliveryLat();
+        BigDecimal getDeliveryLng();
+        LocalDateTime getStartedAt();
+        LocalDateTime getCompletedAt();
+    }
 }
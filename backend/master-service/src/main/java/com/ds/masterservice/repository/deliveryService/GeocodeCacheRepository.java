@@ -0,0 +1,21 @@
+package com.ds.masterservice.repository.deliveryService;
+
+import com.ds.masterservice.dao.deliveryService.GeocodeCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface GeocodeCacheRepository extends JpaRepository<GeocodeCacheEntry, String> {
+
+    Optional<GeocodeCacheEntry> findByAddressHashAndExpiresAtAfter(String addressHash, LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM GeocodeCacheEntry g WHERE g.expiresAt < :cutoff")
+    int deleteExpired(@Param("cutoff") LocalDateTime cutoff);
+}
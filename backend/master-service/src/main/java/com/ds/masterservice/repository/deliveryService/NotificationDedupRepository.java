@@ -0,0 +1,31 @@
+package com.ds.masterservice.repository.deliveryService;
+
+import com.ds.masterservice.dao.deliveryService.NotificationDedupEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface NotificationDedupRepository extends JpaRepository<NotificationDedupEntry, String> {
+
+    // Returns 1 if the key was inserted and 0 if a row for it already exists
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO t_notification_dedup (dedup_key, expires_at) VALUES (:key, :expiresAt)",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("key") String key, @Param("expiresAt") LocalDateTime expiresAt);
+
+    // Takes over a row whose record has expired; returns 0 if it is still live
+    @Modifying
+    @Query("UPDATE NotificationDedupEntry e SET e.expiresAt = :expiresAt WHERE e.dedupKey = :key AND e.expiresAt <= :now")
+    int renewIfExpired(@Param("key") String key, @Param("expiresAt") LocalDateTime expiresAt, @Param("now") LocalDateTime now);
+
+    boolean existsByDedupKeyAndExpiresAtAfter(String dedupKey, LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM NotificationDedupEntry e WHERE e.expiresAt < :cutoff")
+    int deleteExpired(@Param("cutoff") LocalDateTime cutoff);
+}
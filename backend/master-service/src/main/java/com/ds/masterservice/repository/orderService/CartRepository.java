@@ -3,12 +3,34 @@ package com.ds.masterservice.repository.orderService;
 
 import com.ds.masterservice.dao.orderService.Cart;
 import com.ds.masterservice.dao.orderService.CartStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CartRepository extends JpaRepository<Cart, Long> {
     Optional<Cart> findByUserIdAndStatus(Long userId, CartStatus status);
+
+    // Checked out carts that no order was created from
+    @Query("SELECT c FROM Cart c WHERE c.status = :status AND c.orderId IS NULL AND c.checkedOutAt < :cutoff ORDER BY c.checkedOutAt")
+    List<Cart> findUnorderedCheckouts(@Param("status") CartStatus status, @Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    // Locks the cart until the transaction ends, so two orders cannot be created from it at once
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Cart c WHERE c.id = :id")
+    Optional<Cart> findForUpdateById(@Param("id") Long id);
+
+    // Gives up a checkout no order was created from; returns 0 if an order claimed the cart first
+    @Modifying
+    @Query("UPDATE Cart c SET c.status = :to WHERE c.id = :id AND c.status = :from AND c.orderId IS NULL")
+    int expireCheckout(@Param("id") Long id, @Param("from") CartStatus from, @Param("to") CartStatus to);
 }
\ No newline at end of file
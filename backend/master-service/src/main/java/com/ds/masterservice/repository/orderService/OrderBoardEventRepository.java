@@ -0,0 +1,37 @@
+package com.ds.masterservice.repository.orderService;
+
+import com.ds.masterservice.dao.orderService.OrderBoardEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OrderBoardEventRepository extends JpaRepository<OrderBoardEvent, Long> {
+
+    List<OrderBoardEvent> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    @Query("SELECT e FROM OrderBoardEvent e WHERE e.restaurantId = :restaurantId " +
+            "AND e.id > :afterId AND e.id <= :upToId ORDER BY e.id")
+    List<OrderBoardEvent> findForRestaurant(@Param("restaurantId") Long restaurantId,
+                                            @Param("afterId") Long afterId,
+                                            @Param("upToId") Long upToId,
+                                            Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM OrderBoardEvent e")
+    long findMaxId();
+
+    @Query("SELECT COALESCE(MIN(e.id), 0) FROM OrderBoardEvent e")
+    long findMinId();
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OrderBoardEvent e WHERE e.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,35 @@
+package com.ds.masterservice.repository.orderService;
+
+import com.ds.masterservice.dao.orderService.OrderEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OrderEventRepository extends JpaRepository<OrderEvent, Long> {
+
+    // Oldest events not dispatched yet and due for an attempt; rows locked by another relay are skipped rather than waited for
+    @Query(value = "SELECT * FROM t_order_event WHERE dispatched_at IS NULL " +
+            "AND (next_attempt_at IS NULL OR next_attempt_at <= :now) ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OrderEvent> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // Hides the events from other relays until :until, so they can be handled after the locks are released
+    @Modifying
+    @Query("UPDATE OrderEvent e SET e.attempts = e.attempts + 1, e.nextAttemptAt = :until WHERE e.id IN :ids")
+    int claim(@Param("ids") Collection<Long> ids, @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("UPDATE OrderEvent e SET e.nextAttemptAt = :at WHERE e.id = :id AND e.dispatchedAt IS NULL")
+    int scheduleRetry(@Param("id") Long id, @Param("at") LocalDateTime at);
+
+    @Modifying
+    @Query("UPDATE OrderEvent e SET e.dispatchedAt = :now WHERE e.id IN :ids")
+    int markDispatched(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+}
@@ -2,12 +2,22 @@ package com.ds.masterservice.repository.orderService;
 
 import com.ds.masterservice.dao.orderService.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
 
     List<OrderItem> findByRestaurantId(Long restaurantId);
+
+    List<OrderItem> findByOrderIdInOrderByIdAsc(Collection<Long> orderIds);
+
+    @Modifying
+    @Query("DELETE FROM OrderItem i WHERE i.orderId IN :orderIds")
+    int deleteByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
 }
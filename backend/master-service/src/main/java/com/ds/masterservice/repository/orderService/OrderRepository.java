@@ -3,9 +3,18 @@ package com.ds.masterservice.repository.orderService;
 import com.ds.masterservice.dao.orderService.Order;
 import com.ds.masterservice.dao.orderService.OrderStatus;
 import com.ds.masterservice.dao.orderService.PaymentStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
@@ -13,7 +22,168 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByUserId(Long userId);
     List<Order> findByStatus(OrderStatus status);
     List<Order> findByUserIdAndPaymentStatus(Long userId, PaymentStatus paymentStatus);
-    List<Order> findByStatusAndUpdatedAtBefore(OrderStatus status, LocalDateTime cutoffTime);
     List<Order> findOrdersByRestaurantId(Long restaurantId);
 
+    // Only writes if the address is still the one that was geocoded
+    @Modifying
+    @Transactional
+    @Query("UPDATE Order o SET o.deliveryLat = :lat, o.deliveryLng = :lng, o.deliveryGeocodeFailedAt = NULL " +
+            "WHERE o.id = :id AND o.deliveryAddress = :address")
+    int updateDeliveryCoordinates(@Param("id") Long id,
+                                  @Param("address") String address,
+                                  @Param("lat") BigDecimal lat,
+                                  @Param("lng") BigDecimal lng);
+
+    // Records a failed lookup of the address, if it is still the order's address
+    @Modifying
+    @Transactional
+    @Query("UPDATE Order o SET o.deliveryGeocodeFailedAt = :now WHERE o.id = :id AND o.deliveryAddress = :address")
+    int markDeliveryGeocodeFailed(@Param("id") Long id,
+                                  @Param("address") String address,
+                                  @Param("now") LocalDateTime now);
+
+    // Moves the order to the new status only if it is still in the expected one; returns 0 if another claim won.
+    // Clears the persistence context so an order loaded before the claim is read again with its new status.
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :to, o.updatedAt = :now WHERE o.id = :id AND o.status = :from")
+    int claimForDriver(@Param("id") Long id,
+                       @Param("from") OrderStatus from,
+                       @Param("to") OrderStatus to,
+                       @Param("now") LocalDateTime now);
+
+    @Query("SELECT o.id AS id, o.deliveryAddress AS address FROM Order o " +
+            "WHERE o.deliveryLat IS NULL AND o.deliveryAddress IS NOT NULL AND o.deliveryAddress <> '' " +
+            "AND (o.deliveryGeocodeFailedAt IS NULL OR o.deliveryGeocodeFailedAt < :failedBefore) " +
+            "AND o.id > :afterId ORDER BY o.id")
+    List<PendingGeocodeProjection> findPendingGeocode(@Param("failedBefore") LocalDateTime failedBefore,
+                                                      @Param("afterId") Long afterId,
+                                                      Pageable pageable);
+
+    // Loads orders with their items in one query, for list responses that render items
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items WHERE o.id IN :ids")
+    List<Order> findAllWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT o.id AS id, o.status AS status, o.deliveryLat AS lat, o.deliveryLng AS lng, o.updatedAt AS updatedAt " +
+            "FROM Order o WHERE o.status = :status")
+    List<OrderLocationProjection> findLocationsByStatus(@Param("status") OrderStatus status);
+
+    @Query("SELECT o.id AS id, o.status AS status, o.deliveryLat AS lat, o.deliveryLng AS lng, o.updatedAt AS updatedAt " +
+            "FROM Order o WHERE o.updatedAt > :since")
+    List<OrderLocationProjection> findLocationsUpdatedAfter(@Param("since") LocalDateTime since);
+
+    @Query("SELECT o.id AS id, o.status AS status, o.deliveryLat AS lat, o.deliveryLng AS lng, o.updatedAt AS updatedAt " +
+            "FROM Order o WHERE o.id IN :ids")
+    List<OrderLocationProjection> findLocationsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Pickup point of each order with the given status, from its restaurants' stored coordinates;
+    // orders with items from several restaurants yield one row per item, first item first
+    @Query("SELECT o.id AS orderId, r.lat AS lat, r.lng AS lng FROM Order o JOIN o.items i, Restaurant r " +
+            "WHERE r.id = i.restaurantId AND o.status = :status AND r.lat IS NOT NULL AND r.lng IS NOT NULL " +
+            "ORDER BY o.id, i.id")
+    List<PickupLocationProjection> findPickupLocationsByStatus(@Param("status") OrderStatus status);
+
+    @Query("SELECT o.id AS orderId, r.lat AS lat, r.lng AS lng FROM Order o JOIN o.items i, Restaurant r " +
+            "WHERE r.id = i.restaurantId AND o.id IN :ids AND r.lat IS NOT NULL AND r.lng IS NOT NULL " +
+            "ORDER BY o.id, i.id")
+    List<PickupLocationProjection> findPickupLocationsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Restaurant order board: orders with at least one item from the restaurant, each once, newest first.
+    // Null bounds are not applied; beforeId is the keyset cursor
+    @Query("SELECT o.id AS id, o.userId AS userId, o.status AS status, o.paymentStatus AS paymentStatus, " +
+            "o.createdAt AS createdAt, o.deliveryAddress AS deliveryAddress, o.totalAmount AS totalAmount " +
+            "FROM Order o " +
+            "WHERE o.id IN (SELECT i.orderId FROM OrderItem i WHERE i.restaurantId = :restaurantId) " +
+            "AND o.status IN :statuses " +
+            "AND (:from IS NULL OR o.createdAt >= :from) " +
+            "AND (:to IS NULL OR o.createdAt < :to) " +
+            "AND (:beforeId IS NULL OR o.id < :beforeId) " +
+            "ORDER BY o.id DESC")
+    List<OrderBoardProjection> findOrderBoard(@Param("restaurantId") Long restaurantId,
+                                              @Param("statuses") Collection<OrderStatus> statuses,
+                                              @Param("from") LocalDateTime from,
+                                              @Param("to") LocalDateTime to,
+                                              @Param("beforeId") Long beforeId,
+                                              Pageable pageable);
+
+    // A user's orders newest first with their item counts, keyset-paged on (createdAt, id).
+    // Null filters and a null cursor are not applied; the cursor condition is written so it is a range on createdAt
+    @Query("SELECT o.id AS id, o.status AS status, o.paymentStatus AS paymentStatus, o.totalAmount AS totalAmount, " +
+            "o.deliveryAddress AS deliveryAddress, o.createdAt AS createdAt, o.updatedAt AS updatedAt, " +
+            "(SELECT COUNT(i) FROM OrderItem i WHERE i.orderId = o.id) AS itemCount " +
+            "FROM Order o WHERE o.userId = :userId " +
+            "AND (:status IS NULL OR o.status = :status) " +
+            "AND (:paymentStatus IS NULL OR o.paymentStatus = :paymentStatus) " +
+            "AND (:afterCreatedAt IS NULL OR (o.createdAt <= :afterCreatedAt " +
+            "AND (o.createdAt < :afterCreatedAt OR o.id < :afterId))) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderSummaryProjection> findHistoryPage(@Param("userId") Long userId,
+                                                 @Param("status") OrderStatus status,
+                                                 @Param("paymentStatus") PaymentStatus paymentStatus,
+                                                 @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                                 @Param("afterId") Long afterId,
+                                                 Pageable pageable);
+
+    @Query("SELECT o.id AS id, o.userId AS userId, o.status AS status, o.paymentStatus AS paymentStatus, " +
+            "o.createdAt AS createdAt, o.deliveryAddress AS deliveryAddress, o.totalAmount AS totalAmount " +
+            "FROM Order o WHERE o.id IN :ids")
+    List<OrderBoardProjection> findOrderBoardByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Oldest first after the (updatedAt, id) cursor, walking idx_order_status_updated_at; locks the rows until the
+    // chunk commits. A null cursor starts from the oldest
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o.id AS id, o.updatedAt AS updatedAt FROM Order o " +
+            "WHERE o.status = :status AND o.updatedAt < :cutoff " +
+            "AND (:afterUpdatedAt IS NULL OR o.updatedAt > :afterUpdatedAt " +
+            "OR (o.updatedAt = :afterUpdatedAt AND o.id > :afterId)) " +
+            "ORDER BY o.updatedAt, o.id")
+    List<OrderAgeProjection> findByStatusAndUpdatedAtBefore(@Param("status") OrderStatus status,
+                                                            @Param("cutoff") LocalDateTime cutoff,
+                                                            @Param("afterUpdatedAt") LocalDateTime afterUpdatedAt,
+                                                            @Param("afterId") Long afterId,
+                                                            Pageable pageable);
+
+    interface OrderLocationProjection {
+        Long getId();
+        OrderStatus getStatus();
+        BigDecimal getLat();
+        BigDecimal getLng();
+        LocalDateTime getUpdatedAt();
+    }
+
+    interface PickupLocationProjection {
+        Long getOrderId();
+        BigDecimal getLat();
+        BigDecimal getLng();
+    }
+
+    interface OrderBoardProjection {
+        Long getId();
+        Long getUserId();
+        OrderStatus getStatus();
+        PaymentStatus getPaymentStatus();
+        LocalDateTime getCreatedAt();
+        String getDeliveryAddress();
+        Double getTotalAmount();
+    }
+
+    interface OrderSummaryProjection {
+        Long getId();
+        OrderStatus getStatus();
+        PaymentStatus getPaymentStatus();
+        Double getTotalAmount();
+        String getDeliveryAddress();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getUpdatedAt();
+        Long getItemCount();
+    }
+
+    interface OrderAgeProjection {
+        Long getId();
+        LocalDateTime getUpdatedAt();
+    }
+
+    interface PendingGeocodeProjection {
+        Long getId();
+        String getAddress();
+    }
 }
\ No newline at end of file
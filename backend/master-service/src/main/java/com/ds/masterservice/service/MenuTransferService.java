@@ -0,0 +1,448 @@
+package com.ds.masterservice.service;
+
+import com.ds.commons.utils.CsvReader;
+import com.ds.masterservice.dto.request.food.MenuImportRow;
+import com.ds.masterservice.dto.response.food.MenuImportResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Bulk menu import and export for onboarding restaurants.
+ * <p>
+ * An import is read as a stream of rows, CSV with a header line or a JSON array, and written in batches of
+ * {@value #BATCH_SIZE} rows: new categories, new items and updated items each go to the database as one batched
+ * JDBC statement per batch, in one transaction per batch. The restaurant's existing categories and items are read
+ * once up front to decide between insert and update. Rows that fail validation are reported with their row number
+ * and skipped; a batch the database rejects is reported row by row and the import carries on with the next.
+ * <p>
+ * An update only sets the columns the file supplies, a CSV header column or a JSON field. An empty stock quantity
+ * means no daily limit; an empty price or availability leaves the stored one unchanged. New items without an
+ * availability are available.
+ * <p>
+ * The export streams the same columns in pages of {@value #EXPORT_PAGE_SIZE}, so it can be re-imported as is.
+ */
+@Slf4j
+@Component
+public class MenuTransferService {
+
+    public static final List<String> COLUMNS = List.of(
+            "category", "name", "description", "price", "imageUrl", "stockQuantityPerDay", "isAvailable");
+
+    private static final int BATCH_SIZE = 500;
+    private static final int EXPORT_PAGE_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final String SELECT_CATEGORIES_SQL =
+            "SELECT menu_category_id, name, is_disabled FROM t_menu_category WHERE restaurant_id = ?";
+    private static final String SELECT_ITEMS_SQL =
+            "SELECT id, menu_category_id, name FROM t_food_item WHERE restaurant_id = ?";
+    private static final String INSERT_CATEGORY_SQL =
+            "INSERT INTO t_menu_category (name, restaurant_id, is_disabled) VALUES (?, ?, false)";
+    private static final String ENABLE_CATEGORY_SQL =
+            "UPDATE t_menu_category SET is_disabled = false WHERE menu_category_id = ?";
+    private static final String INSERT_ITEM_SQL =
+            "INSERT INTO t_food_item (name, description, price, image_url, stock_quantity_per_day, is_available, " +
+                    "restaurant_id, menu_category_id, is_disabled) VALUES (?, ?, ?, ?, ?, ?, ?, ?, false)";
+    // Each column is preceded by a flag saying whether to set it or keep the stored value
+    private static final String UPDATE_ITEM_SQL =
+            "UPDATE t_food_item SET description = CASE WHEN ? THEN ? ELSE description END, " +
+                    "price = CASE WHEN ? THEN ? ELSE price END, " +
+                    "image_url = CASE WHEN ? THEN ? ELSE image_url END, " +
+                    "stock_quantity_per_day = CASE WHEN ? THEN ? ELSE stock_quantity_per_day END, " +
+                    "is_available = CASE WHEN ? THEN ? ELSE is_available END, " +
+                    "is_disabled = false WHERE id = ?";
+    private static final String EXPORT_PAGE_SQL =
+            "SELECT f.id, c.name AS category, f.name, f.description, f.price, f.image_url, " +
+                    "f.stock_quantity_per_day, f.is_available " +
+                    "FROM t_food_item f JOIN t_menu_category c ON c.menu_category_id = f.menu_category_id " +
+                    "WHERE f.restaurant_id = ? AND f.is_disabled = false AND c.is_disabled = false AND f.id > ? " +
+                    "ORDER BY f.id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public MenuTransferService(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Imports a menu, creating missing categories and adding or updating items.
+     *
+     * @param json whether the body is a JSON array of rows rather than CSV
+     * @throws IOException              if the body cannot be read
+     * @throws IllegalArgumentException if the body is not a CSV file with a header or a JSON array
+     */
+    public MenuImportResponse importMenu(Long restaurantId, InputStream body, boolean json) throws IOException {
+        Importer importer = new Importer(restaurantId);
+        if (json) {
+            readJson(body, importer);
+        } else {
+            readCsv(body, importer);
+        }
+        importer.flush();
+        log.info("Imported menu of restaurant {}: {} categories and {} items created, {} items updated, {} rows failed",
+                restaurantId, importer.response.getCategoriesCreated(), importer.response.getItemsCreated(),
+                importer.response.getItemsUpdated(), importer.response.getRowsFailed());
+        return importer.response;
+    }
+
+    /**
+     * Streams the restaurant's enabled categories and items in the import format.
+     */
+    public StreamingResponseBody exportMenu(Long restaurantId, boolean json) {
+        return out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            JsonGenerator generator = null;
+            if (json) {
+                generator = objectMapper.getFactory().createGenerator(writer);
+                generator.writeStartArray();
+            } else {
+                writer.write(String.join(",", COLUMNS));
+                writer.write("\r\n");
+            }
+
+            long afterId = 0;
+            List<ExportRow> page;
+            do {
+                page = jdbcTemplate.query(EXPORT_PAGE_SQL, (rs, rowNum) -> new ExportRow(rs.getLong("id"),
+                        new MenuImportRow(rs.getString("category"), rs.getString("name"), rs.getString("description"),
+                                rs.getObject("price", Double.class), rs.getString("image_url"),
+                                rs.getObject("stock_quantity_per_day", Integer.class),
+                                rs.getObject("is_available", Boolean.class))),
+                        restaurantId, afterId, EXPORT_PAGE_SIZE);
+                for (ExportRow row : page) {
+                    if (generator != null) {
+                        generator.writeObject(row.item);
+                    } else {
+                        writeCsv(writer, row.item);
+                    }
+                }
+                if (!page.isEmpty()) {
+                    afterId = page.getLast().id;
+                }
+            } while (page.size() == EXPORT_PAGE_SIZE);
+
+            if (generator != null) {
+                generator.writeEndArray();
+                generator.flush();
+            }
+            writer.flush();
+        };
+    }
+
+    private void readCsv(InputStream body, Importer importer) throws IOException {
+        CsvReader reader = new CsvReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new IllegalArgumentException("The file is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        Set<String> supplied = columns.keySet();
+        if (!columns.containsKey("category") || !columns.containsKey("name")) {
+            throw new IllegalArgumentException("The header must name at least the category and name columns");
+        }
+
+        int rowNumber = 0;
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            rowNumber++;
+            String name = field(record, columns, "name");
+            try {
+                importer.accept(rowNumber, new MenuImportRow(
+                        field(record, columns, "category"),
+                        name,
+                        field(record, columns, "description"),
+                        parse(field(record, columns, "price"), Double::valueOf, "price"),
+                        field(record, columns, "imageurl"),
+                        parse(field(record, columns, "stockquantityperday"), Integer::valueOf, "stockQuantityPerDay"),
+                        parse(field(record, columns, "isavailable"), MenuTransferService::parseBoolean, "isAvailable")),
+                        supplied);
+            } catch (IllegalArgumentException e) {
+                importer.reject(rowNumber, name, e.getMessage());
+            }
+        }
+    }
+
+    private void readJson(InputStream body, Importer importer) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of menu items");
+            }
+            int rowNumber = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                rowNumber++;
+                JsonNode node = objectMapper.readTree(parser);
+                Set<String> supplied = new HashSet<>();
+                node.fieldNames().forEachRemaining(field -> supplied.add(field.toLowerCase(Locale.ROOT)));
+                try {
+                    importer.accept(rowNumber, objectMapper.treeToValue(node, MenuImportRow.class), supplied);
+                } catch (JsonProcessingException e) {
+                    importer.reject(rowNumber, node.path("name").asText(null), "Invalid value: " + e.getOriginalMessage());
+                }
+            }
+        }
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static <T> T parse(String value, Function<String, T> parser, String column) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    private static Boolean parseBoolean(String value) {
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "true", "yes", "1" -> true;
+            case "false", "no", "0" -> false;
+            default -> throw new IllegalArgumentException(value);
+        };
+    }
+
+    private static void writeCsv(Writer writer, MenuImportRow item) throws IOException {
+        writer.write(CsvReader.escape(item.getCategory()));
+        writer.write(',');
+        writer.write(CsvReader.escape(item.getName()));
+        writer.write(',');
+        writer.write(CsvReader.escape(item.getDescription()));
+        writer.write(',');
+        writer.write(item.getPrice() != null ? item.getPrice().toString() : "");
+        writer.write(',');
+        writer.write(CsvReader.escape(item.getImageUrl()));
+        writer.write(',');
+        writer.write(item.getStockQuantityPerDay() != null ? item.getStockQuantityPerDay().toString() : "");
+        writer.write(',');
+        writer.write(item.getIsAvailable() != null ? item.getIsAvailable().toString() : "");
+        writer.write("\r\n");
+    }
+
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Validates rows as they are read and writes them in batches.
+     */
+    private final class Importer {
+        private final Long restaurantId;
+        private final MenuImportResponse response = new MenuImportResponse();
+
+        // Lower-cased category name -> id, and the ids of disabled categories
+        private final Map<String, Long> categoryIds = new HashMap<>();
+        private final Set<Long> disabledCategories = new HashSet<>();
+        // Category id + lower-cased item name -> item id
+        private final Map<String, Long> itemIds = new HashMap<>();
+        // Lower-cased category and item names already imported, to reject repeated rows
+        private final Set<String> seen = new HashSet<>();
+
+        private final List<PendingRow> pending = new ArrayList<>();
+
+        private Importer(Long restaurantId) {
+            this.restaurantId = restaurantId;
+            loadCategories();
+            jdbcTemplate.query(SELECT_ITEMS_SQL, rs -> {
+                itemIds.put(rs.getLong("menu_category_id") + ":" + key(rs.getString("name")), rs.getLong("id"));
+            }, restaurantId);
+        }
+
+        // supplied holds the lower-cased names of the columns the row carries, empty or not
+        private void accept(int rowNumber, MenuImportRow row, Set<String> supplied) {
+            if (row.getName() == null || row.getName().isBlank() || row.getCategory() == null || row.getCategory().isBlank()) {
+                reject(rowNumber, row.getName(), "Category and name are required");
+                return;
+            }
+            if (row.getPrice() != null && row.getPrice() < 0) {
+                reject(rowNumber, row.getName(), "Price cannot be negative");
+                return;
+            }
+            if (row.getStockQuantityPerDay() != null && row.getStockQuantityPerDay() < 0) {
+                reject(rowNumber, row.getName(), "Stock quantity cannot be negative");
+                return;
+            }
+            if (!seen.add(key(row.getCategory()) + "\n" + key(row.getName()))) {
+                reject(rowNumber, row.getName(), "Repeats an earlier row for the same item");
+                return;
+            }
+            pending.add(new PendingRow(rowNumber, row, supplied));
+            if (pending.size() >= BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        private void reject(int rowNumber, String name, String message) {
+            response.setRowsFailed(response.getRowsFailed() + 1);
+            if (response.getErrors().size() < MAX_REPORTED_ERRORS) {
+                response.getErrors().add(new MenuImportResponse.RowError(rowNumber, name, message));
+            }
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<PendingRow> batch = new ArrayList<>(pending);
+            pending.clear();
+
+            try {
+                int[] counts = transactionTemplate.execute(status -> write(batch));
+                response.setCategoriesCreated(response.getCategoriesCreated() + counts[0]);
+                response.setItemsCreated(response.getItemsCreated() + counts[1]);
+                response.setItemsUpdated(response.getItemsUpdated() + counts[2]);
+            } catch (DataAccessException | TransactionException e) {
+                log.warn("Failed to import a batch of {} menu rows for restaurant {}: {}",
+                        batch.size(), restaurantId, e.getMessage());
+                batch.forEach(row -> reject(row.rowNumber, row.item.getName(), "Could not be saved"));
+                // Categories created by the rolled back batch no longer exist
+                loadCategories();
+            }
+        }
+
+        // Returns the number of categories created, items created and items updated
+        private int[] write(List<PendingRow> batch) {
+            // Categories first, so every row has a category id
+            Set<String> newCategories = new HashSet<>();
+            Set<Long> enabledCategories = new HashSet<>();
+            Map<String, String> categoryNames = new HashMap<>();
+            for (PendingRow row : batch) {
+                String category = key(row.item.getCategory());
+                Long categoryId = categoryIds.get(category);
+                if (categoryId == null) {
+                    newCategories.add(category);
+                    categoryNames.putIfAbsent(category, row.item.getCategory().trim());
+                } else if (disabledCategories.contains(categoryId)) {
+                    enabledCategories.add(categoryId);
+                }
+            }
+            if (!newCategories.isEmpty()) {
+                List<Object[]> rows = newCategories.stream()
+                        .map(category -> new Object[]{categoryNames.get(category), restaurantId})
+                        .toList();
+                jdbcTemplate.batchUpdate(INSERT_CATEGORY_SQL, rows);
+                loadCategories();
+            }
+            if (!enabledCategories.isEmpty()) {
+                jdbcTemplate.batchUpdate(ENABLE_CATEGORY_SQL,
+                        enabledCategories.stream().map(id -> new Object[]{id}).toList());
+                disabledCategories.removeAll(enabledCategories);
+            }
+
+            List<Object[]> inserts = new ArrayList<>();
+            List<Object[]> updates = new ArrayList<>();
+            for (PendingRow row : batch) {
+                MenuImportRow item = row.item;
+                Long categoryId = categoryIds.get(key(item.getCategory()));
+                Long itemId = itemIds.get(categoryId + ":" + key(item.getName()));
+                String description = item.getDescription() != null ? item.getDescription() : "";
+                String imageUrl = item.getImageUrl() != null ? item.getImageUrl() : "";
+                // No stock quantity means no daily limit
+                Integer stock = item.getStockQuantityPerDay();
+                if (itemId == null) {
+                    inserts.add(new Object[]{item.getName().trim(), description,
+                            item.getPrice() != null ? item.getPrice() : 0.0, imageUrl, stock,
+                            item.getIsAvailable() != null ? item.getIsAvailable() : true, restaurantId, categoryId});
+                } else {
+                    updates.add(new Object[]{
+                            row.supplies("description"), description,
+                            item.getPrice() != null, item.getPrice(),
+                            row.supplies("imageurl"), imageUrl,
+                            row.supplies("stockquantityperday"), stock,
+                            item.getIsAvailable() != null, item.getIsAvailable(),
+                            itemId});
+                }
+            }
+
+            int[] itemTypes = {Types.VARCHAR, Types.VARCHAR, Types.DOUBLE, Types.VARCHAR, Types.INTEGER, Types.BOOLEAN,
+                    Types.BIGINT, Types.BIGINT};
+            int[] updateTypes = {Types.BOOLEAN, Types.VARCHAR, Types.BOOLEAN, Types.DOUBLE, Types.BOOLEAN, Types.VARCHAR,
+                    Types.BOOLEAN, Types.INTEGER, Types.BOOLEAN, Types.BOOLEAN, Types.BIGINT};
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_ITEM_SQL, inserts, itemTypes);
+            }
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_ITEM_SQL, updates, updateTypes);
+            }
+            return new int[]{newCategories.size(), inserts.size(), updates.size()};
+        }
+
+        private void loadCategories() {
+            categoryIds.clear();
+            disabledCategories.clear();
+            jdbcTemplate.query(SELECT_CATEGORIES_SQL, rs -> {
+                long id = rs.getLong("menu_category_id");
+                categoryIds.putIfAbsent(key(rs.getString("name")), id);
+                if (rs.getBoolean("is_disabled")) {
+                    disabledCategories.add(id);
+                }
+            }, restaurantId);
+        }
+    }
+
+    @AllArgsConstructor
+    private static final class PendingRow {
+        private final int rowNumber;
+        private final MenuImportRow item;
+        private final Set<String> supplied;
+
+        private boolean supplies(String column) {
+            return supplied.contains(column);
+        }
+    }
+
+    @AllArgsConstructor
+    private static final class ExportRow {
+        private final long id;
+        private final MenuImportRow item;
+    }
+}
@@ -0,0 +1,74 @@
+package com.ds.masterservice.service;
+
+import com.ds.masterservice.dao.orderService.OrderItem;
+import com.ds.masterservice.dto.response.OrderItemResponse;
+import com.ds.masterservice.dto.response.restaurant.OrderReqResponse;
+import com.ds.masterservice.repository.UserRepository;
+import com.ds.masterservice.repository.orderService.OrderItemRepository;
+import com.ds.masterservice.repository.orderService.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Builds restaurant order board rows from order projections with two batched queries,
+ * one for the items of all the orders and one for their customers.
+ */
+@Component
+public class OrderBoardAssembler {
+
+    private final OrderItemRepository orderItemRepository;
+    private final UserRepository userRepository;
+
+    @Autowired
+    public OrderBoardAssembler(OrderItemRepository orderItemRepository, UserRepository userRepository) {
+        this.orderItemRepository = orderItemRepository;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Returns one row per order, in the order given.
+     */
+    public List<OrderReqResponse> assemble(List<OrderRepository.OrderBoardProjection> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> orderIds = orders.stream().map(OrderRepository.OrderBoardProjection::getId).toList();
+        Map<Long, List<OrderItemResponse>> itemsByOrder = orderItemRepository.findByOrderIdInOrderByIdAsc(orderIds).stream()
+                .collect(Collectors.groupingBy(OrderItem::getOrderId, Collectors.mapping(
+                        item -> new OrderItemResponse(item.getItemId(), item.getQuantity(), item.getUnitPrice(), item.getTotalPrice(), item.getItemName(), item.getItemImage()),
+                        Collectors.toList())));
+
+        Set<Integer> customerIds = orders.stream()
+                .map(OrderRepository.OrderBoardProjection::getUserId)
+                .filter(Objects::nonNull)
+                .map(Math::toIntExact)
+                .collect(Collectors.toSet());
+        Map<Long, UserRepository.ContactProjection> customers = userRepository.findContactsByIdIn(customerIds).stream()
+                .collect(Collectors.toMap(contact -> contact.getId().longValue(), Function.identity()));
+
+        return orders.stream()
+                .map(order -> {
+                    UserRepository.ContactProjection customer = customers.get(order.getUserId());
+                    return OrderReqResponse.builder()
+                            .orderId(order.getId())
+                            .orderItems(itemsByOrder.getOrDefault(order.getId(), List.of()))
+                            .orderStatus(order.getStatus().name())
+                            .paymentStatus(order.getPaymentStatus().name())
+                            .orderDate(order.getCreatedAt().toString())
+                            .deliveryAddress(order.getDeliveryAddress())
+                            .totalAmount(order.getTotalAmount())
+                            .customerName(customer != null ? customer.getFirstName() + " " + customer.getLastName() : null)
+                            .customerPhone(customer != null ? customer.getPhone() : null)
+                            .build();
+                })
+                .toList();
+    }
+}
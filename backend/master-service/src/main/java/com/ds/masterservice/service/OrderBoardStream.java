@@ -0,0 +1,337 @@
+package com.ds.masterservice.service;
+
+import com.ds.masterservice.dao.orderService.OrderBoardEvent;
+import com.ds.masterservice.dao.orderService.OrderBoardEventType;
+import com.ds.masterservice.dto.response.restaurant.OrderBoardEventResponse;
+import com.ds.masterservice.dto.response.restaurant.OrderReqResponse;
+import com.ds.masterservice.repository.orderService.OrderBoardEventRepository;
+import com.ds.masterservice.repository.orderService.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes order board changes to restaurant dashboards over server-sent events.
+ * <p>
+ * Order changes are written to {@code t_order_board_event} by whichever service makes them. One poller per
+ * instance tails that table and fans new events out to the subscribed dashboards, so the database sees one
+ * indexed query per poll interval however many dashboards are open. Each event's id is its SSE id; a dashboard
+ * reconnecting with {@code Last-Event-ID} is replayed what it missed, or sent {@code reset} to reload the board
+ * when that is more than {@code replay-limit} events or older than the retention period.
+ * <p>
+ * Ids are assigned at insert but become visible at commit, so a poll can see an id before a lower one.
+ * The poller keeps its cursor below such gaps and gives up on a gap after {@code gap-timeout}, which also
+ * skips ids lost to rolled back transactions.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "restaurant.order-board.stream.enabled", havingValue = "true")
+public class OrderBoardStream {
+
+    private static final int POLL_BATCH_SIZE = 500;
+    private static final long NOT_STARTED = -1;
+
+    private final OrderBoardEventRepository orderBoardEventRepository;
+    private final OrderRepository orderRepository;
+    private final OrderBoardAssembler orderBoardAssembler;
+
+    @Value("${restaurant.order-board.stream.timeout:PT30M}")
+    private Duration emitterTimeout;
+
+    @Value("${restaurant.order-board.stream.replay-limit:1000}")
+    private int replayLimit;
+
+    @Value("${restaurant.order-board.stream.gap-timeout:PT10S}")
+    private Duration gapTimeout;
+
+    @Value("${restaurant.order-board.stream.heartbeat-interval:PT15S}")
+    private Duration heartbeatInterval;
+
+    @Value("${restaurant.order-board.stream.retention:PT24H}")
+    private Duration retention;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    // Poll position, guarded by this: every event up to the cursor has been dispatched or given up on,
+    // and dispatchedAhead holds the ids above it that were dispatched while a lower id was still missing
+    private long cursor = NOT_STARTED;
+    private final TreeSet<Long> dispatchedAhead = new TreeSet<>();
+    private long gapSeenAtMillis;
+
+    private long lastHeartbeatMillis;
+
+    @Autowired
+    public OrderBoardStream(OrderBoardEventRepository orderBoardEventRepository,
+                            OrderRepository orderRepository,
+                            OrderBoardAssembler orderBoardAssembler) {
+        this.orderBoardEventRepository = orderBoardEventRepository;
+        this.orderRepository = orderRepository;
+        this.orderBoardAssembler = orderBoardAssembler;
+    }
+
+    /**
+     * Opens a stream of the restaurant's order board changes.
+     *
+     * @param lastEventId id of the last event the dashboard received, or null for a dashboard that is about
+     *                    to load the board; it is then sent a {@code ready} event carrying the current position
+     */
+    public SseEmitter subscribe(Long restaurantId, Long lastEventId) {
+        Subscriber subscriber = new Subscriber(restaurantId, new SseEmitter(emitterTimeout.toMillis()));
+        subscriber.emitter.onCompletion(() -> unsubscribe(subscriber));
+        subscriber.emitter.onTimeout(() -> unsubscribe(subscriber));
+        subscriber.emitter.onError(error -> unsubscribe(subscriber));
+
+        // Everything up to the cursor, and the ids dispatched above it, is replayed; the rest arrives live
+        synchronized (this) {
+            start();
+            subscriber.replayUpTo = cursor;
+            subscriber.replayAhead = new HashSet<>(dispatchedAhead);
+            subscribers.computeIfAbsent(restaurantId, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+
+        try {
+            replay(subscriber, lastEventId);
+        } catch (Exception e) {
+            log.error("Failed to replay order board events for restaurant {}: {}", restaurantId, e.getMessage());
+            subscriber.emitter.completeWithError(e);
+        }
+        return subscriber.emitter;
+    }
+
+    /**
+     * Dispatches events committed since the previous poll.
+     */
+    @Scheduled(fixedDelayString = "${restaurant.order-board.stream.poll-interval:PT1S}")
+    public void poll() {
+        List<OrderBoardEvent> fresh;
+        synchronized (this) {
+            if (subscribers.isEmpty()) {
+                // Nobody to send to; start again from the newest event when someone subscribes
+                cursor = NOT_STARTED;
+                dispatchedAhead.clear();
+                return;
+            }
+            start();
+            fresh = orderBoardEventRepository.findByIdGreaterThanOrderByIdAsc(cursor, PageRequest.ofSize(POLL_BATCH_SIZE))
+                    .stream()
+                    .filter(event -> dispatchedAhead.add(event.getId()))
+                    .toList();
+            advanceCursor();
+        }
+
+        if (!fresh.isEmpty()) {
+            for (OrderBoardEventResponse event : toResponses(fresh)) {
+                Set<Subscriber> restaurantSubscribers = subscribers.get(event.getRestaurantId());
+                if (restaurantSubscribers != null) {
+                    restaurantSubscribers.forEach(subscriber -> subscriber.deliver(event));
+                }
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        if (now - lastHeartbeatMillis >= heartbeatInterval.toMillis()) {
+            lastHeartbeatMillis = now;
+            subscribers.values().forEach(set -> set.forEach(Subscriber::heartbeat));
+        }
+    }
+
+    /**
+     * Deletes events older than the retention period.
+     */
+    @Scheduled(fixedDelayString = "${restaurant.order-board.stream.purge-interval:PT1H}")
+    public void purge() {
+        int removed = orderBoardEventRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+        if (removed > 0) {
+            log.info("Removed {} expired order board events", removed);
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void replay(Subscriber subscriber, Long lastEventId) {
+        if (lastEventId == null) {
+            subscriber.finishReplay(List.of(), "ready");
+            return;
+        }
+
+        long upTo = subscriber.replayAhead.stream().mapToLong(Long::longValue).max().orElse(subscriber.replayUpTo);
+        upTo = Math.max(upTo, subscriber.replayUpTo);
+        if (lastEventId >= upTo) {
+            subscriber.finishReplay(List.of(), null);
+            return;
+        }
+
+        // Events after lastEventId may have been purged
+        long oldest = orderBoardEventRepository.findMinId();
+        if (oldest == 0 || oldest > lastEventId + 1) {
+            subscriber.finishReplay(List.of(), "reset");
+            return;
+        }
+
+        List<OrderBoardEvent> missed = orderBoardEventRepository.findForRestaurant(subscriber.restaurantId,
+                lastEventId, upTo, PageRequest.ofSize(replayLimit + 1));
+        if (missed.size() > replayLimit) {
+            subscriber.finishReplay(List.of(), "reset");
+            return;
+        }
+        subscriber.finishReplay(toResponses(missed.stream().filter(subscriber::coveredByReplay).toList()), null);
+    }
+
+    // Caller holds the lock
+    private void start() {
+        if (cursor == NOT_STARTED) {
+            cursor = orderBoardEventRepository.findMaxId();
+            dispatchedAhead.clear();
+            gapSeenAtMillis = 0;
+        }
+    }
+
+    // Caller holds the lock
+    private void advanceCursor() {
+        long now = System.currentTimeMillis();
+        while (!dispatchedAhead.isEmpty()) {
+            if (dispatchedAhead.first() == cursor + 1) {
+                cursor = dispatchedAhead.pollFirst();
+                gapSeenAtMillis = 0;
+                continue;
+            }
+            // An id below dispatched ones is missing: wait for its transaction to commit, up to the gap timeout
+            if (gapSeenAtMillis == 0) {
+                gapSeenAtMillis = now;
+            }
+            if (now - gapSeenAtMillis < gapTimeout.toMillis()) {
+                return;
+            }
+            cursor = dispatchedAhead.first() - 1;
+            gapSeenAtMillis = 0;
+        }
+    }
+
+    private List<OrderBoardEventResponse> toResponses(List<OrderBoardEvent> events) {
+        Set<Long> createdOrderIds = events.stream()
+                .filter(event -> event.getType() == OrderBoardEventType.ORDER_CREATED)
+                .map(OrderBoardEvent::getOrderId)
+                .collect(Collectors.toSet());
+        Map<Long, OrderReqResponse> createdOrders = createdOrderIds.isEmpty() ? Map.of()
+                : orderBoardAssembler.assemble(orderRepository.findOrderBoardByIdIn(createdOrderIds)).stream()
+                .collect(Collectors.toMap(OrderReqResponse::getOrderId, Function.identity()));
+
+        List<OrderBoardEventResponse> responses = new ArrayList<>(events.size());
+        for (OrderBoardEvent event : events) {
+            responses.add(OrderBoardEventResponse.builder()
+                    .sequence(event.getId())
+                    .type(event.getType().name())
+                    .orderId(event.getOrderId())
+                    .restaurantId(event.getRestaurantId())
+                    .orderStatus(event.getStatus() != null ? event.getStatus().name() : null)
+                    .paymentStatus(event.getPaymentStatus() != null ? event.getPaymentStatus().name() : null)
+                    .occurredAt(event.getCreatedAt().toString())
+                    .order(event.getType() == OrderBoardEventType.ORDER_CREATED ? createdOrders.get(event.getOrderId()) : null)
+                    .build());
+        }
+        return responses;
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.restaurantId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    /**
+     * One open dashboard. Live events are held back until its replay has been sent, so it receives
+     * events in the order they were dispatched.
+     */
+    private final class Subscriber {
+        private final Long restaurantId;
+        private final SseEmitter emitter;
+
+        // Events the replay covers; set before the subscriber is registered
+        private long replayUpTo;
+        private Set<Long> replayAhead;
+
+        // Live events received during the replay; null once it has been sent
+        private List<OrderBoardEventResponse> held = new ArrayList<>();
+
+        private Subscriber(Long restaurantId, SseEmitter emitter) {
+            this.restaurantId = restaurantId;
+            this.emitter = emitter;
+        }
+
+        private boolean coveredByReplay(OrderBoardEvent event) {
+            return event.getId() <= replayUpTo || replayAhead.contains(event.getId());
+        }
+
+        synchronized void deliver(OrderBoardEventResponse event) {
+            if (event.getSequence() <= replayUpTo || replayAhead.contains(event.getSequence())) {
+                return;
+            }
+            if (held != null) {
+                held.add(event);
+            } else {
+                send(event);
+            }
+        }
+
+        /**
+         * Sends the replayed events, or a control event, followed by the live events held meanwhile.
+         * Control events carry the replay position as their id, so a reconnect resumes from there.
+         */
+        synchronized void finishReplay(List<OrderBoardEventResponse> replayed, String controlEvent) {
+            try {
+                if (controlEvent != null) {
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(replayUpTo))
+                            .name(controlEvent)
+                            .data(Map.of("sequence", replayUpTo)));
+                }
+            } catch (IOException | IllegalStateException e) {
+                unsubscribe(this);
+                return;
+            }
+            replayed.forEach(this::send);
+            held.forEach(this::send);
+            held = null;
+        }
+
+        synchronized void heartbeat() {
+            try {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                unsubscribe(this);
+            }
+        }
+
+        private void send(OrderBoardEventResponse event) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(event.getSequence()))
+                        .name(event.getType())
+                        .data(event));
+            } catch (IOException | IllegalStateException e) {
+                unsubscribe(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.ds.masterservice.service;
+
+import com.ds.commons.utils.TransactionCallbacks;
+import com.ds.masterservice.dto.response.restaurant.RestaurantResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of assembled {@link RestaurantResponse}s keyed by restaurant id.
+ * <p>
+ * Concurrent misses on the same restaurant share one load, which runs in a read-only transaction so the menu
+ * can be walked lazily. Writers invalidate the restaurant once their transaction commits; an invalidation that
+ * arrives while a load is in flight waits for it and then drops its result, so a stale menu is never kept.
+ * Entries also expire after {@code restaurant.cache.ttl}, which bounds staleness from other instances' writes.
+ */
+@Component
+public class RestaurantResponseCache {
+
+    private final Cache<Long, RestaurantResponse> cache;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Autowired
+    public RestaurantResponseCache(PlatformTransactionManager transactionManager,
+                                   ObjectProvider<MeterRegistry> meterRegistryProvider,
+                                   @Value("${restaurant.cache.max-size:2000}") long maxSize,
+                                   @Value("${restaurant.cache.ttl:PT10M}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        // Publishes cache.gets{result=hit|miss}, cache.evictions and cache.size under cache=restaurant.response
+        CaffeineCacheMetrics.monitor(meterRegistryProvider.getIfAvailable(SimpleMeterRegistry::new), cache,
+                "restaurant.response");
+    }
+
+    /**
+     * Returns the cached response, loading it with {@code loader} on a miss.
+     * A null result from the loader (restaurant not found) is returned but not cached.
+     */
+    public RestaurantResponse get(Long restaurantId, Function<Long, RestaurantResponse> loader) {
+        return cache.get(restaurantId, id -> readOnlyTransaction.execute(status -> loader.apply(id)));
+    }
+
+    /**
+     * Drops the restaurant's cached response once the current transaction commits, or immediately without one.
+     */
+    public void invalidate(Long restaurantId) {
+        if (restaurantId == null) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> cache.invalidate(restaurantId));
+    }
+}
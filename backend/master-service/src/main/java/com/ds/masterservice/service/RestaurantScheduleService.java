@@ -0,0 +1,196 @@
+package com.ds.masterservice.service;
+
+import com.ds.commons.enums.DayOfWeek;
+import com.ds.commons.utils.TransactionCallbacks;
+import com.ds.commons.utils.WeeklyHours;
+import com.ds.masterservice.dao.restaurantService.Restaurant;
+import com.ds.masterservice.repository.RestaurantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Restaurant opening hours compiled into {@link WeeklyHours} bitmaps and held in memory.
+ * <p>
+ * Answers whether a restaurant is open now and when it next opens without touching the database. Schedules are
+ * loaded in two queries on startup and reloaded periodically to pick up restaurants created on other instances.
+ * Restaurants without opening days have no schedule and keep their manually set {@code isOpen} flag.
+ * <p>
+ * Where {@code restaurant.schedule.auto-toggle} is set, a tick compares every schedule with the stored flag and
+ * flips the ones that crossed an opening or closing time in one UPDATE per direction, so the listing's
+ * {@code openNow} filter and search ranking follow the schedule.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "restaurant.schedule.enabled", havingValue = "true")
+public class RestaurantScheduleService {
+
+    private static final int UPDATE_BATCH_SIZE = 1000;
+
+    private final RestaurantRepository restaurantRepository;
+    private final RestaurantResponseCache restaurantResponseCache;
+
+    // Search ranking favours open restaurants; only present where restaurant.search.enabled is set
+    @Autowired(required = false)
+    private Optional<RestaurantSearchService> restaurantSearchService;
+
+    @Value("${restaurant.schedule.auto-toggle:false}")
+    private boolean autoToggle;
+
+    private final ZoneId zone;
+
+    private volatile Map<Long, WeeklyHours> schedules = new ConcurrentHashMap<>();
+    // Stored isOpen flag of each scheduled restaurant, as last loaded or written
+    private volatile Map<Long, Boolean> openFlags = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    @Autowired
+    public RestaurantScheduleService(RestaurantRepository restaurantRepository,
+                                     RestaurantResponseCache restaurantResponseCache,
+                                     @Value("${restaurant.schedule.zone:}") String zone) {
+        this.restaurantRepository = restaurantRepository;
+        this.restaurantResponseCache = restaurantResponseCache;
+        this.zone = zone == null || zone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(zone);
+    }
+
+    /**
+     * Loads every restaurant's schedule and stored open flag.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${restaurant.schedule.reload-interval:PT15M}",
+            initialDelayString = "${restaurant.schedule.reload-interval:PT15M}")
+    public synchronized void reload() {
+        try {
+            Map<Long, List<DayOfWeek>> daysOpen = restaurantRepository.findAllDaysOpen().stream()
+                    .collect(Collectors.groupingBy(RestaurantRepository.DaysOpenProjection::getRestaurantId,
+                            Collectors.mapping(RestaurantRepository.DaysOpenProjection::getDay, Collectors.toList())));
+
+            Map<Long, WeeklyHours> loaded = new ConcurrentHashMap<>();
+            Map<Long, Boolean> flags = new ConcurrentHashMap<>();
+            int invalid = 0;
+            for (RestaurantRepository.ScheduleProjection row : restaurantRepository.findSchedules()) {
+                List<DayOfWeek> days = daysOpen.get(row.getId());
+                if (days == null || days.isEmpty()) {
+                    continue;
+                }
+                try {
+                    loaded.put(row.getId(), WeeklyHours.parse(days, row.getOpeningHour(), row.getClosingHour()));
+                    flags.put(row.getId(), Boolean.TRUE.equals(row.getIsOpen()));
+                } catch (IllegalArgumentException e) {
+                    invalid++;
+                }
+            }
+
+            schedules = loaded;
+            openFlags = flags;
+            ready = true;
+            log.info("Loaded {} restaurant schedules, skipped {} with unreadable hours", loaded.size(), invalid);
+        } catch (Exception e) {
+            log.error("Failed to load restaurant schedules: {}", e.getMessage());
+            return;
+        }
+        evaluate();
+    }
+
+    /**
+     * Compiles a created restaurant's schedule once the current transaction commits.
+     */
+    public void put(Restaurant restaurant) {
+        Long id = restaurant.getId();
+        List<DayOfWeek> days = restaurant.getDaysOpen() != null ? List.copyOf(restaurant.getDaysOpen()) : List.of();
+        String opening = restaurant.getOpeningHour();
+        String closing = restaurant.getClosingHour();
+        boolean open = Boolean.TRUE.equals(restaurant.getIsOpen());
+        TransactionCallbacks.afterCommit(() -> {
+            if (days.isEmpty()) {
+                schedules.remove(id);
+                return;
+            }
+            try {
+                WeeklyHours hours = WeeklyHours.parse(days, opening, closing);
+                openFlags.put(id, open);
+                schedules.put(id, hours);
+            } catch (IllegalArgumentException e) {
+                log.warn("Restaurant {} has unreadable opening hours: {}", id, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Whether the restaurant's schedule says it is open now, or null if it has no schedule.
+     */
+    public Boolean isOpenNow(Long restaurantId) {
+        WeeklyHours hours = schedules.get(restaurantId);
+        return hours != null ? hours.isOpenAt(now()) : null;
+    }
+
+    /**
+     * When the restaurant next opens, or null if it has no schedule or never opens.
+     */
+    public LocalDateTime opensNextAt(Long restaurantId) {
+        WeeklyHours hours = schedules.get(restaurantId);
+        return hours != null ? hours.nextOpening(now()) : null;
+    }
+
+    /**
+     * Flips the stored open flag of every restaurant whose schedule disagrees with it.
+     */
+    @Scheduled(fixedDelayString = "${restaurant.schedule.tick:PT20S}")
+    public synchronized void evaluate() {
+        if (!autoToggle || !ready) {
+            return;
+        }
+        int minute = WeeklyHours.minuteOfWeek(now());
+        List<Long> opening = new ArrayList<>();
+        List<Long> closing = new ArrayList<>();
+        schedules.forEach((id, hours) -> {
+            boolean open = hours.isOpenAt(minute);
+            if (!Boolean.valueOf(open).equals(openFlags.get(id))) {
+                (open ? opening : closing).add(id);
+            }
+        });
+
+        try {
+            setOpen(opening, true);
+            setOpen(closing, false);
+        } catch (Exception e) {
+            // The flags were not recorded, so the next tick retries
+            log.error("Failed to update restaurant open flags: {}", e.getMessage());
+        }
+    }
+
+    private void setOpen(List<Long> ids, boolean open) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += UPDATE_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + UPDATE_BATCH_SIZE, ids.size()));
+            updated += restaurantRepository.updateOpenByIdIn(batch, open);
+            for (Long id : batch) {
+                openFlags.put(id, open);
+                restaurantResponseCache.invalidate(id);
+                restaurantSearchService.ifPresent(search -> search.updateOpen(id, open));
+            }
+        }
+        log.info("Marked {} restaurants {} on schedule", updated, open ? "open" : "closed");
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(zone);
+    }
+}
@@ -0,0 +1,262 @@
+package com.ds.masterservice.service;
+
+import com.ds.commons.utils.RebuildableIndex;
+import com.ds.commons.utils.SearchIndex;
+import com.ds.commons.utils.TransactionCallbacks;
+import com.ds.masterservice.dao.restaurantService.FoodItem;
+import com.ds.masterservice.dao.restaurantService.Restaurant;
+import com.ds.masterservice.dto.response.restaurant.RestaurantSearchResultResponse;
+import com.ds.masterservice.repository.FoodItemRepository;
+import com.ds.masterservice.repository.RestaurantRepository;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * In-memory full-text search over restaurant and food item names and descriptions.
+ * <p>
+ * The index is loaded on startup and kept current by {@link RestaurantServiceImpl} as its transactions commit.
+ * It is reloaded periodically to pick up changes made through other instances.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "restaurant.search.enabled", havingValue = "true")
+public class RestaurantSearchService {
+
+    public static final String RESTAURANT = "RESTAURANT";
+    public static final String FOOD_ITEM = "FOOD_ITEM";
+
+    private static final float NAME_WEIGHT = 3;
+    private static final float DESCRIPTION_WEIGHT = 1;
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final RestaurantRepository restaurantRepository;
+    private final FoodItemRepository foodItemRepository;
+
+    // Score multiplier for restaurants that are open, and for the food items they serve
+    @Value("${restaurant.search.open-boost:1.5}")
+    private double openBoost;
+
+    private final RebuildableIndex<Catalog> catalog = new RebuildableIndex<>(new Catalog());
+    private volatile boolean ready;
+
+    @Autowired
+    public RestaurantSearchService(RestaurantRepository restaurantRepository, FoodItemRepository foodItemRepository) {
+        this.restaurantRepository = restaurantRepository;
+        this.foodItemRepository = foodItemRepository;
+    }
+
+    /**
+     * Loads every restaurant and enabled food item into a new index and swaps it in.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${restaurant.search.rebuild-interval:PT30M}",
+            initialDelayString = "${restaurant.search.rebuild-interval:PT30M}")
+    public void rebuild() {
+        try {
+            Catalog loaded = catalog.rebuild(this::load);
+            if (loaded != null) {
+                ready = true;
+                log.info("Search index rebuilt with {} restaurants and {} food items",
+                        loaded.restaurants.size(), loaded.foodItems.size());
+            }
+        } catch (Exception e) {
+            log.error("Failed to rebuild the search index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Whether the initial load has completed; until then searches return no results.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns up to {@code limit} restaurants and food items matching the query, best first.
+     */
+    public List<RestaurantSearchResultResponse> search(String query, int limit) {
+        Catalog current = catalog.get();
+        List<RestaurantSearchResultResponse> results = new ArrayList<>();
+
+        for (SearchIndex.Hit hit : current.restaurants.search(query, limit, id -> boost(current, id))) {
+            RestaurantEntry restaurant = current.restaurantEntries.get(hit.getId());
+            if (restaurant != null) {
+                results.add(RestaurantSearchResultResponse.builder()
+                        .type(RESTAURANT)
+                        .id(hit.getId())
+                        .name(restaurant.name)
+                        .restaurantId(hit.getId())
+                        .restaurantName(restaurant.name)
+                        .isOpen(restaurant.open)
+                        .score(hit.getScore())
+                        .build());
+            }
+        }
+
+        for (SearchIndex.Hit hit : current.foodItems.search(query, limit, id -> {
+            FoodItemEntry foodItem = current.foodItemEntries.get(id);
+            return foodItem != null ? boost(current, foodItem.restaurantId) : 1;
+        })) {
+            FoodItemEntry foodItem = current.foodItemEntries.get(hit.getId());
+            if (foodItem == null) {
+                continue;
+            }
+            RestaurantEntry restaurant = current.restaurantEntries.get(foodItem.restaurantId);
+            results.add(RestaurantSearchResultResponse.builder()
+                    .type(FOOD_ITEM)
+                    .id(hit.getId())
+                    .name(foodItem.name)
+                    .restaurantId(foodItem.restaurantId)
+                    .restaurantName(restaurant != null ? restaurant.name : null)
+                    .isOpen(restaurant != null && restaurant.open)
+                    .score(hit.getScore())
+                    .build());
+        }
+
+        results.sort(Comparator.comparing(RestaurantSearchResultResponse::getScore).reversed());
+        return results.size() > limit ? new ArrayList<>(results.subList(0, limit)) : results;
+    }
+
+    /**
+     * Indexes a created or updated restaurant once the current transaction commits.
+     */
+    public void indexRestaurant(Restaurant restaurant) {
+        long id = restaurant.getId();
+        String name = restaurant.getName();
+        String description = restaurant.getDescription();
+        boolean open = Boolean.TRUE.equals(restaurant.getIsOpen());
+        apply(current -> current.putRestaurant(id, name, description, open));
+    }
+
+    /**
+     * Updates whether a restaurant is open, which changes its ranking and that of its food items.
+     */
+    public void updateOpen(long restaurantId, boolean open) {
+        apply(current -> current.restaurantEntries.computeIfPresent(restaurantId,
+                (id, entry) -> new RestaurantEntry(entry.name, open)));
+    }
+
+    /**
+     * Indexes a created or updated food item once the current transaction commits,
+     * or removes it if the item or its category is disabled.
+     */
+    public void indexFoodItem(FoodItem foodItem) {
+        long id = foodItem.getId();
+        if (Boolean.TRUE.equals(foodItem.getIsDisabled()) || Boolean.TRUE.equals(foodItem.getCategory().getIsDisabled())) {
+            removeFoodItems(List.of(id));
+            return;
+        }
+        String name = foodItem.getName();
+        String description = foodItem.getDescription();
+        long restaurantId = foodItem.getRestaurant().getId();
+        apply(current -> current.putFoodItem(id, name, description, restaurantId));
+    }
+
+    /**
+     * Re-reads and indexes every enabled food item of a restaurant, e.g. after a bulk menu import.
+     */
+    public void indexRestaurantMenu(long restaurantId) {
+        List<FoodItemRepository.SearchDocumentProjection> foodItems =
+                foodItemRepository.findSearchDocumentsByRestaurantId(restaurantId);
+        apply(current -> foodItems.forEach(foodItem -> current.putFoodItem(foodItem.getId(), foodItem.getName(),
+                foodItem.getDescription(), foodItem.getRestaurantId())));
+    }
+
+    /**
+     * Removes food items once the current transaction commits.
+     */
+    public void removeFoodItems(Collection<Long> foodItemIds) {
+        List<Long> ids = List.copyOf(foodItemIds);
+        apply(current -> ids.forEach(current::removeFoodItem));
+    }
+
+    private double boost(Catalog current, long restaurantId) {
+        RestaurantEntry restaurant = current.restaurantEntries.get(restaurantId);
+        return restaurant != null && restaurant.open ? openBoost : 1;
+    }
+
+    private Catalog load() {
+        Catalog loaded = new Catalog();
+
+        long afterId = 0;
+        List<RestaurantRepository.SearchDocumentProjection> restaurants;
+        do {
+            restaurants = restaurantRepository.findSearchDocuments(afterId, PageRequest.ofSize(LOAD_BATCH_SIZE));
+            for (RestaurantRepository.SearchDocumentProjection restaurant : restaurants) {
+                loaded.putRestaurant(restaurant.getId(), restaurant.getName(), restaurant.getDescription(),
+                        Boolean.TRUE.equals(restaurant.getIsOpen()));
+                afterId = restaurant.getId();
+            }
+        } while (restaurants.size() == LOAD_BATCH_SIZE);
+
+        afterId = 0;
+        List<FoodItemRepository.SearchDocumentProjection> foodItems;
+        do {
+            foodItems = foodItemRepository.findSearchDocuments(afterId, PageRequest.ofSize(LOAD_BATCH_SIZE));
+            for (FoodItemRepository.SearchDocumentProjection foodItem : foodItems) {
+                loaded.putFoodItem(foodItem.getId(), foodItem.getName(), foodItem.getDescription(),
+                        foodItem.getRestaurantId());
+                afterId = foodItem.getId();
+            }
+        } while (foodItems.size() == LOAD_BATCH_SIZE);
+
+        return loaded;
+    }
+
+    private void apply(Consumer<Catalog> change) {
+        TransactionCallbacks.afterCommit(() -> catalog.apply(change));
+    }
+
+    /**
+     * The indexes together with the display data of the documents they hold.
+     */
+    private static final class Catalog {
+        private final SearchIndex restaurants = new SearchIndex();
+        private final SearchIndex foodItems = new SearchIndex();
+        private final Map<Long, RestaurantEntry> restaurantEntries = new ConcurrentHashMap<>();
+        private final Map<Long, FoodItemEntry> foodItemEntries = new ConcurrentHashMap<>();
+
+        private void putRestaurant(long id, String name, String description, boolean open) {
+            restaurantEntries.put(id, new RestaurantEntry(name, open));
+            restaurants.put(id, SearchIndex.field(name, NAME_WEIGHT), SearchIndex.field(description, DESCRIPTION_WEIGHT));
+        }
+
+        private void putFoodItem(long id, String name, String description, long restaurantId) {
+            foodItemEntries.put(id, new FoodItemEntry(name, restaurantId));
+            foodItems.put(id, SearchIndex.field(name, NAME_WEIGHT), SearchIndex.field(description, DESCRIPTION_WEIGHT));
+        }
+
+        private void removeFoodItem(long id) {
+            foodItems.remove(id);
+            foodItemEntries.remove(id);
+        }
+    }
+
+    @AllArgsConstructor
+    private static final class RestaurantEntry {
+        private final String name;
+        private final boolean open;
+    }
+
+    @AllArgsConstructor
+    private static final class FoodItemEntry {
+        private final String name;
+        private final long restaurantId;
+    }
+}
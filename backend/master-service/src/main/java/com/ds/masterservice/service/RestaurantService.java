@@ -4,14 +4,22 @@ import com.ds.commons.exception.CustomException;
 import com.ds.commons.template.ApiResponse;
 import com.ds.masterservice.dto.request.food.FoodItemRequest;
 import com.ds.masterservice.dto.request.menu.MenuCategoryCreateRequest;
+import com.ds.masterservice.dto.request.restaurant.OrderBoardRequest;
 import com.ds.masterservice.dto.request.restaurant.RestaurantCreateUpdateRequest;
+import com.ds.masterservice.dto.request.restaurant.RestaurantListRequest;
 import com.ds.masterservice.dto.response.food.FoodItemResponse;
+import com.ds.masterservice.dto.response.food.MenuImportResponse;
 import com.ds.masterservice.dto.response.menu.MenuCategoryResponse;
 import com.ds.masterservice.dto.response.restaurant.OrderReqResponse;
 import com.ds.masterservice.dto.response.restaurant.RestaurantAdminResponse;
 import com.ds.masterservice.dto.response.restaurant.RestaurantInitResponse;
+import com.ds.masterservice.dto.response.restaurant.RestaurantPageResponse;
+import com.ds.masterservice.dto.response.restaurant.RestaurantSearchResultResponse;
 import com.ds.masterservice.dto.response.restaurant.RestaurantResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 
 public interface RestaurantService {
@@ -30,6 +38,10 @@ public interface RestaurantService {
 
     ApiResponse<List<RestaurantInitResponse>> getAllRestaurants() throws CustomException;
 
+    ApiResponse<RestaurantPageResponse> listRestaurants(RestaurantListRequest request) throws CustomException;
+
+    ApiResponse<List<RestaurantSearchResultResponse>> searchRestaurants(String query, int limit) throws CustomException;
+
     ApiResponse<RestaurantAdminResponse> getAdminRestaurantData(Integer restaurantId) throws CustomException;
 
     ApiResponse<FoodItemResponse> updateFoodItem(Long restaurantId, Long foodItemId, FoodItemRequest request) throws CustomException;
@@ -40,5 +52,11 @@ public interface RestaurantService {
 
     ApiResponse<Void> deleteMenuCategory(Long restaurantId, Long menuCategoryId) throws CustomException;
 
-    ApiResponse<List<OrderReqResponse>> getOrdersByRestaurantId(Long restaurantId) throws CustomException;
+    ApiResponse<List<OrderReqResponse>> getOrdersByRestaurantId(Long restaurantId, OrderBoardRequest request) throws CustomException;
+
+    SseEmitter subscribeOrderBoard(Long restaurantId, Long lastEventId) throws CustomException;
+
+    ApiResponse<MenuImportResponse> importMenu(Long restaurantId, InputStream body, String contentType) throws CustomException;
+
+    StreamingResponseBody exportMenu(Long restaurantId, String format) throws CustomException;
  }
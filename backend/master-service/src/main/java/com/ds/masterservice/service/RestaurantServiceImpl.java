@@ -4,60 +4,104 @@ import com.ds.commons.enums.DayOfWeek;
 import com.ds.commons.exception.CustomException;
 import com.ds.commons.exception.ExceptionCode;
 import com.ds.commons.template.ApiResponse;
-import com.ds.masterservice.dao.authService.User;
-import com.ds.masterservice.dao.orderService.Order;
-import com.ds.masterservice.dao.orderService.OrderItem;
+import com.ds.masterservice.dao.orderService.OrderStatus;
 import com.ds.masterservice.dao.restaurantService.FoodItem;
 import com.ds.masterservice.dao.restaurantService.MenuCategory;
 import com.ds.masterservice.dao.restaurantService.Restaurant;
 import com.ds.masterservice.dao.restaurantService.RestaurantManager;
 import com.ds.masterservice.dto.request.food.FoodItemRequest;
 import com.ds.masterservice.dto.request.menu.MenuCategoryCreateRequest;
+import com.ds.masterservice.dto.request.restaurant.OrderBoardRequest;
 import com.ds.masterservice.dto.request.restaurant.RestaurantCreateUpdateRequest;
-import com.ds.masterservice.dto.response.OrderItemResponse;
+import com.ds.masterservice.dto.request.restaurant.RestaurantListRequest;
 import com.ds.masterservice.dto.response.food.FoodItemInitResponse;
 import com.ds.masterservice.dto.response.food.FoodItemResponse;
+import com.ds.masterservice.dto.response.food.MenuImportResponse;
 import com.ds.masterservice.dto.response.menu.MenuCategoryInitResponse;
 import com.ds.masterservice.dto.response.menu.MenuCategoryResponse;
 import com.ds.masterservice.dto.response.restaurant.OrderReqResponse;
 import com.ds.masterservice.dto.response.restaurant.RestaurantAdminResponse;
 import com.ds.masterservice.dto.response.restaurant.RestaurantInitResponse;
+import com.ds.masterservice.dto.response.restaurant.RestaurantListItemResponse;
+import com.ds.masterservice.dto.response.restaurant.RestaurantPageResponse;
+import com.ds.masterservice.dto.response.restaurant.RestaurantSearchResultResponse;
 import com.ds.masterservice.dto.response.restaurant.RestaurantResponse;
 import com.ds.masterservice.repository.FoodItemRepository;
 import com.ds.masterservice.repository.MenuCategoryRepository;
 import com.ds.masterservice.repository.RestaurantRepository;
-import com.ds.masterservice.repository.UserRepository;
-import com.ds.masterservice.repository.orderService.OrderItemRepository;
 import com.ds.masterservice.repository.orderService.OrderRepository;
+import com.ds.masterservice.service.deliveryService.AddressGeocodingService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class RestaurantServiceImpl implements RestaurantService {
 
+    private static final int MAX_LISTING_PAGE = 100;
+    private static final int MAX_SEARCH_RESULTS = 50;
+    private static final int MAX_ORDER_BOARD_PAGE = 200;
+    private static final Set<String> LISTING_FIELDS = Set.of(
+            "restaurantId", "name", "description", "logoUrl", "isOpen", "openingHour", "closingHour", "daysOpen", "opensAt");
 
     private final UserService userService;
     private final RestaurantRepository restaurantRepository;
     private final MenuCategoryRepository menuCategoryRepository;
     private final FoodItemRepository foodItemRepository;
     private final OrderRepository orderRepository;
-    private final UserRepository userRepository;
-    private final OrderItemRepository orderItemRepository;
+    private final OrderBoardAssembler orderBoardAssembler;
+    private final AddressGeocodingService addressGeocodingService;
+    private final RestaurantResponseCache restaurantResponseCache;
+    private final MenuTransferService menuTransferService;
+
+    // Full-text search; only present where restaurant.search.enabled is set
+    @Autowired(required = false)
+    private Optional<RestaurantSearchService> restaurantSearchService;
+
+    // Compiled opening hours; only present where restaurant.schedule.enabled is set
+    @Autowired(required = false)
+    private Optional<RestaurantScheduleService> restaurantScheduleService;
+
+    // Live order board; only present where restaurant.order-board.stream.enabled is set
+    @Autowired(required = false)
+    private Optional<OrderBoardStream> orderBoardStream;
+
+    // How far back the order board goes when requested without a limit, time window or cursor
+    @Value("${restaurant.order-board.default-window:P1D}")
+    private Duration orderBoardDefaultWindow;
 
     @Autowired
-    public RestaurantServiceImpl(UserService userService, RestaurantRepository restaurantRepository, MenuCategoryRepository menuCategoryRepository, FoodItemRepository foodItemRepository, OrderRepository orderRepository, UserRepository userRepository, OrderItemRepository orderItemRepository) {
+    public RestaurantServiceImpl(UserService userService, RestaurantRepository restaurantRepository, MenuCategoryRepository menuCategoryRepository, FoodItemRepository foodItemRepository, OrderRepository orderRepository, OrderBoardAssembler orderBoardAssembler, AddressGeocodingService addressGeocodingService, RestaurantResponseCache restaurantResponseCache, MenuTransferService menuTransferService) {
         this.userService = userService;
         this.restaurantRepository = restaurantRepository;
         this.menuCategoryRepository = menuCategoryRepository;
         this.foodItemRepository = foodItemRepository;
         this.orderRepository = orderRepository;
-        this.userRepository = userRepository;
-        this.orderItemRepository = orderItemRepository;
+        this.orderBoardAssembler = orderBoardAssembler;
+        this.addressGeocodingService = addressGeocodingService;
+        this.restaurantResponseCache = restaurantResponseCache;
+        this.menuTransferService = menuTransferService;
     }
 
 
@@ -65,40 +109,10 @@ public class RestaurantServiceImpl implements RestaurantService {
     public ApiResponse<RestaurantResponse> getRestaurant(Long restaurantId) throws CustomException {
 
         try {
-            Restaurant restaurant = restaurantRepository.findById(restaurantId)
-                    .orElseThrow(() -> new CustomException(ExceptionCode.RESTAURANT_NOT_FOUND));
-
-            RestaurantResponse response = new RestaurantResponse();
-
-            response.setRestaurantId(restaurant.getId());
-            response.setName(restaurant.getName());
-            response.setDescription(restaurant.getDescription());
-            response.setAddress(restaurant.getAddress());
-            response.setPhone(restaurant.getPhone());
-            response.setEmail(restaurant.getEmail());
-            response.setLogoUrl(restaurant.getLogoUrl());
-            response.setOpeningHour(restaurant.getOpeningHour());
-            response.setClosingHour(restaurant.getClosingHour());
-            response.setDaysOpen(restaurant.getDaysOpen().stream()
-                    .map(DayOfWeek::name)
-                    .toList());
-            response.setIsOpen(restaurant.getIsOpen());
-
-
-            List<FoodItemInitResponse> foodItemResponses =  restaurant.getMenuCategories().stream()
-                    .flatMap(category -> category.getFoodItems().stream())
-                    .filter(foodItem -> !foodItem.getIsDisabled())
-                    .map(FoodItemInitResponse::new)
-                    .toList();
-
-            response.setFoodItems(foodItemResponses);
-
-            List<MenuCategoryInitResponse> menuCategories = restaurant.getMenuCategories().stream()
-                    .filter(category -> !category.getIsDisabled())
-                    .map(MenuCategoryInitResponse::new)
-                    .toList();
-
-            response.setMenuCategories(menuCategories);
+            RestaurantResponse response = restaurantResponseCache.get(restaurantId, this::loadRestaurantResponse);
+            if (response == null) {
+                throw new CustomException(ExceptionCode.RESTAURANT_NOT_FOUND);
+            }
             return ApiResponse.successResponse("Restaurant fetched successfully", response);
         } catch (Exception e) {
             if (e instanceof CustomException) {
@@ -145,6 +159,10 @@ public class RestaurantServiceImpl implements RestaurantService {
                     .build();
 
             restaurant = restaurantRepository.save(restaurant);
+            addressGeocodingService.geocodeRestaurantAsync(restaurant);
+            Restaurant created = restaurant;
+            restaurantSearchService.ifPresent(search -> search.indexRestaurant(created));
+            restaurantScheduleService.ifPresent(schedule -> schedule.put(created));
 
             RestaurantInitResponse response = new RestaurantInitResponse(restaurant);
             return ApiResponse.createdSuccessResponse(" Restaurant created successfully", response);
@@ -181,6 +199,9 @@ public class RestaurantServiceImpl implements RestaurantService {
                   if (category.getIsDisabled()) {
                       category.setIsDisabled(false);
                       menuCategoryRepository.save(category);
+                      restaurantResponseCache.invalidate(restaurantId);
+                      restaurantSearchService.ifPresent(search ->
+                              foodItemRepository.findByCategoryId(category.getId()).forEach(search::indexFoodItem));
                         log.info("Menu category with name {} is reactivated", request.getName());
                         MenuCategoryResponse menuCategoryResponse = new MenuCategoryResponse();
                         menuCategoryResponse.setCategoryId(category.getId());
@@ -202,6 +223,7 @@ public class RestaurantServiceImpl implements RestaurantService {
 
             restaurant.getMenuCategories().add(menuCategory);
             restaurantRepository.save(restaurant);
+            restaurantResponseCache.invalidate(restaurantId);
 
             // Create the response object
             MenuCategoryResponse menuCategoryResponse = new MenuCategoryResponse();
@@ -258,6 +280,8 @@ public class RestaurantServiceImpl implements RestaurantService {
                     .build();
 
             FoodItem item = foodItemRepository.save(foodItem);
+            restaurantResponseCache.invalidate(restaurantId);
+            restaurantSearchService.ifPresent(search -> search.indexFoodItem(item));
 
             // Create the response object
             FoodItemResponse foodItemResponse = new FoodItemResponse(item);
@@ -278,13 +302,12 @@ public class RestaurantServiceImpl implements RestaurantService {
     public ApiResponse<List<MenuCategoryResponse>> getMenuCategories(Long restaurantId) throws CustomException {
 
         try {
-            Restaurant restaurant = restaurantRepository.findById(restaurantId)
-                    .orElseThrow(() -> new CustomException(ExceptionCode.RESTAURANT_NOT_FOUND));
+            List<MenuCategoryResponse> menuCategories = menuCategoryRepository.findEnabledByRestaurantId(restaurantId);
 
-        List<MenuCategoryResponse> menuCategories = restaurant.getMenuCategories().stream()
-            .filter(category -> !category.getIsDisabled())
-            .map(MenuCategoryResponse::new)
-            .toList();
+            // Only look the restaurant up when there is nothing to return, to tell an empty menu from a missing restaurant
+            if (menuCategories.isEmpty() && !restaurantRepository.existsById(restaurantId)) {
+                throw new CustomException(ExceptionCode.RESTAURANT_NOT_FOUND);
+            }
 
             return ApiResponse.successResponse("Menu categories fetched successfully", menuCategories);
         } catch (Exception e) {
@@ -301,18 +324,11 @@ public class RestaurantServiceImpl implements RestaurantService {
     public ApiResponse<List<FoodItemResponse>> getFoodItems(Long restaurantId) throws CustomException {
 
         try {
-            Restaurant restaurant = restaurantRepository.findById(restaurantId)
-                    .orElseThrow(() -> new CustomException(ExceptionCode.RESTAURANT_NOT_FOUND));
+            List<FoodItemResponse> foodItemResponses = foodItemRepository.findMenuItemsByRestaurantId(restaurantId);
 
-           List<FoodItem> foodItems = restaurant.getMenuCategories().stream()
-             .filter(category -> !category.getIsDisabled())
-             .flatMap(category -> category.getFoodItems().stream())
-             .filter(foodItem -> !foodItem.getIsDisabled())
-             .toList();
-
-           List<FoodItemResponse> foodItemResponses = foodItems.stream()
-                   .map(FoodItemResponse::new)
-                   .toList();
+            if (foodItemResponses.isEmpty() && !restaurantRepository.existsById(restaurantId)) {
+                throw new CustomException(ExceptionCode.RESTAURANT_NOT_FOUND);
+            }
 
             return ApiResponse.successResponse("Food items fetched successfully", foodItemResponses);
         } catch (Exception e) {
@@ -341,6 +357,134 @@ public class RestaurantServiceImpl implements RestaurantService {
         }
     }
 
+    /**
+     * Returns one page of restaurants ordered by name, then id.
+     * Each page is a single keyset query; {@code daysOpen} is only loaded, in one batch, when it is selected,
+     * and {@code opensAt} comes from the in-memory schedules.
+     */
+    @Override
+    public ApiResponse<RestaurantPageResponse> listRestaurants(RestaurantListRequest request) throws CustomException {
+        try {
+            Set<String> fields = request.getFields() == null || request.getFields().isEmpty()
+                    ? LISTING_FIELDS : request.getFields();
+            if (!LISTING_FIELDS.containsAll(fields)) {
+                throw new CustomException(ExceptionCode.INVALID_FIELD_SELECTION);
+            }
+
+            int pageSize = Math.max(1, Math.min(request.getLimit(), MAX_LISTING_PAGE));
+            RestaurantListItemResponse after = parseListingCursor(request.getCursor());
+            String namePrefix = request.getNamePrefix() == null || request.getNamePrefix().isBlank()
+                    ? null : escapeLike(request.getNamePrefix().trim()) + "%";
+
+            // One extra row tells whether there is a next page
+            List<RestaurantListItemResponse> rows = restaurantRepository.findListingPage(
+                    Boolean.TRUE.equals(request.getOpenNow()) ? Boolean.TRUE : null,
+                    request.getDay(),
+                    namePrefix,
+                    after != null ? after.getName() : null,
+                    after != null ? after.getRestaurantId() : null,
+                    PageRequest.ofSize(pageSize + 1));
+
+            boolean hasMore = rows.size() > pageSize;
+            List<RestaurantListItemResponse> page = hasMore ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+            String nextCursor = hasMore ? listingCursor(page.getLast()) : null;
+
+            if (fields.contains("daysOpen") && !page.isEmpty()) {
+                Map<Long, List<String>> daysOpen = restaurantRepository
+                        .findDaysOpenByIdIn(page.stream().map(RestaurantListItemResponse::getRestaurantId).toList())
+                        .stream()
+                        .sorted(Comparator.comparing(RestaurantRepository.DaysOpenProjection::getDay))
+                        .collect(Collectors.groupingBy(RestaurantRepository.DaysOpenProjection::getRestaurantId,
+                                Collectors.mapping(row -> row.getDay().name(), Collectors.toList())));
+                page.forEach(row -> row.setDaysOpen(daysOpen.getOrDefault(row.getRestaurantId(), List.of())));
+            }
+            if (fields.contains("opensAt")) {
+                restaurantScheduleService.ifPresent(schedule -> page.stream()
+                        .filter(row -> !Boolean.TRUE.equals(row.getIsOpen()))
+                        .forEach(row -> row.setOpensAt(schedule.opensNextAt(row.getRestaurantId()))));
+            }
+            page.forEach(row -> retainFields(row, fields));
+
+            return ApiResponse.successResponse("Restaurants fetched successfully", new RestaurantPageResponse(page, nextCursor));
+        } catch (Exception e) {
+            if (e instanceof CustomException) {
+                throw (CustomException) e;
+            } else {
+                log.error("An error occurred while listing restaurants: {}", e.getMessage());
+                throw new CustomException(ExceptionCode.INTERNAL_SERVER_ERROR);
+            }
+        }
+    }
+
+    @Override
+    public ApiResponse<List<RestaurantSearchResultResponse>> searchRestaurants(String query, int limit) throws CustomException {
+        try {
+            RestaurantSearchService search = restaurantSearchService
+                    .filter(RestaurantSearchService::isReady)
+                    .orElseThrow(() -> new CustomException(ExceptionCode.SEARCH_UNAVAILABLE));
+
+            if (query == null || query.isBlank()) {
+                return ApiResponse.successResponse("Search results fetched successfully", List.of());
+            }
+            int resultLimit = Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+            return ApiResponse.successResponse("Search results fetched successfully", search.search(query, resultLimit));
+        } catch (Exception e) {
+            if (e instanceof CustomException) {
+                throw (CustomException) e;
+            } else {
+                log.error("An error occurred while searching restaurants: {}", e.getMessage());
+                throw new CustomException(ExceptionCode.INTERNAL_SERVER_ERROR);
+            }
+        }
+    }
+
+    /**
+     * Encodes the keyset position of a listing row as an opaque URL-safe cursor.
+     */
+    private String listingCursor(RestaurantListItemResponse row) {
+        String position = row.getRestaurantId() + ":" + row.getName();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a listing cursor into the id and name of the last restaurant returned.
+     */
+    private RestaurantListItemResponse parseListingCursor(String cursor) throws CustomException {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException(cursor);
+            }
+            RestaurantListItemResponse after = new RestaurantListItemResponse();
+            after.setRestaurantId(Long.parseLong(position.substring(0, separator)));
+            after.setName(position.substring(separator + 1));
+            return after;
+        } catch (IllegalArgumentException e) {
+            throw new CustomException(ExceptionCode.INVALID_CURSOR);
+        }
+    }
+
+    // Escapes LIKE wildcards so a name prefix is matched literally
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    private static void retainFields(RestaurantListItemResponse row, Set<String> fields) {
+        if (!fields.contains("restaurantId")) row.setRestaurantId(null);
+        if (!fields.contains("name")) row.setName(null);
+        if (!fields.contains("description")) row.setDescription(null);
+        if (!fields.contains("logoUrl")) row.setLogoUrl(null);
+        if (!fields.contains("isOpen")) row.setIsOpen(null);
+        if (!fields.contains("openingHour")) row.setOpeningHour(null);
+        if (!fields.contains("closingHour")) row.setClosingHour(null);
+        if (!fields.contains("daysOpen")) row.setDaysOpen(null);
+        if (!fields.contains("opensAt")) row.setOpensAt(null);
+    }
+
     @Override
     public ApiResponse<RestaurantAdminResponse> getAdminRestaurantData(Integer adminId) throws CustomException {
        try{
@@ -372,16 +516,14 @@ public class RestaurantServiceImpl implements RestaurantService {
                                 .map(DayOfWeek::name)
                                 .toList() : List.of())
                         .isOpen(restaurant != null && restaurant.getIsOpen())
-                      .foodItems(restaurant != null ? restaurant.getMenuCategories().stream()
-                               .filter(category -> !category.getIsDisabled())
-                               .flatMap(category -> category.getFoodItems().stream())
-                               .filter(foodItem -> !foodItem.getIsDisabled())
-                               .map(FoodItemResponse::new)
-                               .toList() : List.of())
-                      .menuCategories(restaurant != null ? restaurant.getMenuCategories().stream()
-                              .filter(category -> !category.getIsDisabled())
-                              .map(MenuCategoryInitResponse::new)
-                              .toList() : List.of())
+                      .foodItems(restaurant != null
+                              ? foodItemRepository.findMenuItemsByRestaurantId(restaurant.getId())
+                              : List.of())
+                      .menuCategories(restaurant != null
+                              ? menuCategoryRepository.findEnabledByRestaurantId(restaurant.getId()).stream()
+                                      .map(category -> new MenuCategoryInitResponse(category.getCategoryId(), category.getName()))
+                                      .toList()
+                              : List.of())
                          .build();
 
 
@@ -442,6 +584,9 @@ public class RestaurantServiceImpl implements RestaurantService {
             }
 
             foodItem = foodItemRepository.save(foodItem);
+            restaurantResponseCache.invalidate(foodItem.getRestaurant().getId());
+            FoodItem updated = foodItem;
+            restaurantSearchService.ifPresent(search -> search.indexFoodItem(updated));
 
             FoodItemResponse foodItemResponse = new FoodItemResponse(foodItem);
 
@@ -470,6 +615,8 @@ public class RestaurantServiceImpl implements RestaurantService {
 
             foodItem.setIsDisabled(true);
             foodItemRepository.save(foodItem);
+            restaurantResponseCache.invalidate(foodItem.getRestaurant().getId());
+            restaurantSearchService.ifPresent(search -> search.removeFoodItems(List.of(foodItemId)));
 
             return ApiResponse.successResponse("Food item deleted successfully", null);
         } catch (Exception e) {
@@ -503,6 +650,7 @@ public class RestaurantServiceImpl implements RestaurantService {
             menuCategory.setName(request.getName());
 
             menuCategory = menuCategoryRepository.save(menuCategory);
+            restaurantResponseCache.invalidate(menuCategory.getRestaurant().getId());
 
             MenuCategoryResponse menuCategoryResponse = new MenuCategoryResponse(menuCategory);
 
@@ -531,6 +679,9 @@ public class RestaurantServiceImpl implements RestaurantService {
 
             menuCategory.setIsDisabled(true);
             menuCategoryRepository.save(menuCategory);
+            restaurantResponseCache.invalidate(menuCategory.getRestaurant().getId());
+            restaurantSearchService.ifPresent(search -> search.removeFoodItems(
+                    foodItemRepository.findByCategoryId(menuCategoryId).stream().map(FoodItem::getId).toList()));
 
             return ApiResponse.successResponse("Menu category deleted successfully", null);
         } catch (Exception e) {
@@ -543,55 +694,38 @@ public class RestaurantServiceImpl implements RestaurantService {
         }
     }
 
+    /**
+     * Returns one page of the restaurant's order board, newest first. Without a limit the page is the largest one
+     * allowed, and without a limit, time window or cursor only orders from the default window are included, so the
+     * board stays the same size as the restaurant's order history grows.
+     * Runs three queries regardless of page size: the orders, then their items and customers in {@link OrderBoardAssembler}.
+     */
     @Override
-    public ApiResponse<List<OrderReqResponse>> getOrdersByRestaurantId(Long restaurantId) throws CustomException {
+    public ApiResponse<List<OrderReqResponse>> getOrdersByRestaurantId(Long restaurantId, OrderBoardRequest request) throws CustomException {
 
         try {
-            if(!isRestaurantExistById(restaurantId)){
-                log.error("Restaurant with ID:  {} not found", restaurantId);
-                throw new CustomException(ExceptionCode.RESTAURANT_NOT_FOUND);
+            Pageable page = PageRequest.ofSize(request.getLimit() == null
+                    ? MAX_ORDER_BOARD_PAGE : Math.max(1, Math.min(request.getLimit(), MAX_ORDER_BOARD_PAGE)));
+            LocalDateTime from = request.getFrom();
+            if (request.getLimit() == null && from == null && request.getTo() == null && request.getBeforeId() == null) {
+                from = LocalDateTime.now().minus(orderBoardDefaultWindow);
             }
+            Set<OrderStatus> statuses = request.getStatuses() == null || request.getStatuses().isEmpty()
+                    ? EnumSet.allOf(OrderStatus.class) : request.getStatuses();
 
-            List<OrderItem> orders = orderItemRepository.findByRestaurantId(restaurantId);
+            List<OrderRepository.OrderBoardProjection> orders = orderRepository.findOrderBoard(restaurantId, statuses,
+                    from, request.getTo(), request.getBeforeId(), page);
 
             if (orders.isEmpty()) {
+                if (!isRestaurantExistById(restaurantId)) {
+                    log.error("Restaurant with ID:  {} not found", restaurantId);
+                    throw new CustomException(ExceptionCode.RESTAURANT_NOT_FOUND);
+                }
                 log.info("No orders found for restaurant with ID {}", restaurantId);
                 return ApiResponse.successResponse("No orders found for the restaurant", List.of());
             }
 
-
-            List<OrderReqResponse> orderResponses = orders.stream()
-                    .map(orderItem -> {
-                        Order order = null;
-                        try {
-                            order = orderRepository.findById(orderItem.getOrderId())
-                                    .orElseThrow(() -> new CustomException(ExceptionCode.ORDER_NOT_FOUND));
-                        } catch (CustomException e) {
-                            throw new RuntimeException(e);
-                        }
-                        User customer;
-                        try {
-                            customer = userRepository.findById(Math.toIntExact(order.getUserId()))
-                                    .orElseThrow(() -> new CustomException(ExceptionCode.USER_NOT_FOUND));
-                        } catch (CustomException e) {
-                            throw new RuntimeException(e);
-                        }
-
-                        return OrderReqResponse.builder()
-                                .orderId(order.getId())
-                                .orderItems(order.getItems().stream()
-                                        .map(item -> new OrderItemResponse(item.getItemId(), item.getQuantity(), item.getUnitPrice(), item.getTotalPrice(), item.getItemName(), item.getItemImage()))
-                                        .toList())
-                                .orderStatus(order.getStatus().name())
-                                .paymentStatus(order.getPaymentStatus().name())
-                                .orderDate(order.getCreatedAt().toString())
-                                .deliveryAddress(order.getDeliveryAddress())
-                                .totalAmount(order.getTotalAmount())
-                                .customerName(customer.getFirstName() + " " + customer.getLastName())
-                                .customerPhone(customer.getPhone())
-                                .build();
-                    })
-                    .toList();
+            List<OrderReqResponse> orderResponses = orderBoardAssembler.assemble(orders);
 
             return ApiResponse.successResponse("Orders fetched successfully", orderResponses);
         } catch (Exception e) {
@@ -602,7 +736,117 @@ public class RestaurantServiceImpl implements RestaurantService {
                 throw new CustomException(ExceptionCode.INTERNAL_SERVER_ERROR);
             }
         }
+    }
+
+    /**
+     * Opens a stream of the restaurant's order board changes, resuming after {@code lastEventId} when given.
+     */
+    @Override
+    public SseEmitter subscribeOrderBoard(Long restaurantId, Long lastEventId) throws CustomException {
+        try {
+            OrderBoardStream stream = orderBoardStream
+                    .orElseThrow(() -> new CustomException(ExceptionCode.ORDER_BOARD_STREAM_UNAVAILABLE));
+
+            if (!isRestaurantExistById(restaurantId)) {
+                log.error("Restaurant with ID:  {} not found", restaurantId);
+                throw new CustomException(ExceptionCode.RESTAURANT_NOT_FOUND);
+            }
+            return stream.subscribe(restaurantId, lastEventId);
+        } catch (Exception e) {
+            if (e instanceof CustomException) {
+                throw (CustomException) e;
+            } else {
+                log.error("An error occurred while subscribing to the order board: {}", e.getMessage());
+                throw new CustomException(ExceptionCode.INTERNAL_SERVER_ERROR);
+            }
+        }
+
+    }
+
+    /**
+     * Imports a menu file, CSV unless {@code contentType} is JSON, creating missing categories and adding or
+     * updating items by name. Rows that cannot be imported are reported in the response.
+     */
+    @Override
+    public ApiResponse<MenuImportResponse> importMenu(Long restaurantId, InputStream body, String contentType) throws CustomException {
+        try {
+            if (!isRestaurantExistById(restaurantId)) {
+                log.error("Restaurant with ID:  {} not found", restaurantId);
+                throw new CustomException(ExceptionCode.RESTAURANT_NOT_FOUND);
+            }
+
+            boolean json = contentType != null && contentType.toLowerCase().contains("json");
+            MenuImportResponse response = menuTransferService.importMenu(restaurantId, body, json);
+
+            restaurantResponseCache.invalidate(restaurantId);
+            restaurantSearchService.ifPresent(search -> search.indexRestaurantMenu(restaurantId));
+
+            return ApiResponse.successResponse("Menu imported successfully", response);
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Failed to read the menu import file of restaurant {}: {}", restaurantId, e.getMessage());
+            throw new CustomException(ExceptionCode.INVALID_IMPORT_FILE);
+        } catch (Exception e) {
+            if (e instanceof CustomException) {
+                throw (CustomException) e;
+            } else {
+                log.error("An error occurred while importing the menu: {}", e.getMessage());
+                throw new CustomException(ExceptionCode.INTERNAL_SERVER_ERROR);
+            }
+        }
+    }
+
+    /**
+     * Streams the restaurant's menu as CSV, or as JSON when {@code format} is "json", in the import format.
+     */
+    @Override
+    public StreamingResponseBody exportMenu(Long restaurantId, String format) throws CustomException {
+        if (!isRestaurantExistById(restaurantId)) {
+            log.error("Restaurant with ID:  {} not found", restaurantId);
+            throw new CustomException(ExceptionCode.RESTAURANT_NOT_FOUND);
+        }
+        return menuTransferService.exportMenu(restaurantId, "json".equalsIgnoreCase(format));
+    }
+
+    // Assembles the restaurant with its enabled menu; runs on cache misses only. Returns null if there is no such restaurant.
+    private RestaurantResponse loadRestaurantResponse(Long restaurantId) {
+        Restaurant restaurant = restaurantRepository.findById(restaurantId).orElse(null);
+        if (restaurant == null) {
+            return null;
+        }
 
+        RestaurantResponse response = new RestaurantResponse();
+
+        response.setRestaurantId(restaurant.getId());
+        response.setName(restaurant.getName());
+        response.setDescription(restaurant.getDescription());
+        response.setAddress(restaurant.getAddress());
+        response.setLat(restaurant.getLat());
+        response.setLng(restaurant.getLng());
+        response.setPhone(restaurant.getPhone());
+        response.setEmail(restaurant.getEmail());
+        response.setLogoUrl(restaurant.getLogoUrl());
+        response.setOpeningHour(restaurant.getOpeningHour());
+        response.setClosingHour(restaurant.getClosingHour());
+        response.setDaysOpen(restaurant.getDaysOpen().stream()
+                .map(DayOfWeek::name)
+                .toList());
+        response.setIsOpen(restaurant.getIsOpen());
+
+        List<FoodItemInitResponse> foodItemResponses =  restaurant.getMenuCategories().stream()
+                .flatMap(category -> category.getFoodItems().stream())
+                .filter(foodItem -> !foodItem.getIsDisabled())
+                .map(FoodItemInitResponse::new)
+                .toList();
+
+        response.setFoodItems(foodItemResponses);
+
+        List<MenuCategoryInitResponse> menuCategories = restaurant.getMenuCategories().stream()
+                .filter(category -> !category.getIsDisabled())
+                .map(MenuCategoryInitResponse::new)
+                .toList();
+
+        response.setMenuCategories(menuCategories);
+        return response;
     }
 
     public boolean isRestaurantExists(String name) {
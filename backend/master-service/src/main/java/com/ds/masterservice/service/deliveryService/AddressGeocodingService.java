@@ -0,0 +1,239 @@
+package com.ds.masterservice.service.deliveryService;
+
+import com.ds.commons.exception.CustomException;
+import com.ds.commons.exception.ExceptionCode;
+import com.ds.commons.utils.GeocodingUtil;
+import com.ds.commons.utils.TransactionCallbacks;
+import com.ds.masterservice.dao.orderService.Order;
+import com.ds.masterservice.dao.restaurantService.Restaurant;
+import com.ds.masterservice.repository.RestaurantRepository;
+import com.ds.masterservice.repository.orderService.OrderRepository;
+import com.ds.masterservice.repository.orderService.OrderRepository.PendingGeocodeProjection;
+import com.ds.masterservice.service.RestaurantResponseCache;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Keeps the persisted coordinates on {@link Order} and {@link Restaurant} rows in sync with their addresses,
+ * so dispatch paths can read coordinates from the row instead of calling the geocoder.
+ * <p>
+ * Rows are geocoded off the request thread after the writing transaction commits, and a scheduled backfill
+ * walks any rows that still have no coordinates (existing data, failed lookups, changed addresses). The backfill
+ * only runs where {@code geocoding.backfill.enabled} is set, so one service does it rather than each one. A failed
+ * lookup is recorded on the row, and the backfill leaves the row alone until the retry delay has passed or the
+ * address changes.
+ */
+@Slf4j
+@Service
+public class AddressGeocodingService {
+
+    private final OrderRepository orderRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final RestaurantResponseCache restaurantResponseCache;
+
+    @Autowired(required = false)
+    private Optional<GeocodingUtil> geocodingUtil;
+
+    @Value("${geocoding.backfill.enabled:false}")
+    private boolean backfillEnabled;
+
+    @Value("${geocoding.backfill.chunk-size:200}")
+    private int backfillChunkSize;
+
+    // How long the backfill leaves a row alone after its address could not be geocoded
+    @Value("${geocoding.backfill.failure-retry-delay:P7D}")
+    private Duration failureRetryDelay;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "address-geocoding");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public AddressGeocodingService(OrderRepository orderRepository, RestaurantRepository restaurantRepository,
+                                   RestaurantResponseCache restaurantResponseCache) {
+        this.orderRepository = orderRepository;
+        this.restaurantRepository = restaurantRepository;
+        this.restaurantResponseCache = restaurantResponseCache;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void warnIfUnconfigured() {
+        if (geocodingUtil == null || geocodingUtil.isEmpty()) {
+            log.warn("geocoding.api.url is not set; order and restaurant addresses will not be geocoded");
+        }
+    }
+
+    /**
+     * Geocodes the order's delivery address in the background once the current transaction commits.
+     */
+    public void geocodeOrderAsync(Order order) {
+        Long orderId = order.getId();
+        String address = order.getDeliveryAddress();
+        afterCommit(() -> geocode(orderId, address, orderRepository::updateDeliveryCoordinates,
+                orderRepository::markDeliveryGeocodeFailed));
+    }
+
+    /**
+     * Geocodes the restaurant's address in the background once the current transaction commits.
+     */
+    public void geocodeRestaurantAsync(Restaurant restaurant) {
+        Long restaurantId = restaurant.getId();
+        String address = restaurant.getAddress();
+        afterCommit(() -> geocode(restaurantId, address, this::writeRestaurantCoordinates,
+                restaurantRepository::markGeocodeFailed));
+    }
+
+    /**
+     * Returns the stored delivery coordinates of an order, geocoding and persisting them if still missing.
+     *
+     * @return {@code [lat, lng]}
+     * @throws CustomException if geocoding is unavailable or the address cannot be resolved
+     */
+    public BigDecimal[] getOrderCoordinates(Order order) throws CustomException {
+        if (order.getDeliveryLat() != null && order.getDeliveryLng() != null) {
+            return new BigDecimal[]{order.getDeliveryLat(), order.getDeliveryLng()};
+        }
+
+        BigDecimal[] coordinates = resolve(order.getDeliveryAddress());
+        orderRepository.updateDeliveryCoordinates(order.getId(), order.getDeliveryAddress(), coordinates[0], coordinates[1]);
+        order.setDeliveryLat(coordinates[0]);
+        order.setDeliveryLng(coordinates[1]);
+        return coordinates;
+    }
+
+    /**
+     * Returns the stored coordinates if present, otherwise resolves the address without writing anything.
+     * For callers holding row locks or a loaded entity they must not change; persist through the async methods.
+     *
+     * @return {@code [lat, lng]}, or {@code null} if geocoding is unavailable or the address cannot be resolved
+     */
+    public BigDecimal[] findCoordinates(BigDecimal lat, BigDecimal lng, String address) {
+        if (lat != null && lng != null) {
+            return new BigDecimal[]{lat, lng};
+        }
+        try {
+            return resolve(address);
+        } catch (CustomException e) {
+            log.debug("Could not geocode address {}: {}", address, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Walks all orders and restaurants without coordinates in chunks and geocodes them.
+     * Does nothing unless the backfill is enabled and geocoding is configured in this service.
+     */
+    @Scheduled(initialDelayString = "${geocoding.backfill.initial-delay:PT1M}",
+            fixedDelayString = "${geocoding.backfill.interval:PT15M}")
+    public void backfillCoordinates() {
+        if (!backfillEnabled || geocodingUtil == null || geocodingUtil.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime failedBefore = LocalDateTime.now().minus(failureRetryDelay);
+        int orders = backfill(failedBefore, orderRepository::findPendingGeocode,
+                orderRepository::updateDeliveryCoordinates, orderRepository::markDeliveryGeocodeFailed);
+        int restaurants = backfill(failedBefore, restaurantRepository::findPendingGeocode,
+                this::writeRestaurantCoordinates, restaurantRepository::markGeocodeFailed);
+        if (orders > 0 || restaurants > 0) {
+            log.info("Geocoding backfill updated {} orders and {} restaurants", orders, restaurants);
+        }
+    }
+
+    private int backfill(LocalDateTime failedBefore, PendingFinder findPending, CoordinateWriter writer,
+                         FailureRecorder failures) {
+        int updated = 0;
+        long afterId = 0L;
+        List<PendingGeocodeProjection> chunk;
+        do {
+            chunk = findPending.find(failedBefore, afterId, PageRequest.of(0, backfillChunkSize));
+            for (PendingGeocodeProjection row : chunk) {
+                if (geocode(row.getId(), row.getAddress(), writer, failures)) {
+                    updated++;
+                }
+                afterId = row.getId();
+            }
+        } while (chunk.size() == backfillChunkSize);
+        return updated;
+    }
+
+    private boolean geocode(Long id, String address, CoordinateWriter writer, FailureRecorder failures) {
+        if (id == null || address == null || address.isBlank()) {
+            return false;
+        }
+        try {
+            BigDecimal[] coordinates = resolve(address);
+            return writer.write(id, address, coordinates[0], coordinates[1]) > 0;
+        } catch (CustomException e) {
+            log.debug("Could not geocode address for row {}: {}", id, e.getMessage());
+            try {
+                failures.record(id, address, LocalDateTime.now());
+            } catch (Exception recordError) {
+                log.warn("Failed to record the geocoding failure of row {}", id, recordError);
+            }
+            return false;
+        } catch (Exception e) {
+            log.warn("Failed to store coordinates for row {}", id, e);
+            return false;
+        }
+    }
+
+    // Restaurant coordinates are part of the cached restaurant response
+    private int writeRestaurantCoordinates(Long id, String address, BigDecimal lat, BigDecimal lng) {
+        int updated = restaurantRepository.updateCoordinates(id, address, lat, lng);
+        if (updated > 0) {
+            restaurantResponseCache.invalidate(id);
+        }
+        return updated;
+    }
+
+    private BigDecimal[] resolve(String address) throws CustomException {
+        return geocodingUtil
+                .orElseThrow(() -> new CustomException(ExceptionCode.GEOCODING_UNAVAILABLE))
+                .getCoordinates(address);
+    }
+
+    private void afterCommit(Runnable task) {
+        if (geocodingUtil == null || geocodingUtil.isEmpty()) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> executor.execute(task));
+    }
+
+    @FunctionalInterface
+    private interface CoordinateWriter {
+        int write(Long id, String address, BigDecimal lat, BigDecimal lng);
+    }
+
+    @FunctionalInterface
+    private interface FailureRecorder {
+        int record(Long id, String address, LocalDateTime now);
+    }
+
+    @FunctionalInterface
+    private interface PendingFinder {
+        List<PendingGeocodeProjection> find(LocalDateTime failedBefore, Long afterId, PageRequest page);
+    }
+}
@@ -0,0 +1,268 @@
+package com.ds.masterservice.service.deliveryService;
+
+import com.ds.commons.utils.AssignmentStrategy;
+import com.ds.commons.utils.AuctionAssignmentStrategy;
+import com.ds.commons.utils.GeoUtils;
+import com.ds.commons.utils.HungarianAssignmentStrategy;
+import com.ds.masterservice.dao.deliveryService.DeliveryPerson;
+import com.ds.masterservice.dao.orderService.OrderStatus;
+import com.ds.masterservice.repository.deliveryService.DeliveryDriverRepository;
+import com.ds.masterservice.repository.orderService.OrderRepository;
+import com.ds.masterservice.repository.orderService.OrderRepository.PickupLocationProjection;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Batched order-to-driver matching.
+ * <p>
+ * Instead of every nearby driver racing for every order, each dispatch window collects the open orders and the
+ * available drivers without a pending offer, and solves a min-cost assignment on the driver-to-restaurant
+ * distance. Each matched driver is offered exactly one order through a {@link DispatchOfferEvent}, and the order
+ * is reserved for that driver until the offer expires: other drivers neither see it nor can accept it. Orders whose
+ * offer expired or was {@linkplain #decline declined} go back into the next window, and a declined order is not
+ * offered to the same driver again until the decline expires.
+ * <p>
+ * Offers and declines are held in this instance's memory, so batch mode supports a single delivery-service
+ * instance; with several, each would run its own windows and offer the same orders to different drivers.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "delivery.dispatch.mode", havingValue = "batch")
+public class BatchDispatchService {
+
+    private static final String METRIC_PREFIX = "delivery.dispatch";
+
+    private final OrderRepository orderRepository;
+    private final DeliveryDriverRepository deliveryDriverRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AssignmentStrategy strategy;
+
+    // Write-behind buffer for driver positions; only present where delivery.location-buffer.enabled is set
+    @Autowired(required = false)
+    private Optional<DriverLocationBuffer> driverLocationBuffer;
+
+    // Pending offers by order id
+    private final Map<Long, Offer> offers = new ConcurrentHashMap<>();
+
+    // Drivers who declined each order, with when their decline expires
+    private final Map<Long, Map<Long, LocalDateTime>> declines = new ConcurrentHashMap<>();
+
+    @Value("${delivery.dispatch.time-budget:PT0.2S}")
+    private Duration timeBudget;
+
+    @Value("${delivery.dispatch.offer-ttl:PT20S}")
+    private Duration offerTtl;
+
+    @Value("${delivery.dispatch.max-pickup-km:10}")
+    private double maxPickupKm;
+
+    @Value("${delivery.dispatch.decline-ttl:PT5M}")
+    private Duration declineTtl;
+
+    private final Timer solveTimer;
+    private final DistributionSummary problemSize;
+    private final Counter offered;
+
+    @Autowired
+    public BatchDispatchService(OrderRepository orderRepository,
+                                DeliveryDriverRepository deliveryDriverRepository,
+                                ApplicationEventPublisher eventPublisher,
+                                ObjectProvider<MeterRegistry> meterRegistryProvider,
+                                @Value("${delivery.dispatch.strategy:auction}") String strategyName) {
+        this.orderRepository = orderRepository;
+        this.deliveryDriverRepository = deliveryDriverRepository;
+        this.eventPublisher = eventPublisher;
+        this.strategy = "hungarian".equalsIgnoreCase(strategyName)
+                ? new HungarianAssignmentStrategy()
+                : new AuctionAssignmentStrategy();
+
+        MeterRegistry registry = meterRegistryProvider.getIfAvailable(SimpleMeterRegistry::new);
+        solveTimer = Timer.builder(METRIC_PREFIX + ".solve.latency")
+                .description("Time spent solving one dispatch window's assignment")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        problemSize = DistributionSummary.builder(METRIC_PREFIX + ".problem.size")
+                .description("Drivers times orders per dispatch window")
+                .register(registry);
+        offered = Counter.builder(METRIC_PREFIX + ".offers")
+                .description("Orders offered to a driver")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".pending", offers, Map::size)
+                .description("Offers waiting for the driver's answer")
+                .register(registry);
+    }
+
+    /**
+     * Runs one dispatch window: matches unoffered open orders to free drivers and publishes the offers.
+     */
+    @Scheduled(fixedDelayString = "${delivery.dispatch.window:PT5S}")
+    public void dispatch() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            offers.values().removeIf(offer -> offer.expiresAt.isBefore(now));
+            declines.values().forEach(drivers -> drivers.values().removeIf(until -> until.isBefore(now)));
+            declines.values().removeIf(Map::isEmpty);
+
+            List<Pickup> pickups = loadPickups();
+            List<DeliveryPerson> drivers = loadDrivers();
+            if (pickups.isEmpty() || drivers.isEmpty()) {
+                return;
+            }
+
+            double[][] cost = buildCostMatrix(drivers, pickups);
+            problemSize.record((double) drivers.size() * pickups.size());
+            int[] assignment = solveTimer.record(() -> strategy.assign(cost, timeBudget.toNanos()));
+
+            LocalDateTime expiresAt = now.plus(offerTtl);
+            int count = 0;
+            for (int i = 0; i < assignment.length; i++) {
+                int j = assignment[i];
+                if (j < 0) {
+                    continue;
+                }
+                Long driverId = (long) drivers.get(i).getId();
+                Long orderId = pickups.get(j).orderId;
+                offers.put(orderId, new Offer(driverId, expiresAt));
+                eventPublisher.publishEvent(new DispatchOfferEvent(driverId, orderId, cost[i][j], expiresAt));
+                count++;
+            }
+            offered.increment(count);
+            log.debug("Dispatch window matched {} of {} orders to {} drivers", count, pickups.size(), drivers.size());
+        } catch (Exception e) {
+            log.warn("Dispatch window failed", e);
+        }
+    }
+
+    /**
+     * Whether the order is currently offered to a driver other than the given one.
+     */
+    public boolean isReservedForOther(Long orderId, Long driverId) {
+        Offer offer = offers.get(orderId);
+        return offer != null && !offer.driverId.equals(driverId) && offer.expiresAt.isAfter(LocalDateTime.now());
+    }
+
+    /**
+     * Whether the order is currently offered to any driver.
+     */
+    public boolean isReserved(Long orderId) {
+        Offer offer = offers.get(orderId);
+        return offer != null && offer.expiresAt.isAfter(LocalDateTime.now());
+    }
+
+    /**
+     * Declines the driver's offer on an order. The order goes back into the next window but is not offered to
+     * this driver again until the decline expires.
+     *
+     * @return false if the order is not currently offered to the driver
+     */
+    public boolean decline(Long orderId, Long driverId) {
+        Offer offer = offers.get(orderId);
+        if (offer == null || !offer.driverId.equals(driverId) || !offers.remove(orderId, offer)) {
+            return false;
+        }
+        declines.computeIfAbsent(orderId, id -> new ConcurrentHashMap<>())
+                .put(driverId, LocalDateTime.now().plus(declineTtl));
+        return true;
+    }
+
+    /**
+     * Releases the offer on an order after it was accepted.
+     */
+    public void release(Long orderId) {
+        offers.remove(orderId);
+        declines.remove(orderId);
+    }
+
+    // First restaurant of every open order that has no pending offer
+    private List<Pickup> loadPickups() {
+        Map<Long, Pickup> byOrder = new LinkedHashMap<>();
+        for (PickupLocationProjection row : orderRepository.findPickupLocationsByStatus(OrderStatus.RESTAURANT_ACCEPTED)) {
+            if (!offers.containsKey(row.getOrderId())) {
+                byOrder.putIfAbsent(row.getOrderId(),
+                        new Pickup(row.getOrderId(), row.getLat().doubleValue(), row.getLng().doubleValue()));
+            }
+        }
+        return new ArrayList<>(byOrder.values());
+    }
+
+    // Available drivers with a known location and no pending offer
+    private List<DeliveryPerson> loadDrivers() {
+        Set<Long> offeredDrivers = offers.values().stream().map(offer -> offer.driverId).collect(Collectors.toSet());
+        List<DeliveryPerson> drivers = new ArrayList<>();
+        for (DeliveryPerson driver : deliveryDriverRepository.findByIsAvailable(true)) {
+            driverLocationBuffer.ifPresent(buffer -> buffer.applyTo(driver));
+            if (driver.getCurrentLat() != null && driver.getCurrentLng() != null
+                    && !offeredDrivers.contains((long) driver.getId())) {
+                drivers.add(driver);
+            }
+        }
+        return drivers;
+    }
+
+    // Driver-by-order pickup distances; pairs beyond the pickup radius or declined by the driver are not allowed
+    private double[][] buildCostMatrix(List<DeliveryPerson> drivers, List<Pickup> pickups) {
+        int count = pickups.size();
+        double[] lats = new double[count];
+        double[] lngs = new double[count];
+        for (int j = 0; j < count; j++) {
+            lats[j] = pickups.get(j).lat;
+            lngs[j] = pickups.get(j).lng;
+        }
+
+        double[][] cost = new double[drivers.size()][count];
+        for (int i = 0; i < drivers.size(); i++) {
+            DeliveryPerson driver = drivers.get(i);
+            double[] row = cost[i];
+            GeoUtils.calculateDistances(driver.getCurrentLat().doubleValue(), driver.getCurrentLng().doubleValue(),
+                    lats, lngs, row, count);
+            for (int j = 0; j < count; j++) {
+                if (row[j] > maxPickupKm || isDeclined(pickups.get(j).orderId, (long) driver.getId())) {
+                    row[j] = AssignmentStrategy.NOT_ALLOWED;
+                }
+            }
+        }
+        return cost;
+    }
+
+    private boolean isDeclined(Long orderId, Long driverId) {
+        Map<Long, LocalDateTime> drivers = declines.get(orderId);
+        return drivers != null && drivers.containsKey(driverId);
+    }
+
+    @AllArgsConstructor
+    private static class Pickup {
+        private final Long orderId;
+        private final double lat;
+        private final double lng;
+    }
+
+    @AllArgsConstructor
+    private static class Offer {
+        private final Long driverId;
+        private final LocalDateTime expiresAt;
+    }
+}
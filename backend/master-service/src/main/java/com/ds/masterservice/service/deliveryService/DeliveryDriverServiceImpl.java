@@ -18,6 +18,7 @@ import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Implementation of the DeliveryDriverService interface for managing delivery driver operations.
@@ -28,6 +29,14 @@ public class DeliveryDriverServiceImpl implements DeliveryDriverService {
 
     private final DeliveryDriverRepository deliveryDriverRepository;
 
+    // Spatial index of available drivers; only present where delivery.driver-index.enabled is set
+    @Autowired(required = false)
+    private Optional<DriverLocationIndex> driverLocationIndex;
+
+    // Write-behind buffer for location pings; only present where delivery.location-buffer.enabled is set
+    @Autowired(required = false)
+    private Optional<DriverLocationBuffer> driverLocationBuffer;
+
     @Autowired
     public DeliveryDriverServiceImpl(DeliveryDriverRepository deliveryDriverRepository) {
         this.deliveryDriverRepository = deliveryDriverRepository;
@@ -118,6 +127,8 @@ public class DeliveryDriverServiceImpl implements DeliveryDriverService {
                 });
 
         deliveryDriverRepository.delete(driver);
+        driverLocationIndex.ifPresent(index -> index.remove(driverId));
+        driverLocationBuffer.ifPresent(buffer -> buffer.forget(driverId));
         log.info("Driver with ID {} deleted", driverId);
         return ApiResponse.successResponse("Driver deleted successfully", null);
     }
@@ -133,16 +144,29 @@ public class DeliveryDriverServiceImpl implements DeliveryDriverService {
      */
     @Override
     public ApiResponse<LocationUpdateResponse> updateLocation(Long driverId, BigDecimal lat, BigDecimal lng) throws CustomException {
-        log.info("Updating location for driver ID: {}", driverId);
-        DeliveryPerson driver = deliveryDriverRepository.findById(driverId)
-                .orElseThrow(() -> {
-                    log.warn("Driver with ID {} not found for location update", driverId);
-                    return new NotFoundException(ExceptionCode.DRIVER_NOT_FOUND);
-                });
-
-        driver.setCurrentLat(lat);
-        driver.setCurrentLng(lng);
-        deliveryDriverRepository.save(driver);
+        log.debug("Updating location for driver ID: {}", driverId);
+
+        if (driverLocationBuffer.isPresent()) {
+            // Only the first ping of a driver since startup checks that the driver exists
+            DriverLocationBuffer buffer = driverLocationBuffer.get();
+            if (!buffer.isKnown(driverId) && !deliveryDriverRepository.existsById(driverId)) {
+                log.warn("Driver with ID {} not found for location update", driverId);
+                throw new NotFoundException(ExceptionCode.DRIVER_NOT_FOUND);
+            }
+            buffer.record(driverId, lat, lng);
+            driverLocationIndex.ifPresent(index -> index.updateLocation(driverId, lat.doubleValue(), lng.doubleValue()));
+        } else {
+            DeliveryPerson driver = deliveryDriverRepository.findById(driverId)
+                    .orElseThrow(() -> {
+                        log.warn("Driver with ID {} not found for location update", driverId);
+                        return new NotFoundException(ExceptionCode.DRIVER_NOT_FOUND);
+                    });
+
+            driver.setCurrentLat(lat);
+            driver.setCurrentLng(lng);
+            deliveryDriverRepository.save(driver);
+            driverLocationIndex.ifPresent(index -> index.track(driver));
+        }
 
         LocationUpdateResponse response = new LocationUpdateResponse();
         response.setDriverID(driverId);
@@ -173,7 +197,9 @@ public class DeliveryDriverServiceImpl implements DeliveryDriverService {
                 });
 
         driver.setIsAvailable(isAvailable);
+        driverLocationBuffer.ifPresent(buffer -> buffer.applyTo(driver));
         deliveryDriverRepository.save(driver);
+        driverLocationIndex.ifPresent(index -> index.track(driver));
 
         log.debug("Driver {} availability set to {}", driverId, isAvailable);
         return ApiResponse.successResponse("Driver availability updated", null);
@@ -208,6 +234,7 @@ public class DeliveryDriverServiceImpl implements DeliveryDriverService {
      * @return DriverResponse DTO
      */
     private DriverResponse mapToDriverResponse(DeliveryPerson driver) {
+        driverLocationBuffer.ifPresent(buffer -> buffer.applyTo(driver));
         return DriverResponse.builder()
                 .driverID((long) driver.getId())
                 .firstName(driver.getFirstName())
@@ -26,10 +26,12 @@ public interface DeliveryService {
      * @param driverId unique identifier of the driver
      * @param lat      latitude of the driver's current location
      * @param lng      longitude of the driver's current location
-     * @return ApiResponse containing a list of nearby OrderResponse objects
+     * @param limit    maximum number of orders to return
+     * @param cursor   {@code distanceKm:orderId} of the last order on the previous page, or null for the first page
+     * @return ApiResponse containing nearby OrderResponse objects, nearest first
      * @throws CustomException if retrieval fails
      */
-    ApiResponse<List<OrderResponse>> getNearbyOrders(Long driverId, BigDecimal lat, BigDecimal lng) throws CustomException;
+    ApiResponse<List<OrderResponse>> getNearbyOrders(Long driverId, BigDecimal lat, BigDecimal lng, int limit, String cursor) throws CustomException;
 
     /**
      * Notify nearby available drivers about a new order.
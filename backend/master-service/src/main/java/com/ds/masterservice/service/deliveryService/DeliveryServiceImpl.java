@@ -7,8 +7,7 @@ import com.ds.commons.exception.NotFoundException;
 import com.ds.commons.exception.ExceptionCode;
 import com.ds.commons.template.ApiResponse;
 import com.ds.commons.utils.GeoUtils;
-import com.ds.commons.utils.GeocodingUtil;
-import com.ds.masterservice.dao.authService.Customer;
+import com.ds.commons.utils.SpatialGrid;
 import com.ds.masterservice.dao.deliveryService.Deliveries;
 import com.ds.masterservice.dao.deliveryService.DeliveryPerson;
 import com.ds.masterservice.dao.orderService.Order;
@@ -27,13 +26,17 @@ import com.ds.masterservice.repository.*;
 import com.ds.masterservice.repository.deliveryService.DeliveryDriverRepository;
 import com.ds.masterservice.repository.deliveryService.DeliveryRepository;
 import com.ds.masterservice.repository.orderService.OrderRepository;
+import com.ds.masterservice.repository.orderService.OrderRepository.PickupLocationProjection;
+import com.ds.masterservice.service.orderService.OrderLifecycle;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -47,16 +50,45 @@ public class DeliveryServiceImpl implements DeliveryService {
     private final RestaurantRepository restaurantRepository;
     private final UserRepository userRepository;
 
-    // Optional utilities (may not be available)
+    // Reads stored coordinates and only falls back to the geocoder for rows not yet geocoded
+    private final AddressGeocodingService addressGeocodingService;
+
+    // Suppresses repeated notifications for the same order, across instances when a shared store is configured
+    private final NotificationDeduplicator notificationDeduplicator;
+
+    // Feeds the live restaurant order boards
+    private final OrderLifecycle orderLifecycle;
+
+    // Spatial index of open orders; only present where delivery.order-index.enabled is set
+    @Autowired(required = false)
+    private Optional<OpenOrderIndex> openOrderIndex;
+
+    // Spatial index of available drivers; only present where delivery.driver-index.enabled is set
+    @Autowired(required = false)
+    private Optional<DriverLocationIndex> driverLocationIndex;
+
+    // Write-behind buffer for driver positions; only present where delivery.location-buffer.enabled is set
+    @Autowired(required = false)
+    private Optional<DriverLocationBuffer> driverLocationBuffer;
+
+    // Batched order-to-driver matching; only present where delivery.dispatch.mode=batch
     @Autowired(required = false)
-    private Optional<GeocodingUtil> geocodingUtil;
+    private Optional<BatchDispatchService> batchDispatchService;
 
-    // Track which orders have been notified to prevent duplicate notifications
-    private final Set<Long> notifiedOrderIds = new HashSet<>();
+    // Delivery time estimates; only present where delivery.eta.enabled is set
+    @Autowired(required = false)
+    private Optional<EtaService> etaService;
+
+    // Number of nearest drivers notified about a new order
+    @Value("${delivery.notify.max-drivers:10}")
+    private int maxNotifiedDrivers;
 
     // Maximum delivery radius in kilometers
     private static final double DELIVERY_RADIUS_KM = 55.0;
 
+    // Upper bound on the page size of nearby-order queries
+    private static final int MAX_NEARBY_ORDERS = 200;
+
     /**
      * Constructor for dependency injection.
      *
@@ -65,76 +97,110 @@ public class DeliveryServiceImpl implements DeliveryService {
      * @param orderRepository repository for order operations
      * @param restaurantRepository repository for restaurant operations
      * @param userRepository repository for user operations
+     * @param addressGeocodingService resolver for stored order and restaurant coordinates
+     * @param notificationDeduplicator guard against notifying drivers about an order twice
      */
     @Autowired
     public DeliveryServiceImpl(DeliveryRepository deliveryRepository,
                                DeliveryDriverRepository deliveryDriverRepository,
                                OrderRepository orderRepository,
                                RestaurantRepository restaurantRepository,
-                               UserRepository userRepository) {
+                               UserRepository userRepository,
+                               AddressGeocodingService addressGeocodingService,
+                               NotificationDeduplicator notificationDeduplicator,
+                               OrderLifecycle orderLifecycle) {
         this.deliveryRepository = deliveryRepository;
         this.deliveryDriverRepository = deliveryDriverRepository;
         this.orderRepository = orderRepository;
         this.restaurantRepository = restaurantRepository;
         this.userRepository = userRepository;
+        this.addressGeocodingService = addressGeocodingService;
+        this.notificationDeduplicator = notificationDeduplicator;
+        this.orderLifecycle = orderLifecycle;
     }
 
     /**
-     * Retrieves nearby orders for a driver based on their current location.
+     * Retrieves nearby orders for a driver based on their current location, nearest first.
+     * Uses the in-memory open order index when it is available and falls back to scanning open orders otherwise.
      *
      * @param driverId ID of the driver
      * @param lat current latitude of the driver
      * @param lng current longitude of the driver
+     * @param limit maximum number of orders to return
+     * @param cursor {@code distanceKm:orderId} of the last order on the previous page, or null
      * @return ApiResponse containing list of nearby orders
-     * @throws CustomException if driver not found or geocoding fails
+     * @throws CustomException if driver not found or the cursor is malformed
      */
     @Override
-    public ApiResponse<List<OrderResponse>> getNearbyOrders(Long driverId, BigDecimal lat, BigDecimal lng) throws CustomException {
+    public ApiResponse<List<OrderResponse>> getNearbyOrders(Long driverId, BigDecimal lat, BigDecimal lng,
+                                                            int limit, String cursor) throws CustomException {
         try {
             log.debug("Fetching nearby orders for driverId: {}", driverId);
 
+            int pageSize = Math.max(1, Math.min(limit, MAX_NEARBY_ORDERS));
+            SpatialGrid.Hit after = parseCursor(cursor);
+
             // Find driver and update their current location
             DeliveryPerson driver = deliveryDriverRepository.findById(driverId)
                     .orElseThrow(() -> new CustomException(ExceptionCode.DRIVER_NOT_FOUND));
 
-            driver.setCurrentLat(lat);
-            driver.setCurrentLng(lng);
-            deliveryDriverRepository.save(driver);
+            if (driverLocationBuffer.isPresent()) {
+                driverLocationBuffer.get().record(driverId, lat, lng);
+                driverLocationIndex.ifPresent(index -> index.updateLocation(driverId, lat.doubleValue(), lng.doubleValue()));
+            } else {
+                driver.setCurrentLat(lat);
+                driver.setCurrentLng(lng);
+                deliveryDriverRepository.save(driver);
+                driverLocationIndex.ifPresent(index -> index.track(driver));
+            }
 
-            // Get all orders in RESTAURANT_ACCEPTED status
-            List<Order> orders = orderRepository.findByStatus(OrderStatus.RESTAURANT_ACCEPTED);
+            Optional<OpenOrderIndex> readyIndex = openOrderIndex.filter(OpenOrderIndex::isReady);
+            List<SpatialGrid.Hit> hits = readyIndex.isPresent()
+                    ? readyIndex.get().findNearby(lat.doubleValue(), lng.doubleValue(), DELIVERY_RADIUS_KM, after, pageSize)
+                    : scanNearbyOrders(lat.doubleValue(), lng.doubleValue(), after, pageSize);
+            log.debug("Found {} open orders within {} km", hits.size(), DELIVERY_RADIUS_KM);
+            if (hits.isEmpty()) {
+                return ApiResponse.successResponse("Nearby orders fetched", List.of());
+            }
 
-            List<OrderResponse> nearbyOrders = new ArrayList<>();
+            Map<Long, Order> ordersById = orderRepository.findAllWithItemsByIdIn(
+                            hits.stream().map(SpatialGrid.Hit::getId).collect(Collectors.toList()))
+                    .stream()
+                    .collect(Collectors.toMap(Order::getId, order -> order));
 
-            log.debug("Found {} orders in RESTAURANT_ACCEPTED status", orders.size());
-            for (Order order : orders) {
-                try {
-                    // Convert delivery address to coordinates
-                    BigDecimal[] coordinates = geocodingUtil
-                            .orElseThrow(() -> new CustomException(ExceptionCode.GEOCODING_UNAVAILABLE))
-                            .getCoordinates(order.getDeliveryAddress());
-                    log.debug("Order {} address {} converted to coordinates: {}, {}",
-                            order.getId(), order.getDeliveryAddress(), coordinates[0], coordinates[1]);
-
-                    // Calculate distance between driver and order
-                    double distance = GeoUtils.calculateDistance(
-                            lat,
-                            lng,
-                            coordinates[0],
-                            coordinates[1]
-                    );
-                    log.debug("Distance for order {}: {} km (radius: {} km)",
-                            order.getId(), distance, DELIVERY_RADIUS_KM);
-
-                    // Add to nearby orders if within radius
-                    if (distance <= DELIVERY_RADIUS_KM) {
-                        nearbyOrders.add(convertOrderToResponse(order));
-                    }
-                } catch (CustomException e) {
-                    log.warn("Geocoding failed for order ID {}: {}", order.getId(), e.getMessage());
+            // Pickup point of each order, from its first item's restaurant, for the driver's leg of the ETA
+            Map<Long, PickupLocationProjection> pickups = new HashMap<>();
+            if (etaService.isPresent()) {
+                for (PickupLocationProjection row : orderRepository.findPickupLocationsByIdIn(ordersById.keySet())) {
+                    pickups.putIfAbsent(row.getOrderId(), row);
                 }
             }
 
+            List<OrderResponse> nearbyOrders = new ArrayList<>();
+            for (SpatialGrid.Hit hit : hits) {
+                Order order = ordersById.get(hit.getId());
+                // The index can briefly lag behind orders taken or deleted elsewhere
+                if (order == null || order.getStatus() != OrderStatus.RESTAURANT_ACCEPTED) {
+                    openOrderIndex.ifPresent(index -> index.remove(hit.getId()));
+                    continue;
+                }
+                // In batch dispatch mode an order offered to another driver is hidden until the offer ends
+                if (batchDispatchService.map(service -> service.isReservedForOther(hit.getId(), driverId)).orElse(false)) {
+                    continue;
+                }
+                OrderResponse response = convertOrderToResponse(order);
+                response.setDistanceKm(hit.getDistanceKm());
+                PickupLocationProjection pickup = pickups.get(hit.getId());
+                // Without a pickup point the trip cannot be estimated; leave the ETA out rather than skip the restaurant
+                if (pickup != null) {
+                    etaService.ifPresent(eta -> response.setEtaMinutes(eta.estimateMinutes(
+                            lat.doubleValue(), lng.doubleValue(),
+                            pickup.getLat().doubleValue(), pickup.getLng().doubleValue(),
+                            hit.getLat(), hit.getLng(), LocalDateTime.now())));
+                }
+                nearbyOrders.add(response);
+            }
+
             return ApiResponse.successResponse("Nearby orders fetched", nearbyOrders);
         } catch (Exception e) {
             if (e instanceof CustomException) {
@@ -146,6 +212,55 @@ public class DeliveryServiceImpl implements DeliveryService {
         }
     }
 
+    /**
+     * Scans every open order for those within the delivery radius. Used until the open order index is ready.
+     */
+    private List<SpatialGrid.Hit> scanNearbyOrders(double lat, double lng, SpatialGrid.Hit after, int limit) {
+        List<Order> orders = orderRepository.findByStatus(OrderStatus.RESTAURANT_ACCEPTED);
+        Comparator<SpatialGrid.Hit> byDistance = Comparator
+                .comparingDouble(SpatialGrid.Hit::getDistanceKm)
+                .thenComparingLong(SpatialGrid.Hit::getId);
+
+        List<SpatialGrid.Hit> hits = new ArrayList<>();
+        for (Order order : orders) {
+            try {
+                // Stored delivery coordinates (geocoded only if the row has none yet)
+                BigDecimal[] coordinates = addressGeocodingService.getOrderCoordinates(order);
+                double orderLat = coordinates[0].doubleValue();
+                double orderLng = coordinates[1].doubleValue();
+                double distance = GeoUtils.calculateDistance(lat, lng, orderLat, orderLng);
+
+                SpatialGrid.Hit hit = new SpatialGrid.Hit(order.getId(), orderLat, orderLng, distance);
+                if (distance <= DELIVERY_RADIUS_KM && (after == null || byDistance.compare(hit, after) > 0)) {
+                    hits.add(hit);
+                }
+            } catch (CustomException e) {
+                log.warn("Geocoding failed for order ID {}: {}", order.getId(), e.getMessage());
+            }
+        }
+
+        hits.sort(byDistance);
+        return hits.size() > limit ? hits.subList(0, limit) : hits;
+    }
+
+    /**
+     * Parses a {@code distanceKm:orderId} cursor into the position of the last order returned.
+     */
+    private SpatialGrid.Hit parseCursor(String cursor) throws CustomException {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String[] parts = cursor.split(":");
+        try {
+            if (parts.length != 2) {
+                throw new NumberFormatException(cursor);
+            }
+            return new SpatialGrid.Hit(Long.parseLong(parts[1]), 0, 0, Double.parseDouble(parts[0]));
+        } catch (NumberFormatException e) {
+            throw new CustomException(ExceptionCode.INVALID_CURSOR);
+        }
+    }
+
     /**
      * Converts an Order entity to an OrderResponse DTO.
      *
@@ -208,51 +323,56 @@ public class DeliveryServiceImpl implements DeliveryService {
             var order = orderRepository.findById(orderId)
                     .orElseThrow(() -> new CustomException(ExceptionCode.ORDER_NOT_FOUND));
 
-            // Check if already notified
-            if (notifiedOrderIds.contains(orderId)) {
+            // Claim the notification first, so concurrent calls and other instances do not notify twice
+            if (!notificationDeduplicator.tryAcquire(orderId)) {
                 log.debug("Order ID {} already notified", orderId);
                 return ApiResponse.successResponse(List.of());
             }
 
-            // Get coordinates for order delivery address
-            BigDecimal[] orderCoords = geocodingUtil
-                    .orElseThrow(() -> new CustomException(ExceptionCode.GEOCODING_UNAVAILABLE))
-                    .getCoordinates(order.getDeliveryAddress());
-
-            // Find all available drivers
-            List<DeliveryPerson> drivers = deliveryDriverRepository.findByIsAvailable(true);
-            List<String> driverEmails = new ArrayList<>();
-            drivers.forEach(driver -> {
-                driverEmails.add(driver.getEmail());
-            });
-
-            int notifiedCount = 0;
-
-            // Notify drivers within radius
-            for (DeliveryPerson driver : drivers) {
-                if (driver.getCurrentLat() == null || driver.getCurrentLng() == null) continue;
-
-                double distance = GeoUtils.calculateDistance(
-                        orderCoords[0], orderCoords[1],
-                        driver.getCurrentLat(), driver.getCurrentLng()
-                );
+            boolean notified = false;
+            try {
+                // Get coordinates for order delivery address
+                BigDecimal[] orderCoords = addressGeocodingService.getOrderCoordinates(order);
+
+                // Only the nearest drivers are notified, looked up in the driver index when it is loaded
+                List<SpatialGrid.Hit> nearest = findNearestDrivers(
+                        orderCoords[0].doubleValue(), orderCoords[1].doubleValue(), maxNotifiedDrivers);
+                Map<Long, DeliveryPerson> driversById = deliveryDriverRepository.findAllById(
+                                nearest.stream().map(SpatialGrid.Hit::getId).collect(Collectors.toList()))
+                        .stream()
+                        .collect(Collectors.toMap(driver -> (long) driver.getId(), driver -> driver));
+
+                List<String> driverEmails = new ArrayList<>();
+                int notifiedCount = 0;
+
+                for (SpatialGrid.Hit hit : nearest) {
+                    DeliveryPerson driver = driversById.get(hit.getId());
+                    if (driver == null || !Boolean.TRUE.equals(driver.getIsAvailable())) {
+                        driverLocationIndex.ifPresent(index -> index.remove(hit.getId()));
+                        continue;
+                    }
 
-                if (distance <= DELIVERY_RADIUS_KM) {
                     String subject = "New Order Nearby!";
                     String fullName = driver.getFirstName() + " " + driver.getLastName();
                     String message = String.format("Hi %s, a new order is available within %.1f KM from your location. Order ID: %d",
-                            fullName, distance, order.getId());
+                            fullName, hit.getDistanceKm(), order.getId());
 
                     //sendEmailWithFallback(driver.getEmail(), subject, message);
+                    driverEmails.add(driver.getEmail());
                     notifiedCount++;
                 }
-            }
 
-            if (notifiedCount > 0) {
-                notifiedOrderIds.add(orderId); // Mark as notified
-                return ApiResponse.successResponse("Drivers notified successfully", driverEmails);
-            } else {
-                return ApiResponse.successResponse("No available drivers nearby to notify", driverEmails);
+                if (notifiedCount > 0) {
+                    notified = true;
+                    return ApiResponse.successResponse("Drivers notified successfully", driverEmails);
+                } else {
+                    return ApiResponse.successResponse("No available drivers nearby to notify", driverEmails);
+                }
+            } finally {
+                // Nobody was notified, so let a later call try again
+                if (!notified) {
+                    notificationDeduplicator.release(orderId);
+                }
             }
         } catch (Exception e) {
             if (e instanceof CustomException) {
@@ -264,92 +384,128 @@ public class DeliveryServiceImpl implements DeliveryService {
         }
     }
 
+    /**
+     * Finds the available drivers nearest to a point within the delivery radius, nearest first.
+     * Scans all available drivers until the driver index is loaded.
+     */
+    private List<SpatialGrid.Hit> findNearestDrivers(double lat, double lng, int k) {
+        Optional<DriverLocationIndex> readyIndex = driverLocationIndex.filter(DriverLocationIndex::isReady);
+        if (readyIndex.isPresent()) {
+            return readyIndex.get().findNearest(lat, lng, k, DELIVERY_RADIUS_KM);
+        }
+
+        List<SpatialGrid.Hit> hits = new ArrayList<>();
+        for (DeliveryPerson driver : deliveryDriverRepository.findByIsAvailable(true)) {
+            driverLocationBuffer.ifPresent(buffer -> buffer.applyTo(driver));
+            if (driver.getCurrentLat() == null || driver.getCurrentLng() == null) continue;
+
+            double driverLat = driver.getCurrentLat().doubleValue();
+            double driverLng = driver.getCurrentLng().doubleValue();
+            double distance = GeoUtils.calculateDistance(lat, lng, driverLat, driverLng);
+            if (distance <= DELIVERY_RADIUS_KM) {
+                hits.add(new SpatialGrid.Hit(driver.getId(), driverLat, driverLng, distance));
+            }
+        }
+        hits.sort(Comparator.comparingDouble(SpatialGrid.Hit::getDistanceKm).thenComparingLong(SpatialGrid.Hit::getId));
+        return hits.size() > k ? hits.subList(0, k) : hits;
+    }
+
     /**
      * Allows a driver to accept an order.
+     * <p>
+     * The driver is claimed with one conditional UPDATE that only matches while they are available, and the order
+     * with one from {@code RESTAURANT_ACCEPTED} to {@code DRIVER_ASSIGNED}, so of several concurrent accepts exactly
+     * one wins and the others are rejected immediately instead of retrying. The driver is only loaded once both
+     * claims have succeeded. Pickup and drop-off coordinates are resolved before the claims, and a missing one does
+     * not stop the order being accepted.
      *
      * @param driverId ID of the driver accepting the order
      * @param dto request containing order ID
      * @return ApiResponse with delivery details
-     * @throws CustomException if driver/order not found or validation fails
+     * @throws CustomException if driver/order not found, the order was already claimed or the driver is busy
      */
     @Override
-    @Transactional
+    @Transactional(rollbackOn = CustomException.class)
     public ApiResponse<DeliveryResponse> acceptOrder(Long driverId, DeliveryAcceptanceRequest dto) throws CustomException {
         try {
             log.debug("Driver {} attempting to accept order {}", driverId, dto.getOrderId());
 
-            // Verify driver exists and is available
-            DeliveryPerson driver = deliveryDriverRepository.findById(driverId)
-                    .orElseThrow(() -> new CustomException(ExceptionCode.DRIVER_NOT_FOUND));
-
-            if (!driver.getIsAvailable()) {
-                log.error("Driver {} is not available", driverId);
-                throw new CustomException(ExceptionCode.DRIVER_NOT_AVAILABLE);
+            // In batch dispatch mode an order offered to a driver is reserved for them until the offer expires
+            if (batchDispatchService.map(service -> service.isReservedForOther(dto.getOrderId(), driverId)).orElse(false)) {
+                log.error("Order {} is offered to another driver", dto.getOrderId());
+                throw new CustomException(ExceptionCode.ORDER_OFFERED_TO_ANOTHER_DRIVER);
             }
 
-            // Verify order exists
-            Order order = orderRepository.findById(dto.getOrderId())
+            // Read and geocode before the claims, so no geocoder call runs while the driver and order rows are locked.
+            // Nothing is written here; an address that cannot be resolved leaves the delivery without coordinates.
+            Order pending = orderRepository.findAllWithItemsByIdIn(List.of(dto.getOrderId())).stream().findFirst()
                     .orElseThrow(() -> new CustomException(ExceptionCode.ORDER_NOT_FOUND));
-
-            // Get restaurant from first order item
-            if (order.getItems() == null || order.getItems().isEmpty()) {
+            if (pending.getItems() == null || pending.getItems().isEmpty()) {
                 throw new CustomException(ExceptionCode.ORDER_ITEM_NOT_FOUND);
             }
-
-            Long restaurantId = order.getItems().getFirst().getRestaurantId();
-            Restaurant restaurant = restaurantRepository.findById(restaurantId)
+            Restaurant restaurant = restaurantRepository.findById(pending.getItems().getFirst().getRestaurantId())
                     .orElseThrow(() -> new CustomException(ExceptionCode.RESTAURANT_NOT_FOUND));
+            BigDecimal[] orderCoordinates = addressGeocodingService.findCoordinates(
+                    pending.getDeliveryLat(), pending.getDeliveryLng(), pending.getDeliveryAddress());
+            BigDecimal[] restaurantCoordinates = addressGeocodingService.findCoordinates(
+                    restaurant.getLat(), restaurant.getLng(), restaurant.getAddress());
+
+            // Claim the driver; only matches while they are available
+            if (deliveryDriverRepository.claimIfAvailable(driverId) == 0) {
+                if (!deliveryDriverRepository.existsById(driverId)) {
+                    throw new CustomException(ExceptionCode.DRIVER_NOT_FOUND);
+                }
+                log.error("Driver {} is not available", driverId);
+                throw new CustomException(ExceptionCode.DRIVER_NOT_AVAILABLE);
+            }
 
-            // Check if order is already assigned
-            boolean alreadyAssigned = deliveryRepository.existsByOrderAndStatusIn(
-                    order, List.of(DeliveryStatus.ACCEPTED)
-            );
-
-            if (alreadyAssigned) {
-                log.error("Order {} is already in progress.", dto.getOrderId());
+            // Claim the order; the row lock serialises concurrent claims and only the first one matches the status.
+            // Failing here rolls back the driver claim.
+            LocalDateTime now = LocalDateTime.now();
+            if (orderRepository.claimForDriver(dto.getOrderId(), OrderStatus.RESTAURANT_ACCEPTED,
+                    OrderStatus.DRIVER_ASSIGNED, now) == 0) {
+                if (!orderRepository.existsById(dto.getOrderId())) {
+                    throw new CustomException(ExceptionCode.ORDER_NOT_FOUND);
+                }
+                log.info("Order {} was already claimed", dto.getOrderId());
                 throw new CustomException(ExceptionCode.DRIVER_ACCEPTED_ORDER);
             }
 
-            // Get coordinates for order and restaurant
-            BigDecimal[] orderCoordinates = geocodingUtil
-                    .orElseThrow(() -> new CustomException(ExceptionCode.GEOCODING_UNAVAILABLE))
-                    .getCoordinates(order.getDeliveryAddress());
+            // Loaded after both claims, so it already reflects the driver being unavailable
+            DeliveryPerson driver = deliveryDriverRepository.findById(driverId)
+                    .orElseThrow(() -> new CustomException(ExceptionCode.DRIVER_NOT_FOUND));
+            driverLocationIndex.ifPresent(index -> index.track(driver));
 
-            BigDecimal[] restaurantCoordinates = geocodingUtil
-                    .orElseThrow(() -> new CustomException(ExceptionCode.GEOCODING_UNAVAILABLE))
-                    .getCoordinates(restaurant.getAddress());
+            Order order = orderRepository.findAllWithItemsByIdIn(List.of(dto.getOrderId())).getFirst();
+            orderLifecycle.moved(order, OrderStatus.RESTAURANT_ACCEPTED, driverId);
+            openOrderIndex.ifPresent(index -> index.track(order));
+            batchDispatchService.ifPresent(service -> service.release(order.getId()));
+
+            // Stored coordinates that were missing are written after commit, outside the claims
+            if (order.getDeliveryLat() == null || order.getDeliveryLng() == null) {
+                addressGeocodingService.geocodeOrderAsync(order);
+            }
+            if (restaurant.getLat() == null || restaurant.getLng() == null) {
+                addressGeocodingService.geocodeRestaurantAsync(restaurant);
+            }
 
             // Create new delivery record
             Deliveries delivery = new Deliveries();
             delivery.setOrder(order);
             delivery.setDriver(driver);
-            delivery.setPickupLat(restaurantCoordinates[0]);
-            delivery.setPickupLng(restaurantCoordinates[1]);
-            delivery.setDeliveryLat(orderCoordinates[0]);
-            delivery.setDeliveryLng(orderCoordinates[1]);
+            if (restaurantCoordinates != null) {
+                delivery.setPickupLat(restaurantCoordinates[0]);
+                delivery.setPickupLng(restaurantCoordinates[1]);
+            }
+            if (orderCoordinates != null) {
+                delivery.setDeliveryLat(orderCoordinates[0]);
+                delivery.setDeliveryLng(orderCoordinates[1]);
+            }
             delivery.setStatus(DeliveryStatus.ACCEPTED);
-
-            // Mark driver as unavailable
-            driver.setIsAvailable(false);
-            deliveryDriverRepository.save(driver);
-
-            // Update order status
-            order.setStatus(OrderStatus.DRIVER_ASSIGNED);
-            orderRepository.save(order);
-
-            // Notify customer
-            Customer customer = userRepository.findCustomerById(Math.toIntExact(order.getUserId()))
-                    .orElseThrow(() -> new CustomException(ExceptionCode.CUSTOMER_NOT_FOUND));
-
-            String subject = "Order Accepted";
-            String message = String.format("Hi %s, your order #%d has been accepted by a driver and is on the way!",
-                    customer.getFirstName(), order.getId());
-            //sendEmailWithFallback(customer.getEmail(), subject, message);
+            deliveryRepository.save(delivery);
 
             log.info("Driver {} accepted order {}", driverId, order.getId());
 
-            deliveryRepository.save(delivery);
-
             DeliveryResponse response = convertToResponse(delivery);
             return ApiResponse.successResponse("Order accepted", response);
 
@@ -386,16 +542,13 @@ public class DeliveryServiceImpl implements DeliveryService {
         Order order = orderRepository.findById(delivery.getOrder().getId())
                 .orElseThrow(() -> new CustomException(ExceptionCode.ORDER_NOT_FOUND));
 
-        // Update status based on completion flag
-        if (dto.isCompleted()) {
-            delivery.setStatus(DeliveryStatus.DELIVERED);
-            order.setStatus(OrderStatus.DELIVERED);
-        } else {
-            delivery.setStatus(DeliveryStatus.FAILED);
-            order.setStatus(OrderStatus.DELIVERY_FAILED);
-        }
+        // Update status based on completion flag; the customer is notified from the order event
+        orderLifecycle.moveTo(order, dto.isCompleted() ? OrderStatus.DELIVERED : OrderStatus.DELIVERY_FAILED,
+                (long) driver.getId());
+        delivery.setStatus(dto.isCompleted() ? DeliveryStatus.DELIVERED : DeliveryStatus.FAILED);
 
         // Set additional details
+        delivery.setCompletedAt(LocalDateTime.now());
         delivery.setNotes(dto.getNotes());
         delivery.setProofImage(dto.getProofImage());
 
@@ -405,16 +558,9 @@ public class DeliveryServiceImpl implements DeliveryService {
 
         // Mark driver as available again
         driver.setIsAvailable(true);
+        driverLocationBuffer.ifPresent(buffer -> buffer.applyTo(driver));
         deliveryDriverRepository.save(driver);
-
-        // Notify customer
-        Customer customer = userRepository.findCustomerById(Math.toIntExact(order.getUserId()))
-                .orElseThrow(() -> new CustomException(ExceptionCode.CUSTOMER_NOT_FOUND));
-
-        String subject = "Order Accepted";
-        String message = String.format("Hi %s, your order #%d has been delivered. Enjoy the order!",
-                customer.getFirstName(), order.getId());
-        //sendEmailWithFallback(customer.getEmail(), subject, message);
+        driverLocationIndex.ifPresent(index -> index.track(driver));
 
         DeliveryResponse response = convertToResponse(delivery);
 
@@ -681,6 +827,16 @@ public class DeliveryServiceImpl implements DeliveryService {
         response.setDeliveryLat(delivery.getDeliveryLat());
         response.setDeliveryLng(delivery.getDeliveryLng());
         response.setProofImage(delivery.getProofImage());
+        response.setCompletedAt(delivery.getCompletedAt());
+        if (delivery.getStatus() == DeliveryStatus.ACCEPTED && etaService.isPresent()
+                && delivery.getPickupLat() != null && delivery.getPickupLng() != null
+                && delivery.getDeliveryLat() != null && delivery.getDeliveryLng() != null) {
+            // Trips are learned from acceptance to completion, so the estimate runs from when the delivery was accepted
+            LocalDateTime acceptedAt = delivery.getCreatedAt() != null ? delivery.getCreatedAt() : LocalDateTime.now();
+            response.setEstimatedDeliveryAt(acceptedAt.plus(etaService.get().estimate(
+                    delivery.getPickupLat().doubleValue(), delivery.getPickupLng().doubleValue(),
+                    delivery.getDeliveryLat().doubleValue(), delivery.getDeliveryLng().doubleValue(), acceptedAt)));
+        }
         return response;
     }
 
@@ -0,0 +1,19 @@
+package com.ds.masterservice.service.deliveryService;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@link BatchDispatchService} when an order is offered to one driver.
+ * The order stays reserved for that driver until {@code expiresAt}.
+ */
+@Getter
+@AllArgsConstructor
+public class DispatchOfferEvent {
+    private final Long driverId;
+    private final Long orderId;
+    private final double pickupDistanceKm;
+    private final LocalDateTime expiresAt;
+}
@@ -0,0 +1,165 @@
+package com.ds.masterservice.service.deliveryService;
+
+import com.ds.masterservice.dao.deliveryService.DeliveryPerson;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind buffer for driver positions.
+ * <p>
+ * Location pings only replace the driver's entry in memory; a scheduled flush writes the latest position of
+ * every driver that moved since the previous flush in one batched UPDATE, so a driver pinging every second
+ * costs one row write per flush interval instead of a read and a write per ping. The row can lag by up to one
+ * flush interval, so loaded drivers should be passed through {@link #applyTo(DeliveryPerson)} before their
+ * position is read or the entity is saved.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "delivery.location-buffer.enabled", havingValue = "true")
+public class DriverLocationBuffer {
+
+    // DeliveryPerson is a JOINED subclass of User, so its own columns live in this table keyed by the user id
+    private static final String UPDATE_SQL = "UPDATE delivery_person SET current_lat = ?, current_lng = ? WHERE id = ?";
+    private static final String METRIC_PREFIX = "delivery.location.buffer";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, Position> positions = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    @Value("${delivery.location-buffer.batch-size:500}")
+    private int batchSize;
+
+    private final Counter received;
+    private final Counter written;
+    private final Counter failures;
+    private final Timer flushTimer;
+
+    @Autowired
+    public DriverLocationBuffer(JdbcTemplate jdbcTemplate, ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.jdbcTemplate = jdbcTemplate;
+
+        MeterRegistry registry = meterRegistryProvider.getIfAvailable(SimpleMeterRegistry::new);
+        received = Counter.builder(METRIC_PREFIX + ".received")
+                .description("Location updates accepted into the buffer")
+                .register(registry);
+        written = Counter.builder(METRIC_PREFIX + ".written")
+                .description("Driver rows written by flushes")
+                .register(registry);
+        failures = Counter.builder(METRIC_PREFIX + ".flush.failures").register(registry);
+        flushTimer = Timer.builder(METRIC_PREFIX + ".flush.latency")
+                .description("Time spent writing one flush to the database")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".depth", dirty, Set::size)
+                .description("Drivers with a position not yet written to the database")
+                .register(registry);
+    }
+
+    /**
+     * Records the latest position of a driver. Only the newest position per driver is kept until the next flush.
+     */
+    public void record(Long driverId, BigDecimal lat, BigDecimal lng) {
+        positions.put(driverId, new Position(lat, lng, LocalDateTime.now()));
+        dirty.add(driverId);
+        received.increment();
+    }
+
+    /**
+     * Copies the driver's buffered position onto the entity, so it is not stale when read or saved.
+     */
+    public void applyTo(DeliveryPerson driver) {
+        Position position = positions.get((long) driver.getId());
+        if (position != null) {
+            driver.setCurrentLat(position.getLat());
+            driver.setCurrentLng(position.getLng());
+        }
+    }
+
+    /**
+     * Whether a position has been received for the driver since startup, i.e. the driver is known to exist.
+     */
+    public boolean isKnown(Long driverId) {
+        return positions.containsKey(driverId);
+    }
+
+    /**
+     * Drops a driver's buffered position, e.g. after the driver was deleted.
+     */
+    public void forget(Long driverId) {
+        dirty.remove(driverId);
+        positions.remove(driverId);
+    }
+
+    /**
+     * Writes the latest position of every driver that moved since the last flush.
+     */
+    @Scheduled(fixedDelayString = "${delivery.location-buffer.flush-interval:PT2S}")
+    public void flush() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = new ArrayList<>(dirty);
+        List<Object[]> rows = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            // Clear the flag before reading so an update arriving meanwhile marks the driver dirty again
+            dirty.remove(id);
+            Position position = positions.get(id);
+            if (position != null) {
+                rows.add(new Object[]{position.getLat(), position.getLng(), id});
+            }
+        }
+
+        try {
+            flushTimer.record(() -> jdbcTemplate.batchUpdate(UPDATE_SQL, rows, batchSize, (ps, row) -> {
+                ps.setBigDecimal(1, (BigDecimal) row[0]);
+                ps.setBigDecimal(2, (BigDecimal) row[1]);
+                ps.setLong(3, (Long) row[2]);
+            }));
+            written.increment(rows.size());
+        } catch (Exception e) {
+            failures.increment();
+            rows.forEach(row -> dirty.add((Long) row[2]));
+            log.warn("Failed to flush {} driver positions, will retry", rows.size(), e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    /**
+     * A driver position and when it was received.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Position {
+        private final BigDecimal lat;
+        private final BigDecimal lng;
+        private final LocalDateTime receivedAt;
+    }
+}
@@ -0,0 +1,145 @@
+package com.ds.masterservice.service.deliveryService;
+
+import com.ds.commons.utils.RebuildableIndex;
+import com.ds.commons.utils.SpatialGrid;
+import com.ds.commons.utils.TransactionCallbacks;
+import com.ds.masterservice.dao.deliveryService.DeliveryPerson;
+import com.ds.masterservice.repository.deliveryService.DeliveryDriverRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory spatial index of the drivers that can take an order: available and with a known location.
+ * <p>
+ * The index is loaded on startup and kept current by the driver and delivery services as their transactions
+ * commit. Each delivery-service instance only sees the changes made through it, so the index is reloaded
+ * periodically to pick up the availability changes and flushed locations of drivers served by other instances.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "delivery.driver-index.enabled", havingValue = "true")
+public class DriverLocationIndex {
+
+    private final DeliveryDriverRepository deliveryDriverRepository;
+    private final double cellSizeKm;
+
+    private final RebuildableIndex<Drivers> drivers;
+    private volatile boolean ready;
+
+    @Autowired
+    public DriverLocationIndex(DeliveryDriverRepository deliveryDriverRepository,
+                               @Value("${delivery.driver-index.cell-size-km:2}") double cellSizeKm) {
+        this.deliveryDriverRepository = deliveryDriverRepository;
+        this.cellSizeKm = cellSizeKm;
+        this.drivers = new RebuildableIndex<>(new Drivers(cellSizeKm));
+    }
+
+    /**
+     * Loads every available driver with a known location into a new index and swaps it in.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${delivery.driver-index.rebuild-interval:PT30S}",
+            initialDelayString = "${delivery.driver-index.rebuild-interval:PT30S}")
+    public void rebuild() {
+        try {
+            Drivers loaded = drivers.rebuild(() -> {
+                Drivers available = new Drivers(cellSizeKm);
+                deliveryDriverRepository.findByIsAvailable(true).forEach(available::add);
+                return available;
+            });
+            if (loaded != null) {
+                ready = true;
+                log.debug("Driver location index rebuilt with {} drivers", loaded.grid.size());
+            }
+        } catch (Exception e) {
+            log.error("Failed to rebuild the driver location index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Updates the index for a driver whose location or availability changed in the current transaction.
+     * The change is applied after commit, or immediately when there is no transaction.
+     */
+    public void track(DeliveryPerson driver) {
+        long id = driver.getId();
+        boolean isAvailable = Boolean.TRUE.equals(driver.getIsAvailable());
+        boolean located = driver.getCurrentLat() != null && driver.getCurrentLng() != null;
+        double lat = located ? driver.getCurrentLat().doubleValue() : 0;
+        double lng = located ? driver.getCurrentLng().doubleValue() : 0;
+        TransactionCallbacks.afterCommit(() -> drivers.apply(current -> {
+            if (!isAvailable) {
+                current.remove(id);
+                return;
+            }
+            current.available.add(id);
+            if (located) {
+                current.grid.put(id, lat, lng);
+            }
+        }));
+    }
+
+    /**
+     * Moves a driver whose location changed without their availability changing; unavailable drivers are ignored.
+     */
+    public void updateLocation(long driverId, double lat, double lng) {
+        drivers.apply(current -> {
+            if (current.available.contains(driverId)) {
+                current.grid.put(driverId, lat, lng);
+            }
+        });
+    }
+
+    public void remove(long driverId) {
+        drivers.apply(current -> current.remove(driverId));
+    }
+
+    /**
+     * Whether the initial load has completed. Callers should fall back to the database until it has.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns up to {@code k} available drivers nearest to the given point within {@code maxRadiusKm}, nearest first.
+     */
+    public List<SpatialGrid.Hit> findNearest(double lat, double lng, int k, double maxRadiusKm) {
+        return drivers.get().grid.nearest(lat, lng, k, maxRadiusKm);
+    }
+
+    public int size() {
+        return drivers.get().grid.size();
+    }
+
+    private static final class Drivers {
+        private final SpatialGrid grid;
+        // Available drivers, including those without a location yet, so a location-only update knows whether to index
+        private final Set<Long> available = ConcurrentHashMap.newKeySet();
+
+        private Drivers(double cellSizeKm) {
+            this.grid = new SpatialGrid(cellSizeKm);
+        }
+
+        private void add(DeliveryPerson driver) {
+            available.add((long) driver.getId());
+            if (driver.getCurrentLat() != null && driver.getCurrentLng() != null) {
+                grid.put(driver.getId(), driver.getCurrentLat().doubleValue(), driver.getCurrentLng().doubleValue());
+            }
+        }
+
+        private void remove(long driverId) {
+            available.remove(driverId);
+            grid.remove(driverId);
+        }
+    }
+}
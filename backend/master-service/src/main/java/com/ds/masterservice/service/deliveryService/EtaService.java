@@ -0,0 +1,195 @@
+package com.ds.masterservice.service.deliveryService;
+
+import com.ds.commons.enums.DeliveryStatus;
+import com.ds.commons.utils.GeoUtils;
+import com.ds.commons.utils.TravelTimeModel;
+import com.ds.masterservice.repository.deliveryService.DeliveryRepository;
+import com.ds.masterservice.repository.deliveryService.DeliveryRepository.TripProjection;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process delivery ETAs from a {@link TravelTimeModel} trained on completed deliveries.
+ * <p>
+ * The model is built from every delivered trip on startup and then extended by a scheduled job with the trips
+ * completed since the previous run. Each new trip is first estimated with the model as it stood, and the error
+ * against the actual trip time is recorded before the trip is added, so the error metrics track how well the
+ * model predicts deliveries it has not seen.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "delivery.eta.enabled", havingValue = "true")
+public class EtaService {
+
+    private static final String METRIC_PREFIX = "delivery.eta";
+    private static final int PAGE_SIZE = 1000;
+
+    // Trips outside these bounds are data errors (e.g. a delivery completed days later) and are not learned from
+    private static final Duration MIN_TRIP = Duration.ofMinutes(1);
+    private static final Duration MAX_TRIP = Duration.ofHours(3);
+    private static final double MAX_SPEED_KMH = 120;
+
+    private final DeliveryRepository deliveryRepository;
+    private final TravelTimeModel model;
+
+    // Trips already learned from within the sync overlap, so re-read rows are not counted twice
+    private final Map<Long, LocalDateTime> recentTrips = new ConcurrentHashMap<>();
+
+    @Value("${delivery.eta.sync-overlap:PT30S}")
+    private Duration syncOverlap;
+
+    private final DistributionSummary absoluteError;
+    private final DistributionSummary relativeError;
+
+    private volatile LocalDateTime watermark;
+    private volatile boolean ready;
+
+    @Autowired
+    public EtaService(DeliveryRepository deliveryRepository,
+                      ObjectProvider<MeterRegistry> meterRegistryProvider,
+                      @Value("${delivery.eta.cell-size-km:3}") double cellSizeKm,
+                      @Value("${delivery.eta.min-samples:5}") int minSamples,
+                      @Value("${delivery.eta.default-speed-kmh:18}") double defaultSpeedKmh) {
+        this.deliveryRepository = deliveryRepository;
+        this.model = new TravelTimeModel(cellSizeKm, minSamples, defaultSpeedKmh);
+
+        MeterRegistry registry = meterRegistryProvider.getIfAvailable(SimpleMeterRegistry::new);
+        absoluteError = DistributionSummary.builder(METRIC_PREFIX + ".error.minutes")
+                .description("Absolute difference between the estimated and the actual delivery time")
+                .baseUnit("minutes")
+                .publishPercentiles(0.5, 0.9)
+                .register(registry);
+        relativeError = DistributionSummary.builder(METRIC_PREFIX + ".error.ratio")
+                .description("Absolute estimation error as a fraction of the actual delivery time")
+                .publishPercentiles(0.5, 0.9)
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".samples", model, TravelTimeModel::samples)
+                .description("Delivered trips the ETA model has learned from")
+                .register(registry);
+    }
+
+    /**
+     * Trains the model on every delivered trip.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        model.clear();
+        recentTrips.clear();
+
+        long afterId = 0;
+        List<TripProjection> page;
+        do {
+            page = deliveryRepository.findTrips(DeliveryStatus.DELIVERED, afterId, PageRequest.of(0, PAGE_SIZE));
+            for (TripProjection trip : page) {
+                learn(trip, false);
+                afterId = trip.getId();
+                // The first refresh re-reads the overlap window; remember what it will see again
+                if (trip.getCompletedAt() != null && trip.getCompletedAt().isAfter(startedAt.minus(syncOverlap))) {
+                    recentTrips.put(trip.getId(), trip.getCompletedAt());
+                }
+            }
+        } while (page.size() == PAGE_SIZE);
+
+        watermark = startedAt;
+        ready = true;
+        log.info("ETA model trained on {} delivered trips", model.samples());
+    }
+
+    /**
+     * Adds the trips completed since the last run.
+     */
+    @Scheduled(initialDelayString = "${delivery.eta.refresh-interval:PT1M}",
+            fixedDelayString = "${delivery.eta.refresh-interval:PT1M}")
+    public synchronized void refresh() {
+        if (!ready) {
+            return;
+        }
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            LocalDateTime since = watermark.minus(syncOverlap);
+            for (TripProjection trip : deliveryRepository.findTripsCompletedAfter(DeliveryStatus.DELIVERED, since)) {
+                if (recentTrips.putIfAbsent(trip.getId(), trip.getCompletedAt()) == null) {
+                    learn(trip, true);
+                }
+            }
+            recentTrips.values().removeIf(completedAt -> completedAt.isBefore(since));
+            watermark = startedAt;
+        } catch (Exception e) {
+            log.warn("ETA model refresh failed", e);
+        }
+    }
+
+    /**
+     * Estimates the travel time between two points for a trip starting at the given time.
+     */
+    public Duration estimate(double fromLat, double fromLng, double toLat, double toLng, LocalDateTime startAt) {
+        return model.estimate(fromLat, fromLng, toLat, toLng, startAt);
+    }
+
+    /**
+     * Estimates the travel time in whole minutes, rounded up.
+     */
+    public int estimateMinutes(double fromLat, double fromLng, double toLat, double toLng, LocalDateTime startAt) {
+        return (int) Math.ceil(estimate(fromLat, fromLng, toLat, toLng, startAt).toSeconds() / 60.0);
+    }
+
+    /**
+     * Estimates a delivery that still has to be picked up, in whole minutes rounded up: the driver's leg to the
+     * pickup point plus the leg from there to the customer, the second starting when the first is expected to end.
+     */
+    public int estimateMinutes(double driverLat, double driverLng, double pickupLat, double pickupLng,
+                               double toLat, double toLng, LocalDateTime startAt) {
+        Duration toPickup = estimate(driverLat, driverLng, pickupLat, pickupLng, startAt);
+        Duration toCustomer = estimate(pickupLat, pickupLng, toLat, toLng, startAt.plus(toPickup));
+        return (int) Math.ceil(toPickup.plus(toCustomer).toSeconds() / 60.0);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    private void learn(TripProjection trip, boolean measure) {
+        if (trip.getPickupLat() == null || trip.getPickupLng() == null
+                || trip.getDeliveryLat() == null || trip.getDeliveryLng() == null
+                || trip.getStartedAt() == null || trip.getCompletedAt() == null) {
+            return;
+        }
+        double fromLat = trip.getPickupLat().doubleValue();
+        double fromLng = trip.getPickupLng().doubleValue();
+        double toLat = trip.getDeliveryLat().doubleValue();
+        double toLng = trip.getDeliveryLng().doubleValue();
+        Duration actual = Duration.between(trip.getStartedAt(), trip.getCompletedAt());
+        double distanceKm = GeoUtils.fastDistance(fromLat, fromLng, toLat, toLng);
+        if (actual.compareTo(MIN_TRIP) < 0 || actual.compareTo(MAX_TRIP) > 0
+                || distanceKm / (actual.toMillis() / 3_600_000.0) > MAX_SPEED_KMH) {
+            return;
+        }
+
+        if (measure) {
+            Duration estimated = model.estimate(fromLat, fromLng, toLat, toLng, trip.getStartedAt());
+            double errorMinutes = Math.abs(estimated.toMillis() - actual.toMillis()) / 60_000.0;
+            absoluteError.record(errorMinutes);
+            relativeError.record(errorMinutes / (actual.toMillis() / 60_000.0));
+        }
+        model.record(fromLat, fromLng, distanceKm, actual, trip.getStartedAt());
+    }
+}
@@ -0,0 +1,65 @@
+package com.ds.masterservice.service.deliveryService;
+
+import com.ds.commons.utils.DedupStore;
+import com.ds.masterservice.repository.deliveryService.NotificationDedupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * {@link DedupStore} backed by the {@code t_notification_dedup} table, so a key marked by one service instance
+ * is seen by all of them. Enabled with {@code delivery.dedup.store=jpa}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "delivery.dedup.store", havingValue = "jpa")
+public class JpaDedupStore implements DedupStore {
+
+    private final NotificationDedupRepository notificationDedupRepository;
+
+    @Autowired
+    public JpaDedupStore(NotificationDedupRepository notificationDedupRepository) {
+        this.notificationDedupRepository = notificationDedupRepository;
+    }
+
+    @Override
+    @Transactional
+    public boolean tryMark(String key, Duration ttl) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(ttl);
+        // The primary key decides between instances; a leftover expired row is taken over instead
+        return notificationDedupRepository.insertIfAbsent(key, expiresAt) == 1
+                || notificationDedupRepository.renewIfExpired(key, expiresAt, now) == 1;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isMarked(String key) {
+        return notificationDedupRepository.existsByDedupKeyAndExpiresAtAfter(key, LocalDateTime.now());
+    }
+
+    @Override
+    @Transactional
+    public void release(String key) {
+        notificationDedupRepository.deleteById(key);
+    }
+
+    /**
+     * Removes expired rows. Runs in the services that enable scheduling.
+     *
+     * @return number of rows removed
+     */
+    @Scheduled(fixedDelayString = "${delivery.dedup.purge-interval:PT1H}")
+    @Transactional
+    public int purgeExpired() {
+        int removed = notificationDedupRepository.deleteExpired(LocalDateTime.now());
+        log.debug("Purged {} expired notification dedup rows", removed);
+        return removed;
+    }
+}
@@ -0,0 +1,73 @@
+package com.ds.masterservice.service.deliveryService;
+
+import com.ds.commons.utils.GeocodeStore;
+import com.ds.masterservice.dao.deliveryService.GeocodeCacheEntry;
+import com.ds.masterservice.repository.deliveryService.GeocodeCacheRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * {@link GeocodeStore} backed by the {@code t_geocode_cache} table, shared by every service instance.
+ */
+@Slf4j
+@Component
+public class JpaGeocodeStore implements GeocodeStore {
+
+    private final GeocodeCacheRepository geocodeCacheRepository;
+
+    @Autowired
+    public JpaGeocodeStore(GeocodeCacheRepository geocodeCacheRepository) {
+        this.geocodeCacheRepository = geocodeCacheRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Entry> find(String addressKey) {
+        return geocodeCacheRepository.findByAddressHashAndExpiresAtAfter(hash(addressKey), LocalDateTime.now())
+                .map(row -> new Entry(row.getLat(), row.getLng(), row.getExpiresAt()));
+    }
+
+    @Override
+    @Transactional
+    public void save(String addressKey, Entry entry) {
+        geocodeCacheRepository.save(GeocodeCacheEntry.builder()
+                .addressHash(hash(addressKey))
+                .address(addressKey)
+                .lat(entry.getLat())
+                .lng(entry.getLng())
+                .expiresAt(entry.getExpiresAt())
+                .build());
+    }
+
+    /**
+     * Removes expired rows. Runs in the services that enable scheduling.
+     *
+     * @return number of rows removed
+     */
+    @Scheduled(fixedDelayString = "${geocoding.store.purge-interval:PT6H}")
+    @Transactional
+    public int purgeExpired() {
+        int removed = geocodeCacheRepository.deleteExpired(LocalDateTime.now());
+        log.debug("Purged {} expired geocode cache rows", removed);
+        return removed;
+    }
+
+    private static String hash(String addressKey) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(addressKey.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.ds.masterservice.service.deliveryService;
+
+import com.ds.commons.utils.DedupStore;
+import com.ds.commons.utils.InMemoryDedupStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Makes sure the drivers are notified about each order once.
+ * <p>
+ * Keys are always recorded in a bounded in-memory store with a TTL, which answers repeats seen by this instance
+ * without locking. When a shared {@link DedupStore} bean is present (see {@code delivery.dedup.store}), the first
+ * call for a key on any instance claims it there, so repeats on other instances are suppressed as well.
+ */
+@Slf4j
+@Component
+public class NotificationDeduplicator {
+
+    private static final String METRIC_PREFIX = "delivery.notify.dedup";
+
+    private final InMemoryDedupStore local;
+    private final DedupStore shared;
+    private final Duration ttl;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    @Autowired
+    public NotificationDeduplicator(ObjectProvider<DedupStore> dedupStoreProvider,
+                                    ObjectProvider<MeterRegistry> meterRegistryProvider,
+                                    @Value("${delivery.dedup.ttl:PT2H}") Duration ttl,
+                                    @Value("${delivery.dedup.max-size:100000}") long maxSize) {
+        this.local = new InMemoryDedupStore(maxSize);
+        this.shared = dedupStoreProvider.getIfAvailable();
+        this.ttl = ttl;
+
+        MeterRegistry registry = meterRegistryProvider.getIfAvailable(SimpleMeterRegistry::new);
+        hits = Counter.builder(METRIC_PREFIX + ".hits")
+                .description("Notifications suppressed because the order was already notified")
+                .register(registry);
+        misses = Counter.builder(METRIC_PREFIX + ".misses")
+                .description("Notifications allowed through")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".size", local, InMemoryDedupStore::size)
+                .description("Orders remembered by this instance")
+                .register(registry);
+    }
+
+    /**
+     * Claims the notification for an order.
+     *
+     * @return true if the caller should notify; false if this or another instance already did
+     */
+    public boolean tryAcquire(Long orderId) {
+        String key = key(orderId);
+        if (local.isMarked(key) || !local.tryMark(key, ttl)) {
+            hits.increment();
+            return false;
+        }
+        if (shared != null && !claimShared(key)) {
+            hits.increment();
+            return false;
+        }
+        misses.increment();
+        return true;
+    }
+
+    /**
+     * Gives up a claim whose notification was not sent, e.g. because no driver was nearby, so it can be retried.
+     */
+    public void release(Long orderId) {
+        String key = key(orderId);
+        local.release(key);
+        if (shared != null) {
+            try {
+                shared.release(key);
+            } catch (Exception e) {
+                log.warn("Could not release dedup key {}: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    // Falls back to allowing the notification if the shared store is down; a duplicate beats a missed order
+    private boolean claimShared(String key) {
+        try {
+            return shared.tryMark(key, ttl);
+        } catch (Exception e) {
+            log.warn("Shared dedup store unavailable, deduplicating locally: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    private static String key(Long orderId) {
+        return "order-notified:" + orderId;
+    }
+}
@@ -0,0 +1,159 @@
+package com.ds.masterservice.service.deliveryService;
+
+import com.ds.commons.utils.SpatialGrid;
+import com.ds.commons.utils.TransactionCallbacks;
+import com.ds.masterservice.dao.orderService.Order;
+import com.ds.masterservice.dao.orderService.OrderStatus;
+import com.ds.masterservice.repository.orderService.OrderRepository;
+import com.ds.masterservice.repository.orderService.OrderRepository.OrderLocationProjection;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory spatial index of the orders drivers can pick up ({@link OrderStatus#RESTAURANT_ACCEPTED}),
+ * so nearby-order queries only look at orders in the cells around the driver.
+ * <p>
+ * The index is rebuilt from the database on startup. Status changes made in this process update it as soon
+ * as their transaction commits, and a scheduled sync picks up changes written by other services
+ * (order-service accepting or cancelling orders) through {@code updatedAt}. Orders whose address has not been
+ * geocoded yet are retried on every sync until their coordinates are stored.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "delivery.order-index.enabled", havingValue = "true")
+public class OpenOrderIndex {
+
+    private final OrderRepository orderRepository;
+    private final SpatialGrid grid;
+
+    // Open orders that are not in the grid yet because they have no coordinates
+    private final Set<Long> awaitingCoordinates = ConcurrentHashMap.newKeySet();
+
+    @Value("${delivery.order-index.sync-overlap:PT30S}")
+    private Duration syncOverlap;
+
+    private volatile LocalDateTime watermark;
+    private volatile boolean ready;
+
+    @Autowired
+    public OpenOrderIndex(OrderRepository orderRepository,
+                          @Value("${delivery.order-index.cell-size-km:5}") double cellSizeKm) {
+        this.orderRepository = orderRepository;
+        this.grid = new SpatialGrid(cellSizeKm);
+    }
+
+    /**
+     * Loads every open order into the index.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<OrderLocationProjection> rows = orderRepository.findLocationsByStatus(OrderStatus.RESTAURANT_ACCEPTED);
+
+        grid.clear();
+        awaitingCoordinates.clear();
+        rows.forEach(this::apply);
+
+        watermark = startedAt;
+        ready = true;
+        log.info("Open order index rebuilt with {} orders ({} awaiting coordinates)", grid.size(), awaitingCoordinates.size());
+    }
+
+    /**
+     * Applies order changes committed since the last sync, including those made by other services.
+     */
+    @Scheduled(initialDelayString = "${delivery.order-index.sync-interval:PT5S}",
+            fixedDelayString = "${delivery.order-index.sync-interval:PT5S}")
+    public synchronized void sync() {
+        if (!ready) {
+            return;
+        }
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            // Overlap the previous window so rows committed late with an earlier updatedAt are not missed
+            orderRepository.findLocationsUpdatedAfter(watermark.minus(syncOverlap)).forEach(this::apply);
+            if (!awaitingCoordinates.isEmpty()) {
+                orderRepository.findLocationsByIdIn(new ArrayList<>(awaitingCoordinates)).forEach(this::apply);
+            }
+            watermark = startedAt;
+        } catch (Exception e) {
+            log.warn("Open order index sync failed", e);
+        }
+    }
+
+    /**
+     * Updates the index for an order whose status or address was changed in the current transaction.
+     * The change is applied after commit, or immediately when there is no transaction.
+     */
+    public void track(Order order) {
+        Long id = order.getId();
+        boolean open = order.getStatus() == OrderStatus.RESTAURANT_ACCEPTED;
+        Double lat = order.getDeliveryLat() != null ? order.getDeliveryLat().doubleValue() : null;
+        Double lng = order.getDeliveryLng() != null ? order.getDeliveryLng().doubleValue() : null;
+        TransactionCallbacks.afterCommit(() -> apply(id, open, lat, lng));
+    }
+
+    /**
+     * Drops an order from the index, e.g. when it was found to be stale during a query.
+     */
+    public void remove(Long orderId) {
+        grid.remove(orderId);
+        awaitingCoordinates.remove(orderId);
+    }
+
+    /**
+     * Whether the initial rebuild has completed. Callers should fall back to the database until it has.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns open orders within {@code radiusKm} of the given point, nearest first.
+     *
+     * @param after cursor from the previous page, or null for the first page
+     * @param limit maximum number of orders to return
+     */
+    public List<SpatialGrid.Hit> findNearby(double lat, double lng, double radiusKm, SpatialGrid.Hit after, int limit) {
+        return grid.within(lat, lng, radiusKm, after, limit);
+    }
+
+    public int size() {
+        return grid.size();
+    }
+
+    private void apply(OrderLocationProjection row) {
+        apply(row.getId(),
+                row.getStatus() == OrderStatus.RESTAURANT_ACCEPTED,
+                row.getLat() != null ? row.getLat().doubleValue() : null,
+                row.getLng() != null ? row.getLng().doubleValue() : null);
+    }
+
+    private void apply(Long id, boolean open, Double lat, Double lng) {
+        if (id == null) {
+            return;
+        }
+        if (!open) {
+            remove(id);
+        } else if (lat == null || lng == null) {
+            grid.remove(id);
+            awaitingCoordinates.add(id);
+        } else {
+            awaitingCoordinates.remove(id);
+            grid.put(id, lat, lng);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.ds.masterservice.service.orderService;
+
+import com.ds.masterservice.dao.orderService.OrderStatus;
+import com.ds.masterservice.repository.orderService.OrderItemRepository;
+import com.ds.masterservice.repository.orderService.OrderRepository;
+import com.ds.masterservice.repository.orderService.SchedulerLeaseRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Deletes cancelled orders once they are older than the retention period.
+ * <p>
+ * Works in chunks of at most {@code chunk-size} orders, each in its own transaction: lock the oldest matching
+ * order rows, record their removal through {@link OrderLifecycle}, then delete their items and the orders with one
+ * statement each. Chunks continue until one comes back short or the time budget is spent; what is left waits for
+ * the next run. A chunk the database rejects is retried one order at a time, and orders that still fail are
+ * counted and skipped for the rest of the run, so they cannot stop the job.
+ * <p>
+ * Only the instance holding the {@code t_scheduler_lease} row runs. The lease outlasts the interval, so its holder
+ * keeps the job from run to run and another instance takes over only after the holder misses a run or shuts down.
+ * Every chunk renews the lease before it deletes anything, so an instance that lost it stops without committing.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "order.reaper.enabled", havingValue = "true")
+public class CancelledOrderReaper {
+
+    private static final String METRIC_PREFIX = "order.reaper";
+    private static final String LEASE_NAME = "cancelled-order-reaper";
+    private static final int LEASE_LOST = -1;
+
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final SchedulerLeaseRepository schedulerLeaseRepository;
+    private final OrderLifecycle orderLifecycle;
+    private final TransactionTemplate transactionTemplate;
+    private final String owner;
+
+    @Value("${order.reaper.retention:PT1H}")
+    private Duration retention;
+
+    @Value("${order.reaper.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${order.reaper.time-budget:PT30S}")
+    private Duration timeBudget;
+
+    // Longer than the interval plus the time budget, so the holder's next run renews it before it lapses
+    @Value("${order.reaper.lease-ttl:PT75M}")
+    private Duration leaseTtl;
+
+    private final Counter removed;
+    private final Counter failures;
+    private final Timer runTime;
+
+    @Autowired
+    public CancelledOrderReaper(OrderRepository orderRepository,
+                                OrderItemRepository orderItemRepository,
+                                SchedulerLeaseRepository schedulerLeaseRepository,
+                                OrderLifecycle orderLifecycle,
+                                PlatformTransactionManager transactionManager,
+                                ObjectProvider<MeterRegistry> meterRegistryProvider,
+                                @Value("${spring.application.name:master-service}") String applicationName) {
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.schedulerLeaseRepository = schedulerLeaseRepository;
+        this.orderLifecycle = orderLifecycle;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.owner = applicationName + "-" + UUID.randomUUID();
+
+        MeterRegistry registry = meterRegistryProvider.getIfAvailable(SimpleMeterRegistry::new);
+        removed = Counter.builder(METRIC_PREFIX + ".removed").register(registry);
+        failures = Counter.builder(METRIC_PREFIX + ".failures").register(registry);
+        runTime = Timer.builder(METRIC_PREFIX + ".run").register(registry);
+    }
+
+    /**
+     * Removes cancelled orders older than the retention period, within the time budget.
+     *
+     * @return number of orders removed, 0 if another instance holds the lease
+     */
+    @Scheduled(fixedDelayString = "${order.reaper.interval:PT1H}", initialDelayString = "${order.reaper.initial-delay:PT1M}")
+    public int reap() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        long deadline = System.nanoTime() + timeBudget.toNanos();
+        Timer.Sample sample = Timer.start();
+        int total = 0;
+        try {
+            OrderRepository.OrderAgeProjection after = null;
+            List<OrderRepository.OrderAgeProjection> chunk;
+            do {
+                chunk = new ArrayList<>(chunkSize);
+                int count = removeChunk(cutoff, after, chunk);
+                if (count == LEASE_LOST) {
+                    if (total == 0) {
+                        log.debug("Cancelled order reaper lease is held by another instance, skipping");
+                        return 0;
+                    }
+                    log.warn("Lost the cancelled order reaper lease after removing {} orders", total);
+                    break;
+                }
+                total += count;
+                // Continue past the chunk even if some of it could not be deleted, so those rows cannot hold up the rest
+                if (!chunk.isEmpty()) {
+                    after = chunk.getLast();
+                }
+            } while (chunk.size() == chunkSize && System.nanoTime() < deadline);
+
+            if (chunk.size() == chunkSize) {
+                log.info("Removed {} cancelled orders before the time budget ran out; the rest wait for the next run", total);
+            } else if (total > 0) {
+                log.info("Removed {} cancelled orders older than {}", total, cutoff);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to remove cancelled orders after removing {}, will retry: {}", total, e.getMessage());
+        } finally {
+            sample.stop(runTime);
+        }
+        return total;
+    }
+
+    /**
+     * Removes the next chunk after {@code after}, adding the orders it selected to {@code chunk}. If the database
+     * rejects the chunk, its orders are removed one at a time instead and those that still fail are skipped.
+     *
+     * @return number of orders removed, or {@link #LEASE_LOST}
+     */
+    private int removeChunk(LocalDateTime cutoff, OrderRepository.OrderAgeProjection after,
+                            List<OrderRepository.OrderAgeProjection> chunk) {
+        try {
+            Integer count = transactionTemplate.execute(status -> {
+                if (!holdLease()) {
+                    return LEASE_LOST;
+                }
+                chunk.addAll(orderRepository.findByStatusAndUpdatedAtBefore(OrderStatus.CANCELLED, cutoff,
+                        after != null ? after.getUpdatedAt() : null, after != null ? after.getId() : null,
+                        PageRequest.ofSize(chunkSize)));
+                return remove(chunk.stream().map(OrderRepository.OrderAgeProjection::getId).toList());
+            });
+            return count != null ? count : 0;
+        } catch (DataAccessException | TransactionException e) {
+            if (chunk.isEmpty()) {
+                throw e;
+            }
+            log.warn("Failed to remove a chunk of {} cancelled orders, removing them one at a time: {}",
+                    chunk.size(), e.getMessage());
+        }
+
+        int count = 0;
+        for (OrderRepository.OrderAgeProjection order : chunk) {
+            try {
+                Integer removedOne = transactionTemplate.execute(status ->
+                        holdLease() ? remove(List.of(order.getId())) : LEASE_LOST);
+                if (removedOne == null || removedOne == LEASE_LOST) {
+                    return count > 0 ? count : LEASE_LOST;
+                }
+                count += removedOne;
+            } catch (DataAccessException | TransactionException e) {
+                failures.increment();
+                log.warn("Skipping cancelled order {} that could not be removed: {}", order.getId(), e.getMessage());
+            }
+        }
+        return count;
+    }
+
+    private int remove(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        // The removal events name each restaurant on the order, so they need the items
+        orderRepository.findAllWithItemsByIdIn(ids).forEach(orderLifecycle::removed);
+        orderItemRepository.deleteByOrderIdIn(ids);
+        orderRepository.deleteAllByIdInBatch(ids);
+        removed.increment(ids.size());
+        return ids.size();
+    }
+
+    private boolean holdLease() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(leaseTtl);
+        return schedulerLeaseRepository.insertIfAbsent(LEASE_NAME, owner, expiresAt) == 1
+                || schedulerLeaseRepository.renewOrTakeOver(LEASE_NAME, owner, expiresAt, now) == 1;
+    }
+
+    // Lets another instance take the job over on its next run instead of waiting for the lease to lapse
+    @PreDestroy
+    void releaseLease() {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    schedulerLeaseRepository.release(LEASE_NAME, owner, LocalDateTime.now()));
+        } catch (Exception e) {
+            log.warn("Failed to release the cancelled order reaper lease: {}", e.getMessage());
+        }
+    }
+}
@@ -10,10 +10,13 @@ import com.ds.masterservice.dto.request.orderService.*;
 import com.ds.masterservice.dto.response.orderService.CartItemResponse;
 import com.ds.masterservice.dto.response.orderService.CartResponse;
 import com.ds.masterservice.repository.orderService.CartRepository;
+import com.ds.masterservice.service.RestaurantScheduleService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -24,6 +27,14 @@ public class CartServiceImpl implements CartService {
 
     private final CartRepository cartRepository;
 
+    // Compiled opening hours; only present where restaurant.schedule.enabled is set
+    @Autowired(required = false)
+    private Optional<RestaurantScheduleService> restaurantScheduleService;
+
+    // Daily stock limits; only present where order.stock.enabled is set
+    @Autowired(required = false)
+    private Optional<StockReservationService> stockReservationService;
+
     // Adds items to an existing active cart or creates a new one if not present
     @Transactional
     public CartResponse addOrCreateCart(AddOrCreateCartRequest request) {
@@ -204,7 +215,27 @@ public class CartServiceImpl implements CartService {
             throw new IllegalStateException("Cannot checkout a cart that is not active");
         }
 
+        // Restaurants without a schedule are not checked
+        if (restaurantScheduleService.isPresent()) {
+            boolean anyClosed = cart.getItems().stream()
+                    .map(CartItem::getRestaurantId)
+                    .distinct()
+                    .anyMatch(restaurantId -> Boolean.FALSE.equals(restaurantScheduleService.get().isOpenNow(restaurantId)));
+            if (anyClosed) {
+                throw new CustomException(ExceptionCode.RESTAURANT_CLOSED);
+            }
+        }
+
+        // Holds the items' daily stock for the order created from this cart; given back if the order is cancelled
+        // or if no order is created from the cart before the checkout times out
+        if (stockReservationService.isPresent()) {
+            stockReservationService.get().reserve(cart.getItems().stream()
+                    .collect(Collectors.toMap(CartItem::getItemId,
+                            item -> item.getQuantity() != null ? item.getQuantity() : 0, Integer::sum)));
+        }
+
         cart.setStatus(CartStatus.CHECKED_OUT);
+        cart.setCheckedOutAt(LocalDateTime.now());
         Cart savedCart = cartRepository.save(cart);
         return mapToCartResponse(savedCart);
     }
@@ -0,0 +1,49 @@
+package com.ds.masterservice.service.orderService;
+
+import com.ds.masterservice.dao.orderService.Order;
+import com.ds.masterservice.dao.orderService.OrderBoardEvent;
+import com.ds.masterservice.dao.orderService.OrderBoardEventType;
+import com.ds.masterservice.dao.orderService.OrderItem;
+import com.ds.masterservice.repository.orderService.OrderBoardEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Records order changes for the restaurant order boards, one event per restaurant with items in the order.
+ * Call it inside the transaction that changes the order, so the event commits or rolls back with the change.
+ */
+@Component
+public class OrderBoardEventRecorder {
+
+    private final OrderBoardEventRepository orderBoardEventRepository;
+
+    @Autowired
+    public OrderBoardEventRecorder(OrderBoardEventRepository orderBoardEventRepository) {
+        this.orderBoardEventRepository = orderBoardEventRepository;
+    }
+
+    public void record(Order order, OrderBoardEventType type) {
+        if (order.getItems() == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderBoardEvent> events = order.getItems().stream()
+                .map(OrderItem::getRestaurantId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .map(restaurantId -> OrderBoardEvent.builder()
+                        .restaurantId(restaurantId)
+                        .orderId(order.getId())
+                        .type(type)
+                        .status(order.getStatus())
+                        .paymentStatus(order.getPaymentStatus())
+                        .createdAt(now)
+                        .build())
+                .toList();
+        orderBoardEventRepository.saveAll(events);
+    }
+}
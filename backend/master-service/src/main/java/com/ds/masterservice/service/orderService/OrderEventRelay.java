@@ -0,0 +1,144 @@
+package com.ds.masterservice.service.orderService;
+
+import com.ds.masterservice.dao.orderService.OrderEvent;
+import com.ds.masterservice.repository.orderService.OrderEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hands committed order events to the notification listeners, off the request thread.
+ * <p>
+ * Each tick claims the oldest due events: a short transaction locks them, skipping rows locked by another
+ * instance, and pushes their {@code nextAttemptAt} past the claim timeout so no other relay picks them up. The
+ * listeners then run for each event in order, outside any transaction and lock. An event is marked dispatched once
+ * all its listeners have returned; if one throws, the event is retried after a backoff that doubles with each
+ * attempt, so every listener may see it more than once. After {@code max-attempts} the event is given up on and
+ * logged. A relay that dies mid-batch leaves its claims to expire, after which they are picked up again.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "order.events.relay.enabled", havingValue = "true")
+public class OrderEventRelay {
+
+    private static final String METRIC_PREFIX = "order.events.relay";
+
+    private final OrderEventRepository orderEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${order.events.relay.batch-size:100}")
+    private int batchSize;
+
+    // Longer than the listeners take for a batch, or a second relay may handle the same events
+    @Value("${order.events.relay.claim-timeout:PT1M}")
+    private Duration claimTimeout;
+
+    @Value("${order.events.relay.retry-backoff:PT5S}")
+    private Duration retryBackoff;
+
+    @Value("${order.events.relay.max-retry-backoff:PT10M}")
+    private Duration maxRetryBackoff;
+
+    @Value("${order.events.relay.max-attempts:10}")
+    private int maxAttempts;
+
+    private final Counter dispatched;
+    private final Counter listenerFailures;
+    private final Counter abandoned;
+
+    @Autowired
+    public OrderEventRelay(OrderEventRepository orderEventRepository,
+                           ApplicationEventPublisher eventPublisher,
+                           PlatformTransactionManager transactionManager,
+                           ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.orderEventRepository = orderEventRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        MeterRegistry registry = meterRegistryProvider.getIfAvailable(SimpleMeterRegistry::new);
+        dispatched = Counter.builder(METRIC_PREFIX + ".dispatched").register(registry);
+        listenerFailures = Counter.builder(METRIC_PREFIX + ".listener.failures").register(registry);
+        abandoned = Counter.builder(METRIC_PREFIX + ".abandoned").register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${order.events.relay.interval:PT1S}")
+    public void relay() {
+        try {
+            List<OrderEvent> events;
+            // Keep going while full batches come back, so a backlog drains without waiting a tick per batch
+            do {
+                events = transactionTemplate.execute(status -> claimBatch());
+                if (events == null || events.isEmpty()) {
+                    return;
+                }
+                dispatch(events);
+            } while (events.size() == batchSize);
+        } catch (Exception e) {
+            log.warn("Failed to relay order events, will retry: {}", e.getMessage());
+        }
+    }
+
+    private List<OrderEvent> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderEvent> events = orderEventRepository.lockDue(now, batchSize);
+        if (!events.isEmpty()) {
+            orderEventRepository.claim(events.stream().map(OrderEvent::getId).toList(), now.plus(claimTimeout));
+        }
+        return events;
+    }
+
+    private void dispatch(List<OrderEvent> events) {
+        List<Long> delivered = new ArrayList<>(events.size());
+        for (OrderEvent event : events) {
+            try {
+                eventPublisher.publishEvent(new OrderLifecycleEvent(event));
+                delivered.add(event.getId());
+            } catch (Exception e) {
+                listenerFailures.increment();
+                retryLater(event, e);
+            }
+        }
+        if (!delivered.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status ->
+                    orderEventRepository.markDispatched(delivered, LocalDateTime.now()));
+            dispatched.increment(delivered.size());
+        }
+    }
+
+    private void retryLater(OrderEvent event, Exception failure) {
+        // The claim has already counted this attempt in the database
+        int attempts = event.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            log.error("Giving up on order event {} for order {} after {} attempts: {}",
+                    event.getId(), event.getOrderId(), attempts, failure.getMessage());
+            transactionTemplate.executeWithoutResult(status ->
+                    orderEventRepository.markDispatched(List.of(event.getId()), LocalDateTime.now()));
+            abandoned.increment();
+            return;
+        }
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (backoff.compareTo(maxRetryBackoff) > 0) {
+            backoff = maxRetryBackoff;
+        }
+        log.warn("Order event {} listener failed on attempt {}, retrying in {}: {}",
+                event.getId(), attempts, backoff, failure.getMessage());
+        LocalDateTime retryAt = LocalDateTime.now().plus(backoff);
+        transactionTemplate.executeWithoutResult(status -> orderEventRepository.scheduleRetry(event.getId(), retryAt));
+    }
+}
@@ -0,0 +1,63 @@
+package com.ds.masterservice.service.orderService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Moves the order id sequences past the ids already in use.
+ * <p>
+ * {@code Order} and {@code OrderItem} ids used to come from AUTO_INCREMENT columns and now come from pooled
+ * sequences, which MySQL stores as one-row tables starting at 1. On startup, once the schema is up to date, each
+ * sequence that is behind its table's highest id is moved past it, so new ids never collide with existing rows.
+ * Runs only in order-service, the one service that inserts orders. If a sequence cannot be aligned, startup fails,
+ * because every checkout would otherwise fail on a duplicate key.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "order.schema-migrations.enabled", havingValue = "true")
+public class OrderIdSequences {
+
+    // Sequence table, entity table and the allocationSize of the entity's generator
+    private static final List<String[]> SEQUENCES = List.of(
+            new String[]{"t_order_seq", "t_order", "50"},
+            new String[]{"t_order_item_seq", "t_order_item", "50"});
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Depends on the entity manager factory so the schema update has created the sequence tables
+    @Autowired
+    public OrderIdSequences(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void align() {
+        for (String[] sequence : SEQUENCES) {
+            String sequenceTable = sequence[0];
+            try {
+                long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + sequence[1], Long.class);
+                // A pooled block can start up to allocationSize below the stored value, so stay that far ahead
+                long next = maxId + Long.parseLong(sequence[2]) + 1;
+
+                List<Long> current = jdbcTemplate.queryForList("SELECT next_val FROM " + sequenceTable, Long.class);
+                if (current.isEmpty()) {
+                    jdbcTemplate.update("INSERT INTO " + sequenceTable + " (next_val) VALUES (?)", next);
+                } else if (current.getFirst() < next) {
+                    jdbcTemplate.update("UPDATE " + sequenceTable + " SET next_val = ? WHERE next_val < ?", next, next);
+                } else {
+                    continue;
+                }
+                log.info("Moved id sequence {} to {}", sequenceTable, next);
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to align id sequence " + sequenceTable, e);
+            }
+        }
+    }
+}
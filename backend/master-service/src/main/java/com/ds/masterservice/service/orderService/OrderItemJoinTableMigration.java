@@ -0,0 +1,69 @@
+package com.ds.masterservice.service.orderService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops the {@code t_order_items} join table.
+ * <p>
+ * {@code Order.items} used to be mapped through that table, which the schema update created with foreign keys to
+ * both {@code t_order} and {@code t_order_item}. The items are now joined on {@code t_order_item.order_id}, so the
+ * table is no longer written, but its rows for older orders would still block deleting those orders and items. On
+ * startup, any item still missing its order id is given the one from the join table, and the table is dropped.
+ * Runs only in order-service, and fails startup if the table cannot be dropped.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "order.schema-migrations.enabled", havingValue = "true")
+public class OrderItemJoinTableMigration {
+
+    private static final String JOIN_TABLE = "t_order_items";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Depends on the entity manager factory so the schema update has run first
+    @Autowired
+    public OrderItemJoinTableMigration(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void migrate() {
+        try {
+            if (!hasColumns("order_id", "items_id")) {
+                if (hasColumns()) {
+                    log.warn("{} does not have the expected order_id and items_id columns, leaving it in place", JOIN_TABLE);
+                }
+                return;
+            }
+            int backfilled = jdbcTemplate.update("UPDATE t_order_item i JOIN " + JOIN_TABLE + " j ON j.items_id = i.id " +
+                    "SET i.order_id = j.order_id WHERE i.order_id IS NULL");
+            jdbcTemplate.execute("DROP TABLE " + JOIN_TABLE);
+            log.info("Dropped the {} join table after backfilling the order id of {} items", JOIN_TABLE, backfilled);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to drop the " + JOIN_TABLE + " join table", e);
+        }
+    }
+
+    // True if the join table exists and has all the given columns
+    private boolean hasColumns(String... columns) {
+        Integer tables = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.tables " +
+                "WHERE table_schema = DATABASE() AND table_name = ?", Integer.class, JOIN_TABLE);
+        if (tables == null || tables == 0) {
+            return false;
+        }
+        for (String column : columns) {
+            Integer found = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.columns " +
+                    "WHERE table_schema = DATABASE() AND table_name = ? AND column_name = ?", Integer.class, JOIN_TABLE, column);
+            if (found == null || found == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
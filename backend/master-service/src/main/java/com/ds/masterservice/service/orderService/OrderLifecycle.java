@@ -0,0 +1,94 @@
+package com.ds.masterservice.service.orderService;
+
+import com.ds.commons.exception.CustomException;
+import com.ds.commons.exception.ExceptionCode;
+import com.ds.masterservice.dao.orderService.Order;
+import com.ds.masterservice.dao.orderService.OrderBoardEventType;
+import com.ds.masterservice.dao.orderService.OrderEvent;
+import com.ds.masterservice.dao.orderService.OrderStatus;
+import com.ds.masterservice.dao.orderService.PaymentStatus;
+import com.ds.masterservice.repository.orderService.OrderEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * The one place order status changes go through.
+ * <p>
+ * Moves are checked against {@link OrderStatus#canMoveTo}. Every change appends an {@link OrderEvent}, which is
+ * also the notification outbox, and the matching restaurant order board events. Call it inside the transaction
+ * that changes the order, so the events commit or roll back with the change; notifications are sent later by
+ * {@link OrderEventRelay}.
+ */
+@Slf4j
+@Component
+public class OrderLifecycle {
+
+    private final OrderEventRepository orderEventRepository;
+    private final OrderBoardEventRecorder orderBoardEventRecorder;
+
+    @Autowired
+    public OrderLifecycle(OrderEventRepository orderEventRepository, OrderBoardEventRecorder orderBoardEventRecorder) {
+        this.orderEventRepository = orderEventRepository;
+        this.orderBoardEventRecorder = orderBoardEventRecorder;
+    }
+
+    public void created(Order order) {
+        append(order, OrderBoardEventType.ORDER_CREATED, null, null);
+    }
+
+    public void moveTo(Order order, OrderStatus next) throws CustomException {
+        moveTo(order, next, null);
+    }
+
+    /**
+     * Moves the order to {@code next}, updating its status and timestamp.
+     *
+     * @param driverId the driver making the change, if any
+     * @throws CustomException INVALID_STATUS_TRANSITION if the order cannot move from its current status to {@code next}
+     */
+    public void moveTo(Order order, OrderStatus next, Long driverId) throws CustomException {
+        OrderStatus from = order.getStatus();
+        if (!from.canMoveTo(next)) {
+            log.info("Rejected moving order {} from {} to {}", order.getId(), from, next);
+            throw new CustomException(ExceptionCode.INVALID_STATUS_TRANSITION);
+        }
+        order.setStatus(next);
+        order.setUpdatedAt(LocalDateTime.now());
+        append(order, OrderBoardEventType.STATUS_CHANGED, from, driverId);
+    }
+
+    /**
+     * Records a move already made in the database by a conditional update, such as a driver's claim.
+     * The order must be loaded after the update.
+     */
+    public void moved(Order order, OrderStatus from, Long driverId) {
+        append(order, OrderBoardEventType.STATUS_CHANGED, from, driverId);
+    }
+
+    public void paymentChanged(Order order, PaymentStatus paymentStatus) {
+        order.setPaymentStatus(paymentStatus);
+        order.setUpdatedAt(LocalDateTime.now());
+        append(order, OrderBoardEventType.PAYMENT_CHANGED, null, null);
+    }
+
+    public void removed(Order order) {
+        append(order, OrderBoardEventType.ORDER_REMOVED, null, null);
+    }
+
+    private void append(Order order, OrderBoardEventType type, OrderStatus from, Long driverId) {
+        orderEventRepository.save(OrderEvent.builder()
+                .orderId(order.getId())
+                .userId(order.getUserId())
+                .type(type)
+                .fromStatus(from)
+                .toStatus(order.getStatus())
+                .paymentStatus(order.getPaymentStatus())
+                .driverId(driverId)
+                .createdAt(LocalDateTime.now())
+                .build());
+        orderBoardEventRecorder.record(order, type);
+    }
+}
@@ -0,0 +1,39 @@
+package com.ds.masterservice.service.orderService;
+
+import com.ds.masterservice.dao.orderService.OrderBoardEventType;
+import com.ds.masterservice.dao.orderService.OrderEvent;
+import com.ds.masterservice.dao.orderService.OrderStatus;
+import com.ds.masterservice.dao.orderService.PaymentStatus;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@link OrderEventRelay} for each committed {@link OrderEvent}, off the request thread.
+ * Listeners send the notifications for the change. A listener that throws has the event delivered again later,
+ * to every listener, so listeners must tolerate repeats.
+ */
+@Getter
+public class OrderLifecycleEvent {
+    private final Long eventId;
+    private final Long orderId;
+    private final Long userId;
+    private final OrderBoardEventType type;
+    private final OrderStatus fromStatus;
+    private final OrderStatus toStatus;
+    private final PaymentStatus paymentStatus;
+    private final Long driverId;
+    private final LocalDateTime createdAt;
+
+    public OrderLifecycleEvent(OrderEvent event) {
+        this.eventId = event.getId();
+        this.orderId = event.getOrderId();
+        this.userId = event.getUserId();
+        this.type = event.getType();
+        this.fromStatus = event.getFromStatus();
+        this.toStatus = event.getToStatus();
+        this.paymentStatus = event.getPaymentStatus();
+        this.driverId = event.getDriverId();
+        this.createdAt = event.getCreatedAt();
+    }
+}
@@ -4,8 +4,11 @@ package com.ds.masterservice.service.orderService;
 import com.ds.commons.exception.CustomException;
 import com.ds.masterservice.dao.orderService.PaymentStatus;
 import com.ds.masterservice.dto.request.orderService.CreateOrderRequest;
+import com.ds.masterservice.dto.request.orderService.OrderHistoryRequest;
 import com.ds.masterservice.dto.request.orderService.UpdateOrderStatusRequest;
 import com.ds.masterservice.dto.response.orderService.BillResponse;
+import com.ds.masterservice.dto.response.orderService.OrderHistoryPageResponse;
+import com.ds.masterservice.dto.response.orderService.OrderItemResponse;
 import com.ds.masterservice.dto.response.orderService.OrderResponse;
 
 import java.util.List;
@@ -20,6 +23,10 @@ public interface OrderService {
 
     List<OrderResponse> getUserDeliveredOrders(Long userId);
 
+    OrderHistoryPageResponse getUserOrderHistory(Long userId, OrderHistoryRequest request) throws CustomException;
+
+    List<OrderItemResponse> getOrderItems(Long orderId) throws CustomException;
+
     OrderResponse updateOrderStatus(Long orderId, UpdateOrderStatusRequest request) throws CustomException;
 
     void deleteOrder(Long orderId) throws CustomException;
@@ -30,5 +37,4 @@ public interface OrderService {
 
     OrderResponse cancelOrderIfPending(Long orderId) throws CustomException;
 
-    void removeOldCancelledOrders(); // For scheduled cleanup
 }
@@ -4,20 +4,35 @@ import com.ds.commons.exception.CustomException;
 import com.ds.commons.exception.ExceptionCode;
 import com.ds.masterservice.dao.orderService.*;
 import com.ds.masterservice.dto.request.orderService.CreateOrderRequest;
+import com.ds.masterservice.dto.request.orderService.OrderHistoryRequest;
 import com.ds.masterservice.dto.request.orderService.UpdateOrderStatusRequest;
 import com.ds.masterservice.dto.response.orderService.BillResponse;
+import com.ds.masterservice.dto.response.orderService.OrderHistoryPageResponse;
 import com.ds.masterservice.dto.response.orderService.OrderItemResponse;
 import com.ds.masterservice.dto.response.orderService.OrderResponse;
+import com.ds.masterservice.dto.response.orderService.OrderSummaryResponse;
 import com.ds.masterservice.repository.orderService.CartRepository;
+import com.ds.masterservice.repository.orderService.OrderItemRepository;
 import com.ds.masterservice.repository.orderService.OrderRepository;
+import com.ds.masterservice.service.deliveryService.AddressGeocodingService;
+import com.ds.masterservice.service.deliveryService.OpenOrderIndex;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,9 +40,21 @@ import org.slf4j.LoggerFactory;
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
 
+    private static final int MAX_HISTORY_PAGE = 100;
+
     private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
     private final CartRepository cartRepository;
     private final CartServiceImpl cartServiceImpl;
+    private final AddressGeocodingService addressGeocodingService;
+    private final OrderLifecycle orderLifecycle;
+
+    @Autowired(required = false)
+    private Optional<OpenOrderIndex> openOrderIndex;
+
+    // Daily stock limits; only present where order.stock.enabled is set
+    @Autowired(required = false)
+    private Optional<StockReservationService> stockReservationService;
 
 
     // Creates an order from a checked-out cart
@@ -36,8 +63,8 @@ public class OrderServiceImpl implements OrderService {
         Logger logger = LoggerFactory.getLogger(getClass());
         logger.debug("Starting createOrder for cartId: {}", request.getCartId());
 
-        // Fetch cart by ID
-        Cart cart = cartRepository.findById(request.getCartId())
+        // Fetch cart by ID, locked so a concurrent order for the same cart waits and then sees it used
+        Cart cart = cartRepository.findForUpdateById(request.getCartId())
                 .orElseThrow(() -> {
                     logger.error("Cart not found with id: {}", request.getCartId());
                     return new CustomException(ExceptionCode.CART_NOT_FOUND);
@@ -52,12 +79,23 @@ public class OrderServiceImpl implements OrderService {
             throw new IllegalStateException("Cannot create order from a cart that is not checked out");
         }
 
+        // A cart is used for one order only, so the stock reserved at its checkout backs exactly one order
+        if (cart.getOrderId() != null) {
+            logger.info("Cart {} was already used for order {}", cart.getId(), cart.getOrderId());
+            throw new CustomException(ExceptionCode.CANNOT_CREATE_ORDER_FROM_CART);
+        }
+
         // Convert cart to order entity
         Order order = new Order();
         order.setUserId(cart.getUserId());
         order.setDeliveryAddress(request.getDeliveryAddress());
         order.setTotalAmount(cart.getTotalAmount());
 
+        // Order ids come from a pooled sequence, so this assigns the id without writing; the order row and its items
+        // are inserted at commit, the items as one batch
+        Order savedOrder = orderRepository.save(order);
+        cart.setOrderId(savedOrder.getId());
+
         // Convert cart items into order items
         List<OrderItem> orderItems = cart.getItems().stream()
                 .map(cartItem -> {
@@ -70,8 +108,7 @@ public class OrderServiceImpl implements OrderService {
                     orderItem.setQuantity(cartItem.getQuantity());
                     orderItem.setUnitPrice(cartItem.getUnitPrice());
                     orderItem.setTotalPrice(cartItem.getTotalPrice());
-                    Order savedOrder = orderRepository.save(order);
-                    orderItem.setOrderId( savedOrder.getId());
+                    orderItem.setOrderId(savedOrder.getId());
 
                     logger.debug("Adding order item: itemId={}, quantity={}, unitPrice={}, totalPrice={}",
                             cartItem.getItemId(), cartItem.getQuantity(), cartItem.getUnitPrice(), cartItem.getTotalPrice());
@@ -80,11 +117,12 @@ public class OrderServiceImpl implements OrderService {
                 })
                 .collect(Collectors.toList());
 
-        order.setItems(orderItems);
-
-        // Save order and return response
-        Order savedOrder = orderRepository.save(order);
+        savedOrder.setItems(orderItems);
         logger.debug("Order saved successfully with id: {}", savedOrder.getId());
+        orderLifecycle.created(savedOrder);
+
+        // Resolve the delivery address once, off the request thread
+        addressGeocodingService.geocodeOrderAsync(savedOrder);
 
         return mapToOrderResponse(savedOrder);
     }
@@ -96,21 +134,46 @@ public class OrderServiceImpl implements OrderService {
         return mapToOrderResponse(order);
     }
 
-    // Retrieves all orders placed by a user, sorted by newest first
+    // Retrieves a user's most recent orders, newest first; older ones are paged through getUserOrderHistory
     public List<OrderResponse> getUserOrders(Long userId) {
-        return orderRepository.findByUserId(userId).stream()
-                .sorted((o1, o2) -> o2.getCreatedAt().compareTo(o1.getCreatedAt()))
-                .map(this::mapToOrderResponse)
-                .collect(Collectors.toList());
+        return loadHistory(userId, null, null, this::mapToOrderResponse);
     }
 
-    // Retrieves only delivered orders for a user
+    // Retrieves a user's most recent delivered orders, newest first
     public List<OrderResponse> getUserDeliveredOrders(Long userId) {
-        return orderRepository.findByUserIdAndStatus(userId, OrderStatus.DELIVERED).stream()
-                .map(this::mapToOrderResponse)
-                .collect(Collectors.toList());
+        return loadHistory(userId, OrderStatus.DELIVERED, null, this::mapToOrderResponse);
     }
 
+    /**
+     * Returns one page of a user's orders, newest first, as summaries with item counts. Items are loaded
+     * separately with {@link #getOrderItems}.
+     */
+    public OrderHistoryPageResponse getUserOrderHistory(Long userId, OrderHistoryRequest request) throws CustomException {
+        int pageSize = Math.max(1, Math.min(request.getLimit(), MAX_HISTORY_PAGE));
+        HistoryCursor after = parseHistoryCursor(request.getCursor());
+
+        // One extra row tells whether there is a next page
+        List<OrderRepository.OrderSummaryProjection> rows = orderRepository.findHistoryPage(userId,
+                request.getStatus(), request.getPaymentStatus(),
+                after != null ? after.createdAt() : null, after != null ? after.id() : null,
+                PageRequest.ofSize(pageSize + 1));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<OrderRepository.OrderSummaryProjection> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? historyCursor(page.getLast()) : null;
+
+        return new OrderHistoryPageResponse(page.stream().map(this::mapToOrderSummaryResponse).toList(), nextCursor);
+    }
+
+    // Retrieves the items of one order, for history pages that only carry item counts
+    public List<OrderItemResponse> getOrderItems(Long orderId) throws CustomException {
+        if (!orderRepository.existsById(orderId)) {
+            throw new CustomException(ExceptionCode.ORDER_NOT_FOUND);
+        }
+        return orderItemRepository.findByOrderIdInOrderByIdAsc(List.of(orderId)).stream()
+                .map(this::mapToOrderItemResponse)
+                .collect(Collectors.toList());
+    }
 
     // Updates the status of an existing order
     @Transactional
@@ -118,14 +181,24 @@ public class OrderServiceImpl implements OrderService {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new CustomException(ExceptionCode.ORDER_NOT_FOUND));
 
+        OrderStatus newStatus;
         try {
-            OrderStatus newStatus = OrderStatus.valueOf(request.getStatus());
-            order.setStatus(newStatus);
-            order.setUpdatedAt(LocalDateTime.now());
-            return mapToOrderResponse(orderRepository.save(order));
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Invalid order status: " + request.getStatus());
+            newStatus = OrderStatus.valueOf(request.getStatus());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new CustomException(ExceptionCode.INVALID_ORDER_STATUS);
+        }
+        // Setting the current status again is a no-op rather than a rejected move
+        if (newStatus == order.getStatus()) {
+            return mapToOrderResponse(order);
         }
+
+        orderLifecycle.moveTo(order, newStatus);
+        if (newStatus == OrderStatus.CANCELLED) {
+            releaseStock(order);
+        }
+        Order savedOrder = orderRepository.save(order);
+        openOrderIndex.ifPresent(index -> index.track(savedOrder));
+        return mapToOrderResponse(savedOrder);
     }
 
     // Deletes an order by ID
@@ -133,14 +206,14 @@ public class OrderServiceImpl implements OrderService {
     public void deleteOrder(Long orderId) throws CustomException {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new CustomException(ExceptionCode.ORDER_NOT_FOUND));
+        orderLifecycle.removed(order);
         orderRepository.delete(order);
+        openOrderIndex.ifPresent(index -> index.remove(orderId));
     }
 
-    // Retrieves bills for all paid orders of a user
+    // Retrieves bills for a user's most recent paid orders, newest first
     public List<BillResponse> getUserPaidBills(Long userId) {
-        return orderRepository.findByUserIdAndPaymentStatus(userId, PaymentStatus.PAID).stream()
-                .map(this::mapToBillResponse)
-                .collect(Collectors.toList());
+        return loadHistory(userId, null, PaymentStatus.PAID, this::mapToBillResponse);
     }
 
     // Updates the payment status of an order
@@ -149,9 +222,9 @@ public class OrderServiceImpl implements OrderService {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new CustomException(ExceptionCode.ORDER_NOT_FOUND));
 
-        order.setPaymentStatus(paymentStatus);
-        order.setUpdatedAt(LocalDateTime.now());
-        return mapToOrderResponse(orderRepository.save(order));
+        orderLifecycle.paymentChanged(order, paymentStatus);
+        Order savedOrder = orderRepository.save(order);
+        return mapToOrderResponse(savedOrder);
     }
 
     // Cancels an order if its status is still PENDING
@@ -171,23 +244,64 @@ public class OrderServiceImpl implements OrderService {
             throw new IllegalStateException("Only orders with status PENDING can be cancelled.");
         }
 
-        order.setStatus(OrderStatus.CANCELLED);
-        order.setUpdatedAt(LocalDateTime.now());
+        orderLifecycle.moveTo(order, OrderStatus.CANCELLED);
+        releaseStock(order);
 
         logger.info("Order ID {} successfully cancelled.", orderId);
-        return mapToOrderResponse(orderRepository.save(order));
+        Order savedOrder = orderRepository.save(order);
+        openOrderIndex.ifPresent(index -> index.track(savedOrder));
+        return mapToOrderResponse(savedOrder);
     }
 
-    // Scheduled task: removes cancelled orders older than one hour
-    @Scheduled(fixedRate = 60 * 60 * 1000) // Every hour
-    @Transactional
-    public void removeOldCancelledOrders() {
-        LocalDateTime oneHourAgo = LocalDateTime.now().minusHours(1);
-        List<Order> oldCancelledOrders = orderRepository.findByStatusAndUpdatedAtBefore(OrderStatus.CANCELLED, oneHourAgo);
+    // Maps the newest MAX_HISTORY_PAGE matching orders of a user, loading them with their items in one query, so
+    // these unpaged lists stay the same size however long the user's history gets
+    private <T> List<T> loadHistory(Long userId, OrderStatus status, PaymentStatus paymentStatus, Function<Order, T> mapper) {
+        List<OrderRepository.OrderSummaryProjection> page = orderRepository.findHistoryPage(userId, status,
+                paymentStatus, null, null, PageRequest.ofSize(MAX_HISTORY_PAGE));
+        if (page.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Order> orders = orderRepository.findAllWithItemsByIdIn(
+                        page.stream().map(OrderRepository.OrderSummaryProjection::getId).toList()).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+        return page.stream()
+                .map(row -> orders.get(row.getId()))
+                .filter(Objects::nonNull)
+                .map(mapper)
+                .collect(Collectors.toList());
+    }
+
+    // Encodes the keyset position of a history row as an opaque URL-safe cursor
+    private String historyCursor(OrderRepository.OrderSummaryProjection row) {
+        String position = row.getCreatedAt() + "|" + row.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
 
-        oldCancelledOrders.forEach(order -> {
-            orderRepository.delete(order);
-        });
+    private HistoryCursor parseHistoryCursor(String cursor) throws CustomException {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException(cursor);
+            }
+            return new HistoryCursor(LocalDateTime.parse(position.substring(0, separator)),
+                    Long.parseLong(position.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new CustomException(ExceptionCode.INVALID_CURSOR);
+        }
+    }
+
+    private record HistoryCursor(LocalDateTime createdAt, Long id) {
+    }
+
+    // Gives the order's items back to today's stock; the stock was reserved when its cart was checked out
+    private void releaseStock(Order order) {
+        stockReservationService.ifPresent(stock -> stock.release(order.getItems().stream()
+                .collect(Collectors.toMap(OrderItem::getItemId, OrderItem::getQuantity, Integer::sum)),
+                order.getCreatedAt()));
     }
 
     // Converts an Order to a BillResponse DTO
@@ -201,24 +315,39 @@ public class OrderServiceImpl implements OrderService {
         response.setBillingAddress(order.getDeliveryAddress());
 
         List<OrderItemResponse> itemResponses = order.getItems().stream()
-                .map(item -> {
-                    OrderItemResponse itemResponse = new OrderItemResponse();
-                    itemResponse.setItemId(item.getItemId());
-                    itemResponse.setItemName(item.getItemName());
-                    itemResponse.setItemImage(item.getItemImage());
-                    itemResponse.setRestaurantName(item.getRestaurantName());
-                    itemResponse.setRestaurantId(item.getRestaurantId());
-                    itemResponse.setQuantity(item.getQuantity());
-                    itemResponse.setUnitPrice(item.getUnitPrice());
-                    itemResponse.setTotalPrice(item.getTotalPrice());
-                    return itemResponse;
-                })
+                .map(this::mapToOrderItemResponse)
                 .collect(Collectors.toList());
 
         response.setItems(itemResponses);
         return response;
     }
 
+    private OrderSummaryResponse mapToOrderSummaryResponse(OrderRepository.OrderSummaryProjection row) {
+        OrderSummaryResponse response = new OrderSummaryResponse();
+        response.setId(row.getId());
+        response.setStatus(row.getStatus());
+        response.setPaymentStatus(row.getPaymentStatus() != null ? row.getPaymentStatus().toString() : null);
+        response.setTotalAmount(row.getTotalAmount() != null ? row.getTotalAmount() : 0);
+        response.setDeliveryAddress(row.getDeliveryAddress());
+        response.setCreatedAt(row.getCreatedAt());
+        response.setUpdatedAt(row.getUpdatedAt());
+        response.setItemCount(row.getItemCount() != null ? row.getItemCount() : 0);
+        return response;
+    }
+
+    private OrderItemResponse mapToOrderItemResponse(OrderItem item) {
+        OrderItemResponse itemResponse = new OrderItemResponse();
+        itemResponse.setItemId(item.getItemId());
+        itemResponse.setItemName(item.getItemName());
+        itemResponse.setItemImage(item.getItemImage());
+        itemResponse.setRestaurantName(item.getRestaurantName());
+        itemResponse.setRestaurantId(item.getRestaurantId());
+        itemResponse.setQuantity(item.getQuantity());
+        itemResponse.setUnitPrice(item.getUnitPrice());
+        itemResponse.setTotalPrice(item.getTotalPrice());
+        return itemResponse;
+    }
+
     // Converts an Order entity to OrderResponse DTO
     private OrderResponse mapToOrderResponse(Order order) {
         OrderResponse response = new OrderResponse();
@@ -232,18 +361,7 @@ public class OrderServiceImpl implements OrderService {
         response.setUpdatedAt(order.getUpdatedAt());
 
         List<OrderItemResponse> itemResponses = order.getItems().stream()
-                .map(item -> {
-                    OrderItemResponse itemResponse = new OrderItemResponse();
-                    itemResponse.setItemId(item.getItemId());
-                    itemResponse.setItemName(item.getItemName());
-                    itemResponse.setItemImage(item.getItemImage());
-                    itemResponse.setRestaurantName(item.getRestaurantName());
-                    itemResponse.setRestaurantId(item.getRestaurantId());
-                    itemResponse.setQuantity(item.getQuantity());
-                    itemResponse.setUnitPrice(item.getUnitPrice());
-                    itemResponse.setTotalPrice(item.getTotalPrice());
-                    return itemResponse;
-                })
+                .map(this::mapToOrderItemResponse)
                 .collect(Collectors.toList());
 
         response.setItems(itemResponses);
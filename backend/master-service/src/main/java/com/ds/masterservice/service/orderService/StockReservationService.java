@@ -0,0 +1,314 @@
+package com.ds.masterservice.service.orderService;
+
+import com.ds.commons.exception.CustomException;
+import com.ds.commons.exception.ExceptionCode;
+import com.ds.commons.utils.StripedStockCounter;
+import com.ds.commons.utils.TransactionCallbacks;
+import com.ds.commons.utils.WeeklyHours;
+import com.ds.masterservice.dao.orderService.Cart;
+import com.ds.masterservice.dao.orderService.CartItem;
+import com.ds.masterservice.dao.orderService.CartStatus;
+import com.ds.masterservice.repository.FoodItemRepository;
+import com.ds.masterservice.repository.orderService.CartRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Enforces {@code FoodItem.stockQuantityPerDay} with in-memory counters instead of row locks.
+ * <p>
+ * Each limited item has a {@link StripedStockCounter} for its current business day, which starts at the
+ * restaurant's opening hour. Checkouts reserve from it in memory, so concurrent orders for a popular item never
+ * wait on each other and oversell is rejected without touching the database. A scheduled flush writes the
+ * reserved quantity of every item that changed in one batched UPDATE; on startup the counters resume from the
+ * stored quantity when it is for the current day. The counter rolls over to the full limit when the next business
+ * day starts. Limits are reloaded periodically, so a changed limit applies within {@code reload-interval}.
+ * Stock reserved by a checkout that is not turned into an order within {@code checkout-timeout} is given back.
+ * <p>
+ * Counters live in this instance, so checkouts for the same items must be served by one instance.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "order.stock.enabled", havingValue = "true")
+public class StockReservationService {
+
+    private static final String UPDATE_SQL = "UPDATE t_food_item SET stock_reserved = ?, stock_reserved_date = ? WHERE id = ?";
+    private static final String METRIC_PREFIX = "order.stock";
+
+    private final FoodItemRepository foodItemRepository;
+    private final CartRepository cartRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ZoneId zone;
+
+    private final Map<Long, ItemStock> stocks = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    @Value("${order.stock.batch-size:500}")
+    private int batchSize;
+
+    @Value("${order.stock.checkout-timeout:PT30M}")
+    private Duration checkoutTimeout;
+
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Counter released;
+    private final Counter flushFailures;
+
+    @Autowired
+    public StockReservationService(FoodItemRepository foodItemRepository,
+                                   CartRepository cartRepository,
+                                   JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   ObjectProvider<MeterRegistry> meterRegistryProvider,
+                                   @Value("${order.stock.zone:${restaurant.schedule.zone:}}") String zone) {
+        this.foodItemRepository = foodItemRepository;
+        this.cartRepository = cartRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.zone = zone == null || zone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(zone);
+
+        MeterRegistry registry = meterRegistryProvider.getIfAvailable(SimpleMeterRegistry::new);
+        accepted = Counter.builder(METRIC_PREFIX + ".reservations").tag("result", "accepted").register(registry);
+        rejected = Counter.builder(METRIC_PREFIX + ".reservations").tag("result", "rejected").register(registry);
+        released = Counter.builder(METRIC_PREFIX + ".released")
+                .description("Reservations given back by cancelled orders and rolled back checkouts")
+                .register(registry);
+        flushFailures = Counter.builder(METRIC_PREFIX + ".flush.failures").register(registry);
+    }
+
+    /**
+     * Loads the limit of every item that has one. Items already tracked keep their counters, adjusted to a
+     * changed limit; new items resume from their stored reservations.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${order.stock.reload-interval:PT5M}",
+            initialDelayString = "${order.stock.reload-interval:PT5M}")
+    public synchronized void reload() {
+        try {
+            Set<Long> limited = new HashSet<>();
+            for (FoodItemRepository.StockLimitProjection row : foodItemRepository.findStockLimits()) {
+                limited.add(row.getId());
+                long limit = Math.max(0, row.getStockQuantityPerDay());
+                int dayStart = dayStartMinutes(row.getOpeningHour());
+
+                ItemStock stock = stocks.get(row.getId());
+                if (stock == null) {
+                    LocalDate today = businessDate(dayStart, LocalDateTime.now(zone));
+                    long reserved = today.equals(row.getStockReservedDate()) && row.getStockReserved() != null
+                            ? row.getStockReserved() : 0;
+                    stocks.put(row.getId(), new ItemStock(limit, dayStart,
+                            new AtomicReference<>(new Day(today, new StripedStockCounter(limit - reserved)))));
+                } else if (stock.limit != limit) {
+                    stock.day.get().counter.adjust(limit - stock.limit);
+                    stock.limit = limit;
+                    dirty.add(row.getId());
+                }
+            }
+            stocks.keySet().retainAll(limited);
+            log.info("Tracking daily stock of {} food items", stocks.size());
+        } catch (Exception e) {
+            log.error("Failed to load food item stock limits: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reserves the given quantities per food item, all or none. Items without a daily limit are not counted.
+     * Inside a transaction the reservation is given back if the transaction rolls back.
+     *
+     * @throws CustomException OUT_OF_STOCK if any item has less than its quantity left today
+     */
+    public void reserve(Map<Long, Integer> quantities) throws CustomException {
+        List<Runnable> undo = new ArrayList<>();
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            Long itemId = entry.getKey();
+            ItemStock stock = stocks.get(itemId);
+            int quantity = entry.getValue() != null ? entry.getValue() : 0;
+            if (stock == null || quantity <= 0) {
+                continue;
+            }
+
+            Day day = currentDay(itemId, stock);
+            if (!day.counter.tryReserve(quantity)) {
+                undo.forEach(Runnable::run);
+                rejected.increment();
+                log.info("Food item {} is out of stock for {}", itemId, day.date);
+                throw new CustomException(ExceptionCode.OUT_OF_STOCK);
+            }
+            dirty.add(itemId);
+            undo.add(() -> {
+                day.counter.release(quantity, stock.limit);
+                dirty.add(itemId);
+            });
+        }
+        accepted.increment();
+
+        if (!undo.isEmpty()) {
+            TransactionCallbacks.afterRollback(() -> {
+                undo.forEach(Runnable::run);
+                released.increment();
+            });
+        }
+    }
+
+    /**
+     * Gives back quantities reserved at {@code reservedAt} once the current transaction commits.
+     * Reservations from an earlier business day are not given back, as that day's stock has already been reset.
+     */
+    public void release(Map<Long, Integer> quantities, LocalDateTime reservedAt) {
+        // Order timestamps are in the server's zone
+        LocalDateTime reservedLocal = reservedAt.atZone(ZoneId.systemDefault()).withZoneSameInstant(zone).toLocalDateTime();
+        TransactionCallbacks.afterCommit(() -> quantities.forEach((itemId, quantity) -> {
+            ItemStock stock = stocks.get(itemId);
+            if (stock == null || quantity == null || quantity <= 0) {
+                return;
+            }
+            Day day = currentDay(itemId, stock);
+            if (day.date.equals(businessDate(stock.dayStartMinutes, reservedLocal))) {
+                day.counter.release(quantity, stock.limit);
+                dirty.add(itemId);
+                released.increment();
+            }
+        }));
+    }
+
+    /**
+     * Gives back the stock of carts checked out more than {@code checkout-timeout} ago that no order was created
+     * from, and marks those carts abandoned so no order can be created from them later.
+     */
+    @Scheduled(fixedDelayString = "${order.stock.checkout-sweep-interval:PT1M}")
+    public void releaseExpiredCheckouts() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(checkoutTimeout);
+        try {
+            Integer expired = transactionTemplate.execute(status -> {
+                int count = 0;
+                for (Cart cart : cartRepository.findUnorderedCheckouts(CartStatus.CHECKED_OUT, cutoff,
+                        PageRequest.ofSize(batchSize))) {
+                    // Loses to an order created from the cart meanwhile, which keeps the reservation
+                    if (cartRepository.expireCheckout(cart.getId(), CartStatus.CHECKED_OUT, CartStatus.ABANDONED) == 0) {
+                        continue;
+                    }
+                    release(cart.getItems().stream().collect(Collectors.toMap(CartItem::getItemId,
+                            item -> item.getQuantity() != null ? item.getQuantity() : 0, Integer::sum)),
+                            cart.getCheckedOutAt());
+                    count++;
+                }
+                return count;
+            });
+            if (expired != null && expired > 0) {
+                log.info("Released the stock of {} checkouts not ordered within {}", expired, checkoutTimeout);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to release expired checkouts, will retry: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Writes today's reserved quantity of every item that changed since the last flush.
+     */
+    @Scheduled(fixedDelayString = "${order.stock.flush-interval:PT5S}")
+    public void flush() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> rows = new ArrayList<>();
+        for (Long id : new ArrayList<>(dirty)) {
+            // Clear the flag before reading so a change arriving meanwhile marks the item dirty again
+            dirty.remove(id);
+            ItemStock stock = stocks.get(id);
+            if (stock != null) {
+                Day day = stock.day.get();
+                long reserved = Math.max(0, stock.limit - day.counter.available());
+                rows.add(new Object[]{reserved, Date.valueOf(day.date), id});
+            }
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, rows, batchSize, (ps, row) -> {
+                ps.setLong(1, (Long) row[0]);
+                ps.setDate(2, (Date) row[1]);
+                ps.setLong(3, (Long) row[2]);
+            });
+        } catch (Exception e) {
+            flushFailures.increment();
+            rows.forEach(row -> dirty.add((Long) row[2]));
+            log.warn("Failed to flush reserved stock of {} food items, will retry", rows.size(), e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    // The item's counter for the current business day, starting a full one when a new day has begun
+    private Day currentDay(Long itemId, ItemStock stock) {
+        LocalDate today = businessDate(stock.dayStartMinutes, LocalDateTime.now(zone));
+        Day day = stock.day.get();
+        while (day.date.isBefore(today)) {
+            Day fresh = new Day(today, new StripedStockCounter(stock.limit));
+            if (stock.day.compareAndSet(day, fresh)) {
+                dirty.add(itemId);
+                return fresh;
+            }
+            day = stock.day.get();
+        }
+        return day;
+    }
+
+    private static LocalDate businessDate(int dayStartMinutes, LocalDateTime time) {
+        return time.minusMinutes(dayStartMinutes).toLocalDate();
+    }
+
+    // A restaurant's business day starts at its opening hour, or at midnight if that cannot be read
+    private static int dayStartMinutes(String openingHour) {
+        try {
+            return WeeklyHours.parseTime(openingHour).toSecondOfDay() / 60;
+        } catch (IllegalArgumentException e) {
+            return 0;
+        }
+    }
+
+    @AllArgsConstructor
+    private static class ItemStock {
+        private volatile long limit;
+        private final int dayStartMinutes;
+        private final AtomicReference<Day> day;
+    }
+
+    @AllArgsConstructor
+    private static class Day {
+        private final LocalDate date;
+        private final StripedStockCounter counter;
+    }
+}
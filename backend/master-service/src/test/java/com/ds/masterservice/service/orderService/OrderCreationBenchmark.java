@@ -0,0 +1,110 @@
+package com.ds.masterservice.service.orderService;
+
+import com.ds.masterservice.dao.orderService.Order;
+import com.ds.masterservice.dao.orderService.OrderItem;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures orders written per second the way {@code OrderServiceImpl.createOrder} writes them: persist the order,
+ * attach {@code itemsPerOrder} items carrying its id, commit. {@code batchSize} 1 turns JDBC batching off for
+ * comparison with the order-service setting.
+ * <p>
+ * Needs a MySQL database; it writes to the real order tables under user id -1 and deletes those rows afterwards.
+ * Run with {@code mvn -pl master-service test-compile} followed by
+ * {@code java -Dbenchmark.jdbc.url=jdbc:mysql://localhost:3308/easy-bites?rewriteBatchedStatements=true
+ * -Dbenchmark.jdbc.user=... -Dbenchmark.jdbc.password=...
+ * -cp "master-service/target/test-classes:master-service/target/classes:<test classpath>" org.openjdk.jmh.Main OrderCreationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderCreationBenchmark {
+
+    private static final long BENCHMARK_USER_ID = -1L;
+
+    @Param({"1", "5", "20"})
+    private int itemsPerOrder;
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    private SessionFactory sessionFactory;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Order.class)
+                .addAnnotatedClass(OrderItem.class)
+                .setProperty("hibernate.connection.url", System.getProperty("benchmark.jdbc.url",
+                        "jdbc:mysql://localhost:3308/easy-bites?rewriteBatchedStatements=true"))
+                .setProperty("hibernate.connection.username", System.getProperty("benchmark.jdbc.user", "order_user"))
+                .setProperty("hibernate.connection.password", System.getProperty("benchmark.jdbc.password", ""))
+                .setProperty("hibernate.hbm2ddl.auto", "update")
+                .setProperty("hibernate.jdbc.batch_size", String.valueOf(batchSize))
+                .setProperty("hibernate.order_inserts", "true")
+                .setPhysicalNamingStrategy(new CamelCaseToUnderscoresNamingStrategy())
+                .buildSessionFactory();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.inTransaction(session -> {
+            session.createMutationQuery("DELETE FROM OrderItem i WHERE i.orderId IN " +
+                            "(SELECT o.id FROM Order o WHERE o.userId = :userId)")
+                    .setParameter("userId", BENCHMARK_USER_ID)
+                    .executeUpdate();
+            session.createMutationQuery("DELETE FROM Order o WHERE o.userId = :userId")
+                    .setParameter("userId", BENCHMARK_USER_ID)
+                    .executeUpdate();
+        });
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Long createOrder() {
+        return sessionFactory.fromTransaction(session -> {
+            Order order = new Order();
+            order.setUserId(BENCHMARK_USER_ID);
+            order.setDeliveryAddress("No. 12, Galle Road, Colombo 03");
+            order.setTotalAmount(itemsPerOrder * 1250.0);
+            session.persist(order);
+
+            List<OrderItem> items = new ArrayList<>(itemsPerOrder);
+            for (int i = 0; i < itemsPerOrder; i++) {
+                OrderItem item = new OrderItem();
+                item.setItemId((long) i + 1);
+                item.setItemName("Chicken kottu " + i);
+                item.setRestaurantId(1L);
+                item.setRestaurantName("Benchmark restaurant");
+                item.setQuantity(1);
+                item.setUnitPrice(1250.0);
+                item.setTotalPrice(1250.0);
+                item.setOrderId(order.getId());
+                items.add(item);
+            }
+            order.setItems(items);
+            return order.getId();
+        });
+    }
+}
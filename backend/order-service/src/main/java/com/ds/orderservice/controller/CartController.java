@@ -2,11 +2,14 @@ package com.ds.orderservice.controller;
 
 import com.ds.commons.exception.CustomException;
 import com.ds.commons.template.ApiResponse;
-import com.ds.communicationservice.CommunicationService;
+import com.ds.masterservice.dao.orderService.OrderStatus;
+import com.ds.masterservice.dao.orderService.PaymentStatus;
 import com.ds.masterservice.dto.request.orderService.*;
 import com.ds.masterservice.dto.response.orderService.BillResponse;
 import com.ds.masterservice.dto.response.orderService.CartResponse;
 import com.ds.masterservice.dto.response.orderService.CheckoutSessionResponse;
+import com.ds.masterservice.dto.response.orderService.OrderHistoryPageResponse;
+import com.ds.masterservice.dto.response.orderService.OrderItemResponse;
 import com.ds.masterservice.dto.response.orderService.OrderResponse;
 import com.ds.masterservice.service.orderService.CartServiceImpl;
 import com.ds.masterservice.service.orderService.OrderServiceImpl;
@@ -25,7 +28,6 @@ public class CartController {
 
     private final CartServiceImpl cartServiceImpl;
     private final StripeService stripeService;
-    private final CommunicationService communicationService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -126,6 +128,27 @@ public class CartController {
         return orderServiceImpl.getUserOrders(userId);
     }
 
+    // One page of the user's orders, newest first, with item counts; pass nextCursor back for the next page
+    @GetMapping("/users/{userId}/history")
+    public OrderHistoryPageResponse getUserOrderHistory(
+            @PathVariable("userId") Long userId,
+            @RequestParam(value = "status", required = false) OrderStatus status,
+            @RequestParam(value = "paymentStatus", required = false) PaymentStatus paymentStatus,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) throws CustomException {
+        return orderServiceImpl.getUserOrderHistory(userId, OrderHistoryRequest.builder()
+                .status(status)
+                .paymentStatus(paymentStatus)
+                .cursor(cursor)
+                .limit(limit)
+                .build());
+    }
+
+    @GetMapping("/order/{orderId}/items")
+    public List<OrderItemResponse> getOrderItems(@PathVariable("orderId") Long orderId) throws CustomException {
+        return orderServiceImpl.getOrderItems(orderId);
+    }
+
     @GetMapping("/users/{userId}/delivered")
     public List<OrderResponse> getUserDeliveredOrders(@PathVariable("userId") Long userId) {
         return orderServiceImpl.getUserDeliveredOrders(userId);
@@ -158,7 +181,6 @@ public class CartController {
     public OrderResponse updatePaymentStatus(
             @PathVariable("orderId") Long orderId,
             @Valid @RequestBody UpdatePaymentStatusRequest request) throws CustomException {
-        communicationService.sendEmail("sudarakatharindu2001@gmail.com", "Order Status Update", "Your order status has been updated to " + request.getPaymentStatus());
         return orderServiceImpl.updatePaymentStatus(orderId, request.getPaymentStatus());
     }
 
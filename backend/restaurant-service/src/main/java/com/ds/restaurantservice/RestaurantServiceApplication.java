@@ -5,12 +5,14 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 
 @SpringBootApplication
 @ComponentScan(basePackages = {"com.ds.restaurantservice", "com.ds.commons",  "com.ds.masterservice"})
 @EnableJpaRepositories(basePackages = "com.ds.masterservice.repository")
 @EntityScan(basePackages = "com.ds.masterservice.dao")
+@EnableScheduling
 public class RestaurantServiceApplication {
 
     public static void main(String[] args) {
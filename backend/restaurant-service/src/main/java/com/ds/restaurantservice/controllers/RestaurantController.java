@@ -1,22 +1,38 @@
 package com.ds.restaurantservice.controllers;
 
+import com.ds.commons.enums.DayOfWeek;
 import com.ds.commons.exception.CustomException;
 import com.ds.commons.template.ApiResponse;
 import com.ds.masterservice.MasterService;
+import com.ds.masterservice.dao.orderService.OrderStatus;
 import com.ds.masterservice.dto.request.food.FoodItemRequest;
 import com.ds.masterservice.dto.request.menu.MenuCategoryCreateRequest;
+import com.ds.masterservice.dto.request.restaurant.OrderBoardRequest;
 import com.ds.masterservice.dto.request.restaurant.RestaurantCreateUpdateRequest;
+import com.ds.masterservice.dto.request.restaurant.RestaurantListRequest;
 import com.ds.masterservice.dto.response.food.FoodItemResponse;
+import com.ds.masterservice.dto.response.food.MenuImportResponse;
 import com.ds.masterservice.dto.response.menu.MenuCategoryResponse;
 import com.ds.masterservice.dto.response.restaurant.OrderReqResponse;
 import com.ds.masterservice.dto.response.restaurant.RestaurantAdminResponse;
 import com.ds.masterservice.dto.response.restaurant.RestaurantInitResponse;
+import com.ds.masterservice.dto.response.restaurant.RestaurantPageResponse;
 import com.ds.masterservice.dto.response.restaurant.RestaurantResponse;
+import com.ds.masterservice.dto.response.restaurant.RestaurantSearchResultResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @RestController
@@ -102,6 +118,35 @@ public class RestaurantController {
         return masterService.getAllRestaurants();
     }
 
+    @GetMapping
+    public ApiResponse<RestaurantPageResponse> listRestaurants(
+            @RequestParam(value = "openNow", required = false) Boolean openNow,
+            @RequestParam(value = "day", required = false) DayOfWeek day,
+            @RequestParam(value = "namePrefix", required = false) String namePrefix,
+            @RequestParam(value = "fields", required = false) Set<String> fields,
+            @RequestParam(value = "limit", defaultValue = "20") int limit,
+            @RequestParam(value = "cursor", required = false) String cursor
+    ) throws CustomException {
+        log.info("Attempting to list restaurants");
+        return masterService.listRestaurants(RestaurantListRequest.builder()
+                .openNow(openNow)
+                .day(day)
+                .namePrefix(namePrefix)
+                .fields(fields)
+                .limit(limit)
+                .cursor(cursor)
+                .build());
+    }
+
+    @GetMapping("/search")
+    public ApiResponse<List<RestaurantSearchResultResponse>> searchRestaurants(
+            @RequestParam("q") String query,
+            @RequestParam(value = "limit", defaultValue = "20") int limit
+    ) throws CustomException {
+        log.info("Attempting to search restaurants");
+        return masterService.searchRestaurants(query, limit);
+    }
+
     @GetMapping("/admin-restaurants/{adminId}")
     public ApiResponse<RestaurantAdminResponse> getAllRestaurantsForAdmin(@PathVariable("adminId") Integer adminId) throws CustomException {
         log.info("Attempting to get restaurant for admin");
@@ -109,8 +154,57 @@ public class RestaurantController {
     }
 
     @GetMapping("/{restaurantId}/orders")
-    public ApiResponse<List<OrderReqResponse>> getOrdersByRestaurantId(@PathVariable("restaurantId") Long restaurantId) throws CustomException {
+    public ApiResponse<List<OrderReqResponse>> getOrdersByRestaurantId(
+            @PathVariable("restaurantId") Long restaurantId,
+            @RequestParam(value = "status", required = false) Set<OrderStatus> statuses,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "beforeId", required = false) Long beforeId,
+            @RequestParam(value = "limit", required = false) Integer limit
+    ) throws CustomException {
         log.info("Attempting to get orders for restaurant with ID: {}", restaurantId);
-        return masterService.getOrdersByRestaurantId(restaurantId);
+        return masterService.getOrdersByRestaurantId(restaurantId, OrderBoardRequest.builder()
+                .statuses(statuses)
+                .from(from)
+                .to(to)
+                .beforeId(beforeId)
+                .limit(limit)
+                .build());
+    }
+
+    // Live order board; browsers reconnect with Last-Event-ID, other clients can pass lastEventId
+    @GetMapping(value = "/{restaurantId}/orders/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrdersByRestaurantId(
+            @PathVariable("restaurantId") Long restaurantId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventIdHeader,
+            @RequestParam(value = "lastEventId", required = false) Long lastEventId
+    ) throws CustomException {
+        log.info("Attempting to stream orders for restaurant with ID: {}", restaurantId);
+        return masterService.subscribeOrderBoard(restaurantId, lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+    }
+
+    // Bulk menu upload; the body is streamed, so large menus are never held in memory
+    @PostMapping(value = "/{restaurantId}/menu/import", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE})
+    public ApiResponse<MenuImportResponse> importMenu(
+            @PathVariable("restaurantId") Long restaurantId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body
+    ) throws CustomException {
+        log.info("Attempting to import the menu of restaurant with ID: {}", restaurantId);
+        return masterService.importMenu(restaurantId, body, contentType);
+    }
+
+    @GetMapping("/{restaurantId}/menu/export")
+    public ResponseEntity<StreamingResponseBody> exportMenu(
+            @PathVariable("restaurantId") Long restaurantId,
+            @RequestParam(value = "format", defaultValue = "csv") String format
+    ) throws CustomException {
+        log.info("Attempting to export the menu of restaurant with ID: {}", restaurantId);
+        boolean json = "json".equalsIgnoreCase(format);
+        return ResponseEntity.ok()
+                .contentType(json ? MediaType.APPLICATION_JSON : MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"menu-" + restaurantId + (json ? ".json" : ".csv") + "\"")
+                .body(masterService.exportMenu(restaurantId, format));
     }
 }